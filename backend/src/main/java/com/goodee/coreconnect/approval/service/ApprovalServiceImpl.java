@@ -45,6 +45,7 @@ import com.goodee.coreconnect.chat.repository.NotificationRepository;
 import com.goodee.coreconnect.common.entity.Notification;
 import com.goodee.coreconnect.common.notification.dto.NotificationPayload;
 import com.goodee.coreconnect.common.notification.enums.NotificationType;
+import com.goodee.coreconnect.common.notification.service.UnreadNotificationCache;
 import com.goodee.coreconnect.common.notification.service.WebSocketDeliveryService;
 import com.goodee.coreconnect.common.service.S3Service;
 import com.goodee.coreconnect.leave.enums.LeaveType;
@@ -75,6 +76,7 @@ public class ApprovalServiceImpl implements ApprovalService {
   private final SpringTemplateEngine templateEngine;
   private final ObjectMapper objectMapper;
   private final LeaveService leaveService;
+  private final UnreadNotificationCache unreadNotificationCache;
   
   private static final Integer LEAVE_TEMPLATE_ID= 1;
 
@@ -969,6 +971,8 @@ public class ApprovalServiceImpl implements ApprovalService {
       }
       
       payload.setNotificationId(savedNotification.getId());
+      // 미읽음 알림 캐시는 다음 조회 때 다시 로딩
+      unreadNotificationCache.invalidate(recipient.getId());
       log.info("[ApprovalServiceImpl] ===== saveNotificationToDB 완료 ===== notificationId={}, readYn={}", 
               savedNotification.getId(), savedNotification.getNotificationReadYn());
 
@@ -9,8 +9,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.goodee.coreconnect.board.dto.request.BoardRequestDTO;
 import com.goodee.coreconnect.board.dto.response.BoardFileResponseDTO;
@@ -24,7 +22,8 @@ import com.goodee.coreconnect.board.repository.BoardFileRepository;
 import com.goodee.coreconnect.board.repository.BoardRepository;
 import com.goodee.coreconnect.board.repository.BoardViewHistoryRepository;
 import com.goodee.coreconnect.common.notification.enums.NotificationType;
-import com.goodee.coreconnect.common.notification.service.NotificationService;
+import com.goodee.coreconnect.common.notification.outbox.NotificationOutboxEvent;
+import com.goodee.coreconnect.common.notification.outbox.NotificationOutboxService;
 import com.goodee.coreconnect.user.entity.User;
 import com.goodee.coreconnect.user.enums.Role;
 import com.goodee.coreconnect.user.repository.UserRepository;
@@ -45,7 +44,7 @@ public class BoardServiceImpl implements BoardService {
     private final BoardViewHistoryRepository viewHistoryRepository;
     private final BoardFileRepository boardFileRepository;
     private final BoardFileService boardFileService; 
-    private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
     
     // 미리보기 적용 메소드
     private void applyPreview(Board board, BoardResponseDTO dto) {
@@ -160,7 +159,6 @@ public class BoardServiceImpl implements BoardService {
             // 트랜잭션 커밋 후 알림 발송을 위해 변수 저장
             final List<Integer> finalRecipientIds = recipientIds;
             final Integer finalSenderId = user.getId();
-            final String finalSenderName = user.getName();
             final Integer finalBoardId = saved.getId();
             final String finalMessage = message;
 
@@ -169,36 +167,10 @@ public class BoardServiceImpl implements BoardService {
                 log.info("[BoardServiceImpl] 공지사항 알림 발송 준비: recipientCount={}, boardId={}, senderId={}", 
                         finalRecipientIds.size(), finalBoardId, finalSenderId);
                 
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        try {
-                            log.info("[BoardServiceImpl][afterCommit] ===== 공지사항 알림 발송 시작 ===== recipientCount={}, boardId={}, senderId={}", 
-                                    finalRecipientIds.size(), finalBoardId, finalSenderId);
-                            
-                            // afterCommit 내부에서 직접 NotificationService 호출 (별도 트랜잭션에서 실행)
-                            // NotificationService.sendNotificationToUsers는 @Transactional(REQUIRES_NEW)로 새로운 트랜잭션에서 실행됨
-                            notificationService.sendNotificationToUsers(finalRecipientIds,
-                                                                       NotificationType.NOTICE,
-                                                                       finalMessage,
-                                                                       null,
-                                                                       null,
-                                                                       finalSenderId,
-                                                                       finalSenderName,
-                                                                       finalBoardId,
-                                                                       null);
-                            
-                            log.info("[BoardServiceImpl][afterCommit] ===== 공지사항 알림 발송 완료 ===== recipientCount={}, boardId={}", 
-                                    finalRecipientIds.size(), finalBoardId);
-                        } catch (Exception e) {
-                            log.error("[BoardServiceImpl][afterCommit] ===== 공지사항 알림 발송 실패 ===== boardId={}, recipientCount={}, senderId={}", 
-                                    finalBoardId, finalRecipientIds != null ? finalRecipientIds.size() : 0, finalSenderId, e);
-                            // 예외를 다시 던지지 않음 (이미 커밋된 트랜잭션이므로)
-                            // 하지만 로그는 상세하게 남김
-                            e.printStackTrace();
-                        }
-                    }
-                });
+                // 게시글과 같은 트랜잭션에서 outbox에 기록 → 커밋 후 디스패처가 전달
+                notificationOutboxService.enqueue("board:" + finalBoardId + ":notice:" + saved.getCreatedAt(),
+                        new NotificationOutboxEvent(finalRecipientIds, NotificationType.NOTICE, finalMessage,
+                                                    finalSenderId, finalBoardId, null));
             } else {
                 log.warn("[BoardServiceImpl] 알림 수신자 목록이 비어있습니다. role={}, deptId={}", 
                         user.getRole(), user.getDepartment() != null ? user.getDepartment().getId() : null);
@@ -306,7 +278,6 @@ public class BoardServiceImpl implements BoardService {
             // 트랜잭션 커밋 후 알림 발송을 위해 변수 저장
             final List<Integer> finalRecipientIds = recipientIds;
             final Integer finalSenderId = loginUser.getId();
-            final String finalSenderName = loginUser.getName();
             final Integer finalBoardId = board.getId();
             
             // 트랜잭션 커밋 후 알림 발송
@@ -316,33 +287,10 @@ public class BoardServiceImpl implements BoardService {
                 log.info("[BoardServiceImpl] 공지사항 알림 발송 준비 (수정): recipientCount={}, boardId={}, senderId={}", 
                         finalRecipientIds.size(), finalBoardId, finalSenderId);
                 
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        try {
-                            log.info("[BoardServiceImpl][afterCommit] ===== 공지사항 알림 발송 시작 (수정) ===== recipientCount={}, boardId={}, senderId={}", 
-                                    finalRecipientIds.size(), finalBoardId, finalSenderId);
-                            
-                            // afterCommit 내부에서 직접 NotificationService 호출 (별도 트랜잭션에서 실행)
-                            notificationService.sendNotificationToUsers(finalRecipientIds,
-                                                                       NotificationType.NOTICE,
-                                                                       finalMessage,
-                                                                       null,
-                                                                       null,
-                                                                       finalSenderId,
-                                                                       finalSenderName,
-                                                                       finalBoardId,
-                                                                       null);
-                            
-                            log.info("[BoardServiceImpl][afterCommit] ===== 공지사항 알림 발송 완료 (수정) ===== recipientCount={}, boardId={}", 
-                                    finalRecipientIds.size(), finalBoardId);
-                        } catch (Exception e) {
-                            log.error("[BoardServiceImpl][afterCommit] ===== 공지사항 알림 발송 실패 (수정) ===== boardId={}, recipientCount={}, senderId={}", 
-                                    finalBoardId, finalRecipientIds != null ? finalRecipientIds.size() : 0, finalSenderId, e);
-                            e.printStackTrace();
-                        }
-                    }
-                });
+                // 게시글과 같은 트랜잭션에서 outbox에 기록 → 커밋 후 디스패처가 전달
+                notificationOutboxService.enqueue("board:" + finalBoardId + ":notice:" + board.getUpdatedAt(),
+                        new NotificationOutboxEvent(finalRecipientIds, NotificationType.NOTICE, finalMessage,
+                                                    finalSenderId, finalBoardId, null));
             } else {
                 log.warn("[BoardServiceImpl] 알림 수신자 목록이 비어있습니다 (수정). role={}, deptId={}", 
                         loginUser.getRole(), loginUser.getDepartment() != null ? loginUser.getDepartment().getId() : null);
@@ -375,7 +323,6 @@ public class BoardServiceImpl implements BoardService {
             // 트랜잭션 커밋 후 알림 발송을 위해 변수 저장
             final List<Integer> finalRecipientIds = recipientIds;
             final Integer finalSenderId = loginUser.getId();
-            final String finalSenderName = loginUser.getName();
             final Integer finalBoardId = board.getId();
             final String finalMessage = message;
 
@@ -384,33 +331,10 @@ public class BoardServiceImpl implements BoardService {
                 log.info("[BoardServiceImpl] 상단고정 알림 발송 준비: recipientCount={}, boardId={}, senderId={}", 
                         finalRecipientIds.size(), finalBoardId, finalSenderId);
                 
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        try {
-                            log.info("[BoardServiceImpl][afterCommit] ===== 상단고정 알림 발송 시작 ===== recipientCount={}, boardId={}, senderId={}", 
-                                    finalRecipientIds.size(), finalBoardId, finalSenderId);
-                            
-                            // afterCommit 내부에서 직접 NotificationService 호출 (별도 트랜잭션에서 실행)
-                            notificationService.sendNotificationToUsers(finalRecipientIds,
-                                                                       NotificationType.NOTICE,
-                                                                       finalMessage,
-                                                                       null,
-                                                                       null,
-                                                                       finalSenderId,
-                                                                       finalSenderName,
-                                                                       finalBoardId,
-                                                                       null);
-                            
-                            log.info("[BoardServiceImpl][afterCommit] ===== 상단고정 알림 발송 완료 ===== recipientCount={}, boardId={}", 
-                                    finalRecipientIds.size(), finalBoardId);
-                        } catch (Exception e) {
-                            log.error("[BoardServiceImpl][afterCommit] ===== 상단고정 알림 발송 실패 ===== boardId={}, recipientCount={}, senderId={}", 
-                                    finalBoardId, finalRecipientIds != null ? finalRecipientIds.size() : 0, finalSenderId, e);
-                            e.printStackTrace();
-                        }
-                    }
-                });
+                // 게시글과 같은 트랜잭션에서 outbox에 기록 → 커밋 후 디스패처가 전달
+                notificationOutboxService.enqueue("board:" + finalBoardId + ":pinned:" + board.getUpdatedAt(),
+                        new NotificationOutboxEvent(finalRecipientIds, NotificationType.NOTICE, finalMessage,
+                                                    finalSenderId, finalBoardId, null));
             } else {
                 log.warn("[BoardServiceImpl] 상단고정 알림 수신자 목록이 비어있습니다. role={}, deptId={}", 
                         loginUser.getRole(), loginUser.getDepartment() != null ? loginUser.getDepartment().getId() : null);
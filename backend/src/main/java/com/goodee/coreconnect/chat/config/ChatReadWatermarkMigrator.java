@@ -0,0 +1,96 @@
+package com.goodee.coreconnect.chat.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+
+import com.goodee.coreconnect.chat.repository.ChatMessageReadStatusRepository;
+import com.goodee.coreconnect.chat.repository.ChatRepository;
+import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatReadWatermarkMigrator
+ * - chat_message_read_status row를 chat_room_user 읽음 위치(last_read_sent_at, last_read_chat_id)로 변환하는 1회성 마이그레이션.
+ * - chat.read-tracking.migrate-on-startup=true 일 때만 애플리케이션 시작 시 실행된다.
+ * - 변환 후 두 방식의 저장량(row 수)과 사용자별 미읽음 집계 쿼리 소요 시간을 로그로 남긴다.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class ChatReadWatermarkMigrator {
+
+    private final ChatRoomUserRepository chatRoomUserRepository;
+    private final ChatMessageReadStatusRepository chatMessageReadStatusRepository;
+    private final ChatRepository chatRepository;
+
+    @Value("${chat.read-tracking.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    /** 지연 시간 비교에 사용할 참여자 샘플 수 */
+    @Value("${chat.read-tracking.compare-sample-size:50}")
+    private int compareSampleSize;
+
+    /** Spring Boot 시작 시 자동 실행되는 CommandLineRunner Bean. */
+    @Bean
+    CommandLineRunner migrateChatReadWatermarkRunner() {
+        return args -> {
+            if (migrateOnStartup) {
+                migrate();
+            }
+        };
+    }
+
+    /** 읽음 상태 row → watermark 변환 후 비교 결과 출력 */
+    protected void migrate() {
+        long started = System.currentTimeMillis();
+        // 보낸 시각을 먼저 정하고, 그 시각 안에서의 ID 위치를 정함
+        chatRoomUserRepository.migrateLastReadSentAtsFromReadStatus();
+        int migrated = chatRoomUserRepository.migrateLastReadChatIdsFromReadStatus();
+        log.info("[ChatReadWatermarkMigrator] watermark 변환 완료 - 대상 참여자 수: {}, 소요: {}ms",
+                migrated, System.currentTimeMillis() - started);
+
+        // ⭐ 저장량 비교: 메시지 × 참여자 row vs 참여자당 값 1개
+        long readStatusRows = chatMessageReadStatusRepository.count();
+        long watermarkRows = chatRoomUserRepository.count();
+        log.info("[ChatReadWatermarkMigrator] 저장량 비교 - chat_message_read_status: {} rows, chat_room_user(watermark): {} rows",
+                readStatusRows, watermarkRows);
+
+        // ⭐ 지연 시간 비교: 같은 사용자에 대해 채팅방별 미읽음 개수 집계
+        List<Integer> userIds = chatRoomUserRepository.findAll(PageRequest.of(0, compareSampleSize)).stream()
+                .map(cru -> cru.getUser().getId())
+                .distinct()
+                .toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        long rowNanos = 0;
+        long watermarkNanos = 0;
+        int mismatched = 0;
+        for (Integer userId : userIds) {
+            long t0 = System.nanoTime();
+            List<Object[]> byRow = chatMessageReadStatusRepository.countUnreadMessagesByUserId(userId);
+            long t1 = System.nanoTime();
+            List<Object[]> byWatermark = chatRepository.countUnreadByRoomIdForUserByWatermark(userId);
+            long t2 = System.nanoTime();
+            rowNanos += t1 - t0;
+            watermarkNanos += t2 - t1;
+            if (sum(byRow) != sum(byWatermark)) {
+                mismatched++;
+            }
+        }
+        log.info("[ChatReadWatermarkMigrator] 미읽음 집계 비교 - 사용자 수: {}, row 방식: {}µs/user, watermark 방식: {}µs/user, 결과 불일치 사용자 수: {}",
+                userIds.size(), rowNanos / userIds.size() / 1_000, watermarkNanos / userIds.size() / 1_000, mismatched);
+    }
+
+    private long sum(List<Object[]> roomCounts) {
+        return roomCounts.stream().mapToLong(row -> ((Number) row[1]).longValue()).sum();
+    }
+}
@@ -0,0 +1,52 @@
+package com.goodee.coreconnect.chat.controller;
+
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Controller;
+
+import com.goodee.coreconnect.chat.dto.request.ChatActivityRequestDTO;
+import com.goodee.coreconnect.chat.presence.ChatActivityService;
+import com.goodee.coreconnect.chat.presence.ChatActivityService.ActivityType;
+import com.goodee.coreconnect.config.WebSocketSessionUser;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅방 활동 이벤트 (입력 중 / 접속 ping / 보는 중) STOMP 경로
+ * - 수신: /app/chat.activity
+ * - 전송: ChatActivityService가 묶은 ROOM_ACTIVITY 프레임을 채팅 메시지와 같은 /topic/chat.room.{roomId}로 전송
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class ChatActivityController {
+
+	private final ChatActivityService chatActivityService;
+	private final SimpMessagingTemplate messagingTemplate;
+
+	@PostConstruct
+	public void registerSink() {
+		// ⭐ 다른 인스턴스 구독자에게는 /topic 브로커 relay로 전달되므로 수신자 목록(접속 상태 인덱스)은 사용하지 않음
+		chatActivityService.addSink((roomId, recipientIds, payload) ->
+				messagingTemplate.convertAndSend("/topic/chat.room." + roomId, payload));
+	}
+
+	@MessageMapping("/chat.activity") // 프론트에서 /app/chat.activity로 전송 (STOMP)
+	public void activity(@Payload ChatActivityRequestDTO req, SimpMessageHeaderAccessor headerAccessor) {
+		WebSocketSessionUser user = WebSocketSessionUser.from(headerAccessor.getSessionAttributes());
+		if (user == null || req == null) {
+			log.debug("[ChatActivityController.activity] 인증 정보 또는 요청이 없어 무시");
+			return;
+		}
+		ActivityType type = ActivityType.from(req.getType());
+		if (type == null) {
+			log.debug("[ChatActivityController.activity] 활동 이벤트가 아닌 type 무시 - type: {}", req.getType());
+			return;
+		}
+		chatActivityService.submit(req.getRoomId(), user.userId(), type, req.getActive() == null || req.getActive());
+	}
+}
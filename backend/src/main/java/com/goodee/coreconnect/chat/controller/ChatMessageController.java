@@ -6,9 +6,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 import java.io.IOException;
@@ -40,6 +43,7 @@ import com.goodee.coreconnect.chat.dto.request.CreateRoomRequestDTO;
 import com.goodee.coreconnect.chat.dto.request.InviteUsersRequestDTO;
 import com.goodee.coreconnect.chat.dto.request.PushNotificationTestRequestDTO;
 import com.goodee.coreconnect.chat.dto.request.SendMessageRequestDTO;
+import com.goodee.coreconnect.chat.dto.response.ChatMessageCursorResponseDTO;
 import com.goodee.coreconnect.chat.dto.response.ChatMessageResponseDTO;
 import com.goodee.coreconnect.chat.dto.response.ChatMessageSenderTypeResponseDTO;
 import com.goodee.coreconnect.chat.dto.response.ChatResponseDTO;
@@ -51,26 +55,38 @@ import com.goodee.coreconnect.chat.dto.response.ChatUserResponseDTO;
 import com.goodee.coreconnect.chat.dto.response.NotificationReadResponseDTO;
 import com.goodee.coreconnect.chat.dto.response.ReplyMessageRequestDTO;
 import com.goodee.coreconnect.chat.dto.response.UnreadNotificationListDTO;
+import com.goodee.coreconnect.chat.dto.response.NotificationCursorResponseDTO;
 import com.goodee.coreconnect.chat.dto.response.UnreadNotificationSummaryDTO;
 import com.goodee.coreconnect.chat.entity.Chat;
 import com.goodee.coreconnect.chat.entity.ChatMessageReadStatus;
 import com.goodee.coreconnect.chat.entity.ChatRoom;
 import com.goodee.coreconnect.chat.entity.ChatRoomUser;
 import com.goodee.coreconnect.chat.entity.MessageFile;
+import com.goodee.coreconnect.chat.journal.ChatWriteBehindService;
 import com.goodee.coreconnect.chat.repository.ChatMessageReadStatusRepository;
 import com.goodee.coreconnect.chat.repository.ChatRepository;
 import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
 import com.goodee.coreconnect.chat.repository.MessageFileRepository;
 import com.goodee.coreconnect.chat.repository.NotificationRepository;
+import com.goodee.coreconnect.chat.service.ChatAttachmentUploadService;
+import com.goodee.coreconnect.chat.service.ChatMessageHistoryAssembler;
+import com.goodee.coreconnect.chat.service.ChatMessageSearchService;
+import com.goodee.coreconnect.chat.service.ChatParticipantCache;
+import com.goodee.coreconnect.chat.service.ChatReadWatermarkService;
 import com.goodee.coreconnect.chat.service.ChatRoomService;
+import com.goodee.coreconnect.chat.service.ChatRoomSummaryService;
 import com.goodee.coreconnect.common.dto.response.ResponseDTO;
 import com.goodee.coreconnect.common.entity.Notification;
 import com.goodee.coreconnect.common.exception.ChatNotFoundException;
 import com.goodee.coreconnect.common.notification.dto.NotificationDTO;
+import com.goodee.coreconnect.common.notification.dto.NotificationHistoryDTO;
+import com.goodee.coreconnect.common.notification.dto.NotificationSummary;
 import com.goodee.coreconnect.common.notification.enums.NotificationType;
 import com.goodee.coreconnect.common.notification.service.NotificationService;
+import com.goodee.coreconnect.common.notification.service.UnreadNotificationCache;
 import com.goodee.coreconnect.common.notification.service.WebSocketDeliveryService;
 import com.goodee.coreconnect.common.service.S3Service;
+import com.goodee.coreconnect.config.WebSocketSessionUser;
 import com.goodee.coreconnect.security.userdetails.CustomUserDetails;
 import com.goodee.coreconnect.user.entity.User;
 import com.goodee.coreconnect.user.repository.UserRepository;
@@ -95,7 +111,18 @@ public class ChatMessageController {
     private final NotificationService notificationService;
     private final WebSocketDeliveryService webSocketDeliveryService;
     private final S3Service s3Service;
+    private final ChatReadWatermarkService chatReadWatermarkService;
+    private final ChatMessageHistoryAssembler chatMessageHistoryAssembler;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final ChatParticipantCache chatParticipantCache;
+    private final ChatMessageSearchService chatMessageSearchService;
+    private final ChatAttachmentUploadService chatAttachmentUploadService;
+    private final ChatWriteBehindService chatWriteBehindService;
+    private final UnreadNotificationCache unreadNotificationCache;
     private final SimpMessagingTemplate messagingTemplate;
+    
+    /** 채팅 내역 조회 1회당 최대 메시지 수 */
+    private static final int MAX_HISTORY_LIMIT = 100;
 	
 	@Operation(summary = "채팅방 생성", description = "새로운 채팅방을 생성합니다.")
 	@PostMapping
@@ -179,8 +206,19 @@ public class ChatMessageController {
 	                    req, req != null ? req.getRoomId() : null, req != null ? req.getContent() : null);
 	            return;
 	        }
+	        // ⭐ 참여자만 전송 가능 (참여자 캐시 배열 조회, DB 조회 없음)
+	        if (!chatParticipantCache.contains(req.getRoomId(), authUser.getId())) {
+	            log.warn("[sendMessage] 채팅방 참여자가 아닙니다 - roomId: {}, userId: {}", req.getRoomId(), authUser.getId());
+	            return;
+	        }
 	        log.info("[sendMessage] 유효성 체크 통과 - roomId: {}, content 길이: {}", req.getRoomId(), req.getContent().length());
 
+	        // ⭐ write-behind 사용 시: DB 저장을 기다리지 않고 접수 즉시 브로드캐스트 (저장은 writer 스레드가 배치로)
+	        if (chatWriteBehindService.isEnabled()) {
+	            sendMessageWriteBehind(req, authUser, deptName, profileImageKey);
+	            return;
+	        }
+
 	        //  3. DB 저장 - 반드시 인증 정보에서 senderId 사용!
 	        //    (보안상 프론트에서 senderId를 보내지 않음, 무조건 서버 측에서 로그인 사용자의 id 사용)
 	        Chat saved = chatRoomService.sendChatMessage(
@@ -227,17 +265,10 @@ public class ChatMessageController {
 	    int connectedUsersCount = connectedUserIds.size();
 	    
 	    // ⭐ 참여자 수 확인 (디버깅용)
-	    int participantCount = chatRoomUserRepository.findByChatRoomId(req.getRoomId()).size();
+	    int participantCount = chatParticipantCache.count(req.getRoomId());
 	    
-	    // ⭐ 실시간 unreadCount 계산: DB에서 최신 값 조회 (접속 중인 사용자는 이미 읽음 처리됨)
-	    int realUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(saved.getId());
-	    
-	    // ⭐ Chat 엔티티의 unreadCount도 최신 값으로 업데이트 (일관성 유지)
-	    if (saved.getUnreadCount() == null || saved.getUnreadCount() != realUnreadCount) {
-	        saved.updateUnreadCount(realUnreadCount);
-	        chatRepository.save(saved);
-	        chatRepository.flush(); // 브로드캐스트 직전에 flush하여 최신 값 확보
-	    }
+	    // ⭐ unreadCount는 sendChatMessage에서 읽음 상태 row와 함께 확정된 값 사용 (COUNT 쿼리 없음)
+	    int realUnreadCount = saved.getUnreadCount() != null ? saved.getUnreadCount() : 0;
 	    
 	    log.info("[sendMessage] ⭐⭐⭐ 실시간 unreadCount 재계산 ⭐⭐⭐ - chatId: {}, 참여자수: {}, 접속중인사용자수: {}, 실시간unreadCount: {}, 접속중인사용자Ids: {}", 
 	            saved.getId(), participantCount, connectedUsersCount, realUnreadCount, connectedUserIds);
@@ -313,7 +344,7 @@ public class ChatMessageController {
 	            // ⭐ 브로드캐스트 직전에 다시 한 번 최신 값 확인 (race condition 방지)
 	            // sendChatMessage에서 이미 접속 중인 사용자를 읽음 처리했지만, 
 	            // 메시지 전송 직후 접속 상태가 변경되었을 수 있으므로 재조회
-	            int confirmedUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(saved.getId());
+	            int confirmedUnreadCount = chatRoomService.countUnreadByChatId(saved.getId());
 	            
 	            // ⭐ 실시간 접속자 수 기반 unreadCount 검증
 	            // unreadCount = 전체 참여자 수 - 발신자 - 접속 중인 사용자 수
@@ -371,10 +402,10 @@ public class ChatMessageController {
 	        try {
 	            log.info("[sendMessage] 알림 전송 시작 - roomId: {}, senderId: {}", req.getRoomId(), authUser.getId());
 	            
-	            // 채팅방 참여자 목록 가져오기
-	            List<ChatRoomUser> chatRoomUsers = chatRoomUserRepository.findByChatRoomId(req.getRoomId());
+	            // 채팅방 참여자 목록 가져오기 (참여자 캐시)
+	            List<Integer> participantIds = chatParticipantCache.getIds(req.getRoomId());
 	            
-	            if (chatRoomUsers == null || chatRoomUsers.isEmpty()) {
+	            if (participantIds.isEmpty()) {
 	                log.warn("[sendMessage] 채팅방 참여자가 없습니다 - roomId: {}", req.getRoomId());
 	            } else {
 	                // ⭐ 현재 채팅방에 접속 중인 사용자 목록 조회 (실시간 WebSocket 세션 기반)
@@ -384,9 +415,8 @@ public class ChatMessageController {
 	                
 	                // ⭐ 발신자 및 접속 중인 사용자를 제외한 참여자 ID 목록 생성
 	                // 접속 중인 사용자는 실시간으로 메시지를 볼 수 있으므로 알림 불필요
-	                List<Integer> recipientIds = chatRoomUsers.stream()
-	                    .filter(cru -> cru.getUser() != null && !cru.getUser().getId().equals(authUser.getId()))
-	                    .map(cru -> cru.getUser().getId())
+	                List<Integer> recipientIds = participantIds.stream()
+	                    .filter(userId -> !userId.equals(authUser.getId()))
 	                    .filter(userId -> !connectedUserIds.contains(userId)) // ⭐ 접속 중인 사용자 제외
 	                    .collect(Collectors.toList());
 	                
@@ -458,6 +488,75 @@ public class ChatMessageController {
 	    // 필요하다면 별도의 Error 메시지를 특정 유저에게만 전송하도록 커스텀도 가능
 	}
 
+	/**
+	 * write-behind 전송 (chat.write-behind.enabled=true): ID 할당 + 저널 추가 후 바로 브로드캐스트
+	 * - 발신자 + 접속자는 읽음, unreadCount는 메모리에서 확정 (저장 시 같은 값으로 기록) → 저장/flush/COUNT 쿼리 없음
+	 * - 저장 대기열이 가득 차면 채팅방 topic으로 SEND_FAILED 전송 (발신자 화면에서만 처리)
+	 * - 알림 저장은 브로드캐스트 후 (알림은 chat_message 행을 참조하지 않으므로 메시지 저장 전이어도 됨)
+	 */
+	private void sendMessageWriteBehind(SendMessageRequestDTO req, User authUser, String deptName, String profileImageKey) {
+	    Integer roomId = req.getRoomId();
+	    String topic = "/topic/chat.room." + roomId;
+	    List<Integer> participantIds = chatParticipantCache.getIds(roomId);
+	    List<Integer> connectedUserIds = chatRoomService.getConnectedUserIdsInRoom(roomId);
+	    Set<Integer> readUserIds = new HashSet<>(connectedUserIds);
+	    readUserIds.add(authUser.getId());
+
+	    ChatResponseDTO responseDto;
+	    try {
+	        WebSocketSessionUser sender = new WebSocketSessionUser(authUser.getId(), authUser.getEmail(), authUser.getName(), authUser.getRole());
+	        responseDto = chatWriteBehindService.accept(roomId, sender, req.getContent(), participantIds, readUserIds);
+	    } catch (IllegalStateException e) {
+	        log.warn("[sendMessageWriteBehind] 메시지 접수 실패 - roomId: {}, senderId: {}, error: {}", roomId, authUser.getId(), e.getMessage());
+	        Map<String, Object> failure = new HashMap<>();
+	        failure.put("type", "SEND_FAILED");
+	        failure.put("roomId", roomId);
+	        failure.put("senderEmail", authUser.getEmail());
+	        failure.put("messageContent", req.getContent());
+	        messagingTemplate.convertAndSend(topic, failure);
+	        return;
+	    }
+	    responseDto.setSenderProfileImageUrl(profileImageKey != null && !profileImageKey.isBlank() ? s3Service.getFileUrl(profileImageKey) : "");
+	    responseDto.setSenderJobGrade(authUser.getJobGrade());
+	    responseDto.setSenderDeptName(deptName != null ? deptName : "");
+	    messagingTemplate.convertAndSend(topic, responseDto);
+
+	    Map<String, Object> unreadCountUpdate = new HashMap<>();
+	    unreadCountUpdate.put("type", "UNREAD_COUNT_UPDATE");
+	    unreadCountUpdate.put("chatId", responseDto.getId());
+	    unreadCountUpdate.put("unreadCount", responseDto.getUnreadCount());
+	    unreadCountUpdate.put("roomId", roomId);
+	    unreadCountUpdate.put("senderId", authUser.getId());
+	    unreadCountUpdate.put("senderEmail", authUser.getEmail());
+	    messagingTemplate.convertAndSend(topic, unreadCountUpdate);
+
+	    Map<String, Object> roomUnreadCountUpdate = new HashMap<>();
+	    roomUnreadCountUpdate.put("type", "ROOM_UNREAD_COUNT_UPDATE");
+	    roomUnreadCountUpdate.put("roomId", roomId);
+	    roomUnreadCountUpdate.put("chatId", responseDto.getId());
+	    roomUnreadCountUpdate.put("senderId", authUser.getId());
+	    roomUnreadCountUpdate.put("senderEmail", authUser.getEmail());
+	    messagingTemplate.convertAndSend(topic, roomUnreadCountUpdate);
+	    log.info("[sendMessageWriteBehind] 브로드캐스트 완료 - chatId: {}, roomId: {}, unreadCount: {}",
+	            responseDto.getId(), roomId, responseDto.getUnreadCount());
+
+	    List<Integer> recipientIds = participantIds.stream()
+	        .filter(userId -> !readUserIds.contains(userId))
+	        .collect(Collectors.toList());
+	    if (recipientIds.isEmpty()) {
+	        return;
+	    }
+	    try {
+	        String roomName = chatRoomService.findById(roomId).getRoomName();
+	        String messageContent = req.getContent().length() > 50 ? req.getContent().substring(0, 50) + "..." : req.getContent();
+	        notificationService.sendNotificationToUsers(recipientIds, NotificationType.CHAT,
+	            roomName + " 채팅방: " + authUser.getName() + "님의 메시지 - " + messageContent,
+	            responseDto.getId(), roomId, authUser.getId(), authUser.getName(), null, null);
+	    } catch (Exception e) {
+	        log.error("[sendMessageWriteBehind] 알림 전송 중 오류 발생 - roomId: {}, error: {}", roomId, e.getMessage(), e);
+	    }
+	}
+
 	/**
 	 * 3. 채팅방 참여자 목록 조회
 	 * 
@@ -502,12 +601,14 @@ public class ChatMessageController {
 	}
 	
 	/**
-	 * 4. 내가 참여중인 채팅방 메시지 전체 조회
+	 * 4. 내가 참여중인 채팅방 최근 메시지 조회 (limit개)
 	 * 
 	 * */
-	@Operation(summary = "내가 참여중인 채팅방 메시지 전체 조회", description = "내가 참여중인 모든 채팅방의 메시지를 조회합니다.")
+	@Operation(summary = "내가 참여중인 채팅방 최근 메시지 조회", description = "내가 참여중인 모든 채팅방의 최근 메시지를 limit개(최대 100개)까지 조회합니다.")
 	@GetMapping("/messages")
-	public ResponseEntity<ResponseDTO<List<ChatMessageResponseDTO>>> getMyChatMessages(@AuthenticationPrincipal CustomUserDetails customUserDetails) {
+	public ResponseEntity<ResponseDTO<List<ChatMessageResponseDTO>>> getMyChatMessages(
+	    @RequestParam(value = "limit", defaultValue = "50") int limit,
+	    @AuthenticationPrincipal CustomUserDetails customUserDetails) {
 	  String email = customUserDetails.getEmail();
 		User user = userRepository.findByEmail(email).orElseThrow();
 
@@ -519,63 +620,15 @@ public class ChatMessageController {
 	        .map(ChatRoomLatestMessageResponseDTO::getRoomId)
 	        .collect(Collectors.toList());
 
-	    // 3. roomId로 전체 채팅 메시지 조회
-	    List<Chat> chats = chatRepository.findByChatRoomIds(roomIds);
+	    // 3. roomId로 최근 채팅 메시지 limit개 조회 (전체 메시지를 한 번에 불러오지 않음, 날짜 오름차순으로 반환)
+	    int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+	    List<Chat> chats = roomIds.isEmpty()
+	        ? new ArrayList<>()
+	        : new ArrayList<>(chatRepository.findRecentByChatRoomIds(roomIds, org.springframework.data.domain.PageRequest.of(0, pageSize)));
+	    Collections.reverse(chats);
 
-	    // 4. 채팅 메시지 DTO 변환
-	    List<ChatMessageResponseDTO> chatDtoList = chats.stream()
-	    		.map(chat -> {
-	    			// 현재 로그인 사용자(user)의 각가 메시지(chat)에 대해 읽음상태 혹은 false 기준 조회
-	    			Optional<ChatMessageReadStatus> readStatusOpt = 
-	    					chatMessageReadStatusRepository.findByChatIdAndUserId(chat.getId(), user.getId());
-	    			boolean readYn = readStatusOpt.map(ChatMessageReadStatus::getReadYn).orElse(false);
-	    			ChatMessageResponseDTO dto = ChatMessageResponseDTO.fromEntity(chat, readYn);
-	    			
-	    			// ⭐ unreadCount를 실시간으로 계산하여 설정 (DB 저장값이 아닌 실제 읽지 않은 사람 수)
-	    			int realUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(chat.getId());
-	    			dto.setUnreadCount(realUnreadCount);
-	    			
-	    			// 프로필 이미지 URL 설정 (user_profile_image_key 사용)
-	    			if (dto != null && chat.getSender() != null && chat.getSender().getId() != null) {
-	    			    // ⭐ senderEmail 명시적으로 설정 (lazy loading 문제 해결)
-	    			    // fromEntity에서 chat.getSender().getEmail()이 null일 수 있으므로 userRepository로 명시적으로 조회
-	    			    // ⭐ LazyInitializationException 방지: Department를 함께 로드하는 메서드 사용
-	    			    User senderUser = userRepository.findByIdWithDepartment(chat.getSender().getId()).orElse(null);
-	    			    if (senderUser != null && senderUser.getEmail() != null) {
-	    			        dto.setSenderEmail(senderUser.getEmail());
-	    			        log.debug("[getMyChatMessages] senderEmail 설정 - userId: {}, email: {}", 
-	    			                senderUser.getId(), senderUser.getEmail());
-	    			    } else {
-	    			        log.warn("[getMyChatMessages] senderEmail 설정 실패 - chat.getSender().getId(): {}, senderUser가 null이거나 email이 null", 
-	    			                chat.getSender().getId());
-	    			    }
-	    			    
-	    			    // ⭐ 프로필 이미지 URL 설정 (user_profile_image_key 사용)
-	    			    // 프로필 이미지가 없어도 항상 senderProfileImageUrl 필드를 설정 (null이 아닌 빈 문자열 또는 URL)
-	    			    String profileImageKey = senderUser.getProfileImageKey();
-	    			    if (profileImageKey != null && !profileImageKey.isBlank()) {
-	    			        // 프로필 이미지가 있으면 S3 URL 생성
-	    			        String profileImageUrl = s3Service.getFileUrl(profileImageKey);
-	    			        dto.setSenderProfileImageUrl(profileImageUrl);
-	    			    } else {
-	    			        // 프로필 이미지가 없으면 빈 문자열 설정 (프론트엔드에서 기본 이니셜 표시)
-	    			        dto.setSenderProfileImageUrl("");
-	    			    }
-	    			    
-	    			    // ⭐ 직급 설정
-	    			    dto.setSenderJobGrade(senderUser.getJobGrade());
-	    			    
-	    			    // ⭐ 부서명 설정
-	    			    if (senderUser.getDepartment() != null) {
-	    			        dto.setSenderDeptName(senderUser.getDepartment().getDeptName());
-	    			    } else {
-	    			        dto.setSenderDeptName("");
-	    			    }
-	    			}
-	    			
-	    			return dto;
-	    		})
-	    		.collect(Collectors.toList());
+	    // 4. 채팅 메시지 DTO 변환 (읽음 여부/발신자 프로필은 페이지 단위로 한 번에 조회)
+	    List<ChatMessageResponseDTO> chatDtoList = chatMessageHistoryAssembler.assemble(chats, user.getId());
 
 	    // 5. 응답 반환
 	    return ResponseEntity.ok(ResponseDTO.success(chatDtoList, "내 채팅방 메시지 조회 성공"));
@@ -613,52 +666,8 @@ public class ChatMessageController {
 	        org.springframework.data.domain.Page<Chat> chatPage = chatRoomService.getChatsWithFilesByRoomIdPaged(roomId, pageable);
 
 	        // DTO 변환
-	        org.springframework.data.domain.Page<ChatMessageResponseDTO> dtoPage = chatPage.map(chat -> {
-	            Optional<ChatMessageReadStatus> readStatusOpt =
-	                chatMessageReadStatusRepository.findByChatIdAndUserId(chat.getId(), userId);
-	            boolean readYn = readStatusOpt.map(ChatMessageReadStatus::getReadYn).orElse(false);
-	            ChatMessageResponseDTO dto = ChatMessageResponseDTO.fromEntity(chat, readYn, s3Service);
-	            
-	            // ⭐ unreadCount를 실시간으로 계산하여 설정 (DB 저장값이 아닌 실제 읽지 않은 사람 수)
-	            int realUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(chat.getId());
-	            dto.setUnreadCount(realUnreadCount);
-	            
-	            // 프로필 이미지 URL 설정 (user_profile_image_key 사용)
-	            // sender를 명시적으로 조회하여 profileImageKey 가져오기
-	            if (dto != null && chat.getSender() != null && chat.getSender().getId() != null) {
-	                // ⭐ LazyInitializationException 방지: Department를 함께 로드하는 메서드 사용
-	                User senderUser = userRepository.findByIdWithDepartment(chat.getSender().getId()).orElse(null);
-	                if (senderUser != null) {
-	                    // ⭐ senderEmail 명시적으로 설정 (lazy loading 문제 해결)
-	                    // fromEntity에서 chat.getSender().getEmail()이 null일 수 있으므로 senderUser.getEmail() 직접 설정
-	                    dto.setSenderEmail(senderUser.getEmail());
-	                    
-	                    // ⭐ 프로필 이미지 URL 설정 (user_profile_image_key 사용)
-	                    // 프로필 이미지가 없어도 항상 senderProfileImageUrl 필드를 설정 (null이 아닌 빈 문자열 또는 URL)
-	                    if (senderUser.getProfileImageKey() != null 
-	                        && !senderUser.getProfileImageKey().isBlank()) {
-	                        // 프로필 이미지가 있으면 S3 URL 생성
-	                        String profileImageUrl = s3Service.getFileUrl(senderUser.getProfileImageKey());
-	                        dto.setSenderProfileImageUrl(profileImageUrl);
-	                    } else {
-	                        // 프로필 이미지가 없으면 빈 문자열 설정 (프론트엔드에서 기본 이니셜 표시)
-	                        dto.setSenderProfileImageUrl("");
-	                    }
-	                    
-	                    // ⭐ 직급 설정
-	                    dto.setSenderJobGrade(senderUser.getJobGrade());
-	                    
-	                    // ⭐ 부서명 설정
-	                    if (senderUser.getDepartment() != null) {
-	                        dto.setSenderDeptName(senderUser.getDepartment().getDeptName());
-	                    } else {
-	                        dto.setSenderDeptName("");
-	                    }
-	                }
-	            }
-	            
-	            return dto;
-	        });
+	        org.springframework.data.domain.Page<ChatMessageResponseDTO> dtoPage = new org.springframework.data.domain.PageImpl<>(
+	            chatMessageHistoryAssembler.assemble(chatPage.getContent(), userId), chatPage.getPageable(), chatPage.getTotalElements());
 
 	        log.debug("messages page: {}, total: {}", chatPage.getNumber(), chatPage.getTotalElements());
 
@@ -669,6 +678,67 @@ public class ChatMessageController {
 	    }
 	}
 	
+	/**
+	 * 5-1. 채팅방 메시지 커서 페이징 조회 (최신 메시지부터, before 이전 limit개)
+	 * - GET /api/v1/chat/{roomId}/messages?before={chatId}&limit=50
+	 * - (chat_room_id, sent_at, id) 인덱스 seek 방식이라 스크롤 깊이와 관계없이 같은 비용
+	 * */
+	@GetMapping(value = "/{roomId}/messages", params = "limit")
+	public ResponseEntity<ResponseDTO<ChatMessageCursorResponseDTO>> getChatRoomMessagesByCursor(
+	    @PathVariable("roomId") Integer roomId,
+	    @RequestParam(value = "before", required = false) Integer before,
+	    @RequestParam(value = "limit", defaultValue = "50") int limit,
+	    @AuthenticationPrincipal CustomUserDetails customUserDetails) {
+	    String email = customUserDetails.getEmail();
+	    User user = userRepository.findByEmail(email).orElseThrow();
+	    Integer userId = user.getId();
+
+	    // === 방 존재 체크 (없으면 Exception!)
+	    if (!chatRoomService.existsByRoomId(roomId)) {
+	        throw new ChatNotFoundException("roomId: " + roomId + " 채팅방이 없습니다.");
+	    }
+
+	    // 한 번에 최대 MAX_HISTORY_LIMIT개까지, 다음 페이지 여부 확인을 위해 1개 더 조회
+	    int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+	    List<Chat> chats = chatRoomService.getChatsWithFilesBefore(roomId, before, pageSize + 1);
+	    boolean last = chats.size() <= pageSize;
+	    if (!last) {
+	        chats = chats.subList(0, pageSize);
+	    }
+
+	    List<ChatMessageResponseDTO> content = chatMessageHistoryAssembler.assemble(chats, userId);
+	    Integer nextCursor = last || chats.isEmpty() ? null : chats.get(chats.size() - 1).getId();
+
+	    log.debug("messages cursor - roomId: {}, before: {}, size: {}, nextCursor: {}", roomId, before, content.size(), nextCursor);
+
+	    ChatMessageCursorResponseDTO dto = ChatMessageCursorResponseDTO.builder()
+	        .content(content)
+	        .nextCursor(nextCursor)
+	        .last(last)
+	        .build();
+	    return ResponseEntity.ok(ResponseDTO.success(dto, "채팅방 메시지 커서 조회 성공"));
+	}
+	
+	/**
+	 * 5-2. 채팅 메시지 검색 (내가 참여중인 채팅방, 최신 메시지부터 before 이전 limit개)
+	 * - GET /api/v1/chat/messages/search?q={검색어}&roomId={선택}&before={chatId}&limit=20
+	 * - 띄어쓴 단어는 모두 포함해야 일치, 단어는 2자 이상 (ngram FULLTEXT 인덱스)
+	 * */
+	@Operation(summary = "채팅 메시지 검색", description = "내가 참여중인 채팅방의 메시지를 검색어로 검색합니다. roomId를 주면 해당 채팅방만 검색합니다.")
+	@GetMapping("/messages/search")
+	public ResponseEntity<ResponseDTO<ChatMessageCursorResponseDTO>> searchChatMessages(
+	    @RequestParam("q") String query,
+	    @RequestParam(value = "roomId", required = false) Integer roomId,
+	    @RequestParam(value = "before", required = false) Integer before,
+	    @RequestParam(value = "limit", defaultValue = "20") int limit,
+	    @AuthenticationPrincipal CustomUserDetails customUserDetails) {
+	    String email = customUserDetails.getEmail();
+	    User user = userRepository.findByEmail(email).orElseThrow();
+
+	    ChatMessageCursorResponseDTO dto = chatMessageSearchService.search(user.getId(), query, roomId, before, Math.min(limit, MAX_HISTORY_LIMIT));
+	    return ResponseEntity.ok(ResponseDTO.success(dto, "채팅 메시지 검색 성공"));
+	}
+	
 	/**
 	 * 6. 채팅 메시지 정렬(내꺼/남의꺼)
 	 * */
@@ -832,10 +902,10 @@ public class ChatMessageController {
 		try {
 			log.info("[uploadFileMessage] 알림 전송 시작 - roomId: {}, senderId: {}", roomId, sender.getId());
 			
-			// 채팅방 참여자 목록 가져오기
-			List<ChatRoomUser> chatRoomUsers = chatRoomUserRepository.findByChatRoomId(roomId);
+			// 채팅방 참여자 목록 가져오기 (참여자 캐시)
+			List<Integer> participantIds = chatParticipantCache.getIds(roomId);
 			
-			if (chatRoomUsers == null || chatRoomUsers.isEmpty()) {
+			if (participantIds.isEmpty()) {
 				log.warn("[uploadFileMessage] 채팅방 참여자가 없습니다 - roomId: {}", roomId);
 			} else {
 				// ⭐ 현재 채팅방에 접속 중인 사용자 목록 조회 (실시간 WebSocket 세션 기반)
@@ -845,9 +915,8 @@ public class ChatMessageController {
 				
 				// ⭐ 발신자 및 접속 중인 사용자를 제외한 참여자 ID 목록 생성
 				// 접속 중인 사용자는 실시간으로 메시지를 볼 수 있으므로 알림 불필요
-				List<Integer> recipientIds = chatRoomUsers.stream()
-					.filter(cru -> cru.getUser() != null && !cru.getUser().getId().equals(sender.getId()))
-					.map(cru -> cru.getUser().getId())
+				List<Integer> recipientIds = participantIds.stream()
+					.filter(userId -> !userId.equals(sender.getId()))
 					.filter(userId -> !connectedUserIds.contains(userId)) // ⭐ 접속 중인 사용자 제외
 					.collect(Collectors.toList());
 				
@@ -914,60 +983,45 @@ public class ChatMessageController {
 		// ⚠️ 디버깅: 업로드된 파일 수 확인
 		log.info("[uploadMultipleFileMessage] 업로드 요청 파일 수: {}", uploadFiles.length);
 		
+		// ⭐ 파일을 spool 디렉터리로 옮기고 S3 키를 먼저 정함 (S3 업로드는 메시지 전송 후 업로드 스레드풀에서 병렬 처리)
+		// 요청이 끝나면 multipart 임시 파일이 지워지므로 응답 전에 옮겨둠
+		List<ChatAttachmentUploadService.StagedFile> stagedFiles = chatAttachmentUploadService.stage(uploadFiles, sender.getId());
+		if (stagedFiles.isEmpty()) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body(ResponseDTO.error(400, "업로드할 파일이 없습니다."));
+		}
+		
 		// ⭐ 하나의 Chat 메시지 생성
-		Chat chat = chatRoomService.sendChatMessage(roomId, sender.getId(), null);
+		Chat chat;
+		try {
+			chat = chatRoomService.sendChatMessage(roomId, sender.getId(), null);
+		} catch (RuntimeException e) {
+			chatAttachmentUploadService.discard(stagedFiles);
+			throw e;
+		}
 		if (chat == null) {
+			chatAttachmentUploadService.discard(stagedFiles);
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
 					.body(ResponseDTO.error(500, "채팅 메시지 생성 실패"));
 		}
 		
-		// ⭐ 각 파일을 S3에 업로드하고 MessageFile로 저장
+		// ⭐ 파일마다 MessageFile 생성 (S3 키는 업로드 전에 정해져 있으므로 바로 저장, 업로드 실패한 파일은 나중에 삭제)
 		List<MessageFile> fileEntities = new ArrayList<>();
-		int fileIndex = 0;
-		for (MultipartFile uploadFile : uploadFiles) {
-			fileIndex++;
-			if (uploadFile.isEmpty()) {
-				log.warn("[uploadMultipleFileMessage] 파일 {} 건너뜀 (빈 파일)", fileIndex);
-				continue;
-			}
-			
-			String s3Key;
-			String fileUrl;
-			try {
-				// s3에 업로드 (모든 파일 타입 허용)
-				s3Key = s3Service.uploadChatFile(uploadFile, sender.getId());
-				fileUrl = s3Service.getFileUrl(s3Key);
-				log.info("[uploadMultipleFileMessage] 파일 {} S3 업로드 성공: {} -> {}, contentType: {}, size: {} bytes", 
-				        fileIndex, uploadFile.getOriginalFilename(), s3Key, uploadFile.getContentType(), uploadFile.getSize());
-			} catch (IOException e) {
-				log.error("[uploadMultipleFileMessage] 파일 {} S3 업로드 실패: {}", fileIndex, e.getMessage(), e);
-				continue; // 개별 파일 업로드 실패 시 건너뛰기
-			} catch (IllegalArgumentException e) {
-				log.error("[uploadMultipleFileMessage] 파일 {} 업로드 검증 실패: {}", fileIndex, e.getMessage());
-				continue; // 개별 파일 업로드 검증 실패 시 건너뛰기
-			}
-			
-			// ⭐ MessageFile에는 S3 키를 저장 (URL이 아닌 키)
+		for (ChatAttachmentUploadService.StagedFile stagedFile : stagedFiles) {
 			MessageFile fileEntity = MessageFile.createMessageFile(
-					uploadFile.getOriginalFilename(),
-					(double) uploadFile.getSize(),
-					s3Key, // S3 키 저장 (URL이 아닌 키)
+					stagedFile.fileName(),
+					(double) stagedFile.size(),
+					stagedFile.s3Key(), // S3 키 저장 (URL이 아닌 키)
 					chat // 같은 chat에 연결
 			);
 			
 			// chat의 파일리스트에 파일 추가 (양방향 매핑)
 			chat.getMessageFiles().add(fileEntity);
 			fileEntities.add(fileEntity);
-			log.debug("[uploadMultipleFileMessage] 파일 {} MessageFile 생성 및 추가 완료. 현재 fileEntities.size(): {}", fileIndex, fileEntities.size());
 		}
 		
 		log.info("[uploadMultipleFileMessage] 최종 fileEntities.size(): {}, chat.getMessageFiles().size(): {}", fileEntities.size(), chat.getMessageFiles().size());
 		
-		if (fileEntities.isEmpty()) {
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-					.body(ResponseDTO.error(500, "모든 파일 업로드 실패"));
-		}
-		
 		// ⭐ Chat 저장 (fileYn = true로 설정) - 도메인 메서드 사용
 		chat.updateFileYn(true);
 		// ⭐ 첫 번째 파일의 S3 키를 chat의 fileUrl로 설정 (하위 호환성 - 나중에 URL로 변환됨)
@@ -981,6 +1035,7 @@ public class ChatMessageController {
 		// 2. chat.getMessageFiles()에 이미 추가한 파일들이 cascade로 인해 자동 저장됨
 		// 3. fileEntities 리스트를 사용하여 정확한 파일 목록을 DTO에 설정
 		chat = chatRepository.save(chat);
+		chatRoomSummaryService.onMessageUpdated(chat);
 		
 		// ⭐ 저장 후 chat을 다시 조회하여 messageFiles를 명시적으로 로드
 		// ⚠️ 중요: 저장 직후에는 lazy loading으로 인해 messageFiles가 제대로 로드되지 않을 수 있음
@@ -993,25 +1048,9 @@ public class ChatMessageController {
 			log.error("[uploadMultipleFileMessage] 저장 후 재조회 실패! chatId: {}", chat.getId());
 		}
 		
-		// ⭐ 여러 파일 URL 목록 설정 (S3 키를 URL로 변환) - fileEntities를 직접 사용
-		List<String> fileUrls = fileEntities.stream()
-			.map(file -> {
-				String s3Key = file.getS3ObjectKey();
-				if (s3Key != null && !s3Key.isEmpty()) {
-					return s3Service.getFileUrl(s3Key);
-				}
-				return null;
-			})
-			.filter(url -> url != null && !url.isEmpty())
-			.collect(java.util.stream.Collectors.toList());
-		
-		log.info("[uploadMultipleFileMessage] 생성된 fileUrls.size(): {}", fileUrls.size());
-		
-		// ⭐ 첫 번째 파일의 URL (하위 호환성) - S3 URL로 변환
-		String firstFileUrl = null;
-		if (!fileEntities.isEmpty() && fileEntities.get(0).getS3ObjectKey() != null) {
-			firstFileUrl = s3Service.getFileUrl(fileEntities.get(0).getS3ObjectKey());
-		}
+		// ⭐ 아직 S3에 없는 파일이므로 URL은 비워서 전송 (fileStatuses와 같은 순서, 업로드가 끝나면 FILE_UPLOAD_STATUS 프레임의 fileUrl로 채움)
+		// URL을 미리 보내면 업로드 전/실패한 파일이 깨진 이미지/링크로 표시됨
+		List<String> fileUrls = new ArrayList<>(Collections.nCopies(stagedFiles.size(), (String) null));
 		
 		// ⭐ DTO 생성 - fileUrls와 fileUrl을 직접 설정
 		ChatResponseDTO dto = ChatResponseDTO.fromEntity(chat, s3Service);
@@ -1023,14 +1062,14 @@ public class ChatMessageController {
 		// ⭐ senderEmail 명시적으로 설정
 		dto.setSenderEmail(sender.getEmail());
 		
-		// ⭐ 여러 파일 URL 목록 설정 (fileEntities를 직접 사용하여 정확한 파일 목록 반환)
-		// ⚠️ 중요: fromEntity에서 설정한 fileUrls를 덮어씀 (chat.getMessageFiles()가 제대로 로드되지 않을 수 있음)
+		// ⭐ 여러 파일 URL 목록 설정 (업로드 전이므로 빈 자리만)
+		// ⚠️ 중요: fromEntity에서 설정한 fileUrls를 덮어씀 (S3 키로 만든 URL은 업로드가 끝나기 전까지 유효하지 않음)
 		dto.setFileUrls(fileUrls);
-		
-		// ⭐ 첫 번째 파일의 URL을 DTO에 설정 (하위 호환성)
-		if (firstFileUrl != null) {
-			dto.setFileUrl(firstFileUrl);
-		}
+		dto.setFileUrl(null);
+		// ⭐ 아직 S3 업로드 전이므로 모든 파일 "업로드 중" (파일마다 FILE_UPLOAD_STATUS 프레임으로 갱신)
+		dto.setFileStatuses(stagedFiles.stream()
+			.map(stagedFile -> ChatAttachmentUploadService.UploadStatus.UPLOADING.name())
+			.collect(Collectors.toList()));
 		
 		// ⭐ 프로필 이미지 URL 설정
 		if (sender != null && sender.getProfileImageKey() != null && !sender.getProfileImageKey().isBlank()) {
@@ -1071,14 +1110,17 @@ public class ChatMessageController {
 		messagingTemplate.convertAndSend(topic, dto);
 		log.info("[uploadMultipleFileMessage] ⭐ WebSocket 브로드캐스트 완료");
 		
+		// ⭐ "업로드 중" 메시지 전송 후 S3 업로드 시작 (요청 스레드는 업로드 완료를 기다리지 않음)
+		uploadStagedFiles(topic, roomId, chat.getId(), stagedFiles);
+		
 		// ⭐ 채팅방 참여자들에게 알림 전송 (발신자 및 접속 중인 사용자 제외)
 		try {
 			log.info("[uploadMultipleFileMessage] 알림 전송 시작 - roomId: {}, senderId: {}", roomId, sender.getId());
 			
-			// 채팅방 참여자 목록 가져오기
-			List<ChatRoomUser> chatRoomUsers = chatRoomUserRepository.findByChatRoomId(roomId);
+			// 채팅방 참여자 목록 가져오기 (참여자 캐시)
+			List<Integer> participantIds = chatParticipantCache.getIds(roomId);
 			
-			if (chatRoomUsers == null || chatRoomUsers.isEmpty()) {
+			if (participantIds.isEmpty()) {
 				log.warn("[uploadMultipleFileMessage] 채팅방 참여자가 없습니다 - roomId: {}", roomId);
 			} else {
 				// ⭐ 현재 채팅방에 접속 중인 사용자 목록 조회 (실시간 WebSocket 세션 기반)
@@ -1088,9 +1130,8 @@ public class ChatMessageController {
 				
 				// ⭐ 발신자 및 접속 중인 사용자를 제외한 참여자 ID 목록 생성
 				// 접속 중인 사용자는 실시간으로 메시지를 볼 수 있으므로 알림 불필요
-				List<Integer> recipientIds = chatRoomUsers.stream()
-					.filter(cru -> cru.getUser() != null && !cru.getUser().getId().equals(sender.getId()))
-					.map(cru -> cru.getUser().getId())
+				List<Integer> recipientIds = participantIds.stream()
+					.filter(userId -> !userId.equals(sender.getId()))
 					.filter(userId -> !connectedUserIds.contains(userId)) // ⭐ 접속 중인 사용자 제외
 					.collect(Collectors.toList());
 				
@@ -1137,6 +1178,64 @@ public class ChatMessageController {
 		return ResponseEntity.ok(ResponseDTO.success(dto, "다중 파일 업로드 성공"));
 	}
 	
+	/**
+	 * 9-1. 다중 파일 메시지의 S3 업로드 (업로드 스레드풀에서 파일별 병렬 처리)
+	 * - 파일마다 업로드가 끝나면 FILE_UPLOAD_STATUS 프레임으로 메시지의 해당 파일 상태/URL을 갱신
+	 * - 업로드 실패한 파일은 MessageFile 삭제 (다시 조회하면 없는 파일)
+	 * - 모두 끝나면 메시지의 대표 fileUrl을 업로드 성공한 첫 파일로 확정 (모두 실패하면 파일 없는 안내 메시지로 변경)
+	 * */
+	private void uploadStagedFiles(String topic, Integer roomId, Integer chatId, List<ChatAttachmentUploadService.StagedFile> stagedFiles) {
+		AtomicReferenceArray<String> uploadedKeys = new AtomicReferenceArray<>(stagedFiles.size());
+		chatAttachmentUploadService.uploadAll(stagedFiles, (stagedFile, success, error) -> {
+			if (success) {
+				uploadedKeys.set(stagedFile.index(), stagedFile.s3Key());
+			} else {
+				messageFileRepository.deleteByChatIdAndS3Key(chatId, stagedFile.s3Key());
+			}
+			
+			Map<String, Object> frame = new HashMap<>();
+			frame.put("type", "FILE_UPLOAD_STATUS");
+			frame.put("roomId", roomId);
+			frame.put("chatId", chatId);
+			frame.put("fileIndex", stagedFile.index());
+			frame.put("fileName", stagedFile.fileName());
+			frame.put("status", (success ? ChatAttachmentUploadService.UploadStatus.UPLOADED
+					: ChatAttachmentUploadService.UploadStatus.FAILED).name());
+			frame.put("fileUrl", success ? s3Service.getFileUrl(stagedFile.s3Key()) : null);
+			messagingTemplate.convertAndSend(topic, frame);
+		}).thenRun(() -> finishFileUpload(topic, roomId, chatId, stagedFiles, uploadedKeys));
+	}
+	
+	/** 9-2. 업로드 종료: 메시지 저장 시 대표 fileUrl로 넣어둔 첫 파일 키가 실패한 경우에만 갱신 */
+	private void finishFileUpload(String topic, Integer roomId, Integer chatId, List<ChatAttachmentUploadService.StagedFile> stagedFiles,
+			AtomicReferenceArray<String> uploadedKeys) {
+		String firstUploadedKey = null;
+		for (int i = 0; i < uploadedKeys.length() && firstUploadedKey == null; i++) {
+			firstUploadedKey = uploadedKeys.get(i);
+		}
+		log.info("[uploadMultipleFileMessage] 파일 업로드 종료 - roomId: {}, chatId: {}, 파일 수: {}, 첫 성공 파일: {}",
+				roomId, chatId, stagedFiles.size(), firstUploadedKey);
+		if (stagedFiles.get(0).s3Key().equals(firstUploadedKey)) {
+			return;
+		}
+		
+		if (firstUploadedKey != null) {
+			chatRepository.updateFileUploadResult(chatId, true, firstUploadedKey, null);
+			return;
+		}
+		// ⭐ 모두 실패: 파일 없는 메시지로 바꾸고(fileYn=false, fileUrl=null) 안내 문구로 교체 (빈 말풍선 방지)
+		String failedMessage = "파일 업로드에 실패했습니다";
+		chatRepository.updateFileUploadResult(chatId, false, null, failedMessage);
+		chatRoomSummaryService.onMessageUpdated(roomId, chatId, failedMessage, false);
+		
+		Map<String, Object> updateMessage = new HashMap<>();
+		updateMessage.put("type", "MESSAGE_UPDATE");
+		updateMessage.put("chatId", chatId);
+		updateMessage.put("messageContent", failedMessage);
+		updateMessage.put("roomId", roomId);
+		messagingTemplate.convertAndSend(topic, updateMessage);
+	}
+	
 	  // 10. 채팅방 초대 가능한 사용자 목록 조회 (참여자 제외)
     @Operation(summary = "채팅방 초대 가능한 사용자 목록 조회", description = "특정 채팅방에 참여하지 않은 모든 사용자 목록을 조회합니다.")
     @GetMapping("/{roomId}/users/available")
@@ -1305,8 +1404,14 @@ public class ChatMessageController {
                     // ChatRoomUser 생성 및 저장
                     ChatRoomUser cru = ChatRoomUser.createChatRoomUser(invited, chatRoom);
                     chatRoomUserRepository.save(cru);
+                    chatParticipantCache.invalidate(roomId);
                     chatRoomUserRepository.flush(); // 즉시 DB 반영
                     
+                    // ⭐ watermark 모드: 초대 이전 메시지는 미읽음으로 집계하지 않도록 최신 메시지로 초기화
+                    if (chatReadWatermarkService.isEnabled()) {
+                        chatReadWatermarkService.initializeForNewMember(roomId, invited.getId());
+                    }
+                    
                     log.info("[inviteUsersToChatRoom] ChatRoomUser 저장 완료 - userId: {}, userName: {}", 
                             invited.getId(), invited.getName());
                     
@@ -1339,6 +1444,7 @@ public class ChatMessageController {
                     try {
                         String notificationMsg = chatRoom.getRoomName() + " 채팅방에 " + invited.getName() + "님이 초대되었습니다";
                         notificationService.sendNotification(
+                            "chat-room-user:" + cru.getId() + ":invited",
                             invited.getId(),
                             NotificationType.CHAT,
                             notificationMsg,
@@ -1449,6 +1555,7 @@ public class ChatMessageController {
         
         // 즉시 DB에 반영되도록 flush
         notificationRepository.flush();
+        unreadNotificationCache.markRead(notification.getUser().getId(), notification.getId(), notification.getNotificationType());
         
         log.info("[markNotificationRead] 알림 읽음 처리 완료 - notificationId: {}, notificationReadYn: {}, notificationReadAt: {}", 
                 notification.getId(), notification.getNotificationReadYn(), notification.getNotificationReadAt());
@@ -1468,66 +1575,34 @@ public class ChatMessageController {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + email));
         
-        // 현재 사용자의 모든 안읽은 알림 조회
-        List<Notification> unreadNotifications = notificationRepository.findUnreadByUserId(user.getId());
+        // ⭐ UPDATE 1번으로 모든 안읽은 알림 읽음 처리 (알림마다 조회 + saveAndFlush + 재조회 하지 않음)
+        int count = notificationRepository.markAllReadByUserId(user.getId(), LocalDateTime.now());
+        unreadNotificationCache.markAllRead(user.getId());
         
-        if (unreadNotifications.isEmpty()) {
+        if (count == 0) {
             log.info("[markAllNotificationsAsRead] 읽지 않은 알림이 없습니다. userId: {}", user.getId());
             return ResponseEntity.ok(ResponseDTO.success(0, "읽지 않은 알림이 없습니다."));
         }
-        
-        // 모든 알림 읽음 처리
-        int count = 0;
-        LocalDateTime now = LocalDateTime.now();
-        for (Notification notification : unreadNotifications) {
-            // 이미 읽음 처리된 알림은 건너뛰기
-            if (Boolean.TRUE.equals(notification.getNotificationReadYn())) {
-                log.debug("[markAllNotificationsAsRead] 이미 읽음 처리된 알림 건너뛰기 - notificationId: {}", notification.getId());
-                continue;
-            }
-            
-            // 읽음 처리 전 상태 로그
-            log.info("[markAllNotificationsAsRead] 읽음 처리 전 - notificationId: {}, readYn: {}, readAt: {}", 
-                    notification.getId(), notification.getNotificationReadYn(), notification.getNotificationReadAt());
-            
-            // 읽음 처리
-            notification.markRead();
-            
-            // 읽음 처리 후 상태 로그
-            log.info("[markAllNotificationsAsRead] 읽음 처리 후 (엔티티 상태) - notificationId: {}, readYn: {}, readAt: {}", 
-                    notification.getId(), notification.getNotificationReadYn(), notification.getNotificationReadAt());
-            
-            // saveAndFlush를 사용하여 즉시 DB에 반영
-            Notification saved = notificationRepository.saveAndFlush(notification);
-            
-            // 저장 후 상태 확인
-            log.info("[markAllNotificationsAsRead] 저장 후 (DB 상태) - notificationId: {}, readYn: {}, readAt: {}", 
-                    saved.getId(), saved.getNotificationReadYn(), saved.getNotificationReadAt());
-            
-            // DB에서 다시 조회하여 확인
-            notificationRepository.findById(notification.getId()).ifPresent(verified -> {
-                log.info("[markAllNotificationsAsRead] DB 재조회 확인 - notificationId: {}, readYn: {}, readAt: {}", 
-                        verified.getId(), verified.getNotificationReadYn(), verified.getNotificationReadAt());
-                if (!Boolean.TRUE.equals(verified.getNotificationReadYn())) {
-                    log.error("[markAllNotificationsAsRead] ⚠️ 경고 - DB에 읽음 처리가 반영되지 않았습니다! notificationId: {}", verified.getId());
-                }
-            });
-            
-            count++;
-        }
-        
-        // 읽음 처리 후 확인 (디버깅용)
-        List<Notification> verifyUnread = notificationRepository.findUnreadByUserId(user.getId());
-        log.info("[markAllNotificationsAsRead] 모든 알림 읽음 처리 완료 - userId: {}, 처리된 알림 수: {}, 읽음 처리 후 남은 안읽은 알림 수: {}", 
-                user.getId(), count, verifyUnread.size());
-        
-        if (verifyUnread.size() > 0) {
-            log.warn("[markAllNotificationsAsRead] ⚠️ 읽음 처리 후에도 안읽은 알림이 남아있습니다. 남은 알림 ID: {}", 
-                    verifyUnread.stream().map(Notification::getId).collect(java.util.stream.Collectors.toList()));
-        }
+        log.info("[markAllNotificationsAsRead] 모든 알림 읽음 처리 완료 - userId: {}, 처리된 알림 수: {}", user.getId(), count);
         
         return ResponseEntity.ok(ResponseDTO.success(count, String.format("%d개의 알림을 읽음 처리했습니다.", count)));
     }
+    
+    // 10-2. 특정 종류 알림 모두 삭제
+    @Operation(summary = "특정 종류 알림 모두 삭제", description = "현재 사용자의 지정한 종류(EMAIL / NOTICE / APPROVAL / SCHEDULE / CHAT) 알림을 모두 삭제 처리합니다.")
+    @org.springframework.web.bind.annotation.DeleteMapping(value = "/notifications", params = "type")
+    @org.springframework.transaction.annotation.Transactional
+    public ResponseEntity<ResponseDTO<Integer>> deleteNotificationsByType(
+            @RequestParam("type") NotificationType type,
+            @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        Integer userId = customUserDetails.getId();
+        // ⭐ UPDATE 1번으로 삭제 표시
+        int count = notificationRepository.markDeletedByUserIdAndType(userId, type);
+        unreadNotificationCache.invalidate(userId);
+        log.info("[deleteNotificationsByType] userId: {}, type: {}, 삭제 처리된 알림 수: {}", userId, type, count);
+        return ResponseEntity.ok(ResponseDTO.success(count, String.format("%d개의 알림을 삭제했습니다.", count)));
+    }
 
     // 11. 미읽은 알림/채팅 메시지 요약
     @Operation(summary = "미읽은 알림 요약", description = "가장 최근 알림만 띄우고 채팅 메시지 안읽은 개수만 표시")
@@ -1539,25 +1614,35 @@ public class ChatMessageController {
         User user = userRepository.findByEmail(email).orElseThrow();
         
         // ⭐ 채팅 메시지 안읽은 개수만 조회 (알림 개수는 제외)
-        List<ChatMessageReadStatus> unreadChatMessages = chatMessageReadStatusRepository.findByUserIdAndReadYnFalse(user.getId());
-        int chatUnreadCount = unreadChatMessages != null ? unreadChatMessages.size() : 0;
+        int chatUnreadCount;
+        if (chatReadWatermarkService.isEnabled()) {
+            chatUnreadCount = chatRepository.countUnreadByRoomIdForUserByWatermark(user.getId()).stream()
+                    .mapToInt(row -> ((Long) row[1]).intValue())
+                    .sum();
+        } else {
+            List<ChatMessageReadStatus> unreadChatMessages = chatMessageReadStatusRepository.findByUserIdAndReadYnFalse(user.getId());
+            chatUnreadCount = unreadChatMessages != null ? unreadChatMessages.size() : 0;
+        }
         
         log.info("[getLatestUnreadNotificationSummary] ⭐ 채팅 메시지 안읽은 개수만 반환: {}", chatUnreadCount);
         
-        // 최신 알림 정보는 유지 (팝오버에서 사용할 수 있도록)
-        List<NotificationType> allowedTypes = List.of(NotificationType.EMAIL, NotificationType.NOTICE, NotificationType.APPROVAL, NotificationType.SCHEDULE);
-        List<Notification> unreadNotifications = notificationRepository.findUnreadByUserIdAndTypes(user.getId(), allowedTypes);
-        List<Notification> filtered = unreadNotifications.stream()
-                .filter(n -> allowedTypes.contains(n.getNotificationType()))
-                .sorted(Comparator.comparing(Notification::getNotificationSentAt, Comparator.nullsLast(Comparator.naturalOrder())).reversed())
-                .toList();
-        
-        Notification latest = filtered.isEmpty() ? null : filtered.get(0);
+        // 최신 알림 정보는 유지 (팝오버에서 사용할 수 있도록) - 미읽음 알림 캐시에서 조회 (EMAIL / NOTICE / APPROVAL / SCHEDULE)
+        NotificationSummary latest = unreadNotificationCache.latest(user.getId());
         
         // ⭐ 중요: unreadCount에는 채팅 메시지 안읽은 개수만 설정
         UnreadNotificationSummaryDTO dto = UnreadNotificationSummaryDTO.from(latest, chatUnreadCount);
         return ResponseEntity.ok(ResponseDTO.success(dto, "미읽은 알림 요약 조회 성공"));
     }
+
+    // 11-1. 미읽은 알림 개수 (배지)
+    @Operation(summary = "미읽은 알림 개수", description = "EMAIL / NOTICE / APPROVAL / SCHEDULE 미읽은 알림 개수 (메모리 캐시, 캐시에 없을 때만 DB 조회)")
+    @GetMapping("/notifications/unread-count")
+    public ResponseEntity<ResponseDTO<Integer>> getUnreadNotificationCount(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        int count = unreadNotificationCache.unreadCount(customUserDetails.getId());
+        return ResponseEntity.ok(ResponseDTO.success(count, "미읽은 알림 개수 조회 성공"));
+    }
     
     
     // 13. 실시간 알림 WebSocket 푸시 테스트
@@ -1570,6 +1655,7 @@ public class ChatMessageController {
         String email = customUserDetails.getEmail();
         User user = userRepository.findByEmail(email).orElseThrow();
         notificationService.sendNotification(
+                NotificationService.manualEventKey(user.getId(), req.getRequestId()),
                 user.getId(),
                 NotificationType.EMAIL,
                 req.getMessage(),
@@ -1682,6 +1768,36 @@ public class ChatMessageController {
         return ResponseEntity.ok(ResponseDTO.success(dtoList, "나에게 온 알림 조회 성공"));
     }
     
+    /**
+     * 17-1. 나에게 온 알림 내역 커서 페이징 조회 (최신 알림부터, before 이전 limit개)
+     * - GET /api/v1/chat/notifications/history?before={notificationId}&limit=50
+     * - id 기준 keyset이라 내역이 많아도 페이지마다 같은 비용 (전체 알림을 메모리에 올리지 않음)
+     * */
+    @Operation(summary = "나에게 온 알림 내역 커서 조회", description = "삭제되지 않은 알림을 최신순으로 before 이전 limit개 조회합니다.")
+    @GetMapping("/notifications/history")
+    public ResponseEntity<ResponseDTO<NotificationCursorResponseDTO>> getNotificationHistory(
+            @RequestParam(value = "before", required = false) Integer before,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @AuthenticationPrincipal CustomUserDetails customUserDetails
+    ) {
+        // 한 번에 최대 MAX_HISTORY_LIMIT개까지, 다음 페이지 여부 확인을 위해 1개 더 조회
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        List<NotificationHistoryDTO> items = notificationRepository.findHistoryBefore(
+                customUserDetails.getId(), before, org.springframework.data.domain.PageRequest.of(0, pageSize + 1));
+        boolean last = items.size() <= pageSize;
+        if (!last) {
+            items = items.subList(0, pageSize);
+        }
+        Integer nextCursor = last || items.isEmpty() ? null : items.get(items.size() - 1).id();
+
+        NotificationCursorResponseDTO dto = NotificationCursorResponseDTO.builder()
+            .content(items)
+            .nextCursor(nextCursor)
+            .last(last)
+            .build();
+        return ResponseEntity.ok(ResponseDTO.success(dto, "알림 내역 커서 조회 성공"));
+    }
+    
     // 18. 내가 참여중인 채팅방의 안읽은 메시지 개수/목록 조회
     @Operation(summary = "내가 참여중인 채팅방의 안읽은 메시지 개수/목록 조회", description = "내가 참여중인 채팅방의 안읽은 메시지 개수/목록 조회")
     @GetMapping("/messages/unread")
@@ -1703,17 +1819,24 @@ public class ChatMessageController {
         
         for (ChatRoomLatestMessageResponseDTO room : chatRooms) {
             // (1) 안읽은 메시지 개수
-            Integer unreadCount = chatMessageReadStatusRepository.countByUserIdAndChatRoomIdAndReadYnFalse(user.getId(), room.getRoomId());
-
             // (2) 마지막 미읽음 메시지 정보 불러오기
-            ChatMessageReadStatus lastUnreadStatus = chatMessageReadStatusRepository.findLastUnreadStatusInRoomForUser(user.getId(), room.getRoomId());
+            Integer unreadCount;
+            Chat lastUnreadChat;
+            if (chatReadWatermarkService.isEnabled()) {
+                unreadCount = chatRepository.countUnreadByWatermark(user.getId(), room.getRoomId());
+                lastUnreadChat = chatRepository.findLastUnreadInRoomByWatermark(user.getId(), room.getRoomId());
+            } else {
+                unreadCount = chatMessageReadStatusRepository.countByUserIdAndChatRoomIdAndReadYnFalse(user.getId(), room.getRoomId());
+                ChatMessageReadStatus lastUnreadStatus = chatMessageReadStatusRepository.findLastUnreadStatusInRoomForUser(user.getId(), room.getRoomId());
+                lastUnreadChat = lastUnreadStatus != null ? lastUnreadStatus.getChat() : null;
+            }
 
             // ***이 부분에 추가!***
-            Integer lastUnreadMessageId = lastUnreadStatus != null ? lastUnreadStatus.getChat().getId() : null;
-            String lastUnreadMessageContent = lastUnreadStatus != null ? lastUnreadStatus.getChat().getMessageContent() : null;
-            String lastUnreadSenderName = lastUnreadStatus != null && lastUnreadStatus.getChat().getSender() != null
-                ? lastUnreadStatus.getChat().getSender().getName() : null;
-            LocalDateTime lastUnreadMessageTime = lastUnreadStatus != null ? lastUnreadStatus.getChat().getSendAt() : null;
+            Integer lastUnreadMessageId = lastUnreadChat != null ? lastUnreadChat.getId() : null;
+            String lastUnreadMessageContent = lastUnreadChat != null ? lastUnreadChat.getMessageContent() : null;
+            String lastUnreadSenderName = lastUnreadChat != null && lastUnreadChat.getSender() != null
+                ? lastUnreadChat.getSender().getName() : null;
+            LocalDateTime lastUnreadMessageTime = lastUnreadChat != null ? lastUnreadChat.getSendAt() : null;
 
             // 응답 map에 id도 추가
             Map<String, Object> roomMap = new HashMap<>();
@@ -1741,21 +1864,26 @@ public class ChatMessageController {
             .map(ChatRoomLatestMessageResponseDTO::getRoomId)
             .collect(Collectors.toList());
 
-        List<ChatMessageReadStatus> unreadStatuses = chatMessageReadStatusRepository.findByUserIdAndReadYnFalse(user.getId());
+        // ⭐ watermark 모드: 읽음 row 대신 읽음 위치 이후 메시지를 바로 조회
+        List<Chat> unreadChats = chatReadWatermarkService.isEnabled()
+            ? chatRepository.fetchUnreadWithSenderByWatermark(user.getId())
+            : chatMessageReadStatusRepository.findByUserIdAndReadYnFalse(user.getId()).stream()
+                .map(ChatMessageReadStatus::getChat)
+                .collect(Collectors.toList());
 
         Map<Integer, String> roomIdToName = chatRooms.stream()
             .collect(Collectors.toMap(ChatRoomLatestMessageResponseDTO::getRoomId, ChatRoomLatestMessageResponseDTO::getRoomName));
 
-        List<ChatMessageResponseDTO> unreadMessages = unreadStatuses.stream()
-        		// 각 ChatMessageReadStatus에 대해 메시지 객체와 내 읽음 여부 getReadYn()를 함께 전달
-        		.map(status -> {
-        		    ChatMessageResponseDTO dto = ChatMessageResponseDTO.fromEntity(status.getChat(), status.getReadYn(), s3Service);
+        List<ChatMessageResponseDTO> unreadMessages = unreadChats.stream()
+        		// 각 미읽음 메시지 객체와 내 읽음 여부(false)를 함께 전달
+        		.map(chat -> {
+        		    ChatMessageResponseDTO dto = ChatMessageResponseDTO.fromEntity(chat, false, s3Service);
         		    
         		    // ⭐ senderEmail 명시적으로 설정 (lazy loading 문제 해결)
-        		    if (dto != null && status.getChat() != null && status.getChat().getSender() != null 
-        		        && status.getChat().getSender().getId() != null) {
+        		    if (dto != null && chat != null && chat.getSender() != null 
+        		        && chat.getSender().getId() != null) {
         		        // ⭐ LazyInitializationException 방지: Department를 함께 로드하는 메서드 사용
-        		        User senderUser = userRepository.findByIdWithDepartment(status.getChat().getSender().getId()).orElse(null);
+        		        User senderUser = userRepository.findByIdWithDepartment(chat.getSender().getId()).orElse(null);
         		        if (senderUser != null && senderUser.getEmail() != null) {
         		            dto.setSenderEmail(senderUser.getEmail());
         		            log.debug("[getUnreadChatMessages] senderEmail 설정 - userId: {}, email: {}", 
@@ -1940,41 +2068,14 @@ public class ChatMessageController {
     	
     	log.info("[markRoomMessagesAsRead] 읽음 처리 요청 - roomId: {}, userId: {}, email: {}", roomId, user.getId(), email);
     	
-    	// ⭐ 메시지 읽음 처리 및 읽음 처리된 메시지 ID 리스트 반환
-    	List<Integer> readChatIds = chatRoomService.markMessagesAsRead(roomId, user.getId());
+    	// ⭐ 메시지 읽음 처리 (UPDATE 기반 일괄 처리) 및 메시지별 최신 unreadCount 반환
+    	Map<Integer, Integer> readUnreadCounts = chatRoomService.markMessagesAsRead(roomId, user.getId());
     	
-    	log.info("[markRoomMessagesAsRead] 읽음 처리 완료 - roomId: {}, userId: {}, 처리된 메시지 수: {}", roomId, user.getId(), readChatIds.size());
+    	log.info("[markRoomMessagesAsRead] 읽음 처리 완료 - roomId: {}, userId: {}, 처리된 메시지 수: {}", roomId, user.getId(), readUnreadCounts.size());
     	
     	// ⭐ WebSocket을 통해 실시간으로 unreadCount 업데이트 알림
-    	// 각 메시지의 업데이트된 unreadCount를 전송 (발신자에게만 알림)
-    	for (Integer chatId : readChatIds) {
-    	    Optional<Chat> chatOpt = chatRepository.findById(chatId);
-    	    if (chatOpt.isPresent()) {
-    	        Chat chat = chatOpt.get();
-    	        // ⭐ 메시지 발신자 정보 확인
-    	        Integer senderId = chat.getSender() != null ? chat.getSender().getId() : null;
-    	        String senderEmail = chat.getSender() != null ? chat.getSender().getEmail() : null;
-    	        
-    	        // ⭐ unreadCount를 실시간으로 계산 (DB 저장값이 아닌 실제 읽지 않은 사람 수)
-    	        int realUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(chatId);
-    	        
-    	        // ⭐ unreadCount 업데이트 메시지 전송 (발신자 정보 및 읽은 사람 정보 포함)
-    	        Map<String, Object> updateMessage = new HashMap<>();
-    	        updateMessage.put("type", "UNREAD_COUNT_UPDATE");
-    	        updateMessage.put("chatId", chatId);
-    	        updateMessage.put("unreadCount", realUnreadCount); // ⭐ 실시간 계산된 값 사용
-    	        updateMessage.put("roomId", roomId);
-    	        updateMessage.put("senderId", senderId); // ⭐ 발신자 ID 추가
-    	        updateMessage.put("senderEmail", senderEmail); // ⭐ 발신자 이메일 추가
-    	        updateMessage.put("viewerId", user.getId()); // ⭐ 읽은 사람 ID 추가 (디버깅용)
-    	        updateMessage.put("viewerEmail", email); // ⭐ 읽은 사람 이메일 추가 (디버깅용)
-    	        
-    	        // ⭐ 모든 참여자에게 전송 (모든 참여자가 실시간으로 unreadCount 업데이트)
-    	        messagingTemplate.convertAndSend("/topic/chat.room." + roomId, updateMessage);
-    	        log.info("[markRoomMessagesAsRead] unreadCount 업데이트 알림 전송 - chatId: {}, unreadCount: {} (실시간 계산), senderId: {}, senderEmail: {}", 
-    	                chatId, realUnreadCount, senderId, senderEmail);
-    	    }
-    	}
+    	// 메시지마다 프레임을 보내지 않고 chatId → unreadCount 맵을 프레임 1개로 전송 (모든 참여자에게 알림)
+    	chatRoomService.sendUnreadCountBatchUpdate(roomId, user.getId(), readUnreadCounts);
     	
     	return ResponseEntity.ok().build();    	
     }
@@ -0,0 +1,24 @@
+package com.goodee.coreconnect.chat.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ChatActivityRequestDTO {
+
+	private Integer roomId;
+	/** TYPING / PRESENCE_PING / VIEWING */
+	private String type;
+	/** 시작(true) / 종료(false), 없으면 true */
+	private Boolean active;
+
+}
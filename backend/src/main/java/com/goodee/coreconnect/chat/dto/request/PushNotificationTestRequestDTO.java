@@ -15,4 +15,5 @@ import lombok.ToString;
 @ToString
 public class PushNotificationTestRequestDTO {
 	private String message; // 푸시할 알림 메시지
+	private String requestId; // 클라이언트 요청 ID (재전송 시 같은 값이면 알림 1번만 전달)
 }
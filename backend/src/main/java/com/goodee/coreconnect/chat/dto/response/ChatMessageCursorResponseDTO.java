@@ -0,0 +1,20 @@
+package com.goodee.coreconnect.chat.dto.response;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 채팅 내역 커서 페이징 응답
+ * - content: 최신 메시지부터 내림차순 (기존 Page 응답과 같은 순서)
+ * - nextCursor: 이전 메시지를 더 불러올 때 before 파라미터로 넘길 chatId (더 없으면 null)
+ * - last: 마지막 페이지 여부 (기존 Page.last와 같은 의미)
+ */
+@Data
+@Builder
+public class ChatMessageCursorResponseDTO {
+	private List<ChatMessageResponseDTO> content;
+	private Integer nextCursor;
+	private boolean last;
+}
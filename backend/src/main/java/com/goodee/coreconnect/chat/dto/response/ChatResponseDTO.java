@@ -33,6 +33,7 @@ public class ChatResponseDTO {
     private Boolean fileYn;
     private String fileUrl;
     private List<String> fileUrls; // ⭐ 여러 파일 URL 목록
+    private List<String> fileStatuses; // ⭐ 파일별 업로드 상태 (UPLOADING / UPLOADED / FAILED, fileUrls와 같은 순서), null이면 업로드 완료된 메시지
     private Integer roomId;
     private Integer senderId;
     private String senderName;
@@ -0,0 +1,22 @@
+package com.goodee.coreconnect.chat.dto.response;
+
+import java.util.List;
+
+import com.goodee.coreconnect.common.notification.dto.NotificationHistoryDTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 알림 내역 커서 페이징 응답
+ * - content: 최신 알림부터 내림차순
+ * - nextCursor: 이전 알림을 더 불러올 때 before 파라미터로 넘길 알림 ID (더 없으면 null)
+ * - last: 마지막 페이지 여부
+ */
+@Data
+@Builder
+public class NotificationCursorResponseDTO {
+	private List<NotificationHistoryDTO> content;
+	private Integer nextCursor;
+	private boolean last;
+}
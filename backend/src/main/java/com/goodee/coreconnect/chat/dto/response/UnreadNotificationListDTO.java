@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.goodee.coreconnect.common.entity.Notification;
+import com.goodee.coreconnect.common.notification.dto.NotificationSummary;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,6 +31,21 @@ public class UnreadNotificationListDTO {
     private Integer scheduleId; // SCHEDULE 타입 알림의 경우 일정 ID
     private Integer roomId; // CHAT 타입 알림의 경우 채팅방 ID
 
+    // 미읽음 알림 캐시 요약 → DTO 변환
+    public static UnreadNotificationListDTO from(NotificationSummary s) {
+        return UnreadNotificationListDTO.builder()
+            .notificationId(s.notificationId())
+            .message(s.message())
+            .senderName(s.senderName())
+            .receiverName(s.receiverName())
+            .sentAt(s.sentAt())
+            .notificationType(s.type() != null ? s.type().name() : null)
+            .documentId(s.documentId())
+            .boardId(s.boardId())
+            .scheduleId(s.scheduleId())
+            .build();
+    }
+
     // 엔티티 → DTO 변환
     public static UnreadNotificationListDTO from(Notification n) {
         return UnreadNotificationListDTO.builder()
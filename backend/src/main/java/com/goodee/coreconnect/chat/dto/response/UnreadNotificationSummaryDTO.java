@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.goodee.coreconnect.common.entity.Notification;
+import com.goodee.coreconnect.common.notification.dto.NotificationSummary;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,6 +32,19 @@ public class UnreadNotificationSummaryDTO {
     private int unreadCount;        // 미읽은 알림 개수
     private String receiverName;
 
+    /** 미읽음 알림 캐시 요약 → DTO (latest가 null이면 알림 정보 없이 개수만) */
+    public static UnreadNotificationSummaryDTO from(NotificationSummary latest, int unreadCount) {
+        return UnreadNotificationSummaryDTO.builder()
+                .notificationId(latest != null ? latest.notificationId() : null)
+                .message(latest != null ? latest.message() : null)
+                .senderName(latest != null ? latest.senderName() : null)
+                .receiverName(latest != null ? latest.receiverName() : null)
+                .sentAt(latest != null ? latest.sentAt() : null)
+                .notificationType(latest != null && latest.type() != null ? latest.type().name() : null)
+                .unreadCount(unreadCount)
+                .build();
+    }
+
     public static UnreadNotificationSummaryDTO from(Notification latest, int unreadCount) {
         if (latest == null) {
             return UnreadNotificationSummaryDTO.builder()
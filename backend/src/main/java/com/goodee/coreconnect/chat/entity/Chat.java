@@ -1,9 +1,12 @@
 package com.goodee.coreconnect.chat.entity;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
+
+import com.goodee.coreconnect.chat.journal.ChatMessageId;
 import com.goodee.coreconnect.common.entity.Notification;
 import com.goodee.coreconnect.user.entity.User;
 
@@ -11,9 +14,8 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -29,11 +31,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "chat_message")
+@Table(
+    name = "chat_message",
+    indexes = {
+        // ⭐ 채팅 내역 커서(keyset) 페이징용: WHERE chat_room_id = ? AND (sent_at, id) < (?, ?) ORDER BY sent_at DESC, id DESC
+        @Index(name = "idx_chat_message_room_sent_at_id", columnList = "chat_room_id, sent_at, id")
+    }
+)
 public class Chat {
 
+	// ⭐ 기본은 AUTO_INCREMENT, chat.write-behind.enabled=true면 ChatIdAllocator 구간에서 할당 (ChatMessageIdGenerator)
+	// write-behind 사용 시 ID는 전송 순서와 다를 수 있음 → 메시지 순서 비교는 항상 (sendAt, id)
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@ChatMessageId
 	private Integer id;
 
 	@Column(name = "message_content")
@@ -86,7 +96,7 @@ public class Chat {
 			.messageContent(messageContent)
 			.fileYn(fileYn)
 			.fileUrl(fileUrl)
-			.sendAt(sendAt)
+			.sendAt(sendAt != null ? sendAt.truncatedTo(ChronoUnit.MICROS) : null) // sent_at(DATETIME(6)) 정밀도 - 메모리/DB의 (sendAt, id) 비교가 같도록
 			.unreadCount(0)
 			.readYn(false)
 			.messageFiles(new ArrayList<>())
@@ -0,0 +1,41 @@
+package com.goodee.coreconnect.chat.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * 채팅방 목록용 요약 (채팅방당 1행)
+ * - 마지막 메시지 정보를 메시지 저장 시점에 갱신해 두고, 목록 조회 시 chat_message를 다시 집계하지 않음
+ * - 참여자별 안읽은 메시지 수는 chat_room_user.unread_count에 함께 유지됨
+ */
+@Getter
+@Entity
+@Table(name = "chat_room_summary")
+public class ChatRoomSummary {
+
+	@Id
+	@Column(name = "chat_room_id")
+	private Integer chatRoomId;
+
+	@Column(name = "last_message_id")
+	private Integer lastMessageId;
+
+	@Column(name = "last_message_content")
+	private String lastMessageContent;
+
+	@Column(name = "last_sender_name")
+	private String lastSenderName;
+
+	@Column(name = "last_message_time")
+	private LocalDateTime lastMessageTime;
+
+	@Column(name = "last_message_file_yn")
+	private Boolean lastMessageFileYn;
+
+	protected ChatRoomSummary() {}
+}
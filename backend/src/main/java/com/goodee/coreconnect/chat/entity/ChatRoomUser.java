@@ -1,7 +1,10 @@
 package com.goodee.coreconnect.chat.entity;
 
+import java.time.LocalDateTime;
+
 import com.goodee.coreconnect.user.entity.User;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -37,6 +40,18 @@ public class ChatRoomUser {
 	@JoinColumn(name = "chat_room_id")
 	private ChatRoom chatRoom;
 	
+	// 마지막으로 읽은 메시지 위치 (watermark 읽음 처리 모드: (sent_at, id)가 이 위치 이하인 메시지는 모두 읽음으로 간주)
+	// ⭐ ID는 전송 순서와 다를 수 있으므로(구간 할당) 보낸 시각 + ID 두 값으로 비교
+	@Column(name = "last_read_sent_at")
+	private LocalDateTime lastReadSentAt;
+	
+	@Column(name = "last_read_chat_id")
+	private Integer lastReadChatId;
+	
+	// 이 참여자가 안읽은 메시지 수 (채팅방 목록 조회용, 메시지 저장/읽음 처리 시 갱신)
+	@Column(name = "unread_count")
+	private Integer unreadCount = 0;
+	
 	protected ChatRoomUser() {}
 	
 	public static ChatRoomUser createChatRoomUser(User user, ChatRoom chatRoom) {
@@ -45,4 +60,16 @@ public class ChatRoomUser {
 		chatRoomUser.chatRoom = chatRoom;
 		return chatRoomUser;
 	}
+	
+	// ⭐ 읽음 위치(watermark) 갱신 도메인 메서드 - 뒤로 돌아가지 않도록 (sentAt, chatId)가 더 뒤일 때만 반영
+	public void updateLastRead(LocalDateTime sentAt, Integer chatId) {
+		if (sentAt == null || chatId == null) {
+			return;
+		}
+		if (this.lastReadSentAt == null || this.lastReadSentAt.isBefore(sentAt)
+				|| (this.lastReadSentAt.isEqual(sentAt) && (this.lastReadChatId == null || this.lastReadChatId < chatId))) {
+			this.lastReadSentAt = sentAt;
+			this.lastReadChatId = chatId;
+		}
+	}
 }
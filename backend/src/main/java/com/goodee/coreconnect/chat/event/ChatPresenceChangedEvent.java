@@ -0,0 +1,33 @@
+package com.goodee.coreconnect.chat.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 채팅방 접속 상태 변경 (클러스터 기준 첫 접속 / 마지막 해제 또는 TTL 만료)
+ */
+public class ChatPresenceChangedEvent extends ApplicationEvent {
+	private static final long serialVersionUID = 1L;
+
+    private final Integer roomId;
+    private final Integer userId;
+    private final boolean online;
+
+    public ChatPresenceChangedEvent(Object source, Integer roomId, Integer userId, boolean online) {
+        super(source);
+        this.roomId = roomId;
+        this.userId = userId;
+        this.online = online;
+    }
+
+    public Integer getRoomId() {
+        return roomId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+}
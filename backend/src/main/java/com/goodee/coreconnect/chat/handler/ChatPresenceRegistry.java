@@ -0,0 +1,209 @@
+package com.goodee.coreconnect.chat.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatPresenceRegistry (채팅방 접속자 인덱스)
+ *
+ * - roomId → userId → 세션 Set 구조로 "현재 채팅방에 접속 중인 사용자"를 관리
+ * - afterConnectionEstablished / afterConnectionClosed 에서만 갱신됨
+ * - "R번 방 접속자 조회"를 전체 세션 순회(O(전체 세션)) 대신 O(방 참여자 수)로 처리
+ * - 같은 userId의 여러 브라우저/탭은 1명으로 집계 (기존 userSessions 스캔과 동일한 규칙)
+ * - 사용자가 이 인스턴스에서 방에 처음 접속/마지막으로 해제될 때 리스너에 알림
+ *   (ChatPresenceService가 클러스터 공유 PresenceStore에 반영)
+ *
+ * 의존성이 없으므로 ChatWebSocketHandler / ChatRoomServiceImpl 양쪽에서 순환 참조 없이 주입 가능
+ */
+@Slf4j
+@Component
+public class ChatPresenceRegistry {
+
+	/** roomId → (userId → 세션 Set) */
+	private final Map<Integer, Map<Integer, Set<WebSocketSession>>> rooms = new ConcurrentHashMap<>();
+
+	/** sessionId → 등록 위치(roomId, userId). 해제 시 세션 attribute가 바뀌어도 정확히 제거하기 위함 */
+	private final Map<String, Presence> sessionIndex = new ConcurrentHashMap<>();
+
+	/** userId → 방 접속 세션 수 (사용자 수 카운터용) */
+	private final Map<Integer, AtomicInteger> userSessionCounts = new ConcurrentHashMap<>();
+
+	/** 이 인스턴스의 접속 상태 변경 리스너 */
+	private final List<PresenceListener> listeners = new CopyOnWriteArrayList<>();
+
+	private record Presence(Integer roomId, Integer userId) {}
+
+	/** 사용자가 이 인스턴스에서 채팅방에 처음 접속(online=true)하거나 마지막 세션이 해제(online=false)될 때 호출 */
+	@FunctionalInterface
+	public interface PresenceListener {
+		void onPresenceChanged(Integer roomId, Integer userId, boolean online);
+	}
+
+	public void addListener(PresenceListener listener) {
+		listeners.add(listener);
+	}
+
+	/** 채팅방 세션 등록 (roomId/userId 둘 중 하나라도 없으면 무시) */
+	public void register(Integer roomId, Integer userId, WebSocketSession session) {
+		if (roomId == null || userId == null || session == null) {
+			return;
+		}
+		// ⭐ 세션 인덱스 등록 + 방 갱신을 세션 키의 compute 하나로 처리
+		// (같은 세션의 해제가 두 단계 사이에 끼어들어 방에 세션이 남는 일이 없음)
+		boolean[] registered = { false };
+		boolean[] firstJoin = { false };
+		sessionIndex.compute(session.getId(), (sid, existing) -> {
+			if (existing != null) {
+				return existing; // 이미 등록된 세션
+			}
+			// compute로 방 단위 원자적 갱신 (다른 세션의 해제와 동시에 실행되어도 빈 방이 남거나 세션이 유실되지 않음)
+			rooms.compute(roomId, (rid, members) -> {
+				Map<Integer, Set<WebSocketSession>> m = members != null ? members : new ConcurrentHashMap<>();
+				m.computeIfAbsent(userId, uid -> {
+					firstJoin[0] = true;
+					return ConcurrentHashMap.newKeySet();
+				}).add(session);
+				return m;
+			});
+			userSessionCounts.computeIfAbsent(userId, uid -> new AtomicInteger()).incrementAndGet();
+			registered[0] = true;
+			return new Presence(roomId, userId);
+		});
+		if (!registered[0]) {
+			return;
+		}
+
+		log.debug("[ChatPresenceRegistry.register] roomId: {}, userId: {}, sessionId: {}", roomId, userId, session.getId());
+		if (firstJoin[0]) {
+			notifyListeners(roomId, userId, true);
+		}
+	}
+
+	/** 채팅방 세션 해제 (등록되지 않은 세션이면 무시) */
+	public void unregister(WebSocketSession session) {
+		if (session == null) {
+			return;
+		}
+		// ⭐ 등록 때 기록한 방에서 제거 + 세션 인덱스 제거를 세션 키의 compute 하나로 처리 (등록과 겹치지 않음)
+		Presence[] removed = { null };
+		boolean[] lastLeave = { false };
+		sessionIndex.computeIfPresent(session.getId(), (sid, presence) -> {
+			rooms.computeIfPresent(presence.roomId(), (rid, members) -> {
+				members.computeIfPresent(presence.userId(), (uid, sessions) -> {
+					sessions.removeIf(s -> s == session || session.getId().equals(s.getId()));
+					lastLeave[0] = sessions.isEmpty();
+					return sessions.isEmpty() ? null : sessions;
+				});
+				return members.isEmpty() ? null : members;
+			});
+			userSessionCounts.computeIfPresent(presence.userId(),
+					(uid, count) -> count.decrementAndGet() <= 0 ? null : count);
+			removed[0] = presence;
+			return null;
+		});
+		Presence presence = removed[0];
+		if (presence == null) {
+			return;
+		}
+
+		log.debug("[ChatPresenceRegistry.unregister] roomId: {}, userId: {}, sessionId: {}",
+				presence.roomId(), presence.userId(), session.getId());
+		if (lastLeave[0]) {
+			notifyListeners(presence.roomId(), presence.userId(), false);
+		}
+	}
+
+	private void notifyListeners(Integer roomId, Integer userId, boolean online) {
+		for (PresenceListener listener : listeners) {
+			try {
+				listener.onPresenceChanged(roomId, userId, online);
+			} catch (Exception e) {
+				log.warn("[ChatPresenceRegistry] 접속 상태 리스너 오류 - roomId: {}, userId: {}, error: {}", roomId, userId, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * 특정 채팅방에 이 인스턴스에서 접속 중인 사용자 ID 목록 반환
+	 * - 열린 세션이 하나라도 있는 사용자만 포함 (userId 기준, 중복 없음)
+	 * - 다른 인스턴스 접속자까지 포함한 조회는 ChatPresenceService.getOnlineMembers
+	 */
+	public List<Integer> getConnectedUserIds(Integer roomId) {
+		if (roomId == null) {
+			return Collections.emptyList();
+		}
+		Map<Integer, Set<WebSocketSession>> members = rooms.get(roomId);
+		if (members == null) {
+			return Collections.emptyList();
+		}
+
+		List<Integer> connectedUserIds = new ArrayList<>(members.size());
+		for (Map.Entry<Integer, Set<WebSocketSession>> entry : members.entrySet()) {
+			for (WebSocketSession s : entry.getValue()) {
+				if (s.isOpen()) {
+					connectedUserIds.add(entry.getKey());
+					break;
+				}
+			}
+		}
+		return connectedUserIds;
+	}
+
+	/** 이 인스턴스의 채팅방별 접속자 (roomId → userId 목록, heartbeat용) */
+	public Map<Integer, List<Integer>> snapshotConnectedUsers() {
+		Map<Integer, List<Integer>> snapshot = new HashMap<>();
+		for (Integer roomId : rooms.keySet()) {
+			List<Integer> userIds = getConnectedUserIds(roomId);
+			if (!userIds.isEmpty()) {
+				snapshot.put(roomId, userIds);
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * 닫힌 세션 정리 (afterConnectionClosed가 호출되지 않은 세션)
+	 * @return 정리한 세션 수
+	 */
+	public int pruneClosedSessions() {
+		List<WebSocketSession> closed = new ArrayList<>();
+		for (Map<Integer, Set<WebSocketSession>> members : rooms.values()) {
+			for (Set<WebSocketSession> sessions : members.values()) {
+				for (WebSocketSession s : sessions) {
+					if (!s.isOpen()) {
+						closed.add(s);
+					}
+				}
+			}
+		}
+		closed.forEach(this::unregister);
+		return closed.size();
+	}
+
+	/** 접속자가 있는 채팅방 수 */
+	public int getRoomCount() {
+		return rooms.size();
+	}
+
+	/** 채팅방에 등록된 전체 세션 수 */
+	public int getSessionCount() {
+		return sessionIndex.size();
+	}
+
+	/** 채팅방에 접속 중인 사용자 수 (여러 탭/방 접속은 1명으로 집계) */
+	public int getUserCount() {
+		return userSessionCounts.size();
+	}
+}
@@ -0,0 +1,331 @@
+package com.goodee.coreconnect.chat.handler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import com.goodee.coreconnect.config.VirtualThreads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatSessionDeliveryPipeline (채팅 브로드캐스트 비동기 전송)
+ *
+ * - 세션마다 크기 제한이 있는 전송 큐를 두고, 공용 스레드풀이 세션별로 하나씩만 꺼내 순서대로 전송
+ *   → 수신 스레드(handleTextMessage)는 큐에 넣고 바로 반환, 느린 클라이언트가 발신자/다른 수신자를 막지 않음
+ * - 같은 방 브로드캐스트는 방 단위 락 안에서 모든 수신자 큐에 넣으므로 수신자 모두 같은 순서로 받음
+ * - 실제 전송은 ConcurrentWebSocketSessionDecorator를 통해 수행 (알림 전송 등 다른 스레드와 동시에 보내도 안전)
+ * - 큐가 가득 찼거나 전송이 제한 시간 이상 멈춘 세션은 느린 소비자로 표시하고
+ *   chat.delivery.slow-consumer-policy에 따라 프레임을 버리거나(drop) 세션을 끊음(close)
+ * - 프레임은 브로드캐스트당 1개만 만들어 모든 대상 세션이 공유 (byte[] 기반 TextMessage 권장 → 세션마다 재인코딩 없음)
+ * - 지표: 큐 대기 프레임/바이트, 전송/드롭 프레임 수, 전송 지연 p50/p95/p99 (주기적으로 로그 출력)
+ */
+@Slf4j
+@Component
+public class ChatSessionDeliveryPipeline {
+
+	/** 한 세션에서 전송이 이 시간 이상 끝나지 않으면 느린 소비자로 판단 */
+	@Value("${chat.delivery.send-time-limit-ms:5000}")
+	private int sendTimeLimitMs;
+
+	/** 세션별 전송 대기 큐 최대 크기 (bytes) */
+	@Value("${chat.delivery.buffer-size-limit:524288}")
+	private int bufferSizeLimit;
+
+	/** 느린 소비자 처리 방식: drop(프레임 버림, 세션 유지) / close(세션 종료) */
+	@Value("${chat.delivery.slow-consumer-policy:drop}")
+	private String slowConsumerPolicy;
+
+	/** 전송 스레드 수 (0 이하이면 CPU 수 × 2, 최소 4) */
+	@Value("${chat.delivery.threads:0}")
+	private int threads;
+
+	/** 가상 스레드 모드 (virtual-threads 프로필 + Java 21): 세션 전송마다 가상 스레드, threads 설정 무시 */
+	@Value("${" + VirtualThreads.ENABLED_PROPERTY + ":false}")
+	private boolean virtualThreadsEnabled;
+
+	/** 지연 백분위 계산에 사용하는 최근 샘플 수 */
+	@Value("${chat.delivery.latency-sample-size:1024}")
+	private int latencySampleSize;
+
+	/** 방 단위 순서 보장용 락 (roomId 해시 분할, 가상 스레드에서도 carrier 스레드를 고정하지 않도록 synchronized 대신 ReentrantLock) */
+	private final ReentrantLock[] roomLocks = new ReentrantLock[64];
+
+	/** sessionId → 전송 큐 */
+	private final Map<String, OutboundSession> outboundSessions = new ConcurrentHashMap<>();
+
+	private final AtomicLong deliveredFrames = new AtomicLong();
+	private final AtomicLong droppedFrames = new AtomicLong();
+	private final AtomicLong closedSlowConsumers = new AtomicLong();
+
+	/** 최근 전송 지연 샘플 (마이크로초, 링 버퍼) */
+	private long[] latencySamples;
+	private final AtomicLong latencyCursor = new AtomicLong();
+
+	private ExecutorService sendExecutor;
+
+	/** 전송 지표 스냅샷 */
+	public record DeliveryMetrics(int sessions, int slowSessions, int queuedFrames, long queuedBytes,
+			long deliveredFrames, long droppedFrames, long closedSlowConsumers,
+			long p50Micros, long p95Micros, long p99Micros, long maxMicros) {}
+
+	/** 대상 세션들이 공유하는 불변 프레임 (크기는 한 번만 계산) */
+	private record Frame(TextMessage message, int size, long enqueuedAt) {}
+
+	@PostConstruct
+	public void init() {
+		for (int i = 0; i < roomLocks.length; i++) {
+			roomLocks[i] = new ReentrantLock();
+		}
+		latencySamples = new long[Math.max(1, latencySampleSize)];
+		int poolSize = threads > 0 ? threads : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		if (VirtualThreads.isActive(virtualThreadsEnabled)) {
+			sendExecutor = VirtualThreads.newPerTaskExecutor("chat-delivery-");
+		} else {
+			AtomicInteger seq = new AtomicInteger();
+			sendExecutor = Executors.newFixedThreadPool(poolSize, r -> {
+				Thread t = new Thread(r, "chat-delivery-" + seq.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		log.info("[ChatSessionDeliveryPipeline] 초기화 - threads: {}, sendTimeLimitMs: {}, bufferSizeLimit: {}, policy: {}",
+				VirtualThreads.isActive(virtualThreadsEnabled) ? "virtual" : poolSize, sendTimeLimitMs, bufferSizeLimit, slowConsumerPolicy);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sendExecutor.shutdown();
+	}
+
+	/**
+	 * 연결된 세션을 등록하고 전송용 세션(decorator)을 반환
+	 * - 이후 이 세션으로의 모든 전송은 반환된 세션을 사용해야 함 (userSessions / 알림 전송 등록 포함)
+	 */
+	public WebSocketSession register(WebSocketSession session) {
+		if (session == null) {
+			return null;
+		}
+		return outboundSessions.computeIfAbsent(session.getId(), id -> new OutboundSession(session)).decorator;
+	}
+
+	/** 세션 해제 후 등록되어 있던 전송용 세션 반환 (등록되지 않았으면 원본 세션) */
+	public WebSocketSession unregister(WebSocketSession session) {
+		if (session == null) {
+			return null;
+		}
+		OutboundSession outbound = outboundSessions.remove(session.getId());
+		if (outbound == null) {
+			return session;
+		}
+		outbound.discard();
+		return outbound.decorator;
+	}
+
+	/**
+	 * 채팅방 브로드캐스트 (비동기)
+	 * - 방 단위 락 안에서 대상 세션 큐에 넣기만 하므로 빠르게 반환되고, 같은 방 메시지의 전달 순서가 보장됨
+	 */
+	public void broadcast(Integer roomId, Collection<WebSocketSession> targets, TextMessage message) {
+		if (targets == null || targets.isEmpty() || message == null) {
+			return;
+		}
+		Frame frame = new Frame(message, message.getPayloadLength(), System.nanoTime());
+		ReentrantLock roomLock = roomLocks[Math.floorMod(roomId != null ? roomId : 0, roomLocks.length)];
+		roomLock.lock();
+		try {
+			for (WebSocketSession target : targets) {
+				if (target == null || !target.isOpen()) {
+					continue;
+				}
+				OutboundSession outbound = outboundSessions.get(target.getId());
+				if (outbound == null) {
+					log.debug("[ChatSessionDeliveryPipeline] 등록되지 않은 세션 - sessionId: {}", target.getId());
+					continue;
+				}
+				outbound.offer(frame);
+			}
+		} finally {
+			roomLock.unlock();
+		}
+	}
+
+	private boolean isClosePolicy() {
+		return "close".equalsIgnoreCase(slowConsumerPolicy);
+	}
+
+	private void recordLatency(long nanos) {
+		int idx = (int) (latencyCursor.getAndIncrement() % latencySamples.length);
+		latencySamples[idx] = TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+	/** 현재 전송 지표 */
+	public DeliveryMetrics snapshot() {
+		int queuedFrames = 0;
+		long queuedBytes = 0;
+		int slowSessions = 0;
+		for (OutboundSession outbound : outboundSessions.values()) {
+			queuedFrames += outbound.queue.size();
+			queuedBytes += outbound.queuedBytes.get();
+			if (outbound.slow) {
+				slowSessions++;
+			}
+		}
+
+		int filled = (int) Math.min(latencyCursor.get(), latencySamples.length);
+		long[] sorted = Arrays.copyOf(latencySamples, filled);
+		Arrays.sort(sorted);
+
+		return new DeliveryMetrics(outboundSessions.size(), slowSessions, queuedFrames, queuedBytes,
+				deliveredFrames.get(), droppedFrames.get(), closedSlowConsumers.get(),
+				percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+				filled > 0 ? sorted[filled - 1] : 0);
+	}
+
+	private static long percentile(long[] sorted, int p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+	}
+
+	// 기본 1분마다 전송 지표 로그 (전송 이력이 없으면 생략)
+	@Scheduled(fixedDelayString = "${chat.delivery.metrics-log-interval-ms:60000}")
+	public void logMetrics() {
+		DeliveryMetrics metrics = snapshot();
+		if (metrics.deliveredFrames() == 0 && metrics.droppedFrames() == 0) {
+			return;
+		}
+		log.info("[ChatSessionDeliveryPipeline] 전송 지표 - {}", metrics);
+	}
+
+	/**
+	 * 세션 1개의 전송 큐
+	 * - offer: 큐에 넣고 전송 작업이 없으면 하나 예약 (세션당 동시에 최대 1개 작업 → 순서 유지)
+	 * - drain: 큐가 빌 때까지 순서대로 전송
+	 */
+	private final class OutboundSession {
+
+		private final ConcurrentWebSocketSessionDecorator decorator;
+		private final Queue<Frame> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger queuedBytes = new AtomicInteger();
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		/** 현재 전송 시작 시각 (nanoTime, 전송 중이 아니면 0) */
+		private volatile long sendStartedAt;
+		private volatile boolean slow;
+
+		private OutboundSession(WebSocketSession session) {
+			ConcurrentWebSocketSessionDecorator.OverflowStrategy overflow = isClosePolicy()
+					? ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE
+					: ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP;
+			this.decorator = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, bufferSizeLimit, overflow);
+		}
+
+		private void offer(Frame frame) {
+			int size = frame.size();
+			long startedAt = sendStartedAt;
+			boolean stalled = startedAt != 0 && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) > sendTimeLimitMs;
+			if (stalled || queuedBytes.get() + size > bufferSizeLimit) {
+				onSlowConsumer(stalled);
+				return;
+			}
+
+			queue.add(frame);
+			queuedBytes.addAndGet(size);
+			if (draining.compareAndSet(false, true)) {
+				try {
+					sendExecutor.execute(this::drain);
+				} catch (RejectedExecutionException e) {
+					draining.set(false);
+					discard();
+				}
+			}
+		}
+
+		private void drain() {
+			do {
+				Frame frame;
+				while ((frame = queue.poll()) != null) {
+					queuedBytes.addAndGet(-frame.size());
+					send(frame);
+				}
+				draining.set(false);
+				// 종료 직전에 들어온 프레임이 있으면 이어서 처리 (작업 예약 누락 방지)
+			} while (!queue.isEmpty() && draining.compareAndSet(false, true));
+		}
+
+		private void send(Frame frame) {
+			if (!decorator.isOpen()) {
+				droppedFrames.incrementAndGet();
+				return;
+			}
+			sendStartedAt = System.nanoTime();
+			try {
+				decorator.sendMessage(frame.message());
+				deliveredFrames.incrementAndGet();
+				recordLatency(System.nanoTime() - frame.enqueuedAt());
+				if (slow) {
+					slow = false;
+					log.info("[ChatSessionDeliveryPipeline] 느린 소비자 회복 - sessionId: {}", decorator.getId());
+				}
+			} catch (IOException | RuntimeException e) {
+				// SessionLimitExceededException 포함 (decorator가 제한 초과로 세션을 종료한 경우)
+				droppedFrames.incrementAndGet();
+				log.error("메시지 전송 실패 - sessionId: {}, error: {}", decorator.getId(), e.getMessage());
+			} finally {
+				sendStartedAt = 0;
+			}
+		}
+
+		private void onSlowConsumer(boolean stalled) {
+			droppedFrames.incrementAndGet();
+			if (!slow) {
+				slow = true;
+				log.warn("[ChatSessionDeliveryPipeline] 느린 소비자 감지 - sessionId: {}, 대기 프레임: {}, 대기 bytes: {}, 전송 지연: {}",
+						decorator.getId(), queue.size(), queuedBytes.get(), stalled);
+			}
+			if (isClosePolicy() && decorator.isOpen()) {
+				try {
+					decorator.close(CloseStatus.SESSION_NOT_RELIABLE);
+					closedSlowConsumers.incrementAndGet();
+				} catch (IOException e) {
+					log.warn("[ChatSessionDeliveryPipeline] 느린 소비자 세션 종료 실패 - sessionId: {}, error: {}", decorator.getId(), e.getMessage());
+				}
+				discard();
+			}
+		}
+
+		/** 남은 프레임 폐기 (세션 종료 시) */
+		private void discard() {
+			Frame frame;
+			while ((frame = queue.poll()) != null) {
+				queuedBytes.addAndGet(-frame.size());
+				droppedFrames.incrementAndGet();
+			}
+		}
+	}
+}
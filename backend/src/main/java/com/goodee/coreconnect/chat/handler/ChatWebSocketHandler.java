@@ -2,9 +2,13 @@ package com.goodee.coreconnect.chat.handler;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
@@ -20,18 +24,26 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.goodee.coreconnect.chat.dto.response.ChatResponseDTO;
 import com.goodee.coreconnect.chat.entity.Chat;
 import com.goodee.coreconnect.chat.entity.ChatMessageReadStatus;
+import com.goodee.coreconnect.chat.journal.ChatJournalEntry;
+import com.goodee.coreconnect.chat.journal.ChatWriteBehindService;
 import com.goodee.coreconnect.chat.repository.ChatMessageReadStatusRepository;
 import com.goodee.coreconnect.chat.repository.ChatRepository;
+import com.goodee.coreconnect.chat.presence.ChatActivityService;
+import com.goodee.coreconnect.chat.presence.ChatPresenceService;
+import com.goodee.coreconnect.chat.service.ChatParticipantCache;
 import com.goodee.coreconnect.chat.service.ChatRoomService;
+import com.goodee.coreconnect.chat.service.ChatRoomSummaryService;
+import com.goodee.coreconnect.common.bus.BusMessage;
+import com.goodee.coreconnect.common.bus.MessageBus;
+import com.goodee.coreconnect.common.notification.service.NotificationCoalescer;
 import com.goodee.coreconnect.common.notification.service.WebSocketDeliveryService;
-import com.goodee.coreconnect.security.jwt.JwtProvider;
-import com.goodee.coreconnect.user.entity.User;
-import com.goodee.coreconnect.user.repository.UserRepository;
+import com.goodee.coreconnect.config.WebSocketSessionUser;
 
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import java.util.HashMap;
 import java.util.Optional;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import java.util.Objects;
@@ -43,15 +55,14 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 	// ⭐ 여러 브라우저/탭 지원: 사용자 ID별 WebSocketSession 리스트 관리
 	// 한 사용자가 여러 브라우저/탭에서 접속할 수 있으므로 List로 관리
 	// 모든 세션이 끊겨야만 "미접속"으로 처리됨
+	// ⭐ 값은 CopyOnWriteArrayList: 순회 시 synchronized 블록이 필요 없음 (가상 스레드 carrier 고정 방지, 탭 수가 적어 복사 비용 작음)
 	public static final Map<Integer, List<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
 	
     // 채팅방 관련 서비스
     private final ChatRoomService chatRoomService;
-    // JWT 토큰 파싱을 위한 프로바이더
-    private final JwtProvider jwtProvider;
-    // 사용자 정보 조회용 레포지토리
-    private final UserRepository userRepository;
     
+    // ⭐ 채팅방 참여자 캐시 (메시지마다 chat_room_user 조회 X)
+    private final ChatParticipantCache chatParticipantCache;
     private final ChatMessageReadStatusRepository chatMessageReadStatusRepository;
     
     // Chat 엔티티 조회용 레포지토리
@@ -60,6 +71,30 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
     // 실시간 메시지 전송을 위한 공통 서비스
     private final WebSocketDeliveryService webSocketDeliveryService;
     
+    // ⭐ 새 메시지 알림 / 토스트 묶음 전송 (burst 시 사용자당 window마다 1건)
+    private final NotificationCoalescer notificationCoalescer;
+    
+    // 채팅방별 접속자 인덱스 (roomId → userId → 세션)
+    private final ChatPresenceRegistry chatPresenceRegistry;
+    
+    // 모든 서버 인스턴스 기준 접속 상태 (unreadCount 계산용)
+    private final ChatPresenceService chatPresenceService;
+    
+    // ⭐ 입력 중 / 접속 ping / 보는 중 이벤트 (메모리에서 throttle + 채팅방별 묶음, DB 미사용)
+    private final ChatActivityService chatActivityService;
+    
+    // 채팅방 목록용 요약 (마지막 메시지 내용 변경 반영)
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    
+    // ⭐ 세션별 전송 버퍼 + 채팅방 단위 순서 보장 비동기 전송
+    private final ChatSessionDeliveryPipeline chatSessionDeliveryPipeline;
+    
+    // ⭐ 다른 서버 인스턴스에 접속한 참여자에게 채팅방 메시지 전달
+    private final MessageBus messageBus;
+    
+    // ⭐ write-behind 모드: 저장을 기다리지 않고 바로 브로드캐스트, DB 저장은 백그라운드 배치
+    private final ChatWriteBehindService chatWriteBehindService;
+    
     // WebSocket 메시징을 위한 템플릿 (unreadCount 업데이트 알림용)
     private final SimpMessagingTemplate messagingTemplate;
 
@@ -69,6 +104,42 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
     		.disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS);// ISO8601 포맷으로 직렬화
     
     //private final Map<Integer, WebSocketSession> userSessions = new ConcurrentHashMap<>();
+    
+    /** 채팅방 브로드캐스트 MessageBus 채널 */
+    public static final String ROOM_CHANNEL = "chat.room";
+    
+    /** 새 메시지 알림 묶음 종류 (출처: 채팅방 + 발신자) */
+    public static final String CHAT_ALERT = "CHAT_ALERT";
+    
+    /** 안읽은 메시지 토스트 묶음 종류 (출처: 채팅방) */
+    public static final String CHAT_TOAST = "CHAT_TOAST";
+    
+    // ⭐ 다른 인스턴스가 발행한 채팅방 메시지는 이 인스턴스에 접속한 참여자 세션에만 전송 (다시 발행하지 않음)
+    @PostConstruct
+    public void subscribeRoomBroadcasts() {
+    	messageBus.subscribe(ROOM_CHANNEL, message -> {
+    		if (message.roomId() == null || message.userIds() == null || message.payload() == null) return;
+    		List<WebSocketSession> targets = collectLocalSessions(message.userIds());
+    		if (!targets.isEmpty()) {
+    			chatSessionDeliveryPipeline.broadcast(message.roomId(), targets, new TextMessage(message.payload()));
+    		}
+    	});
+    	// ⭐ 활동 이벤트도 채팅 메시지와 같은 경로로 전송 (로컬 세션 + 다른 인스턴스)
+    	chatActivityService.addSink((roomId, recipientIds, payload) -> {
+    		if (recipientIds.isEmpty()) return;
+    		chatSessionDeliveryPipeline.broadcast(roomId, collectLocalSessions(recipientIds), new TextMessage(payload));
+    		messageBus.publish(ROOM_CHANNEL, BusMessage.toUsers(roomId, recipientIds, payload));
+    	});
+    	// ⭐ write-behind 모드의 토스트는 요약(unread_count)이 저장된 뒤에 조회
+    	chatWriteBehindService.addPersistListener(this::sendUnreadToasts);
+    	// ⭐ window 동안 묶인 알림: 같은 문구끼리 모아 한 번에 전송 / 토스트는 묶인 사용자만 한 번에 조회
+    	notificationCoalescer.register(CHAT_ALERT, this::sendCoalescedAlerts);
+    	notificationCoalescer.register(CHAT_TOAST, windows -> {
+    		Set<Integer> userIds = new LinkedHashSet<>();
+    		windows.forEach(window -> userIds.add(window.userId()));
+    		chatRoomService.getUnreadToastMsgsForUsers(userIds).forEach(webSocketDeliveryService::sendToUser);
+    	});
+    }
 	
     // 클라잉너트 websocket 연결 시 호출
     @Override
@@ -104,10 +175,14 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 
         // ⭐ 세션 맵에 등록 - 여러 브라우저/탭 지원을 위해 List로 관리
         if (userId != null) {
+            // ⭐ 전송은 모두 전송용 세션(버퍼/시간 제한 decorator)을 통해서만 수행
+            WebSocketSession outbound = chatSessionDeliveryPipeline.register(session);
+            
             // ⭐ 동시성 안전: computeIfAbsent로 리스트 초기화 후 세션 추가
-            userSessions.computeIfAbsent(userId, k -> Collections.synchronizedList(new ArrayList<>()))
-                    .add(session);
-            webSocketDeliveryService.registerSession(userId, session);
+            userSessions.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>())
+                    .add(outbound);
+            webSocketDeliveryService.registerSession(userId, outbound);
+            chatPresenceRegistry.register(roomId, userId, outbound);
 
             int sessionCount = userSessions.get(userId).size();
             log.info("🔥 [afterConnectionEstablished] userSessions 세션 추가 완료 - userId: {}, roomId: {}, 현재세션수: {}", 
@@ -130,7 +205,8 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
                 log.info("🔥 [afterConnectionEstablished] 채팅방 접속 시 메시지 읽음 처리 시작 - roomId: {}, userId: {}", roomId, userId);
                 
                 // ⭐ 초대 메시지를 입장 메시지로 변경
-                User currentUser = userRepository.findById(userId).orElse(null);
+                // 핸드셰이크 시 저장된 사용자 정보 사용 (이름 조회를 위한 DB 조회 없음)
+                WebSocketSessionUser currentUser = WebSocketSessionUser.from(session);
                 if (currentUser != null) {
                     // 현재 사용자의 초대 메시지 찾기 (최근 메시지 중, 최신순으로 조회)
                     List<Chat> recentChats = chatRepository.findByChatRoomId(roomId);
@@ -138,11 +214,12 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
                     Collections.reverse(recentChats);
                     for (Chat chat : recentChats) {
                         if (chat.getMessageContent() != null && 
-                            chat.getMessageContent().contains(currentUser.getName() + "님이 초대되었습니다")) {
+                            chat.getMessageContent().contains(currentUser.name() + "님이 초대되었습니다")) {
                             // 초대 메시지를 입장 메시지로 변경
-                            String joinMsg = currentUser.getName() + "님이 입장했습니다";
+                            String joinMsg = currentUser.name() + "님이 입장했습니다";
                             chat.updateMessageContent(joinMsg);
                             chatRepository.save(chat);
+                            chatRoomSummaryService.onMessageUpdated(chat);
                             
                             // WebSocket으로 메시지 업데이트 브로드캐스트
                             Map<String, Object> updateMessage = new HashMap<>();
@@ -158,40 +235,14 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
                     }
                 }
                 
-                // ⭐ 메시지 읽음 처리 및 읽음 처리된 메시지 ID 리스트 반환
-                List<Integer> readChatIds = chatRoomService.markMessagesAsRead(roomId, userId);
+                // ⭐ 메시지 읽음 처리 (UPDATE 기반 일괄 처리) 및 메시지별 최신 unreadCount 반환
+                Map<Integer, Integer> readUnreadCounts = chatRoomService.markMessagesAsRead(roomId, userId);
                 
-                log.info("🔥 [afterConnectionEstablished] 읽음 처리된 메시지 수: {}, chatIds: {}", readChatIds.size(), readChatIds);
+                log.info("🔥 [afterConnectionEstablished] 읽음 처리된 메시지 수: {}", readUnreadCounts.size());
                 
                 // ⭐ WebSocket을 통해 실시간으로 unreadCount 업데이트 알림
-                // 각 메시지의 업데이트된 unreadCount를 전송 (모든 참여자에게 알림)
-                for (Integer chatId : readChatIds) {
-                    Optional<Chat> chatOpt = chatRepository.findById(chatId);
-                    if (chatOpt.isPresent()) {
-                        Chat chat = chatOpt.get();
-                        // ⭐ 메시지 발신자 정보 확인
-                        Integer senderId = chat.getSender() != null ? chat.getSender().getId() : null;
-                        String senderEmail = chat.getSender() != null ? chat.getSender().getEmail() : null;
-                        
-                        // ⭐ unreadCount를 실시간으로 계산 (DB 저장값이 아닌 실제 읽지 않은 사람 수)
-                        int realUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(chatId);
-                        
-                        // ⭐ unreadCount 업데이트 메시지 전송 (발신자 정보 및 읽은 사람 정보 포함)
-                        Map<String, Object> updateMessage = new HashMap<>();
-                        updateMessage.put("type", "UNREAD_COUNT_UPDATE");
-                        updateMessage.put("chatId", chatId);
-                        updateMessage.put("unreadCount", realUnreadCount); // ⭐ 실시간 계산된 값 사용
-                        updateMessage.put("roomId", roomId);
-                        updateMessage.put("senderId", senderId); // ⭐ 발신자 ID 추가
-                        updateMessage.put("senderEmail", senderEmail); // ⭐ 발신자 이메일 추가
-                        updateMessage.put("viewerId", userId); // ⭐ 읽은 사람 ID 추가 (디버깅용)
-                        
-                        // ⭐ 모든 참여자에게 전송 (모든 참여자가 실시간으로 unreadCount 업데이트)
-                        messagingTemplate.convertAndSend("/topic/chat.room." + roomId, updateMessage);
-                        log.info("🔥 [afterConnectionEstablished] unreadCount 업데이트 알림 전송 - chatId: {}, unreadCount: {} (실시간 계산), senderId: {}, senderEmail: {}, viewerId: {}", 
-                                chatId, realUnreadCount, senderId, senderEmail, userId);
-                    }
-                }
+                // 메시지마다 프레임을 보내지 않고 chatId → unreadCount 맵을 프레임 1개로 전송 (모든 참여자에게 알림)
+                chatRoomService.sendUnreadCountBatchUpdate(roomId, userId, readUnreadCounts);
                 
                 log.info("🔥 [afterConnectionEstablished] 채팅방 접속 시 메시지 읽음 처리 완료 - roomId: {}, userId: {}", roomId, userId);
             }
@@ -211,6 +262,10 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 		log.info("[afterConnectionClosed] 세션 종료 시작 - userId: {}, roomId: {}, sessionId: {}, closeStatus: {}", 
 				userId, roomId, sessionId, status);
 		
+		// ⭐ 채팅방 접속자 인덱스에서 제거 (userId 조회 실패 여부와 무관하게 sessionId 기준으로 제거)
+		chatPresenceRegistry.unregister(session);
+		WebSocketSession outbound = chatSessionDeliveryPipeline.unregister(session);
+		
 		if (userId != null) {
 			// ⭐ 여러 브라우저/탭 지원: 특정 세션만 리스트에서 제거
 			// 모든 세션이 끊겨야만 userId가 완전히 제거됨
@@ -228,7 +283,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 					}
 				}
 				
-				webSocketDeliveryService.unregisterSession(userId, session);
+				webSocketDeliveryService.unregisterSession(userId, outbound);
 				
 				// ⭐ 모든 세션이 끊겼으면 userId도 제거
 				if (sessions.isEmpty()) {
@@ -254,21 +309,27 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 	    JsonNode node = objectMapper.readTree(message.getPayload());
 	    Integer senderId = getUserIdFromSession(session);
 
+	    // ⭐ 입력 중 / 접속 ping / 보는 중 이벤트는 DB를 거치지 않고 메모리에서 처리 후 종료
+	    ChatActivityService.ActivityType activityType = ChatActivityService.ActivityType.from(node.path("type").asText(null));
+	    if (activityType != null) {
+	        Integer activityRoomId = node.has("roomId") ? Integer.valueOf(node.get("roomId").asInt()) : getRoomIdFromSession(session);
+	        chatActivityService.submit(activityRoomId, senderId, activityType, node.path("active").asBoolean(true));
+	        return;
+	    }
+
 	    Integer roomId = node.has("roomId") ? node.get("roomId").asInt() : null;
 	    String chatContent = node.has("content") ? node.get("content").asText() : null;
 	    if (roomId == null || chatContent == null) return;
 
 	    // 🚨 [roomId의 실제 존재 여부 검증]
-	    // chatRoomService.findRoomById(roomId) 또는 getRoomById 등의 메서드를 사용
-	    // 반환값이 Optional<ChatRoom> 또는 ChatRoom, null 등일 경우
-	    // (아래는 존재 확인 후 예외처리 log 남기고 처리 중단)
-	    if (!chatRoomService.existsRoom(roomId)) { // 이 메서드는 직접구현 필요!
-	        log.error("handleTextMessage: roomId {}는 실제 DB에 존재하지 않습니다. 메시지 푸시 중단!", roomId);
+	    // ⭐ 존재 확인 + 참여 여부를 참여자 캐시 배열 조회 한 번으로 처리 (없는 방은 참여자가 비어 있음)
+	    if (!chatParticipantCache.contains(roomId, senderId)) {
+	        log.error("handleTextMessage: roomId {}가 없거나 senderId {}가 참여자가 아닙니다. 메시지 푸시 중단!", roomId, senderId);
 	        return;
 	    }
 
-	    // 전체 참가자
-	    List<Integer> participantIds = chatRoomService.getParticipantIds(roomId);
+	    // 전체 참가자 (참여자 캐시)
+	    List<Integer> participantIds = chatParticipantCache.getIds(roomId);
 	    log.info("senderId: {}", senderId);
 	    log.info("participantIds: {}", participantIds);
 
@@ -287,6 +348,11 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 	        .collect(Collectors.toList());
 	    log.info("otherConnectedUserIds: {}", otherConnectedUserIds);
 
+	    if (chatWriteBehindService.isEnabled()) {
+	        sendWriteBehind(session, senderId, roomId, chatContent, participantIds, connectedUserIds);
+	        return;
+	    }
+
 	    // unreadCount 계산
 	    int unreadCount = otherParticipantIds.size() - otherConnectedUserIds.size();
 	    if (unreadCount < 0) unreadCount = 0;
@@ -299,7 +365,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 	    // ⭐ sendChatAndReturnDTO에서 이미 unreadCount를 계산했지만, flush 후 최신 값 확인
 	    if (dto != null && dto.getId() != null) {
 	        // ⭐ 실제 DB에서 최신 unreadCount 조회
-	        int latestUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(dto.getId());
+	        int latestUnreadCount = chatRoomService.countUnreadByChatId(dto.getId());
 	        
 	        // ⭐ DTO의 unreadCount도 최신 값으로 업데이트
 	        dto.setUnreadCount(latestUnreadCount);
@@ -324,126 +390,115 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 	                dto.getId(), latestUnreadCount, topic);
 	    }
 
-	    String payload = objectMapper.writeValueAsString(dto);
+	    // ⭐ 직렬화/UTF-8 인코딩은 브로드캐스트당 1번만 하고, 같은 프레임을 모든 세션에 재사용
+	    TextMessage frame = new TextMessage(objectMapper.writeValueAsBytes(dto));
 
-	    // ⭐ 전체 참가자에게 메시지 push (여러 브라우저/탭 지원)
-	    for (Integer pid : participantIds) {
-	        List<WebSocketSession> sessions = userSessions.get(pid);
-	        if (sessions != null) {
-	            // ⭐ 해당 사용자의 모든 세션에 메시지 전송
-	            for (WebSocketSession s : new ArrayList<>(sessions)) { // ConcurrentModificationException 방지
-	                if (s != null && s.isOpen()) {
-	                    try {
-	                        s.sendMessage(new TextMessage(payload));
-	                    } catch (Exception e) {
-	                        log.error("메시지 전송 실패 - userId: {}, sessionId: {}, error: {}", 
-	                                pid, s.getId(), e.getMessage());
-	                    }
-	                }
-	            }
-	        }
-	    }
+	    // ⭐ 전체 참가자의 모든 세션(여러 브라우저/탭)을 모아 비동기 전송
+	    // 수신 스레드에서 직접 sendMessage하지 않으므로 느린 클라이언트가 발신자/다른 수신자를 막지 않음
+	    chatSessionDeliveryPipeline.broadcast(roomId, collectLocalSessions(participantIds), frame);
+	    // ⭐ 다른 인스턴스에 접속한 참여자에게도 같은 본문 전달 (직렬화 결과 재사용)
+	    messageBus.publish(ROOM_CHANNEL, BusMessage.toUsers(roomId, participantIds, frame.getPayload()));
 
-	    for (Integer offlineUserId : participantIds) {
-	        String alerMsg = dto.getSenderName() + "님으로부터 새로운 채팅 메시지가 도착했습니다";
-	        webSocketDeliveryService.sendToUser(offlineUserId, alerMsg);
+	    // ⭐ 새 메시지 알림은 모든 참여자에게 같은 문구 → 한 번만 직렬화해서 전송 (window 안의 반복 알림은 묶어서 나중에 1건)
+	    sendChatAlert(roomId, senderId, dto.getSenderName(), participantIds);
 
-	        String toastMsg = chatRoomService.getUnreadToadMsgForUser(offlineUserId);
+	    // ⭐ 토스트 문구는 참여자별로 다르지만 조회는 한 번에 (참여자마다 안읽은 메시지 조회 X)
+	    // ⭐ window가 열려 있는 참여자는 window가 끝날 때 최신 문구로 1번만 전송
+	    List<Integer> toastUserIds = notificationCoalescer.offerAll(participantIds, CHAT_TOAST, String.valueOf(roomId), null);
+	    if (toastUserIds.isEmpty()) return;
+	    Map<Integer, String> toastMsgs = chatRoomService.getUnreadToastMsgsForUsers(toastUserIds);
+	    for (Integer offlineUserId : toastUserIds) {
+	        String toastMsg = toastMsgs.get(offlineUserId);
 	        if (toastMsg != null) {
 	            webSocketDeliveryService.sendToUser(offlineUserId, toastMsg);
 	        }
 	    }
 	}
 	
+	/** 새 메시지 알림: window를 새로 연 참여자에게만 바로 전송 (나머지는 sendCoalescedAlerts에서 합쳐서 전송) */
+	private void sendChatAlert(Integer roomId, Integer senderId, String senderName, List<Integer> participantIds) {
+	    List<Integer> alertUserIds = notificationCoalescer.offerAll(participantIds, CHAT_ALERT, roomId + ":" + senderId, senderName);
+	    if (!alertUserIds.isEmpty()) {
+	        webSocketDeliveryService.sendToUsers(alertUserIds, senderName + "님으로부터 새로운 채팅 메시지가 도착했습니다");
+	    }
+	}
+	
+	/** window 동안 묶인 새 메시지 알림 → "X님으로부터 새로운 채팅 메시지 N건" (같은 문구를 받는 사용자끼리 한 번에 전송) */
+	private void sendCoalescedAlerts(List<NotificationCoalescer.Window> windows) {
+	    Map<String, List<Integer>> byMessage = new HashMap<>();
+	    for (NotificationCoalescer.Window window : windows) {
+	        String msg = window.latest() + "님으로부터 새로운 채팅 메시지 " + window.suppressed() + "건이 도착했습니다";
+	        byMessage.computeIfAbsent(msg, k -> new ArrayList<>()).add(window.userId());
+	    }
+	    byMessage.forEach((msg, userIds) -> webSocketDeliveryService.sendToUsers(userIds, msg));
+	}
+	
 	
 	/**
-	 * WebSocketSession에서 JWT 토큰을 파싱하여 사용자 ID 추출
-	 * ⭐ 디버깅 강화: 각 브라우저/세션마다 서로 다른 userId가 정확히 추출되는지 확인
-	 * */
-	private Integer getUserIdFromSession(WebSocketSession session) {
-		String sessionId = session != null ? session.getId() : "null";
-		log.info("🔥 [getUserIdFromSession] ========== userId 추출 시작 ========== sessionId: {}", sessionId);
-		
-		// 헤더에서 Authorization 추출
-		List<String> authHeaders = session.getHandshakeHeaders().get("Authorization");
-		String token = null;
-		String tokenSource = null;
-		
-		if (authHeaders != null && !authHeaders.isEmpty()) {
-			String bearer = authHeaders.get(0);
-			if (bearer.startsWith("Bearer ")) {
-				token = bearer.substring(7); // Bearer 제거
-				tokenSource = "Authorization Header";
-				log.info("🔥 [getUserIdFromSession] 토큰 추출 성공 (헤더) - sessionId: {}, token 길이: {}, token 앞 20자: {}", 
-						sessionId, token != null ? token.length() : 0, 
-						token != null && token.length() > 20 ? token.substring(0, 20) + "..." : token);
-			}
-		}
-		
-		// 2. 쿼리 파라미터에서 robust하게 accessToken 추출
-	    if (token == null) {
-	        String query = session.getUri() != null ? session.getUri().getQuery() : null;
-	        log.info("🔥 [getUserIdFromSession] 헤더에서 토큰 없음, 쿼리 확인 - sessionId: {}, query: {}", sessionId, query);
-	        
-	        if (query != null) {
-	            String[] params = query.split("&");
-	            for (String param : params) {
-	                String[] kv = param.split("=");
-	                if (kv.length == 2 && kv[0].equals("accessToken")) {
-	                    token = kv[1];
-	                    tokenSource = "Query Parameter";
-	                    log.info("🔥 [getUserIdFromSession] 토큰 추출 성공 (쿼리) - sessionId: {}, token 길이: {}, token 앞 20자: {}", 
-	                            sessionId, token != null ? token.length() : 0,
-	                            token != null && token.length() > 20 ? token.substring(0, 20) + "..." : token);
-	                    break;
-	                }
-	            }
-	        }
+	 * write-behind 전송: ID 할당 + 저널 추가 후 바로 브로드캐스트 (저장/재조회/flush를 기다리지 않음)
+	 * - unreadCount는 참여자 - (발신자 + 접속자)로 메모리에서 확정 (저장 시 같은 값으로 기록)
+	 * - 저장 대기열이 가득 차면 발신자에게 SEND_FAILED 전송
+	 */
+	private void sendWriteBehind(WebSocketSession session, Integer senderId, Integer roomId, String chatContent,
+	        List<Integer> participantIds, List<Integer> connectedUserIds) throws Exception {
+	    WebSocketSessionUser sender = WebSocketSessionUser.from(session);
+	    if (sender == null) return;
+	    Set<Integer> readUserIds = new HashSet<>(connectedUserIds);
+	    readUserIds.add(senderId);
+
+	    ChatResponseDTO dto;
+	    try {
+	        dto = chatWriteBehindService.accept(roomId, sender, chatContent, participantIds, readUserIds);
+	    } catch (IllegalStateException e) {
+	        log.warn("[sendWriteBehind] 메시지 접수 실패 - roomId: {}, senderId: {}, error: {}", roomId, senderId, e.getMessage());
+	        Map<String, Object> failure = new HashMap<>();
+	        failure.put("type", "SEND_FAILED");
+	        failure.put("roomId", roomId);
+	        failure.put("messageContent", chatContent);
+	        chatSessionDeliveryPipeline.broadcast(roomId, collectLocalSessions(List.of(senderId)),
+	                new TextMessage(objectMapper.writeValueAsBytes(failure)));
+	        return;
 	    }
-	    
-		// 토큰 없으면 null
-		if (token == null) {
-	        log.warn("🔥 [getUserIdFromSession] ⚠️ JWT 토큰 없음 (헤더/쿼리 모두 없음) - sessionId: {}", sessionId);
-	        return null;
+
+	    TextMessage frame = new TextMessage(objectMapper.writeValueAsBytes(dto));
+	    chatSessionDeliveryPipeline.broadcast(roomId, collectLocalSessions(participantIds), frame);
+	    messageBus.publish(ROOM_CHANNEL, BusMessage.toUsers(roomId, participantIds, frame.getPayload()));
+
+	    sendChatAlert(roomId, senderId, dto.getSenderName(), participantIds);
+	}
+
+	/** write-behind 배치 저장 후: 배치에 포함된 참여자의 토스트 문구를 한 번에 조회해 전송 */
+	private void sendUnreadToasts(List<ChatJournalEntry> entries) {
+	    Set<Integer> userIds = new LinkedHashSet<>();
+	    for (ChatJournalEntry entry : entries) {
+	        userIds.addAll(entry.participantIds());
 	    }
-	    
-		try {
-			// 토큰에서 이메일 추출
-			String email = jwtProvider.getSubject(token);
-			log.info("🔥 [getUserIdFromSession] 토큰에서 이메일 추출 - sessionId: {}, email: {}, tokenSource: {}", 
-					sessionId, email, tokenSource);
-			
-			// 이메일로 사용자 조회
-			User user = userRepository.findByEmail(email).orElse(null);
-			
-			if (user == null) {
-				log.warn("🔥 [getUserIdFromSession] ⚠️ 사용자 조회 실패 - sessionId: {}, email: {}", sessionId, email);
-				return null;
-			}
-			
-			Integer userId = user.getId();
-			log.info("🔥 [getUserIdFromSession] ✅ userId 추출 성공 - sessionId: {}, email: {}, userId: {}, tokenSource: {}", 
-					sessionId, email, userId, tokenSource);
-			
-			// ⭐ 현재 userSessions 맵 상태 확인 (디버깅)
-			log.info("🔥 [getUserIdFromSession] 현재 userSessions 맵 상태:");
-			for (Map.Entry<Integer, List<WebSocketSession>> entry : userSessions.entrySet()) {
-			    log.info("🔥 [getUserIdFromSession]   - userId: {}, 세션갯수: {}, 세션Ids: {}", 
-			            entry.getKey(), 
-			            entry.getValue() != null ? entry.getValue().size() : 0,
-			            entry.getValue() != null ? entry.getValue().stream()
-			                .map(s -> s != null ? s.getId() : "null")
-			                .collect(Collectors.toList()) : "null");
-			}
-			log.info("🔥 [getUserIdFromSession] userSessions 전체 키 목록: {}", userSessions.keySet());
-			log.info("🔥 [getUserIdFromSession] ========== userId 추출 완료 ==========");
-			
-			return userId;
-		} catch (Exception e) {
-			log.error("🔥 [getUserIdFromSession] ❌ 예외 발생 - sessionId: {}, error: {}, stackTrace: {}", 
-					sessionId, e.getMessage(), e);
+	    chatRoomService.getUnreadToastMsgsForUsers(userIds).forEach(webSocketDeliveryService::sendToUser);
+	}
+	
+	/** 이 인스턴스에 접속한 사용자들의 모든 세션(여러 브라우저/탭) */
+	private List<WebSocketSession> collectLocalSessions(List<Integer> userIds) {
+	    List<WebSocketSession> targets = new ArrayList<>();
+	    for (Integer pid : userIds) {
+	        List<WebSocketSession> sessions = userSessions.get(pid);
+	        if (sessions != null) {
+	            targets.addAll(sessions); // CopyOnWriteArrayList 스냅샷 순회 (잠금 없음)
+	        }
+	    }
+	    return targets;
+	}
+	
+	/**
+	 * WebSocketSession에서 사용자 ID 추출
+	 * ⭐ WebSocketAuthInterceptor가 핸드셰이크 시 저장한 WebSocketSessionUser 사용 (JWT 재파싱 / 사용자 조회 없음)
+	 * */
+	private Integer getUserIdFromSession(WebSocketSession session) {
+		WebSocketSessionUser user = WebSocketSessionUser.from(session);
+		if (user == null) {
+			log.warn("🔥 [getUserIdFromSession] ⚠️ 세션에 인증 사용자 없음 - sessionId: {}", session != null ? session.getId() : "null");
 			return null;
 		}
+		return user.userId();
 	}
 	
 	/**
@@ -456,193 +511,13 @@ public class ChatWebSocketHandler extends TextWebSocketHandler{
 	 * @return 접속 중인 사용자 ID 목록 (userId 기준, 중복 없음)
 	 */
 	public List<Integer> getConnectedUserIdsInRoom(Integer roomId) {
-	    List<Integer> connectedUserIds = new ArrayList<>();
-	    int checkedUsers = 0;
-	    int checkedSessions = 0;
-	    int openSessions = 0;
-	    int matchingRoomSessions = 0;
+	    // ⭐ roomId 인덱스 조회: 전체 userSessions 순회 없이 해당 방 접속자만 확인 (O(방 접속자 수))
+	    // 다른 서버 인스턴스에 접속한 참여자도 포함 → 어느 인스턴스로 보내도 unreadCount가 같음
+	    List<Integer> connectedUserIds = chatPresenceService.getOnlineMembers(roomId);
 	    
-	    // ⭐ userId 기준 접속자 집계: 각 사용자의 세션 중 하나라도 해당 방에 접속 중이면 1명으로 카운트
-	    for (Map.Entry<Integer, List<WebSocketSession>> entry : userSessions.entrySet()) {
-	        Integer userId = entry.getKey();
-	        List<WebSocketSession> sessions = entry.getValue();
-	        checkedUsers++;
-	        
-	        if (sessions == null || sessions.isEmpty()) {
-	            continue;
-	        }
-	        
-	        // ⭐ 해당 사용자의 세션 중 하나라도 해당 방에 접속 중이면 "접속 중"으로 판단
-	        boolean isConnectedToRoom = false;
-	        
-	        for (WebSocketSession session : new ArrayList<>(sessions)) { // ConcurrentModificationException 방지
-	            checkedSessions++;
-	            
-	            // ⭐ 세션이 null이거나 닫혀있으면 제외
-	            if (session == null || !session.isOpen()) {
-	                log.debug("[getConnectedUserIdsInRoom] 세션 제외 - userId: {}, sessionId: {}, isNull: {}, isOpen: {}", 
-	                        userId, session != null ? session.getId() : "null", 
-	                        session == null, session != null && session.isOpen());
-	                continue;
-	            }
-	            
-	            openSessions++;
-	            
-	            // ⭐ 세션의 roomId 속성 확인
-	            Object sessionRoomId = session.getAttributes().get("roomId");
-	            
-	            // roomId가 Integer인 경우와 String인 경우 모두 처리
-	            boolean roomMatches = false;
-	            if (sessionRoomId != null) {
-	                if (sessionRoomId instanceof Integer) {
-	                    roomMatches = sessionRoomId.equals(roomId);
-	                } else if (sessionRoomId instanceof String) {
-	                    try {
-	                        roomMatches = Integer.parseInt((String) sessionRoomId) == roomId;
-	                    } catch (NumberFormatException e) {
-	                        log.warn("[getConnectedUserIdsInRoom] roomId 파싱 실패 - userId: {}, sessionRoomId: {}", 
-	                                userId, sessionRoomId);
-	                    }
-	                } else {
-	                    // 숫자로 변환 시도
-	                    try {
-	                        int parsedRoomId = Integer.parseInt(sessionRoomId.toString());
-	                        roomMatches = parsedRoomId == roomId;
-	                    } catch (NumberFormatException e) {
-	                        log.warn("[getConnectedUserIdsInRoom] roomId 변환 실패 - userId: {}, sessionRoomId: {}", 
-	                                userId, sessionRoomId);
-	                    }
-	                }
-	            }
-	            
-	            if (roomMatches) {
-	                isConnectedToRoom = true;
-	                matchingRoomSessions++;
-	                log.debug("[getConnectedUserIdsInRoom] 접속자 발견 - userId: {}, roomId: {}, sessionId: {}", 
-	                        userId, roomId, session.getId());
-	                // ⭐ 하나라도 해당 방에 접속 중이면 중복 체크 없이 추가하고 다음 사용자로
-	                break;
-	            }
-	        }
-	        
-	        // ⭐ 해당 사용자가 해당 방에 접속 중이면 리스트에 추가 (중복 방지)
-	        // 같은 userId의 여러 세션이 있어도 1번만 추가됨
-	        if (isConnectedToRoom && !connectedUserIds.contains(userId)) {
-	            connectedUserIds.add(userId);
-	        }
-	    }
-	    
-	    log.info("🔥 [getConnectedUserIdsInRoom] ⭐ 실시간 접속자 조회 완료 (userId 기준) - roomId: {}, 전체사용자수: {}, 전체세션수: {}, 열린세션수: {}, 해당방접속세션수: {}, 접속자수: {}, 접속자Ids: {}", 
-	            roomId, checkedUsers, checkedSessions, openSessions, matchingRoomSessions, connectedUserIds.size(), connectedUserIds);
-	    
-	    // ⭐ userSessions 맵 전체 상태 확인 (디버깅)
-	    log.info("🔥 [getConnectedUserIdsInRoom] 현재 userSessions 맵 전체 상태:");
-	    for (Map.Entry<Integer, List<WebSocketSession>> entry : userSessions.entrySet()) {
-	        log.info("🔥 [getConnectedUserIdsInRoom]   - userId: {}, 세션갯수: {}, 세션Ids: {}", 
-	                entry.getKey(), 
-	                entry.getValue() != null ? entry.getValue().size() : 0,
-	                entry.getValue() != null ? entry.getValue().stream()
-	                    .map(s -> s != null ? s.getId() : "null")
-	                    .collect(Collectors.toList()) : "null");
-	    }
-	    log.info("🔥 [getConnectedUserIdsInRoom] userSessions 전체 키 목록: {}", userSessions.keySet());
-	    
-	    return connectedUserIds;
-	}
-	
-	/**
-	 * ⭐ 순환 참조 방지: static 메서드로 접속자 조회
-	 * ChatRoomServiceImpl에서 호출할 때 순환 참조를 피하기 위해 static 메서드 제공
-	 * 
-	 * @param roomId 채팅방 ID
-	 * @return 접속 중인 사용자 ID 목록 (발신자 포함, 중복 없음)
-	 */
-	public static List<Integer> getConnectedUserIdsInRoomStatic(Integer roomId) {
-	    log.info("🔥 [getConnectedUserIdsInRoomStatic] ========== 접속자 조회 시작 ========== roomId: {}", roomId);
-	    List<Integer> connectedUserIds = new ArrayList<>();
-	    int checkedUsers = 0;
-	    int checkedSessions = 0;
-	    int openSessions = 0;
-	    int matchingRoomSessions = 0;
-	    
-	    // ⭐ userId 기준 접속자 집계: 각 사용자의 세션 중 하나라도 해당 방에 접속 중이면 1명으로 카운트
-	    for (Map.Entry<Integer, List<WebSocketSession>> entry : userSessions.entrySet()) {
-	        Integer userId = entry.getKey();
-	        List<WebSocketSession> sessions = entry.getValue();
-	        checkedUsers++;
-	        
-	        if (sessions == null || sessions.isEmpty()) {
-	            continue;
-	        }
-	        
-	        // ⭐ 해당 사용자의 세션 중 하나라도 해당 방에 접속 중이면 "접속 중"으로 판단
-	        boolean isConnectedToRoom = false;
-	        
-	        for (WebSocketSession session : new ArrayList<>(sessions)) { // ConcurrentModificationException 방지
-	            checkedSessions++;
-	            
-	            // ⭐ 세션이 null이거나 닫혀있으면 제외
-	            if (session == null || !session.isOpen()) {
-	                continue;
-	            }
-	            
-	            openSessions++;
-	            
-	            // ⭐ 세션의 roomId 속성 확인
-	            Object sessionRoomId = session.getAttributes().get("roomId");
-	            
-	            // roomId가 Integer인 경우와 String인 경우 모두 처리
-	            boolean roomMatches = false;
-	            if (sessionRoomId != null) {
-	                if (sessionRoomId instanceof Integer) {
-	                    roomMatches = sessionRoomId.equals(roomId);
-	                } else if (sessionRoomId instanceof String) {
-	                    try {
-	                        roomMatches = Integer.parseInt((String) sessionRoomId) == roomId;
-	                    } catch (NumberFormatException e) {
-	                        // 파싱 실패 시 무시
-	                    }
-	                } else {
-	                    // 숫자로 변환 시도
-	                    try {
-	                        int parsedRoomId = Integer.parseInt(sessionRoomId.toString());
-	                        roomMatches = parsedRoomId == roomId;
-	                    } catch (NumberFormatException e) {
-	                        // 변환 실패 시 무시
-	                    }
-	                }
-	            }
-	            
-	            if (roomMatches) {
-	                isConnectedToRoom = true;
-	                matchingRoomSessions++;
-	                // ⭐ 하나라도 해당 방에 접속 중이면 중복 체크 없이 추가하고 다음 사용자로
-	                break;
-	            }
-	        }
-	        
-	        // ⭐ 해당 사용자가 해당 방에 접속 중이면 리스트에 추가 (중복 방지)
-	        // 같은 userId의 여러 세션이 있어도 1번만 추가됨
-	        if (isConnectedToRoom && !connectedUserIds.contains(userId)) {
-	            connectedUserIds.add(userId);
-	            log.info("🔥 [getConnectedUserIdsInRoomStatic] 접속자 추가 - userId: {}, roomId: {}", userId, roomId);
-	        }
-	    }
-	    
-	    // ⭐ userSessions 맵 전체 상태 확인 (디버깅)
-	    log.info("🔥 [getConnectedUserIdsInRoomStatic] 현재 userSessions 맵 전체 상태:");
-	    for (Map.Entry<Integer, List<WebSocketSession>> entry : userSessions.entrySet()) {
-	        log.info("🔥 [getConnectedUserIdsInRoomStatic]   - userId: {}, 세션갯수: {}, 세션Ids: {}", 
-	                entry.getKey(), 
-	                entry.getValue() != null ? entry.getValue().size() : 0,
-	                entry.getValue() != null ? entry.getValue().stream()
-	                    .map(s -> s != null ? s.getId() : "null")
-	                    .collect(Collectors.toList()) : "null");
-	    }
-	    log.info("🔥 [getConnectedUserIdsInRoomStatic] userSessions 전체 키 목록: {}", userSessions.keySet());
-	    log.info("🔥 [getConnectedUserIdsInRoomStatic] ⭐ 접속자 조회 완료 - roomId: {}, 접속자수: {}, 접속자Ids: {}", 
-	            roomId, connectedUserIds.size(), connectedUserIds);
-	    log.info("🔥 [getConnectedUserIdsInRoomStatic] ========== 접속자 조회 완료 ==========");
+	    log.info("🔥 [getConnectedUserIdsInRoom] ⭐ 실시간 접속자 조회 완료 (userId 기준) - roomId: {}, 접속자수: {}, 접속자Ids: {}, 전체방수: {}, 전체세션수: {}, 전체사용자수: {}", 
+	            roomId, connectedUserIds.size(), connectedUserIds, 
+	            chatPresenceRegistry.getRoomCount(), chatPresenceRegistry.getSessionCount(), chatPresenceRegistry.getUserCount());
 	    
 	    return connectedUserIds;
 	}
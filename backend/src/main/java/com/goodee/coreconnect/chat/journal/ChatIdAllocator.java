@@ -0,0 +1,118 @@
+package com.goodee.coreconnect.chat.journal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatIdAllocator (write-behind 메시지의 chat_message.id 사전 할당)
+ *
+ * - chat.write-behind.enabled=true 일 때만 사용 (warmUp 호출 전에는 DB에 접근하지 않음, 꺼져 있으면 AUTO_INCREMENT)
+ * - chat_message_id_sequence에서 ID 구간을 예약 (별도 트랜잭션에서 SELECT ... FOR UPDATE + UPDATE 1번)
+ * - 예약한 구간 안에서는 메모리에서 바로 할당 → 메시지 전송 경로에서 DB를 기다리지 않음
+ * - 남은 ID가 1/4 이하가 되면 다음 구간을 미리 예약 (구간이 바뀔 때도 전송 스레드가 대기하지 않도록)
+ * - warmUp 후에는 JPA 저장 경로(ChatMessageIdGenerator)도 이 할당기를 사용하므로 ID가 겹치지 않음
+ *   (write-behind 설정은 모든 노드에서 같아야 함 - 꺼진 노드의 AUTO_INCREMENT는 예약 구간과 겹칠 수 있음)
+ * - 구간을 노드/경로별로 따로 쓰므로 ID는 전송 순서와 다를 수 있음 (메시지 순서는 (sent_at, id)로 비교)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatIdAllocator {
+
+	private static final String SEGMENT = "chat_message";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	/** 한 번에 예약할 ID 수 */
+	@Value("${chat.write-behind.id-block-size:1000}")
+	private int blockSize;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "chat-id-prefetch");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/** 현재 구간 [next, end) */
+	private long next;
+	private long end;
+	/** 미리 예약 중인 다음 구간의 시작 ID */
+	private CompletableFuture<Long> prefetched;
+
+	/** 다음 ID (현재 구간 소진 시 미리 예약한 구간으로 교체) */
+	public Integer nextId() {
+		lock.lock();
+		try {
+			if (next >= end) {
+				long start = prefetched != null ? prefetched.join() : reserveBlock();
+				prefetched = null;
+				next = start;
+				end = start + blockSize;
+			}
+			long id = next++;
+			if (id > Integer.MAX_VALUE) {
+				throw new IllegalStateException("chat_message.id 범위 초과: " + id);
+			}
+			if (prefetched == null && end - next <= blockSize / 4) {
+				prefetched = CompletableFuture.supplyAsync(this::reserveBlock, prefetcher);
+			}
+			return (int) id;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** write-behind 시작 시: JPA 저장 경로도 이 할당기를 쓰도록 등록 + 첫 메시지 전에 구간을 미리 예약 */
+	public void warmUp() {
+		ChatMessageIdGenerator.useAllocator(this::nextId);
+		lock.lock();
+		try {
+			if (next >= end && prefetched == null) {
+				prefetched = CompletableFuture.supplyAsync(this::reserveBlock, prefetcher);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 구간 예약: 요청 트랜잭션과 분리해 바로 커밋 (행 잠금 시간 최소화)
+	 * - write-behind를 끈 채 AUTO_INCREMENT로 저장된 메시지가 있을 수 있으므로 현재 최대 ID 이후부터 예약
+	 */
+	private long reserveBlock() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		Long start = tx.execute(status -> {
+			Long sequence = jdbcTemplate.queryForObject(
+					"SELECT next_val FROM chat_message_id_sequence WHERE sequence_name = ? FOR UPDATE", Long.class, SEGMENT);
+			Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM chat_message", Long.class);
+			long current = Math.max(sequence, maxId + 1);
+			jdbcTemplate.update("UPDATE chat_message_id_sequence SET next_val = ? WHERE sequence_name = ?",
+					current + blockSize, SEGMENT);
+			return current;
+		});
+		log.info("[ChatIdAllocator.reserveBlock] ID 구간 예약 - [{}, {})", start, start + blockSize);
+		return start;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		ChatMessageIdGenerator.clearAllocator();
+		prefetcher.shutdownNow();
+	}
+}
@@ -0,0 +1,14 @@
+package com.goodee.coreconnect.chat.journal;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * write-behind 저널 항목 (브로드캐스트는 끝났고 DB 저장을 기다리는 채팅 메시지, 불변)
+ * - seq: 저널 순번 (파일 저널의 커밋 위치 표시용, 노드 안에서 append 순서)
+ * - chatId: ChatIdAllocator가 예약 구간에서 미리 할당한 chat_message.id
+ * - participantIds / readUserIds: 저장 시점의 참여자 / 바로 읽음 처리할 사용자 (발신자 + 접속자)
+ */
+public record ChatJournalEntry(long seq, Integer chatId, Integer roomId, Integer senderId, String senderName,
+		String content, LocalDateTime sendAt, List<Integer> participantIds, List<Integer> readUserIds, int unreadCount) {
+}
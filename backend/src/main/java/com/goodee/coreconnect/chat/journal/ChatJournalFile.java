@@ -0,0 +1,152 @@
+package com.goodee.coreconnect.chat.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * write-behind 로컬 append-only 저널 파일
+ *
+ * - 브로드캐스트 전에 항목을 JSON 1줄로 추가, DB 커밋 후 "#commit {seq}" 줄 추가
+ * - 재시작 시 마지막 커밋 표시 이후의 항목만 다시 저장 (프로세스가 죽어도 브로드캐스트된 메시지 유실 없음)
+ * - fsync=false: OS 버퍼까지만 기록 (프로세스 종료에는 안전, 전원 장애 시 마지막 일부 유실 가능)
+ * - 커밋 안 된 항목이 없고 파일이 커지면 비움
+ */
+@Slf4j
+class ChatJournalFile implements AutoCloseable {
+
+	private static final String COMMIT_PREFIX = "#commit ";
+	private static final long COMPACT_THRESHOLD_BYTES = 16L * 1024 * 1024;
+
+	private final Path path;
+	private final boolean fsync;
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private final ReentrantLock lock = new ReentrantLock();
+	private FileChannel channel;
+	private long lastAppendedSeq;
+
+	ChatJournalFile(Path path, boolean fsync) {
+		this.path = path;
+		this.fsync = fsync;
+	}
+
+	/** 파일을 열고 커밋 표시 이후의 항목(재저장 대상)을 순서대로 반환 */
+	List<ChatJournalEntry> open() {
+		try {
+			if (path.getParent() != null) {
+				Files.createDirectories(path.getParent());
+			}
+			Map<Long, ChatJournalEntry> pending = new LinkedHashMap<>();
+			if (Files.exists(path)) {
+				for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+					if (line.isBlank()) {
+						continue;
+					}
+					if (line.startsWith(COMMIT_PREFIX)) {
+						long committed = Long.parseLong(line.substring(COMMIT_PREFIX.length()).trim());
+						pending.keySet().removeIf(seq -> seq <= committed);
+						continue;
+					}
+					try {
+						ChatJournalEntry entry = objectMapper.readValue(line, ChatJournalEntry.class);
+						pending.put(entry.seq(), entry);
+						lastAppendedSeq = Math.max(lastAppendedSeq, entry.seq());
+					} catch (JsonProcessingException e) {
+						// 기록 중 종료된 마지막 줄 (쓰다 만 줄은 브로드캐스트 전이므로 버림)
+						log.warn("[ChatJournalFile.open] 손상된 저널 줄 무시 - {}", e.getOriginalMessage());
+					}
+				}
+			}
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			log.info("[ChatJournalFile.open] 저널 파일 열기 - path: {}, 재저장 대상: {}, fsync: {}", path, pending.size(), fsync);
+			return new ArrayList<>(pending.values());
+		} catch (IOException e) {
+			throw new UncheckedIOException("채팅 저널 파일 열기 실패: " + path, e);
+		}
+	}
+
+	/** 마지막으로 기록된 순번 (재시작 후 순번 이어가기) */
+	long lastSeq() {
+		return lastAppendedSeq;
+	}
+
+	void append(ChatJournalEntry entry) {
+		byte[] line;
+		try {
+			line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("채팅 저널 직렬화 실패", e);
+		}
+		lock.lock();
+		try {
+			write(line);
+			lastAppendedSeq = Math.max(lastAppendedSeq, entry.seq());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** seq까지 DB 커밋 완료 표시 (모두 커밋되었고 파일이 크면 비움) */
+	void commit(long seq) {
+		lock.lock();
+		try {
+			if (seq >= lastAppendedSeq && channel.size() > COMPACT_THRESHOLD_BYTES) {
+				channel.truncate(0);
+				log.info("[ChatJournalFile.commit] 저널 파일 비움 - 커밋 seq: {}", seq);
+				return;
+			}
+			write((COMMIT_PREFIX + seq + "\n").getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException("채팅 저널 커밋 기록 실패: " + path, e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void write(byte[] bytes) {
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			if (fsync) {
+				channel.force(false);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("채팅 저널 기록 실패: " + path, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+		} catch (IOException e) {
+			log.warn("[ChatJournalFile.close] 저널 파일 닫기 실패 - {}", e.getMessage());
+		} finally {
+			lock.unlock();
+		}
+	}
+}
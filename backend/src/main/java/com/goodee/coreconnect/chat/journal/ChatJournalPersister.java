@@ -0,0 +1,103 @@
+package com.goodee.coreconnect.chat.journal;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.goodee.coreconnect.chat.repository.ChatMessageReadStatusRepository;
+import com.goodee.coreconnect.chat.service.ChatReadWatermarkService;
+import com.goodee.coreconnect.chat.service.ChatRoomSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatJournalPersister (write-behind 저널 항목 일괄 저장, JdbcTemplate 기반)
+ *
+ * - 배치 1개 = 트랜잭션 1개
+ *   1. chat_message 다중 행 INSERT (ID는 ChatIdAllocator가 미리 할당)
+ *   2. 메시지별 읽음 상태 (row 모드: 다중 행 INSERT / watermark 모드: 발신자+접속자 watermark 전진)
+ *   3. 채팅방 목록 요약 (마지막 메시지 + 안읽은 참여자 unreadCount +1)
+ * - sendChatMessage와 같은 결과를 남기되, 엔티티 로딩/flush/재조회 없이 저장
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatJournalPersister {
+
+	/** 한 INSERT 문에 담을 최대 row 수 */
+	private static final int INSERT_CHUNK_SIZE = 500;
+
+	private static final String INSERT_PREFIX =
+			"INSERT INTO chat_message " +
+			"(id, message_content, sent_at, file_yn, file_url, chat_room_id, read_yn, unread_count, sender_id) VALUES ";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ChatMessageReadStatusRepository chatMessageReadStatusRepository;
+	private final ChatReadWatermarkService chatReadWatermarkService;
+	private final ChatRoomSummaryService chatRoomSummaryService;
+
+	@Transactional
+	public void persistBatch(List<ChatJournalEntry> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		insertMessages(entries);
+
+		LocalDateTime readAt = LocalDateTime.now();
+		for (ChatJournalEntry entry : entries) {
+			if (chatReadWatermarkService.isEnabled()) {
+				chatReadWatermarkService.advanceOnSend(entry.roomId(), entry.sendAt(), entry.chatId(), entry.readUserIds());
+			} else {
+				chatMessageReadStatusRepository.bulkInsertForNewChat(entry.chatId(), entry.participantIds(), entry.readUserIds(), readAt);
+			}
+			chatRoomSummaryService.onMessageSaved(entry.roomId(), entry.chatId(), entry.content(), entry.senderName(),
+					entry.sendAt(), false, entry.readUserIds());
+		}
+		log.debug("[ChatJournalPersister.persistBatch] 저장 완료 - 메시지 수: {}, chatId: {} ~ {}",
+				entries.size(), entries.get(0).chatId(), entries.get(entries.size() - 1).chatId());
+	}
+
+	/** 이미 chat_message에 저장된 항목의 ID (재시작 시 복구한 항목이 커밋 후 커밋 표시 전에 종료된 경우 확인용) */
+	public Set<Integer> findPersistedIds(List<ChatJournalEntry> entries) {
+		Set<Integer> persisted = new HashSet<>();
+		for (int from = 0; from < entries.size(); from += INSERT_CHUNK_SIZE) {
+			List<ChatJournalEntry> chunk = entries.subList(from, Math.min(from + INSERT_CHUNK_SIZE, entries.size()));
+			String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+			persisted.addAll(jdbcTemplate.queryForList("SELECT id FROM chat_message WHERE id IN (" + placeholders + ")",
+					Integer.class, chunk.stream().map(ChatJournalEntry::chatId).toArray()));
+		}
+		return persisted;
+	}
+
+	private void insertMessages(List<ChatJournalEntry> entries) {
+		for (int from = 0; from < entries.size(); from += INSERT_CHUNK_SIZE) {
+			List<ChatJournalEntry> chunk = entries.subList(from, Math.min(from + INSERT_CHUNK_SIZE, entries.size()));
+
+			StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+			List<Object> args = new ArrayList<>(chunk.size() * 9);
+			for (int i = 0; i < chunk.size(); i++) {
+				ChatJournalEntry entry = chunk.get(i);
+				sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+				args.add(entry.chatId());
+				args.add(entry.content());
+				args.add(Timestamp.valueOf(entry.sendAt()));
+				args.add(false);
+				args.add(null);
+				args.add(entry.roomId());
+				args.add(false);
+				args.add(entry.unreadCount());
+				args.add(entry.senderId());
+			}
+			jdbcTemplate.update(sql.toString(), args.toArray());
+		}
+	}
+}
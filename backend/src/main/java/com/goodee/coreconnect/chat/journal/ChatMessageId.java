@@ -0,0 +1,17 @@
+package com.goodee.coreconnect.chat.journal;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Chat.id 생성 방식 지정 (ChatMessageIdGenerator)
+ */
+@IdGeneratorType(ChatMessageIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface ChatMessageId {
+}
@@ -0,0 +1,54 @@
+package com.goodee.coreconnect.chat.journal;
+
+import java.util.function.Supplier;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.IdentityGenerator;
+
+/**
+ * ChatMessageIdGenerator (chat_message.id 생성)
+ *
+ * - 기본: AUTO_INCREMENT (IdentityGenerator와 동일, chat_message_id_sequence 테이블 불필요)
+ * - write-behind 사용 시(ChatIdAllocator가 등록된 경우): INSERT 전에 ChatIdAllocator 구간에서 ID 할당
+ *   → JPA 저장 경로와 write-behind 저장 경로가 같은 구간 예약을 거치므로 ID가 겹치지 않음
+ * - 엔티티마다 INSERT 시점에 판단 (Hibernate가 generatedOnExecution(entity, session)으로 확인)
+ */
+public class ChatMessageIdGenerator extends IdentityGenerator implements BeforeExecutionGenerator {
+
+	private static final long serialVersionUID = 1L;
+
+	/** write-behind 사용 시 ChatIdAllocator::nextId (Hibernate가 만드는 객체라 Spring 빈을 직접 주입받을 수 없음) */
+	private static volatile Supplier<Integer> allocator;
+
+	static void useAllocator(Supplier<Integer> idSupplier) {
+		allocator = idSupplier;
+	}
+
+	static void clearAllocator() {
+		allocator = null;
+	}
+
+	/** 영속화 설정 단계에서 identity 방식(INSERT 후 ID 조회) 처리기를 준비하도록 true */
+	@Override
+	public boolean generatedOnExecution() {
+		return true;
+	}
+
+	/** allocator가 없으면 AUTO_INCREMENT, 있으면 generate()로 미리 할당한 ID를 INSERT에 포함 */
+	@Override
+	public boolean generatedOnExecution(Object owner, SharedSessionContractImplementor session) {
+		return allocator == null;
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+			EventType eventType) {
+		Supplier<Integer> idSupplier = allocator;
+		if (idSupplier == null) {
+			throw new IllegalStateException("ChatIdAllocator가 등록되지 않았습니다");
+		}
+		return idSupplier.get();
+	}
+}
@@ -0,0 +1,346 @@
+package com.goodee.coreconnect.chat.journal;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.goodee.coreconnect.chat.dto.response.ChatResponseDTO;
+import com.goodee.coreconnect.config.WebSocketSessionUser;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatWriteBehindService (채팅 메시지 write-behind 저장)
+ *
+ * - chat.write-behind.enabled=true 일 때 텍스트 메시지는 DB 저장을 기다리지 않고 바로 브로드캐스트
+ *   (STOMP /app/chat.sendMessage - ChatMessageController, 원시 WebSocket - ChatWebSocketHandler 모두, 파일 메시지는 기존 동기 저장)
+ *   1. ChatIdAllocator가 예약 구간에서 chat_message.id 할당 (DB 왕복 없음)
+ *   2. 저널(메모리 큐, durability=file이면 로컬 append-only 파일에도)에 추가 후 DTO 반환 → 호출자가 바로 브로드캐스트
+ *   3. 백그라운드 writer 스레드 1개가 batch-size개씩 묶어 트랜잭션 1개로 저장 (ChatJournalPersister)
+ * - durability
+ *   - batch: 배치 커밋 시점에 저장 확정 (그 전에 프로세스가 죽으면 브로드캐스트된 메시지 유실 가능)
+ *   - file: 브로드캐스트 전에 로컬 파일에 기록, 재시작 시 커밋 안 된 항목 재저장 (이미 저장된 항목은 건너뜀, file-fsync=true면 매 기록 fsync)
+ * - back-pressure: 저장 대기 메시지가 journal-capacity에 도달하면 전송 스레드가 최대 backpressure-timeout-ms 대기,
+ *   그래도 자리가 없으면 IllegalStateException (writer가 DB를 따라가지 못하는 동안 메모리가 무한히 늘지 않음)
+ * - DB 장애(일시적 오류)는 배치를 무한 재시도, 데이터 오류는 메시지 단위로 나눠 저장 후 실패한 메시지만 로그로 남기고 제외
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatWriteBehindService {
+
+	private static final DateTimeFormatter SEND_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+	private static final long MAX_RETRY_BACKOFF_MS = 5_000;
+
+	/** write-behind 통계 (접수 / 저장 / 배치 수 / 재시도 / back-pressure로 거절 / 저장 실패로 제외 / 저장 대기) */
+	public record WriteBehindStats(long accepted, long persisted, long batches, long retries, long rejected,
+			long dropped, int pending) {}
+
+	private final ChatIdAllocator chatIdAllocator;
+	private final ChatJournalPersister chatJournalPersister;
+
+	@Value("${chat.write-behind.enabled:false}")
+	private boolean enabled;
+
+	/** batch | file */
+	@Value("${chat.write-behind.durability:batch}")
+	private String durability;
+
+	@Value("${chat.write-behind.journal-file:./data/chat-journal.log}")
+	private String journalFile;
+
+	@Value("${chat.write-behind.file-fsync:false}")
+	private boolean fileFsync;
+
+	/** 저장 대기 최대 메시지 수 */
+	@Value("${chat.write-behind.journal-capacity:10000}")
+	private int journalCapacity;
+
+	@Value("${chat.write-behind.batch-size:200}")
+	private int batchSize;
+
+	/** 배치를 모으는 최대 대기 시간 */
+	@Value("${chat.write-behind.flush-interval-ms:20}")
+	private long flushIntervalMs;
+
+	@Value("${chat.write-behind.backpressure-timeout-ms:2000}")
+	private long backpressureTimeoutMs;
+
+	@Value("${chat.write-behind.shutdown-timeout-ms:10000}")
+	private long shutdownTimeoutMs;
+
+	private final BlockingQueue<ChatJournalEntry> queue = new LinkedBlockingQueue<>();
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final List<Consumer<List<ChatJournalEntry>>> persistListeners = new CopyOnWriteArrayList<>();
+
+	private final AtomicLong accepted = new AtomicLong();
+	private final AtomicLong persisted = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	/** 저장 대기 자리 (writer가 저장 후 반환) */
+	private Semaphore capacity;
+	private ChatJournalFile file;
+	private long seq;
+	/** 재시작 시 파일에서 복구한 마지막 순번 (이하 항목은 커밋 후 커밋 표시 전에 종료돼 이미 저장됐을 수 있음) */
+	private long recoveredSeq;
+	private Thread writer;
+	private volatile boolean running;
+	private volatile long drainDeadline = Long.MAX_VALUE;
+
+	@PostConstruct
+	public void init() {
+		if (!enabled) {
+			return;
+		}
+		List<ChatJournalEntry> recovered = List.of();
+		if ("file".equalsIgnoreCase(durability)) {
+			file = new ChatJournalFile(Path.of(journalFile), fileFsync);
+			recovered = file.open();
+			seq = file.lastSeq();
+			recoveredSeq = recovered.isEmpty() ? 0 : recovered.get(recovered.size() - 1).seq();
+		}
+		// 재시작 시 복구한 항목도 저장 대기 자리를 차지 (capacity보다 많으면 음수에서 시작)
+		capacity = new Semaphore(journalCapacity - recovered.size());
+		queue.addAll(recovered);
+
+		chatIdAllocator.warmUp();
+		running = true;
+		writer = new Thread(this::runWriter, "chat-write-behind");
+		writer.setDaemon(true);
+		writer.start();
+		log.info("[ChatWriteBehindService] 시작 - durability: {}, capacity: {}, batchSize: {}, 복구 항목: {}",
+				durability, journalCapacity, batchSize, recovered.size());
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/** DB 저장 후(배치 커밋 후) 호출 - 토스트처럼 저장된 상태를 읽어야 하는 후속 처리용 (writer 스레드에서 실행) */
+	public void addPersistListener(Consumer<List<ChatJournalEntry>> listener) {
+		persistListeners.add(listener);
+	}
+
+	/**
+	 * 메시지 접수: ID 할당 + 저널 추가 후 브로드캐스트할 DTO 반환 (DB 저장은 writer가 나중에)
+	 * @param readUserIds 바로 읽음 처리할 사용자 (발신자 + 접속자)
+	 * @throws IllegalStateException 저장 대기열이 backpressure-timeout-ms 동안 가득 찬 경우
+	 */
+	public ChatResponseDTO accept(Integer roomId, WebSocketSessionUser sender, String content,
+			List<Integer> participantIds, Collection<Integer> readUserIds) {
+		try {
+			if (!capacity.tryAcquire(backpressureTimeoutMs, TimeUnit.MILLISECONDS)) {
+				rejected.incrementAndGet();
+				throw new IllegalStateException("채팅 저장 대기열이 가득 찼습니다 (대기: " + queue.size() + ")");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("채팅 저장 대기 중 인터럽트", e);
+		}
+
+		List<Integer> participants = List.copyOf(participantIds);
+		List<Integer> readers = List.copyOf(readUserIds);
+		int unreadCount = (int) participants.stream().filter(pid -> !readers.contains(pid)).count();
+		ChatJournalEntry entry;
+		appendLock.lock();
+		try {
+			// 순번 = 파일 기록 순서 = 큐 순서 (writer가 순서대로 커밋하므로 커밋 표시는 순번 하나로 충분)
+			entry = new ChatJournalEntry(++seq, chatIdAllocator.nextId(), roomId, sender.userId(), sender.name(),
+					content, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), participants, readers, unreadCount);
+			if (file != null) {
+				file.append(entry);
+			}
+			queue.add(entry);
+		} catch (RuntimeException e) {
+			capacity.release();
+			throw e;
+		} finally {
+			appendLock.unlock();
+		}
+		accepted.incrementAndGet();
+
+		return ChatResponseDTO.builder()
+				.id(entry.chatId())
+				.messageContent(content)
+				.sendAt(entry.sendAt().format(SEND_AT_FORMAT))
+				.fileYn(false)
+				.fileUrls(new ArrayList<>())
+				.roomId(roomId)
+				.senderId(sender.userId())
+				.senderName(sender.name())
+				.senderEmail(sender.email())
+				.unreadCount(unreadCount)
+				.build();
+	}
+
+	private void runWriter() {
+		List<ChatJournalEntry> batch = new ArrayList<>(batchSize);
+		while (running || (!queue.isEmpty() && System.currentTimeMillis() < drainDeadline)) {
+			try {
+				ChatJournalEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				persist(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (RuntimeException e) {
+				log.error("[ChatWriteBehindService.runWriter] 예상하지 못한 오류 - {}", e.getMessage(), e);
+			} finally {
+				batch.clear();
+			}
+		}
+		log.info("[ChatWriteBehindService.runWriter] writer 종료 - 남은 저장 대기: {}", queue.size());
+	}
+
+	/** 배치 저장 (일시적 오류는 재시도, 데이터 오류는 메시지 단위로 나눠 저장) */
+	private void persist(List<ChatJournalEntry> batch) throws InterruptedException {
+		long backoff = 100;
+		List<ChatJournalEntry> pending = batch;
+		List<ChatJournalEntry> inserted;
+		while (true) {
+			try {
+				if (pending.get(0).seq() <= recoveredSeq) {
+					pending = skipPersisted(pending);
+				}
+				if (!pending.isEmpty()) {
+					chatJournalPersister.persistBatch(pending);
+				}
+				inserted = pending;
+				break;
+			} catch (NonTransientDataAccessException e) {
+				if (e instanceof DataAccessResourceFailureException) {
+					backoff = retryAfter(batch, e, backoff);
+					continue;
+				}
+				inserted = persistIndividually(pending, e);
+				break;
+			} catch (RuntimeException e) {
+				backoff = retryAfter(batch, e, backoff);
+			}
+		}
+		committed(batch, inserted);
+	}
+
+	/**
+	 * 복구 항목 중 이미 저장된 메시지 제외
+	 * - 메시지 INSERT와 읽음 상태/요약 갱신은 한 트랜잭션이므로 저장된 항목은 통째로 건너뜀 (다시 INSERT하면 PK 충돌로 제외됨)
+	 */
+	private List<ChatJournalEntry> skipPersisted(List<ChatJournalEntry> batch) {
+		Set<Integer> persistedIds = chatJournalPersister.findPersistedIds(batch);
+		if (persistedIds.isEmpty()) {
+			return batch;
+		}
+		log.info("[ChatWriteBehindService.persist] 복구 항목 중 이미 저장된 메시지 건너뜀 - {}건", persistedIds.size());
+		return batch.stream().filter(entry -> !persistedIds.contains(entry.chatId())).toList();
+	}
+
+	private long retryAfter(List<ChatJournalEntry> batch, RuntimeException e, long backoff) throws InterruptedException {
+		if (!running && System.currentTimeMillis() >= drainDeadline) {
+			// 종료 중 DB가 계속 실패: file 모드는 재시작 시 복구, batch 모드는 유실
+			throw new InterruptedException("종료 대기 시간 초과 - 저장하지 못한 메시지 " + (batch.size() + queue.size()) + "건");
+		}
+		retries.incrementAndGet();
+		log.warn("[ChatWriteBehindService.persist] 배치 저장 실패, {}ms 후 재시도 - 메시지 수: {}, error: {}",
+				backoff, batch.size(), e.getMessage());
+		Thread.sleep(backoff);
+		return Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+	}
+
+	/** 메시지 단위 저장 - 저장에 성공한 메시지만 반환 */
+	private List<ChatJournalEntry> persistIndividually(List<ChatJournalEntry> batch, RuntimeException cause) {
+		log.warn("[ChatWriteBehindService.persist] 배치 데이터 오류, 메시지 단위로 저장 - 메시지 수: {}, error: {}",
+				batch.size(), cause.getMessage());
+		List<ChatJournalEntry> inserted = new ArrayList<>(batch.size());
+		for (ChatJournalEntry entry : batch) {
+			try {
+				chatJournalPersister.persistBatch(List.of(entry));
+				inserted.add(entry);
+			} catch (RuntimeException e) {
+				dropped.incrementAndGet();
+				log.error("[ChatWriteBehindService.persist] 메시지 저장 실패로 제외 - chatId: {}, roomId: {}, senderId: {}, content: {}, error: {}",
+						entry.chatId(), entry.roomId(), entry.senderId(), entry.content(), e.getMessage());
+			}
+		}
+		return inserted;
+	}
+
+	/**
+	 * 배치 처리 완료: 커밋 표시와 저장 대기 자리는 배치 전체 기준, 통계/저장 후 처리는 이번에 INSERT한 메시지만
+	 * (저장 실패로 제외된 메시지, 복구 시 이미 저장돼 건너뛴 메시지는 제외)
+	 */
+	private void committed(List<ChatJournalEntry> batch, List<ChatJournalEntry> inserted) {
+		if (file != null) {
+			file.commit(batch.get(batch.size() - 1).seq());
+		}
+		persisted.addAndGet(inserted.size());
+		batches.incrementAndGet();
+		capacity.release(batch.size());
+		if (inserted.isEmpty()) {
+			return;
+		}
+
+		List<ChatJournalEntry> snapshot = List.copyOf(inserted);
+		for (Consumer<List<ChatJournalEntry>> listener : persistListeners) {
+			try {
+				listener.accept(snapshot);
+			} catch (RuntimeException e) {
+				log.warn("[ChatWriteBehindService] 저장 후 처리 실패 - {}", e.getMessage());
+			}
+		}
+	}
+
+	public WriteBehindStats snapshot() {
+		return new WriteBehindStats(accepted.get(), persisted.get(), batches.get(), retries.get(), rejected.get(),
+				dropped.get(), queue.size());
+	}
+
+	/** 종료 시 남은 메시지를 shutdown-timeout-ms 동안 저장 */
+	@PreDestroy
+	public void shutdown() {
+		if (writer == null) {
+			return;
+		}
+		drainDeadline = System.currentTimeMillis() + shutdownTimeoutMs;
+		running = false;
+		try {
+			writer.join(shutdownTimeoutMs + 1_000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (writer.isAlive()) {
+			writer.interrupt();
+		}
+		if (file != null) {
+			file.close();
+		}
+		log.info("[ChatWriteBehindService] 종료 - {}", snapshot());
+	}
+}
@@ -0,0 +1,208 @@
+package com.goodee.coreconnect.chat.presence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goodee.coreconnect.chat.service.ChatParticipantCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatActivityService (입력 중 / 접속 ping / 채팅방 보는 중 같은 일시적 활동 이벤트)
+ *
+ * - 메모리에서만 처리 (저장 없음, 서버 재시작 시 유실되어도 되는 신호)
+ * - 채팅방 참여자만 접수 (참여 여부는 ChatParticipantCache로 확인, 매 이벤트마다 DB 조회하지 않음)
+ * - 사용자 × 활동 종류별로 마지막 상태만 남기고(coalesce), throttle 시간(기본 500ms)에 최대 1번만 전송
+ * - flush 주기마다 채팅방별로 모인 이벤트를 프레임 1개(ROOM_ACTIVITY)로 묶어 전송
+ * - 실제 전송은 등록된 ActivitySink들이 담당
+ *   - STOMP: ChatActivityController → /topic/chat.room.{roomId}
+ *   - raw WebSocket: ChatWebSocketHandler → 접속 상태 인덱스(ChatPresenceService) 기준 접속자 세션 + MessageBus
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatActivityService {
+
+	/** 활동 종류 */
+	public enum ActivityType {
+		TYPING, PRESENCE_PING, VIEWING;
+
+		/** 클라이언트 type 값 → 활동 종류 (활동 이벤트가 아니면 null) */
+		public static ActivityType from(String type) {
+			if (type == null) {
+				return null;
+			}
+			for (ActivityType value : values()) {
+				if (value.name().equalsIgnoreCase(type)) {
+					return value;
+				}
+			}
+			return null;
+		}
+	}
+
+	/** 채팅방 활동 프레임 전송 (recipientIds = 접속 상태 인덱스 기준 접속자, payload = 이미 직렬화된 ROOM_ACTIVITY JSON) */
+	@FunctionalInterface
+	public interface ActivitySink {
+		void send(Integer roomId, List<Integer> recipientIds, String payload);
+	}
+
+	/** 통계 (제출 / 묶여서 사라진 이벤트 / 참여자가 아니라 무시된 이벤트 / 전송 프레임 / 전송 이벤트) */
+	public record ActivityStats(long submitted, long coalesced, long rejected, long frames, long events) {}
+
+	private record Key(Integer userId, ActivityType type) {}
+
+	private record Pending(boolean active, long at) {}
+
+	/** 채팅방별 대기 이벤트 + 마지막 전송 시각 (짧은 CPU 작업만 하므로 방 단위 synchronized) */
+	private static final class RoomActivity {
+		private final Map<Key, Pending> pending = new LinkedHashMap<>();
+		private final Map<Key, Long> lastEmitted = new HashMap<>();
+		/** flush에서 정리된 방 (정리 직전에 접수한 스레드는 새 방 객체로 다시 시도) */
+		private boolean removed;
+	}
+
+	private final ChatPresenceService chatPresenceService;
+	private final ChatParticipantCache chatParticipantCache;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Map<Integer, RoomActivity> rooms = new ConcurrentHashMap<>();
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong frames = new AtomicLong();
+	private final AtomicLong events = new AtomicLong();
+
+	private final List<ActivitySink> sinks = new CopyOnWriteArrayList<>();
+
+	/** 사용자 × 활동 종류별 최소 전송 간격 */
+	@Value("${chat.activity.throttle-ms:500}")
+	private long throttleMs;
+
+	public void addSink(ActivitySink sink) {
+		sinks.add(sink);
+	}
+
+	/**
+	 * 활동 이벤트 접수 (WebSocket 수신 스레드에서 호출, 전송은 flush에서)
+	 * - 채팅방 참여자가 아니면 무시 (다른 방에 활동 신호를 보내지 못하게)
+	 * @return 접수 여부
+	 */
+	public boolean submit(Integer roomId, Integer userId, ActivityType type, boolean active) {
+		if (roomId == null || userId == null || type == null) {
+			return false;
+		}
+		if (!chatParticipantCache.contains(roomId, userId)) {
+			rejected.incrementAndGet();
+			log.debug("[ChatActivityService.submit] 참여자가 아닌 사용자의 활동 이벤트 무시 - roomId: {}, userId: {}, type: {}", roomId, userId, type);
+			return false;
+		}
+		submitted.incrementAndGet();
+		while (true) {
+			RoomActivity room = rooms.computeIfAbsent(roomId, k -> new RoomActivity());
+			synchronized (room) {
+				if (room.removed) {
+					continue;
+				}
+				if (room.pending.put(new Key(userId, type), new Pending(active, System.currentTimeMillis())) != null) {
+					coalesced.incrementAndGet();
+				}
+				return true;
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${chat.activity.flush-interval-ms:100}")
+	public void flush() {
+		flush(System.currentTimeMillis());
+	}
+
+	/**
+	 * 채팅방별로 throttle이 지난 대기 이벤트를 묶어 전송
+	 * - throttle 안에 있는 이벤트는 다음 flush까지 대기 (그 사이 들어온 이벤트는 마지막 상태로 덮어씀)
+	 * - 대기 이벤트도 없고 최근 전송도 없는 채팅방은 정리
+	 */
+	public void flush(long now) {
+		Iterator<Map.Entry<Integer, RoomActivity>> it = rooms.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Integer, RoomActivity> entry = it.next();
+			Integer roomId = entry.getKey();
+			RoomActivity room = entry.getValue();
+
+			List<Map<String, Object>> ready = new ArrayList<>();
+			synchronized (room) {
+				Iterator<Map.Entry<Key, Pending>> pendingIt = room.pending.entrySet().iterator();
+				while (pendingIt.hasNext()) {
+					Map.Entry<Key, Pending> p = pendingIt.next();
+					Long last = room.lastEmitted.get(p.getKey());
+					if (last != null && now - last < throttleMs) {
+						continue;
+					}
+					room.lastEmitted.put(p.getKey(), now);
+					pendingIt.remove();
+
+					Map<String, Object> event = new LinkedHashMap<>();
+					event.put("userId", p.getKey().userId());
+					event.put("activity", p.getKey().type().name());
+					event.put("active", p.getValue().active());
+					event.put("at", p.getValue().at());
+					ready.add(event);
+				}
+				room.lastEmitted.values().removeIf(last -> now - last >= throttleMs);
+				if (room.pending.isEmpty() && room.lastEmitted.isEmpty()) {
+					room.removed = true;
+					it.remove();
+				}
+			}
+
+			if (!ready.isEmpty()) {
+				send(roomId, ready);
+			}
+		}
+	}
+
+	private void send(Integer roomId, List<Map<String, Object>> ready) {
+		// ⭐ STOMP 구독자는 접속 상태 인덱스에 없으므로 접속자가 없어도 전송 (raw 경로 sink가 빈 수신자를 거름)
+		List<Integer> recipients = chatPresenceService.getOnlineMembers(roomId);
+		Map<String, Object> frame = new LinkedHashMap<>();
+		frame.put("type", "ROOM_ACTIVITY");
+		frame.put("roomId", roomId);
+		frame.put("events", ready);
+		String payload;
+		try {
+			payload = objectMapper.writeValueAsString(frame);
+		} catch (JsonProcessingException e) {
+			log.error("[ChatActivityService.send] ROOM_ACTIVITY 직렬화 실패 - roomId: {}", roomId, e);
+			return;
+		}
+		for (ActivitySink sink : sinks) {
+			try {
+				sink.send(roomId, recipients, payload);
+			} catch (RuntimeException e) {
+				log.warn("[ChatActivityService.send] ROOM_ACTIVITY 전송 실패 - roomId: {}, error: {}", roomId, e.getMessage());
+			}
+		}
+		frames.incrementAndGet();
+		events.addAndGet(ready.size());
+	}
+
+	public ActivityStats snapshot() {
+		return new ActivityStats(submitted.get(), coalesced.get(), rejected.get(), frames.get(), events.get());
+	}
+}
@@ -0,0 +1,152 @@
+package com.goodee.coreconnect.chat.presence;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.goodee.coreconnect.chat.event.ChatPresenceChangedEvent;
+import com.goodee.coreconnect.chat.handler.ChatPresenceRegistry;
+import com.goodee.coreconnect.common.bus.BusMessage;
+import com.goodee.coreconnect.common.bus.MessageBus;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatPresenceService (클러스터 기준 채팅방 접속 상태)
+ *
+ * - 이 인스턴스의 접속/해제(ChatPresenceRegistry)를 PresenceStore에 nodeId 단위 항목으로 기록 (만료 시각 = 현재 + ttl)
+ * - heartbeat 주기마다: 닫힌 세션 정리 → 접속 중인 항목 만료 시각 갱신 → 만료된 항목 제거
+ *   (서버가 비정상 종료되어 해제를 보내지 못해도 ttl 후 offline 처리)
+ * - 접속 상태가 바뀌면(클러스터 기준 첫 접속 / 마지막 해제 / 만료) ChatPresenceChangedEvent 발행
+ * - 메모리 저장소는 인스턴스마다 사본이므로 접속/해제/heartbeat를 MessageBus "presence" 채널로 복제,
+ *   Redis 저장소는 모든 노드가 직접 기록하므로 상태 전이만 MessageBus로 알림
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatPresenceService {
+
+	/** 접속 상태 MessageBus 채널 */
+	public static final String PRESENCE_CHANNEL = "presence";
+
+	private final ChatPresenceRegistry chatPresenceRegistry;
+	private final PresenceStore presenceStore;
+	private final MessageBus messageBus;
+	private final ApplicationEventPublisher eventPublisher;
+
+	/** 접속 항목 유효 시간 (heartbeat가 끊긴 노드의 항목은 이 시간 후 만료) */
+	@Value("${chat.presence.ttl-ms:30000}")
+	private long ttlMs;
+
+	@PostConstruct
+	public void init() {
+		chatPresenceRegistry.addListener(this::onLocalChange);
+		messageBus.subscribe(PRESENCE_CHANNEL, this::onRemoteMessage);
+		log.info("[ChatPresenceService] 시작 - nodeId: {}, store: {}, ttlMs: {}",
+				messageBus.nodeId(), presenceStore.getClass().getSimpleName(), ttlMs);
+	}
+
+	/** 사용자가 어떤 채팅방에든 접속 중인지 (모든 인스턴스 기준) */
+	public boolean isOnline(Integer userId) {
+		return presenceStore.isOnline(userId);
+	}
+
+	/** 채팅방에 접속 중인 사용자 ID 목록 (모든 인스턴스 기준, 중복 없음) */
+	public List<Integer> getOnlineMembers(Integer roomId) {
+		return presenceStore.onlineMembers(roomId);
+	}
+
+	/** 이 인스턴스에서 사용자가 방에 처음 접속 / 마지막 세션 해제 */
+	private void onLocalChange(Integer roomId, Integer userId, boolean online) {
+		String nodeId = messageBus.nodeId();
+		boolean transitioned = online
+				? presenceStore.upsert(nodeId, roomId, userId, System.currentTimeMillis() + ttlMs)
+				: presenceStore.remove(nodeId, roomId, userId);
+		if (transitioned) {
+			publishChange(roomId, userId, online);
+		}
+		// 메모리 저장소: 다른 노드 사본에도 반영 / Redis 저장소: 상태가 바뀐 경우만 알림
+		if (!presenceStore.isShared() || transitioned) {
+			messageBus.publish(PRESENCE_CHANNEL, BusMessage.presence(roomId, userId, online));
+		}
+	}
+
+	/** 다른 인스턴스의 접속/해제/heartbeat */
+	private void onRemoteMessage(BusMessage message) {
+		if (message.roomId() == null || message.origin() == null) {
+			return;
+		}
+		if (presenceStore.isShared()) {
+			// 발행 노드가 이미 저장소에 기록하고 전이를 확인한 상태 → 이벤트만 발행
+			if (message.userId() != null) {
+				publishChange(message.roomId(), message.userId(), Boolean.TRUE.equals(message.online()));
+			}
+			return;
+		}
+
+		long expiresAt = System.currentTimeMillis() + ttlMs;
+		if (message.userIds() != null) {
+			// heartbeat: 발행 노드의 방 접속자 만료 시각 갱신
+			for (Integer userId : message.userIds()) {
+				if (presenceStore.upsert(message.origin(), message.roomId(), userId, expiresAt)) {
+					publishChange(message.roomId(), userId, true);
+				}
+			}
+		} else if (message.userId() != null) {
+			boolean online = Boolean.TRUE.equals(message.online());
+			boolean transitioned = online
+					? presenceStore.upsert(message.origin(), message.roomId(), message.userId(), expiresAt)
+					: presenceStore.remove(message.origin(), message.roomId(), message.userId());
+			if (transitioned) {
+				publishChange(message.roomId(), message.userId(), online);
+			}
+		}
+	}
+
+	/**
+	 * heartbeat: 닫힌 세션 정리 → 이 인스턴스 접속 항목 갱신 → 만료 항목 제거
+	 * (ttl보다 충분히 짧게 설정, 기본 10초 / ttl 30초)
+	 */
+	@Scheduled(fixedDelayString = "${chat.presence.heartbeat-interval-ms:10000}")
+	public void heartbeat() {
+		int pruned = chatPresenceRegistry.pruneClosedSessions();
+
+		String nodeId = messageBus.nodeId();
+		long now = System.currentTimeMillis();
+		long expiresAt = now + ttlMs;
+		Map<Integer, List<Integer>> local = chatPresenceRegistry.snapshotConnectedUsers();
+		local.forEach((roomId, userIds) -> {
+			for (Integer userId : userIds) {
+				if (presenceStore.upsert(nodeId, roomId, userId, expiresAt)) {
+					publishChange(roomId, userId, true);
+				}
+			}
+			if (!presenceStore.isShared()) {
+				messageBus.publish(PRESENCE_CHANNEL, BusMessage.heartbeat(roomId, userIds));
+			}
+		});
+
+		List<PresenceStore.Transition> expired = presenceStore.expire(now);
+		for (PresenceStore.Transition t : expired) {
+			publishChange(t.roomId(), t.userId(), false);
+			if (presenceStore.isShared()) {
+				messageBus.publish(PRESENCE_CHANNEL, BusMessage.presence(t.roomId(), t.userId(), false));
+			}
+		}
+
+		if (pruned > 0 || !expired.isEmpty()) {
+			log.info("[ChatPresenceService.heartbeat] 닫힌 세션 정리: {}, 갱신한 방: {}, 만료: {}", pruned, local.size(), expired.size());
+		}
+	}
+
+	private void publishChange(Integer roomId, Integer userId, boolean online) {
+		log.debug("[ChatPresenceService] 접속 상태 변경 - roomId: {}, userId: {}, online: {}", roomId, userId, online);
+		eventPublisher.publishEvent(new ChatPresenceChangedEvent(this, roomId, userId, online));
+	}
+}
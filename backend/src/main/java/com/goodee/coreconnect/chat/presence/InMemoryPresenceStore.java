@@ -0,0 +1,111 @@
+package com.goodee.coreconnect.chat.presence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * InMemoryPresenceStore (기본, chat.presence.store=memory)
+ *
+ * - 인스턴스마다 클러스터 전체 접속 항목의 사본을 보관 (다른 노드 항목은 MessageBus heartbeat로 반영)
+ * - roomId → userId → nodeId → 만료 시각, userId → 접속 중인 roomId Set
+ * - isOnline / onlineMembers는 맵 조회만 하고, 만료 항목은 expire(heartbeat 주기)에서 정리
+ */
+@Component
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPresenceStore implements PresenceStore {
+
+	/** roomId → (userId → (nodeId → 만료 시각)) */
+	private final Map<Integer, Map<Integer, Map<String, Long>>> rooms = new ConcurrentHashMap<>();
+
+	/** userId → 접속 중인 roomId Set */
+	private final Map<Integer, Set<Integer>> userRooms = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean upsert(String nodeId, Integer roomId, Integer userId, long expiresAtMillis) {
+		if (nodeId == null || roomId == null || userId == null) {
+			return false;
+		}
+		boolean[] joined = { false };
+		// ⭐ compute로 방 단위 원자적 갱신 (remove/expire와 동시에 실행되어도 상태가 어긋나지 않음)
+		rooms.compute(roomId, (rid, members) -> {
+			Map<Integer, Map<String, Long>> m = members != null ? members : new ConcurrentHashMap<>();
+			m.computeIfAbsent(userId, uid -> {
+				joined[0] = true;
+				userRooms.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(roomId);
+				return new ConcurrentHashMap<>();
+			}).put(nodeId, expiresAtMillis);
+			return m;
+		});
+		return joined[0];
+	}
+
+	@Override
+	public boolean remove(String nodeId, Integer roomId, Integer userId) {
+		if (nodeId == null || roomId == null || userId == null) {
+			return false;
+		}
+		boolean[] left = { false };
+		rooms.computeIfPresent(roomId, (rid, members) -> {
+			members.computeIfPresent(userId, (uid, nodes) -> {
+				nodes.remove(nodeId);
+				left[0] = nodes.isEmpty();
+				if (left[0]) {
+					removeUserRoom(userId, roomId);
+				}
+				return left[0] ? null : nodes;
+			});
+			return members.isEmpty() ? null : members;
+		});
+		return left[0];
+	}
+
+	@Override
+	public List<Transition> expire(long nowMillis) {
+		List<Transition> transitions = new ArrayList<>();
+		for (Integer roomId : rooms.keySet()) {
+			rooms.computeIfPresent(roomId, (rid, members) -> {
+				members.entrySet().removeIf(entry -> {
+					entry.getValue().values().removeIf(expiresAt -> expiresAt <= nowMillis);
+					if (entry.getValue().isEmpty()) {
+						transitions.add(new Transition(roomId, entry.getKey(), false));
+						removeUserRoom(entry.getKey(), roomId);
+						return true;
+					}
+					return false;
+				});
+				return members.isEmpty() ? null : members;
+			});
+		}
+		return transitions;
+	}
+
+	private void removeUserRoom(Integer userId, Integer roomId) {
+		userRooms.computeIfPresent(userId, (uid, roomIds) -> {
+			roomIds.remove(roomId);
+			return roomIds.isEmpty() ? null : roomIds;
+		});
+	}
+
+	@Override
+	public boolean isOnline(Integer userId) {
+		return userId != null && userRooms.containsKey(userId);
+	}
+
+	@Override
+	public List<Integer> onlineMembers(Integer roomId) {
+		Map<Integer, Map<String, Long>> members = roomId != null ? rooms.get(roomId) : null;
+		return members != null ? new ArrayList<>(members.keySet()) : Collections.emptyList();
+	}
+
+	@Override
+	public boolean isShared() {
+		return false;
+	}
+}
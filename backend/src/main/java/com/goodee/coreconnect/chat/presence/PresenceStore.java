@@ -0,0 +1,44 @@
+package com.goodee.coreconnect.chat.presence;
+
+import java.util.List;
+
+/**
+ * PresenceStore (userId → nodeId → roomId 접속 항목 저장소, 항목마다 만료 시각)
+ *
+ * - 각 서버 인스턴스(nodeId)가 자기 접속자 항목을 heartbeat로 갱신하고, 갱신이 끊긴 항목은 expire에서 제거
+ * - 사용자는 하나 이상의 노드에 만료되지 않은 항목이 있으면 해당 채팅방에 접속 중
+ * - upsert/remove/expire는 "채팅방 기준 접속 상태가 바뀌었는지"를 반환 (변경 이벤트 발행용)
+ */
+public interface PresenceStore {
+
+	/** 접속 상태 전이 (roomId의 userId가 online/offline으로 바뀜) */
+	record Transition(Integer roomId, Integer userId, boolean online) {}
+
+	/**
+	 * 접속 항목 등록/만료 시각 갱신
+	 * @return 사용자가 이 채팅방에 새로 접속한 경우 true (다른 노드에 이미 항목이 있었으면 false)
+	 */
+	boolean upsert(String nodeId, Integer roomId, Integer userId, long expiresAtMillis);
+
+	/**
+	 * 접속 항목 삭제
+	 * @return 사용자가 이 채팅방에서 완전히 나간 경우 true (다른 노드에 항목이 남아 있으면 false)
+	 */
+	boolean remove(String nodeId, Integer roomId, Integer userId);
+
+	/** 만료된 항목 제거 후, 그로 인해 offline이 된 (roomId, userId) 목록 반환 */
+	List<Transition> expire(long nowMillis);
+
+	/** 사용자가 어떤 채팅방에든 접속 중인지 */
+	boolean isOnline(Integer userId);
+
+	/** 채팅방에 접속 중인 사용자 ID 목록 (중복 없음) */
+	List<Integer> onlineMembers(Integer roomId);
+
+	/**
+	 * 여러 인스턴스가 같은 저장소를 공유하는지 여부
+	 * - true(Redis): 각 노드가 직접 기록하므로 heartbeat를 MessageBus로 복제할 필요 없음
+	 * - false(메모리): 다른 노드의 접속/heartbeat를 MessageBus로 받아 각자 반영
+	 */
+	boolean isShared();
+}
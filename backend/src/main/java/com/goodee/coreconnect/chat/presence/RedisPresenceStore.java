@@ -0,0 +1,159 @@
+package com.goodee.coreconnect.chat.presence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RedisPresenceStore (chat.presence.store=redis, 모든 인스턴스가 공유)
+ *
+ * 키 구조 (score = 만료 시각 epoch millis)
+ * - {prefix}member:{roomId}:{userId}  ZSET nodeId      → 사용자가 어느 노드에서 접속 중인지
+ * - {prefix}room:{roomId}             ZSET userId      → onlineMembers: ZRANGEBYSCORE now ~ +inf
+ * - {prefix}user:{userId}             ZSET roomId      → isOnline: ZCOUNT now ~ +inf
+ * - {prefix}rooms                     SET  roomId      → expire 대상 채팅방
+ *
+ * 만료 항목 정리는 어느 노드에서 해도 되며, 동시에 정리하면 offline 전이가 중복 보고될 수 있음 (멱등 이벤트)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "redis")
+public class RedisPresenceStore implements PresenceStore {
+
+	private final StringRedisTemplate redisTemplate;
+	private final String keyPrefix;
+
+	public RedisPresenceStore(StringRedisTemplate redisTemplate,
+	                          @Value("${chat.presence.redis.key-prefix:coreconnect:presence:}") String keyPrefix) {
+		this.redisTemplate = redisTemplate;
+		this.keyPrefix = keyPrefix;
+	}
+
+	private String memberKey(Integer roomId, Integer userId) {
+		return keyPrefix + "member:" + roomId + ":" + userId;
+	}
+
+	private String roomKey(Integer roomId) {
+		return keyPrefix + "room:" + roomId;
+	}
+
+	private String userKey(Integer userId) {
+		return keyPrefix + "user:" + userId;
+	}
+
+	private String roomsKey() {
+		return keyPrefix + "rooms";
+	}
+
+	@Override
+	public boolean upsert(String nodeId, Integer roomId, Integer userId, long expiresAtMillis) {
+		if (nodeId == null || roomId == null || userId == null) {
+			return false;
+		}
+		ZSetOperations<String, String> zset = redisTemplate.opsForZSet();
+		String memberKey = memberKey(roomId, userId);
+		Long liveBefore = zset.count(memberKey, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+
+		zset.add(memberKey, nodeId, expiresAtMillis);
+		zset.add(roomKey(roomId), String.valueOf(userId), expiresAtMillis);
+		zset.add(userKey(userId), String.valueOf(roomId), expiresAtMillis);
+		redisTemplate.opsForSet().add(roomsKey(), String.valueOf(roomId));
+		return liveBefore == null || liveBefore == 0;
+	}
+
+	@Override
+	public boolean remove(String nodeId, Integer roomId, Integer userId) {
+		if (nodeId == null || roomId == null || userId == null) {
+			return false;
+		}
+		ZSetOperations<String, String> zset = redisTemplate.opsForZSet();
+		String memberKey = memberKey(roomId, userId);
+		zset.remove(memberKey, nodeId);
+		Long remaining = zset.count(memberKey, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+		if (remaining != null && remaining > 0) {
+			return false;
+		}
+		removeMember(roomId, userId);
+		return true;
+	}
+
+	@Override
+	public List<Transition> expire(long nowMillis) {
+		List<Transition> transitions = new ArrayList<>();
+		Set<String> roomIds = redisTemplate.opsForSet().members(roomsKey());
+		if (roomIds == null) {
+			return transitions;
+		}
+		ZSetOperations<String, String> zset = redisTemplate.opsForZSet();
+		for (String rid : roomIds) {
+			Integer roomId = Integer.valueOf(rid);
+			Set<String> expiredUserIds = zset.rangeByScore(roomKey(roomId), Double.NEGATIVE_INFINITY, nowMillis);
+			if (expiredUserIds != null) {
+				for (String uid : expiredUserIds) {
+					Integer userId = Integer.valueOf(uid);
+					String memberKey = memberKey(roomId, userId);
+					zset.removeRangeByScore(memberKey, Double.NEGATIVE_INFINITY, nowMillis);
+					Long remaining = zset.zCard(memberKey);
+					if (remaining == null || remaining == 0) {
+						removeMember(roomId, userId);
+						transitions.add(new Transition(roomId, userId, false));
+					}
+				}
+			}
+			Long size = zset.zCard(roomKey(roomId));
+			if (size == null || size == 0) {
+				redisTemplate.opsForSet().remove(roomsKey(), rid);
+			}
+		}
+		if (!transitions.isEmpty()) {
+			log.debug("[RedisPresenceStore.expire] 만료 처리: {}건", transitions.size());
+		}
+		return transitions;
+	}
+
+	private void removeMember(Integer roomId, Integer userId) {
+		ZSetOperations<String, String> zset = redisTemplate.opsForZSet();
+		redisTemplate.delete(memberKey(roomId, userId));
+		zset.remove(roomKey(roomId), String.valueOf(userId));
+		zset.remove(userKey(userId), String.valueOf(roomId));
+	}
+
+	@Override
+	public boolean isOnline(Integer userId) {
+		if (userId == null) {
+			return false;
+		}
+		Long live = redisTemplate.opsForZSet().count(userKey(userId), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+		return live != null && live > 0;
+	}
+
+	@Override
+	public List<Integer> onlineMembers(Integer roomId) {
+		if (roomId == null) {
+			return Collections.emptyList();
+		}
+		Set<String> userIds = redisTemplate.opsForZSet().rangeByScore(roomKey(roomId), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+		if (userIds == null || userIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Integer> result = new ArrayList<>(userIds.size());
+		for (String uid : userIds) {
+			result.add(Integer.valueOf(uid));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isShared() {
+		return true;
+	}
+}
@@ -1,5 +1,6 @@
 package com.goodee.coreconnect.chat.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +15,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 // ⭐ 복합키 사용으로 ID 타입이 ChatMessageReadStatusId로 변경됨
-public interface ChatMessageReadStatusRepository extends JpaRepository<ChatMessageReadStatus, ChatMessageReadStatusId>{
+public interface ChatMessageReadStatusRepository extends JpaRepository<ChatMessageReadStatus, ChatMessageReadStatusId>, ChatMessageReadStatusRepositoryCustom {
 	// 1. 채팅 메시지별 미읽은 사용자 목록 조회
     @Query("SELECT r FROM ChatMessageReadStatus r WHERE r.chat.id = :chatId AND r.readYn = false")
     List<ChatMessageReadStatus> findUnreadByChatId(@Param("chatId") Integer chatId);
@@ -57,6 +58,22 @@ public interface ChatMessageReadStatusRepository extends JpaRepository<ChatMessa
            "WHERE r.chat.chatRoom.id = :roomId AND r.user.id = :userId AND r.readYn = false")
     int markMessagesAsReadInRoomForUser(@Param("roomId") Integer roomId, @Param("userId") Integer userId, @Param("now") java.time.LocalDateTime now);
     
+    // 6-1. 내가 특정 채팅방에서 안읽은 메시지 ID 목록 (전송 순서 (sendAt, id) 오름차순, 엔티티 로딩 없이)
+    @Query("SELECT r.chat.id FROM ChatMessageReadStatus r " +
+           "WHERE r.chat.chatRoom.id = :roomId AND r.user.id = :userId AND (r.readYn = false OR r.readYn IS NULL) " +
+           "ORDER BY r.chat.sendAt ASC, r.chat.id ASC")
+    List<Integer> findUnreadChatIdsByRoomIdAndUserId(@Param("roomId") Integer roomId, @Param("userId") Integer userId);
+    
+    // 6-2. 6번과 같되 6-1에서 조회한 메시지만 읽음 처리 (조회 이후 새로 도착한 메시지는 제외)
+    // ⭐ ID는 전송 순서와 다를 수 있으므로(구간 할당) "maxChatId 이하" 대신 조회한 ID 목록 그대로 사용
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE ChatMessageReadStatus r SET r.readYn = true, r.readAt = :now " +
+           "WHERE r.chat.chatRoom.id = :roomId AND r.user.id = :userId AND r.chat.id IN :chatIds " +
+           "AND (r.readYn = false OR r.readYn IS NULL)")
+    int markMessagesAsReadInRoomForUserIn(@Param("roomId") Integer roomId, @Param("userId") Integer userId,
+                                          @Param("chatIds") List<Integer> chatIds, @Param("now") java.time.LocalDateTime now);
+    
     @Query("SELECT r FROM ChatMessageReadStatus r "
     	     + "JOIN FETCH r.chat c "
     	     + "JOIN FETCH c.sender "
@@ -92,6 +109,10 @@ public interface ChatMessageReadStatusRepository extends JpaRepository<ChatMessa
     // 올바른 JPA 네이밍 방식 적용!
     Optional<ChatMessageReadStatus> findByChatIdAndUserId(Integer chatId, Integer userId);
     
+    // 여러 메시지 중 내가 읽은 메시지 ID만 조회 (채팅 내역 조회 시 메시지별 findByChatIdAndUserId 대신 사용)
+    @Query("SELECT r.chat.id FROM ChatMessageReadStatus r WHERE r.user.id = :userId AND r.chat.id IN :chatIds AND r.readYn = true")
+    List<Integer> findReadChatIdsByUserIdAndChatIdIn(@Param("userId") Integer userId, @Param("chatIds") Collection<Integer> chatIds);
+    
     // 또는 직접 JPQL 사용하고 싶을 때
     @Query("SELECT c FROM ChatMessageReadStatus c WHERE c.chat.id = :chatId AND c.user.id = :userId")
     Optional<ChatMessageReadStatus> findReadStatusByChatIdAndUserId(@Param("chatId") Integer chatId, @Param("userId") Integer userId);
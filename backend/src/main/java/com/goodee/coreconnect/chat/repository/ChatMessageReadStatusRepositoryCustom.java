@@ -0,0 +1,24 @@
+package com.goodee.coreconnect.chat.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ChatMessageReadStatus 대량 처리용 커스텀 레포지토리
+ * - JPA save 반복(참여자 수 N번 INSERT) 대신 JDBC 다중 행 INSERT로 처리
+ */
+public interface ChatMessageReadStatusRepositoryCustom {
+
+	/**
+	 * 새로 저장된 메시지(chatId)에 대해 참여자별 읽음 상태 row를 한 번에 INSERT
+	 * - 새 chatId 전용: 기존 row 존재 여부를 확인하지 않음
+	 *
+	 * @param chatId 새 메시지 ID
+	 * @param userIds 참여자 ID 목록
+	 * @param readUserIds 읽음(readYn=true)으로 생성할 사용자 ID (발신자 + 접속자)
+	 * @param readAt 읽음 처리 시각
+	 * @return INSERT된 row 수
+	 */
+	int bulkInsertForNewChat(Integer chatId, List<Integer> userIds, Collection<Integer> readUserIds, LocalDateTime readAt);
+}
@@ -0,0 +1,56 @@
+package com.goodee.coreconnect.chat.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ChatMessageReadStatusRepositoryCustom 구현체 (JdbcTemplate 기반)
+ * - Spring Data가 ChatMessageReadStatusRepository에 자동으로 조합함 (Impl 접미사 규칙)
+ * - JpaTransactionManager가 묶어둔 커넥션을 그대로 사용하므로 호출한 트랜잭션에 함께 참여함
+ */
+@RequiredArgsConstructor
+public class ChatMessageReadStatusRepositoryImpl implements ChatMessageReadStatusRepositoryCustom {
+
+	/** 한 INSERT 문에 담을 최대 row 수 (max_allowed_packet / placeholder 수 제한 대비) */
+	private static final int INSERT_CHUNK_SIZE = 500;
+
+	private static final String INSERT_PREFIX =
+			"INSERT INTO chat_message_read_status " +
+			"(chat_message_id, user_id, chat_message_read_status_read_yn, chat_message_read_status_read_at) VALUES ";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public int bulkInsertForNewChat(Integer chatId, List<Integer> userIds, Collection<Integer> readUserIds, LocalDateTime readAt) {
+		if (chatId == null || userIds == null || userIds.isEmpty()) {
+			return 0;
+		}
+		Timestamp readTimestamp = Timestamp.valueOf(readAt != null ? readAt : LocalDateTime.now());
+
+		int inserted = 0;
+		for (int from = 0; from < userIds.size(); from += INSERT_CHUNK_SIZE) {
+			List<Integer> chunk = userIds.subList(from, Math.min(from + INSERT_CHUNK_SIZE, userIds.size()));
+
+			StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+			List<Object> args = new ArrayList<>(chunk.size() * 4);
+			for (int i = 0; i < chunk.size(); i++) {
+				Integer userId = chunk.get(i);
+				boolean read = readUserIds != null && readUserIds.contains(userId);
+				sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+				args.add(chatId);
+				args.add(userId);
+				args.add(read);
+				args.add(read ? readTimestamp : null);
+			}
+			inserted += jdbcTemplate.update(sql.toString(), args.toArray());
+		}
+		return inserted;
+	}
+}
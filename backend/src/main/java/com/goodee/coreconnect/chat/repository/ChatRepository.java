@@ -1,13 +1,16 @@
 package com.goodee.coreconnect.chat.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.goodee.coreconnect.chat.entity.Chat;
 
@@ -20,6 +23,10 @@ public interface ChatRepository extends JpaRepository<Chat, Integer> {
     // 2. 여러 채팅방의 모든 메시지 (sender도 함께 로드)
     @Query("SELECT c FROM Chat c LEFT JOIN FETCH c.sender WHERE c.chatRoom.id IN :roomIds")
     List<Chat> findByChatRoomIds(@Param("roomIds") List<Integer> roomIds);
+    
+    // 2-1. 여러 채팅방의 최근 메시지 limit개 (sender도 함께 로드, 최신순)
+    @Query("SELECT c FROM Chat c LEFT JOIN FETCH c.sender WHERE c.chatRoom.id IN :roomIds ORDER BY c.sendAt DESC, c.id DESC")
+    List<Chat> findRecentByChatRoomIds(@Param("roomIds") List<Integer> roomIds, Pageable pageable);
 
     // 3. 채팅방의 모든 메시지(오름차순)
     List<Chat> findByChatRoomIdOrderBySendAtAsc(Integer roomId);
@@ -59,15 +66,38 @@ public interface ChatRepository extends JpaRepository<Chat, Integer> {
     	   "ORDER BY c.sendAt ASC")
     List<Chat> findAllChatsWithFilesByRoomId(@Param("roomId") Integer roomId);
     
-    // 8-1. 채팅방에서 메시지를 페이징으로 불러올때 파일이 있는 경우 파일들도 함께 조회 (최신 메시지부터)
+    // 8-1. 채팅방에서 메시지를 페이징으로 불러오기 (최신 메시지부터)
     // sender도 함께 JOIN FETCH하여 user_profile_image_key를 가져올 수 있도록 함
-    @Query("SELECT DISTINCT c FROM Chat c " + 
-    	   "LEFT JOIN FETCH c.messageFiles " + 
+    // ⭐ 컬렉션(messageFiles) fetch join + 페이징은 메모리 페이징(HHH000104)이 되므로 파일은 findWithFilesByIdIn으로 따로 조회
+    @Query(value = "SELECT c FROM Chat c " + 
     	   "LEFT JOIN FETCH c.sender " +
     		"WHERE c.chatRoom.id = :roomId " + 
-    	   "ORDER BY c.sendAt DESC")
+    	   "ORDER BY c.sendAt DESC, c.id DESC",
+    	   countQuery = "SELECT COUNT(c) FROM Chat c WHERE c.chatRoom.id = :roomId")
     Page<Chat> findChatsWithFilesByRoomIdPaged(@Param("roomId") Integer roomId, Pageable pageable);
     
+    // 8-2. 채팅방 최신 메시지부터 limit개 (커서 페이징 첫 페이지, idx_chat_message_room_sent_at_id 사용)
+    @Query("SELECT c FROM Chat c LEFT JOIN FETCH c.sender " +
+           "WHERE c.chatRoom.id = :roomId " +
+           "ORDER BY c.sendAt DESC, c.id DESC")
+    List<Chat> findLatestChatsByRoomId(@Param("roomId") Integer roomId, Pageable pageable);
+    
+    // 8-3. 커서(sendAt, id) 이전 메시지 limit개 (seek 방식: 스크롤 깊이와 관계없이 인덱스 범위 스캔)
+    @Query("SELECT c FROM Chat c LEFT JOIN FETCH c.sender " +
+           "WHERE c.chatRoom.id = :roomId AND c.sendAt <= :cursorSendAt " +
+           "AND (c.sendAt < :cursorSendAt OR c.id < :cursorId) " +
+           "ORDER BY c.sendAt DESC, c.id DESC")
+    List<Chat> findChatsBeforeCursor(@Param("roomId") Integer roomId, @Param("cursorSendAt") LocalDateTime cursorSendAt,
+                                     @Param("cursorId") Integer cursorId, Pageable pageable);
+    
+    // 8-4. 커서로 받은 chatId의 전송 시각 (다른 채팅방 메시지 ID면 null)
+    @Query("SELECT c.sendAt FROM Chat c WHERE c.id = :chatId AND c.chatRoom.id = :roomId")
+    LocalDateTime findSendAtByIdAndRoomId(@Param("chatId") Integer chatId, @Param("roomId") Integer roomId);
+    
+    // 8-5. 페이지에 포함된 메시지의 파일만 IN 쿼리 한 번으로 로딩 (영속성 컨텍스트의 Chat.messageFiles가 초기화됨)
+    @Query("SELECT DISTINCT c FROM Chat c LEFT JOIN FETCH c.messageFiles WHERE c.id IN :chatIds")
+    List<Chat> findWithFilesByIdIn(@Param("chatIds") List<Integer> chatIds);
+    
 
     /** 
      * 특정 채팅방에서 가장 최근(최신) 1개의 메시지를 반환
@@ -96,4 +126,142 @@ public interface ChatRepository extends JpaRepository<Chat, Integer> {
            "LEFT JOIN FETCH c.sender " +
            "WHERE c.id = :chatId")
     Chat findByIdWithMessageFiles(@Param("chatId") Integer chatId);
-}
\ No newline at end of file
+    
+    // 12. 메시지의 미읽은 인원 수 (chat_message.unread_count 컬럼 값, COUNT 쿼리 없이 PK 조회)
+    @Query("SELECT c.unreadCount FROM Chat c WHERE c.id = :chatId")
+    Integer findUnreadCountById(@Param("chatId") Integer chatId);
+    
+    // 13. 읽음 처리된 메시지들의 unreadCount 원자적 감소 (UPDATE ... SET unread_count = unread_count - 1)
+    // ⭐ 조회 후 저장(read-modify-write) 대신 DB에서 직접 감소시켜 동시 읽음 처리 시 갱신 유실 방지
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE Chat c SET c.unreadCount = c.unreadCount - 1 WHERE c.id IN :chatIds AND c.unreadCount > 0")
+    int decrementUnreadCounts(@Param("chatIds") List<Integer> chatIds);
+    
+    // 14. 채팅방 메시지의 unreadCount를 ChatMessageReadStatus 기준으로 재계산 (값이 어긋난 row만 갱신)
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE Chat c SET c.unreadCount = " + UNREAD_COUNT_SUBQUERY +
+           " WHERE c.chatRoom.id = :roomId AND (c.unreadCount IS NULL OR c.unreadCount <> " + UNREAD_COUNT_SUBQUERY + ")")
+    int reconcileUnreadCountsByRoomId(@Param("roomId") Integer roomId);
+    
+    // 15. 특정 시각 이후 메시지의 unreadCount 재계산 (정합성 보정 스케줄러용, 값이 어긋난 row만 갱신)
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE Chat c SET c.unreadCount = " + UNREAD_COUNT_SUBQUERY +
+           " WHERE c.sendAt >= :since AND (c.unreadCount IS NULL OR c.unreadCount <> " + UNREAD_COUNT_SUBQUERY + ")")
+    int reconcileUnreadCountsSince(@Param("since") LocalDateTime since);
+    
+    // 16. 여러 메시지의 unreadCount를 한 번에 조회 (결과: chatId, unreadCount)
+    @Query("SELECT c.id, c.unreadCount FROM Chat c WHERE c.id IN :chatIds")
+    List<Object[]> findUnreadCountsByIds(@Param("chatIds") List<Integer> chatIds);
+    
+    // ───── watermark(ChatRoomUser.lastReadSentAt, lastReadChatId) 읽음 처리 모드 ─────
+    // ChatMessageReadStatus row 대신 "참여자별 마지막 읽은 메시지 위치"로 미읽음 여부를 판단 ((sendAt, id) > watermark 이고 내가 보낸 메시지가 아니면 미읽음)
+    // ⭐ ID는 구간 할당이라 전송 순서와 다를 수 있으므로 메시지 순서는 항상 (sendAt, id)로 비교
+    
+    // 17. 채팅방의 최신 메시지 위치 (결과: sendAt, chatId)
+    @Query("SELECT c.sendAt, c.id FROM Chat c WHERE c.chatRoom.id = :roomId ORDER BY c.sendAt DESC, c.id DESC")
+    List<Object[]> findLatestPositionsByRoomId(@Param("roomId") Integer roomId, Pageable pageable);
+    
+    /** 채팅방의 최신 메시지 위치 (sendAt, chatId), 메시지가 없으면 null */
+    default Object[] findLatestPositionByRoomId(Integer roomId) {
+        List<Object[]> result = findLatestPositionsByRoomId(roomId, Pageable.ofSize(1));
+        return (result != null && !result.isEmpty()) ? result.get(0) : null;
+    }
+    
+    // 18. 채팅방에서 ((afterSentAt, afterChatId), (upToSentAt, upToChatId)] 구간 메시지 (결과: chatId, senderId, sendAt - 전송 순서)
+    // afterSentAt이 null이면 처음부터
+    @Query("SELECT c.id, c.sender.id, c.sendAt FROM Chat c " +
+           "WHERE c.chatRoom.id = :roomId " +
+           "AND (:afterSentAt IS NULL OR c.sendAt > :afterSentAt OR (c.sendAt = :afterSentAt AND c.id > :afterChatId)) " +
+           "AND (c.sendAt < :upToSentAt OR (c.sendAt = :upToSentAt AND c.id <= :upToChatId)) " +
+           "ORDER BY c.sendAt ASC, c.id ASC")
+    List<Object[]> findChatIdAndSenderIdsInRange(@Param("roomId") Integer roomId,
+                                                 @Param("afterSentAt") LocalDateTime afterSentAt, @Param("afterChatId") Integer afterChatId,
+                                                 @Param("upToSentAt") LocalDateTime upToSentAt, @Param("upToChatId") Integer upToChatId);
+    
+    // 19. [watermark] 특정 채팅방에서 내가 안읽은 메시지 개수 (countByUserIdAndChatRoomIdAndReadYnFalse 대응)
+    @Query("SELECT COUNT(1) FROM Chat c JOIN ChatRoomUser cru ON cru.chatRoom.id = c.chatRoom.id " +
+           "WHERE cru.user.id = :userId AND c.chatRoom.id = :roomId " + WATERMARK_UNREAD_CONDITION)
+    int countUnreadByWatermark(@Param("userId") Integer userId, @Param("roomId") Integer roomId);
+    
+    // 20. [watermark] 채팅방별 내가 안읽은 메시지 개수 (countUnreadByRoomIdForUser / countUnreadMessagesByUserId 대응, 결과: roomId, unreadCount)
+    @Query("SELECT c.chatRoom.id, COUNT(1) FROM Chat c JOIN ChatRoomUser cru ON cru.chatRoom.id = c.chatRoom.id " +
+           "WHERE cru.user.id = :userId " + WATERMARK_UNREAD_CONDITION + " GROUP BY c.chatRoom.id")
+    List<Object[]> countUnreadByRoomIdForUserByWatermark(@Param("userId") Integer userId);
+    
+    // 21. [watermark] 특정 채팅방에서 내가 안읽은 메시지 (최신순, findLastUnreadStatusInRoomForUserList 대응)
+    @Query("SELECT c FROM Chat c JOIN ChatRoomUser cru ON cru.chatRoom.id = c.chatRoom.id " +
+           "WHERE cru.user.id = :userId AND c.chatRoom.id = :roomId " + WATERMARK_UNREAD_CONDITION +
+           " ORDER BY c.sendAt DESC")
+    List<Chat> findUnreadInRoomByWatermarkList(@Param("userId") Integer userId, @Param("roomId") Integer roomId, Pageable pageable);
+    
+    /** [watermark] 특정 채팅방에서 내가 안읽은 메시지 중 가장 최근 1건 (findLastUnreadStatusInRoomForUser 대응) */
+    default Chat findLastUnreadInRoomByWatermark(Integer userId, Integer roomId) {
+        List<Chat> result = findUnreadInRoomByWatermarkList(userId, roomId, Pageable.ofSize(1));
+        return (result != null && !result.isEmpty()) ? result.get(0) : null;
+    }
+    
+    // 22. [watermark] 내가 안읽은 모든 메시지 + 발신자 (fetchUnreadWithSender / findByUserIdAndReadYnFalse 대응, 최신순)
+    @Query("SELECT c FROM Chat c JOIN FETCH c.sender JOIN ChatRoomUser cru ON cru.chatRoom.id = c.chatRoom.id " +
+           "WHERE cru.user.id = :userId " + WATERMARK_UNREAD_CONDITION + " ORDER BY c.sendAt DESC")
+    List<Chat> fetchUnreadWithSenderByWatermark(@Param("userId") Integer userId);
+    
+    // 23. [watermark] 채팅방 메시지의 unreadCount를 참여자 watermark 기준으로 재계산 (값이 어긋난 row만 갱신)
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE Chat c SET c.unreadCount = " + WATERMARK_UNREAD_COUNT_SUBQUERY +
+           " WHERE c.chatRoom.id = :roomId AND (c.unreadCount IS NULL OR c.unreadCount <> " + WATERMARK_UNREAD_COUNT_SUBQUERY + ")")
+    int reconcileUnreadCountsByWatermarkRoomId(@Param("roomId") Integer roomId);
+    
+    // 24. [watermark] 특정 시각 이후 메시지의 unreadCount 재계산 (정합성 보정 스케줄러용)
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE Chat c SET c.unreadCount = " + WATERMARK_UNREAD_COUNT_SUBQUERY +
+           " WHERE c.sendAt >= :since AND (c.unreadCount IS NULL OR c.unreadCount <> " + WATERMARK_UNREAD_COUNT_SUBQUERY + ")")
+    int reconcileUnreadCountsByWatermarkSince(@Param("since") LocalDateTime since);
+
+    // 25. 전문 검색: 내가 참여중인 채팅방 메시지 중 검색어와 일치하는 메시지 ID (최신순 (sent_at, id), ft_chat_message_content ngram 인덱스 사용)
+    // booleanQuery는 ChatMessageSearchService.toBooleanQuery로 만든 값 (+단어 +단어), roomId / before는 선택
+    // before(이전 페이지 마지막 chatId)는 그 메시지의 (sent_at, id)보다 앞선 메시지만 조회
+    @Query(value = "SELECT c.id FROM chat_message c " +
+           "JOIN chat_room_user cru ON cru.chat_room_id = c.chat_room_id AND cru.user_id = :userId " +
+           "WHERE MATCH(c.message_content) AGAINST(:booleanQuery IN BOOLEAN MODE) " +
+           "AND (:roomId IS NULL OR c.chat_room_id = :roomId) " +
+           "AND (:before IS NULL OR (c.sent_at, c.id) < (SELECT b.sent_at, b.id FROM chat_message b WHERE b.id = :before)) " +
+           "ORDER BY c.sent_at DESC, c.id DESC",
+           nativeQuery = true)
+    List<Integer> searchChatIds(@Param("userId") Integer userId, @Param("booleanQuery") String booleanQuery,
+                                @Param("roomId") Integer roomId, @Param("before") Integer before, Pageable pageable);
+
+    // 26. 검색 결과 메시지 + 발신자 (ID 목록 순서는 호출하는 쪽에서 맞춤)
+    @Query("SELECT c FROM Chat c LEFT JOIN FETCH c.sender WHERE c.id IN :chatIds")
+    List<Chat> findWithSenderByIdIn(@Param("chatIds") List<Integer> chatIds);
+    
+    // 27. 다중 파일 업로드 종료 후 메시지의 파일 정보 확정 (대표 fileUrl = 업로드 성공한 첫 파일, 모두 실패하면 fileYn=false)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Chat c SET c.fileYn = :fileYn, c.fileUrl = :fileUrl, c.messageContent = :content WHERE c.id = :chatId")
+    int updateFileUploadResult(@Param("chatId") Integer chatId, @Param("fileYn") Boolean fileYn,
+                               @Param("fileUrl") String fileUrl, @Param("content") String content);
+
+    /** [watermark] 메시지(c)가 참여자(cru)의 읽음 위치보다 뒤: (c.sendAt, c.id) > (lastReadSentAt, lastReadChatId), 위치가 없으면 처음부터 */
+    String WATERMARK_AFTER =
+            "(cru.lastReadSentAt IS NULL OR c.sendAt > cru.lastReadSentAt " +
+            "OR (c.sendAt = cru.lastReadSentAt AND c.id > COALESCE(cru.lastReadChatId, 0)))";
+    
+    /** [watermark] 내(cru)가 안읽은 메시지 조건: watermark 이후 메시지 중 내가 보내지 않은 것 */
+    String WATERMARK_UNREAD_CONDITION =
+            "AND " + WATERMARK_AFTER + " AND (c.sender.id IS NULL OR c.sender.id <> cru.user.id)";
+    
+    /** [watermark] 발신자를 제외하고 읽음 위치가 메시지보다 앞선 참여자 수 */
+    String WATERMARK_UNREAD_COUNT_SUBQUERY =
+            "(SELECT COUNT(1) FROM ChatRoomUser cru " +
+            "WHERE cru.chatRoom.id = c.chatRoom.id AND " + WATERMARK_AFTER + " AND cru.user.id <> c.sender.id)";
+    
+    /** 발신자를 제외한 미읽음 인원 수 (ChatMessageReadStatusRepository.countUnreadByChatId와 같은 기준) */
+    String UNREAD_COUNT_SUBQUERY =
+            "(SELECT COUNT(1) FROM ChatMessageReadStatus r " +
+            "WHERE r.chat.id = c.id AND r.readYn = false AND r.user.id <> c.sender.id)";
+}
@@ -0,0 +1,64 @@
+package com.goodee.coreconnect.chat.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.goodee.coreconnect.chat.entity.ChatRoomSummary;
+
+@Repository
+public interface ChatRoomSummaryRepository extends JpaRepository<ChatRoomSummary, Integer> {
+
+	// 1. 내 채팅방 목록 (방 정보 + 마지막 메시지 + 내 안읽은 수)를 한 번에 조회
+	// 결과: roomId, roomName, lastMessageId, lastMessageContent, lastSenderName, lastMessageTime, lastMessageFileYn, unreadCount
+	@Query("SELECT r.id, r.roomName, s.lastMessageId, s.lastMessageContent, s.lastSenderName, s.lastMessageTime, s.lastMessageFileYn, cru.unreadCount " +
+	       "FROM ChatRoomUser cru JOIN cru.chatRoom r LEFT JOIN ChatRoomSummary s ON s.chatRoomId = r.id " +
+	       "WHERE cru.user.id = :userId")
+	List<Object[]> findRoomListRowsByUserId(@Param("userId") Integer userId);
+
+	// 2. 마지막 메시지 갱신 (행이 없으면 생성, 더 최신 메시지일 때만 덮어씀)
+	// ⭐ 동시에 같은 방에 메시지가 저장돼도 PK 충돌/역전 없이 한 번의 쿼리로 처리 (MySQL ON DUPLICATE KEY UPDATE)
+	// "더 최신" = (last_message_time, last_message_id) 순서 (ID는 구간 할당이라 전송 순서와 다를 수 있음)
+	// 비교에 쓰는 두 컬럼은 마지막에 갱신 (last_message_id를 먼저 바꿔도 last_message_time 줄의 비교 결과는 바뀌지 않음)
+	@Modifying
+	@Transactional
+	@Query(value = "INSERT INTO chat_room_summary " +
+	       "(chat_room_id, last_message_id, last_message_content, last_sender_name, last_message_time, last_message_file_yn) " +
+	       "VALUES (:roomId, :chatId, :content, :senderName, :sendAt, :fileYn) " +
+	       "ON DUPLICATE KEY UPDATE " +
+	       "last_message_content = IF(" + NEWER_MESSAGE + ", VALUES(last_message_content), last_message_content), " +
+	       "last_sender_name = IF(" + NEWER_MESSAGE + ", VALUES(last_sender_name), last_sender_name), " +
+	       "last_message_file_yn = IF(" + NEWER_MESSAGE + ", VALUES(last_message_file_yn), last_message_file_yn), " +
+	       "last_message_id = IF(" + NEWER_MESSAGE + ", VALUES(last_message_id), last_message_id), " +
+	       "last_message_time = IF(" + NEWER_MESSAGE + ", VALUES(last_message_time), last_message_time)",
+	       nativeQuery = true)
+	int upsertLastMessage(@Param("roomId") Integer roomId, @Param("chatId") Integer chatId, @Param("content") String content,
+	                      @Param("senderName") String senderName, @Param("sendAt") LocalDateTime sendAt, @Param("fileYn") Boolean fileYn);
+
+	// 3. 마지막 메시지 내용/파일 여부가 바뀐 경우 (초대→입장 메시지 변경, 다중 파일 업로드 완료)
+	@Modifying
+	@Transactional
+	@Query("UPDATE ChatRoomSummary s SET s.lastMessageContent = :content, s.lastMessageFileYn = :fileYn " +
+	       "WHERE s.chatRoomId = :roomId AND s.lastMessageId = :chatId")
+	int updateLastMessageIfLatest(@Param("roomId") Integer roomId, @Param("chatId") Integer chatId,
+	                              @Param("content") String content, @Param("fileYn") Boolean fileYn);
+
+	// 4. 여러 사용자의 안읽은 메시지가 있는 채팅방 (새 메시지 토스트 알림을 참여자 전체에 대해 한 번에 조회)
+	// 결과: userId, unreadCount, lastSenderName, lastMessageTime
+	@Query("SELECT cru.user.id, cru.unreadCount, s.lastSenderName, s.lastMessageTime " +
+	       "FROM ChatRoomUser cru JOIN ChatRoomSummary s ON s.chatRoomId = cru.chatRoom.id " +
+	       "WHERE cru.user.id IN :userIds AND cru.unreadCount > 0")
+	List<Object[]> findUnreadRoomRowsByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+
+	/** upsert 값(VALUES)이 저장된 마지막 메시지와 같거나 더 최신인지: (last_message_time, last_message_id) 비교 */
+	String NEWER_MESSAGE =
+			"last_message_time IS NULL OR VALUES(last_message_time) > last_message_time " +
+			"OR (VALUES(last_message_time) = last_message_time AND VALUES(last_message_id) >= last_message_id)";
+}
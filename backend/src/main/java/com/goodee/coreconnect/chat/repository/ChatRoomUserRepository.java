@@ -1,14 +1,18 @@
 package com.goodee.coreconnect.chat.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.goodee.coreconnect.chat.entity.ChatRoomUser;
 
@@ -16,6 +20,10 @@ import com.goodee.coreconnect.chat.entity.ChatRoomUser;
 public interface ChatRoomUserRepository extends JpaRepository<ChatRoomUser, Integer> {
 	List<ChatRoomUser> findByChatRoomId(Integer chatRoomId);
 	
+	// 채팅방 참여자 ID만 조회 (엔티티 로딩 없이)
+	@Query("SELECT cru.user.id FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId")
+	List<Integer> findUserIdsByChatRoomId(@Param("roomId") Integer roomId);
+	
 	@Query("SELECT cru FROM ChatRoomUser cru JOIN FETCH cru.user LEFT JOIN FETCH cru.user.department WHERE cru.chatRoom.id = :roomId")
 	List<ChatRoomUser> findByChatRoomIdWithUser(@Param("roomId") Integer roomId);
 	
@@ -26,4 +34,90 @@ public interface ChatRoomUserRepository extends JpaRepository<ChatRoomUser, Inte
 	// 특정 채팅방의 특정 사용자 조회
 	@Query("SELECT cru FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId AND cru.user.id = :userId")
 	Optional<ChatRoomUser> findByChatRoomIdAndUserId(@Param("roomId") Integer roomId, @Param("userId") Integer userId);
+	
+	// ───── watermark(lastReadSentAt, lastReadChatId) 읽음 처리 모드 ─────
+	// ⭐ 메시지 ID는 전송 순서와 다를 수 있으므로(구간 할당) 읽음 위치는 항상 (보낸 시각, ID) 순서로 비교
+	
+	// 채팅방 참여자별 마지막 읽은 메시지 위치 (결과: userId, lastReadSentAt, lastReadChatId)
+	@Query("SELECT cru.user.id, cru.lastReadSentAt, cru.lastReadChatId FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId")
+	List<Object[]> findLastReadPositionsByChatRoomId(@Param("roomId") Integer roomId);
+	
+	// 특정 참여자의 마지막 읽은 메시지 위치 (결과: lastReadSentAt, lastReadChatId - 참여자가 아니면 빈 목록)
+	@Query("SELECT cru.lastReadSentAt, cru.lastReadChatId FROM ChatRoomUser cru WHERE cru.chatRoom.id = :roomId AND cru.user.id = :userId")
+	List<Object[]> findLastReadPosition(@Param("roomId") Integer roomId, @Param("userId") Integer userId);
+	
+	// 여러 참여자의 watermark를 (sentAt, chatId)까지 전진 (뒤로 돌아가지 않음)
+	@Modifying(flushAutomatically = true)
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.lastReadSentAt = :sentAt, cru.lastReadChatId = :chatId " +
+	       "WHERE cru.chatRoom.id = :roomId AND cru.user.id IN :userIds " +
+	       "AND (cru.lastReadSentAt IS NULL OR cru.lastReadSentAt < :sentAt " +
+	       "OR (cru.lastReadSentAt = :sentAt AND COALESCE(cru.lastReadChatId, 0) < :chatId))")
+	int advanceLastReadPositions(@Param("roomId") Integer roomId, @Param("userIds") Collection<Integer> userIds,
+	                             @Param("sentAt") LocalDateTime sentAt, @Param("chatId") Integer chatId);
+	
+	// watermark compare-and-set: 조회한 위치(expected, chatId null은 0)가 그대로일 때만 새 위치로 변경
+	// ⭐ 같은 사용자의 여러 탭이 동시에 읽음 처리해도 구간(expected, new]은 한 번만 처리됨
+	@Modifying(flushAutomatically = true)
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.lastReadSentAt = :newSentAt, cru.lastReadChatId = :newChatId " +
+	       "WHERE cru.chatRoom.id = :roomId AND cru.user.id = :userId AND COALESCE(cru.lastReadChatId, 0) = :expectedChatId " +
+	       "AND (cru.lastReadSentAt = :expectedSentAt OR (cru.lastReadSentAt IS NULL AND :expectedSentAt IS NULL))")
+	int compareAndSetLastReadPosition(@Param("roomId") Integer roomId, @Param("userId") Integer userId,
+	                                  @Param("expectedSentAt") LocalDateTime expectedSentAt, @Param("expectedChatId") Integer expectedChatId,
+	                                  @Param("newSentAt") LocalDateTime newSentAt, @Param("newChatId") Integer newChatId);
+	
+	// chat_message_read_status row → watermark 변환 (마이그레이션용, 1단계: 보낸 시각)
+	// 안읽은 메시지가 있으면 가장 오래된 안읽은 메시지의 보낸 시각, 없으면 채팅방 최신 메시지의 보낸 시각
+	@Modifying
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.lastReadSentAt = COALESCE(" +
+	       "(SELECT MIN(r.chat.sendAt) FROM ChatMessageReadStatus r " +
+	       " WHERE r.user.id = cru.user.id AND r.chat.chatRoom.id = cru.chatRoom.id AND (r.readYn = false OR r.readYn IS NULL)), " +
+	       "(SELECT MAX(c.sendAt) FROM Chat c WHERE c.chatRoom.id = cru.chatRoom.id))")
+	int migrateLastReadSentAtsFromReadStatus();
+	
+	// 2단계: 같은 시각 안의 위치 - 안읽은 메시지 시각이면 (그 시각의 가장 작은 안읽은 ID - 1), 아니면 그 시각의 최신 메시지 ID
+	@Modifying
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.lastReadChatId = COALESCE(" +
+	       "(SELECT MIN(r.chat.id) - 1 FROM ChatMessageReadStatus r " +
+	       " WHERE r.user.id = cru.user.id AND r.chat.chatRoom.id = cru.chatRoom.id AND (r.readYn = false OR r.readYn IS NULL) " +
+	       " AND r.chat.sendAt = cru.lastReadSentAt), " +
+	       "(SELECT MAX(c.id) FROM Chat c WHERE c.chatRoom.id = cru.chatRoom.id AND c.sendAt = cru.lastReadSentAt), 0)")
+	int migrateLastReadChatIdsFromReadStatus();
+	
+	// ───── 참여자별 안읽은 메시지 수(unreadCount) - 채팅방 목록 조회용 ─────
+	
+	// 새 메시지 저장 시: 읽음 처리된 사용자(발신자/접속자)를 제외한 참여자의 unreadCount +1 (UPDATE 1번)
+	@Modifying(flushAutomatically = true)
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.unreadCount = COALESCE(cru.unreadCount, 0) + 1 " +
+	       "WHERE cru.chatRoom.id = :roomId AND cru.user.id NOT IN :readUserIds")
+	int incrementUnreadCounts(@Param("roomId") Integer roomId, @Param("readUserIds") Collection<Integer> readUserIds);
+	
+	// 읽음 처리 후: 특정 참여자의 unreadCount를 다시 센 값으로 설정
+	@Modifying(flushAutomatically = true)
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.unreadCount = :unreadCount WHERE cru.chatRoom.id = :roomId AND cru.user.id = :userId")
+	int updateUnreadCount(@Param("roomId") Integer roomId, @Param("userId") Integer userId, @Param("unreadCount") Integer unreadCount);
+	
+	// 정합성 보정: 최근 메시지가 있는 채팅방의 참여자 unreadCount를 ChatMessageReadStatus 기준으로 재계산
+	@Modifying
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.unreadCount = " +
+	       "(SELECT COUNT(1) FROM ChatMessageReadStatus r " +
+	       " WHERE r.user.id = cru.user.id AND r.chat.chatRoom.id = cru.chatRoom.id AND r.readYn = false) " +
+	       "WHERE cru.chatRoom.id IN (SELECT c.chatRoom.id FROM Chat c WHERE c.sendAt >= :since)")
+	int reconcileUnreadCountsSince(@Param("since") LocalDateTime since);
+	
+	// 정합성 보정 (watermark 모드): 읽음 위치 이후 다른 사람이 보낸 메시지 수로 재계산
+	@Modifying
+	@Transactional
+	@Query("UPDATE ChatRoomUser cru SET cru.unreadCount = " +
+	       "(SELECT COUNT(1) FROM Chat c " +
+	       " WHERE c.chatRoom.id = cru.chatRoom.id AND " + ChatRepository.WATERMARK_AFTER +
+	       " AND (c.sender.id IS NULL OR c.sender.id <> cru.user.id)) " +
+	       "WHERE cru.chatRoom.id IN (SELECT c2.chatRoom.id FROM Chat c2 WHERE c2.sendAt >= :since)")
+	int reconcileUnreadCountsByWatermarkSince(@Param("since") LocalDateTime since);
 }
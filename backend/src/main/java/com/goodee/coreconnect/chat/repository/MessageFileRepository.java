@@ -1,11 +1,20 @@
 package com.goodee.coreconnect.chat.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.goodee.coreconnect.chat.entity.MessageFile;
 
 @Repository
 public interface MessageFileRepository extends JpaRepository<MessageFile, Integer> {
 	
+	// 1. S3 업로드에 실패한 파일 삭제 (메시지 저장 시점에는 ID 대신 미리 정한 S3 키만 알고 있음)
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM MessageFile f WHERE f.chat.id = :chatId AND f.S3ObjectKey = :s3Key")
+	int deleteByChatIdAndS3Key(@Param("chatId") Integer chatId, @Param("s3Key") String s3Key);
 }
@@ -1,7 +1,9 @@
 package com.goodee.coreconnect.chat.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.goodee.coreconnect.common.entity.Notification;
+import com.goodee.coreconnect.common.notification.dto.NotificationHistoryDTO;
+import com.goodee.coreconnect.common.notification.dto.NotificationSummary;
 import com.goodee.coreconnect.common.notification.enums.NotificationType;
 
 @Repository
@@ -68,4 +72,82 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
     
     /** 특정 사용자가 보낸 모든 알림 조회 (sentYn 보정용) */
     List<Notification> findBySenderId(Integer senderId);
+
+    /** ⭐ 미읽음 알림 수 (UnreadNotificationCache 로딩용) */
+    @Query("SELECT COUNT(n) FROM Notification n " +
+           "WHERE n.user.id = :userId " +
+           "AND (n.notificationReadYn = false OR n.notificationReadYn IS NULL) " +
+           "AND (n.notificationDeletedYn = false OR n.notificationDeletedYn IS NULL) " +
+           "AND n.notificationType IN (:types)")
+    long countUnreadByUserIdAndTypes(@Param("userId") Integer userId, @Param("types") List<NotificationType> types);
+
+    /**
+     * ⭐ 최근 미읽음 알림 요약 (UnreadNotificationCache 로딩용)
+     * 엔티티 + 연관관계 JOIN FETCH / DISTINCT 대신 필요한 컬럼만 projection, pageable 크기만큼만 조회
+     */
+    @Query("SELECT new com.goodee.coreconnect.common.notification.dto.NotificationSummary(" +
+           "n.id, n.notificationMessage, s.name, u.name, n.notificationSentAt, n.notificationType, d.id, b.id, sc.id) " +
+           "FROM Notification n " +
+           "JOIN n.user u " +
+           "LEFT JOIN n.sender s " +
+           "LEFT JOIN n.document d " +
+           "LEFT JOIN n.board b " +
+           "LEFT JOIN n.schedule sc " +
+           "WHERE u.id = :userId " +
+           "AND (n.notificationReadYn = false OR n.notificationReadYn IS NULL) " +
+           "AND (n.notificationDeletedYn = false OR n.notificationDeletedYn IS NULL) " +
+           "AND n.notificationType IN (:types) " +
+           "ORDER BY n.notificationSentAt DESC, n.id DESC")
+    List<NotificationSummary> findUnreadSummaries(@Param("userId") Integer userId,
+                                                  @Param("types") List<NotificationType> types,
+                                                  Pageable pageable);
+
+    /** ⭐ 모두 읽음 - UPDATE 1번 (알림을 엔티티로 올려 한 건씩 saveAndFlush 하지 않음), 처리된 행 수 반환 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.notificationReadYn = true, n.notificationReadAt = :readAt " +
+           "WHERE n.user.id = :userId " +
+           "AND (n.notificationReadYn = false OR n.notificationReadYn IS NULL) " +
+           "AND (n.notificationDeletedYn = false OR n.notificationDeletedYn IS NULL)")
+    int markAllReadByUserId(@Param("userId") Integer userId, @Param("readAt") LocalDateTime readAt);
+
+    /** 문서에 연결된 알림의 수신자 (캐시 무효화용, 삭제 UPDATE 전에 조회) */
+    @Query("SELECT DISTINCT n.user.id FROM Notification n " +
+           "WHERE n.document.id = :documentId " +
+           "AND (n.notificationDeletedYn = false OR n.notificationDeletedYn IS NULL)")
+    List<Integer> findRecipientIdsByDocumentId(@Param("documentId") Integer documentId);
+
+    /** ⭐ 문서에 연결된 알림 일괄 삭제 표시 - UPDATE 1번 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.notificationDeletedYn = true " +
+           "WHERE n.document.id = :documentId " +
+           "AND (n.notificationDeletedYn = false OR n.notificationDeletedYn IS NULL)")
+    int markDeletedByDocumentId(@Param("documentId") Integer documentId);
+
+    /** ⭐ 나에게 온 특정 종류 알림 일괄 삭제 표시 - UPDATE 1번 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.notificationDeletedYn = true " +
+           "WHERE n.user.id = :userId " +
+           "AND n.notificationType = :type " +
+           "AND (n.notificationDeletedYn = false OR n.notificationDeletedYn IS NULL)")
+    int markDeletedByUserIdAndType(@Param("userId") Integer userId, @Param("type") NotificationType type);
+
+    /**
+     * ⭐ 알림 내역 커서 페이징 (최신순, before 이전 pageable 크기만큼)
+     * - id 기준 keyset (user_id, id) 인덱스 범위만 읽으므로 내역이 수만 건이어도 페이지마다 같은 비용
+     * - before가 null이면 첫 페이지
+     */
+    @Query("SELECT new com.goodee.coreconnect.common.notification.dto.NotificationHistoryDTO(" +
+           "n.id, n.notificationMessage, n.notificationType, s.name, n.notificationSentAt, n.notificationReadYn, d.id, b.id, sc.id) " +
+           "FROM Notification n " +
+           "LEFT JOIN n.sender s " +
+           "LEFT JOIN n.document d " +
+           "LEFT JOIN n.board b " +
+           "LEFT JOIN n.schedule sc " +
+           "WHERE n.user.id = :userId " +
+           "AND (:before IS NULL OR n.id < :before) " +
+           "AND (n.notificationDeletedYn = false OR n.notificationDeletedYn IS NULL) " +
+           "ORDER BY n.id DESC")
+    List<NotificationHistoryDTO> findHistoryBefore(@Param("userId") Integer userId,
+                                                   @Param("before") Integer before,
+                                                   Pageable pageable);
 }
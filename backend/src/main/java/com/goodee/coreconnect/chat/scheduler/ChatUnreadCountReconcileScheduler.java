@@ -0,0 +1,60 @@
+package com.goodee.coreconnect.chat.scheduler;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.goodee.coreconnect.chat.repository.ChatRepository;
+import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
+import com.goodee.coreconnect.chat.service.ChatReadWatermarkService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * chat_message.unread_count 정합성 보정 스케줄러
+ *
+ * - unreadCount는 메시지 전송 시 확정되고, 읽음 처리 시 원자적으로 감소됨
+ * - 채팅방 나가기/초대 등으로 읽음 상태 row가 바뀌면 값이 어긋날 수 있으므로
+ *   최근 메시지에 한해 ChatMessageReadStatus 기준으로 주기적으로 재계산 (어긋난 row만 UPDATE)
+ * - watermark 모드(chat.read-tracking.mode=watermark)에서는 ChatRoomUser 읽음 위치(lastReadSentAt, lastReadChatId) 기준으로 재계산
+ * - 채팅방 목록용 참여자별 안읽은 수(chat_room_user.unread_count)도 같은 주기로 보정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatUnreadCountReconcileScheduler {
+
+	private final ChatRepository chatRepository;
+	private final ChatRoomUserRepository chatRoomUserRepository;
+	private final ChatReadWatermarkService chatReadWatermarkService;
+
+	/** 보정 대상 기간 (최근 N일 이내 메시지) */
+	@Value("${chat.unread-count.reconcile-lookback-days:7}")
+	private int lookbackDays;
+
+	// 기본 10분마다 보정
+	@Scheduled(cron = "${chat.unread-count.reconcile-cron:0 */10 * * * *}")
+	public void reconcileUnreadCounts() {
+		LocalDateTime since = LocalDateTime.now().minusDays(lookbackDays);
+		try {
+			int reconciled = chatReadWatermarkService.isEnabled()
+					? chatRepository.reconcileUnreadCountsByWatermarkSince(since)
+					: chatRepository.reconcileUnreadCountsSince(since);
+			if (reconciled > 0) {
+				log.warn("[reconcileUnreadCounts] unreadCount 불일치 보정 - 보정된 메시지 수: {}, since: {}", reconciled, since);
+			} else {
+				log.debug("[reconcileUnreadCounts] unreadCount 불일치 없음 - since: {}", since);
+			}
+			
+			int members = chatReadWatermarkService.isEnabled()
+					? chatRoomUserRepository.reconcileUnreadCountsByWatermarkSince(since)
+					: chatRoomUserRepository.reconcileUnreadCountsSince(since);
+			log.debug("[reconcileUnreadCounts] 참여자별 unreadCount 재계산 - 대상 참여자 수: {}, since: {}", members, since);
+		} catch (Exception e) {
+			log.error("[reconcileUnreadCounts] unreadCount 보정 실패 - error: {}", e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package com.goodee.coreconnect.chat.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.goodee.coreconnect.common.service.S3Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatAttachmentUploadService (채팅 다중 파일 업로드를 요청 스레드에서 분리)
+ *
+ * - stage: multipart part를 spool 디렉터리로 옮기고(transferTo, 디스크에 있던 part는 이동만) S3 키를 먼저 정함
+ *   → 요청 스레드는 업로드 완료를 기다리지 않고 "업로드 중" 메시지를 바로 저장/전송
+ * - uploadAll: 파일마다 S3 업로드를 업로드 전용 스레드풀(upload-concurrency개)에서 병렬 실행
+ *   - 스레드 수가 곧 서버 전체 동시 업로드 상한 (요청이 몰려도 S3 연결/디스크 I/O가 무한히 늘지 않음)
+ *   - 디스크 파일에서 바로 스트리밍 (큰 파일은 S3Service에서 multipart 업로드)
+ *   - 파일마다 완료/실패 시 listener 호출 (메시지의 해당 파일 상태를 patch), 끝나면 spool 파일 삭제
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatAttachmentUploadService {
+
+	/** 파일별 업로드 상태 (ChatResponseDTO.fileStatuses / FILE_UPLOAD_STATUS 프레임) */
+	public enum UploadStatus {
+		UPLOADING, UPLOADED, FAILED
+	}
+
+	/** spool 디렉터리로 옮겨진 업로드 대기 파일 (index = 메시지 안에서 파일 순서) */
+	public record StagedFile(int index, String fileName, long size, String contentType, String s3Key, Path path) {}
+
+	/** 파일 하나의 업로드가 끝났을 때 호출 (업로드 스레드에서 호출됨) */
+	@FunctionalInterface
+	public interface UploadListener {
+		void onFinished(StagedFile file, boolean success, Throwable error);
+	}
+
+	/** 통계 (업로드 성공 / 실패 / 성공 바이트 / 진행 중) */
+	public record UploadStats(long uploaded, long failed, long bytes, int inFlight) {}
+
+	private final S3Service s3Service;
+
+	/** 서버 전체 동시 업로드 파일 수 */
+	@Value("${chat.attachment.upload-concurrency:4}")
+	private int uploadConcurrency;
+
+	@Value("${chat.attachment.spool-dir:${java.io.tmpdir}/coreconnect-chat-upload}")
+	private String spoolDir;
+
+	/** 종료 시 진행 중인 업로드 대기 시간 */
+	@Value("${chat.attachment.shutdown-timeout-ms:30000}")
+	private long shutdownTimeoutMs;
+
+	private ExecutorService uploadExecutor;
+	private Path spoolPath;
+
+	private final AtomicLong uploaded = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong bytes = new AtomicLong();
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	@PostConstruct
+	public void init() throws IOException {
+		spoolPath = Files.createDirectories(Paths.get(spoolDir));
+		AtomicInteger threadNumber = new AtomicInteger();
+		uploadExecutor = Executors.newFixedThreadPool(Math.max(1, uploadConcurrency), runnable -> {
+			Thread thread = new Thread(runnable, "chat-attachment-upload-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		log.info("[ChatAttachmentUploadService] 초기화 - 동시 업로드: {}, spool: {}", uploadConcurrency, spoolPath);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		if (uploadExecutor == null) {
+			return;
+		}
+		uploadExecutor.shutdown();
+		if (!uploadExecutor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+			log.warn("[ChatAttachmentUploadService] 종료 대기 시간 초과 - 진행 중 업로드: {}", inFlight.get());
+			uploadExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 업로드할 파일을 spool 디렉터리로 옮기고 S3 키를 정함 (빈 파일은 제외)
+	 * - 요청이 끝나면 multipart 임시 파일이 지워지므로 비동기 업로드 전에 반드시 호출
+	 * - 중간에 실패하면 이미 옮긴 파일도 지우고 예외를 그대로 던짐
+	 */
+	public List<StagedFile> stage(MultipartFile[] files, Integer userId) throws IOException {
+		List<StagedFile> staged = new ArrayList<>();
+		try {
+			for (MultipartFile file : files) {
+				if (file == null || file.isEmpty()) {
+					continue;
+				}
+				String fileName = file.getOriginalFilename();
+				Path path = spoolPath.resolve(UUID.randomUUID().toString());
+				// File 버전: 디스크에 저장된 part는 복사 없이 이동 (Path 버전은 항상 스트림 복사)
+				file.transferTo(path.toFile());
+				staged.add(new StagedFile(staged.size(), fileName, file.getSize(),
+						s3Service.chatFileContentType(file.getContentType()), s3Service.newChatFileKey(fileName, userId), path));
+			}
+		} catch (IOException | RuntimeException e) {
+			discard(staged);
+			throw e;
+		}
+		return staged;
+	}
+
+	/**
+	 * 파일별 S3 업로드를 업로드 스레드풀에 넣고 바로 반환
+	 * @return 모든 파일 업로드가 끝나면(성공/실패 무관) 완료되는 future
+	 */
+	public CompletableFuture<Void> uploadAll(List<StagedFile> files, UploadListener listener) {
+		List<CompletableFuture<Void>> futures = new ArrayList<>(files.size());
+		for (StagedFile file : files) {
+			futures.add(CompletableFuture.runAsync(() -> upload(file, listener), uploadExecutor));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+	}
+
+	private void upload(StagedFile file, UploadListener listener) {
+		inFlight.incrementAndGet();
+		long start = System.nanoTime();
+		Throwable error = null;
+		try {
+			s3Service.uploadFile(file.s3Key(), file.path(), file.contentType());
+			uploaded.incrementAndGet();
+			bytes.addAndGet(file.size());
+			log.info("[ChatAttachmentUploadService.upload] 업로드 성공 - key: {}, size: {} bytes, {}ms",
+					file.s3Key(), file.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} catch (IOException | RuntimeException e) {
+			error = e;
+			failed.incrementAndGet();
+			log.error("[ChatAttachmentUploadService.upload] 업로드 실패 - key: {}, fileName: {}, error: {}",
+					file.s3Key(), file.fileName(), e.getMessage(), e);
+		} finally {
+			inFlight.decrementAndGet();
+			deleteQuietly(file.path());
+		}
+		try {
+			listener.onFinished(file, error == null, error);
+		} catch (RuntimeException e) {
+			log.warn("[ChatAttachmentUploadService.upload] 완료 처리 실패 - key: {}, error: {}", file.s3Key(), e.getMessage());
+		}
+	}
+
+	/** 업로드하지 않을 파일의 spool 파일 삭제 (메시지 생성 실패 등) */
+	public void discard(List<StagedFile> files) {
+		files.forEach(file -> deleteQuietly(file.path()));
+	}
+
+	private void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("[ChatAttachmentUploadService] spool 파일 삭제 실패 - path: {}, error: {}", path, e.getMessage());
+		}
+	}
+
+	public UploadStats snapshot() {
+		return new UploadStats(uploaded.get(), failed.get(), bytes.get(), inFlight.get());
+	}
+}
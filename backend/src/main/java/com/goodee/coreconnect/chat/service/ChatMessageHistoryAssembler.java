@@ -0,0 +1,111 @@
+package com.goodee.coreconnect.chat.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.goodee.coreconnect.chat.dto.response.ChatMessageResponseDTO;
+import com.goodee.coreconnect.chat.entity.Chat;
+import com.goodee.coreconnect.chat.repository.ChatMessageReadStatusRepository;
+import com.goodee.coreconnect.common.service.S3Service;
+import com.goodee.coreconnect.user.enums.JobGrade;
+import com.goodee.coreconnect.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatMessageHistoryAssembler (채팅 내역 → 응답 DTO 변환)
+ *
+ * - 메시지마다 읽음 여부 / 발신자 / 프로필 URL을 따로 조회하던 방식(N+1) 대신 페이지 단위로 한 번에 조회
+ *   1) 내 읽음 여부: 읽은 chatId 목록 IN 쿼리 1번 (watermark 모드는 메모리 비교, 쿼리 없음)
+ *   2) unreadCount: 메시지 조회 시 함께 읽은 chat_message.unread_count 컬럼 사용 (추가 쿼리 없음)
+ *   3) 발신자 프로필: 발신자 ID 목록 IN 쿼리 1번 (projection)
+ * - 발신자 프로필(이메일/프로필 URL/직급/부서)은 요청 안에서 발신자별로 한 번만 만들어 재사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageHistoryAssembler {
+
+	private final ChatMessageReadStatusRepository chatMessageReadStatusRepository;
+	private final UserRepository userRepository;
+	private final S3Service s3Service;
+	private final ChatReadWatermarkService chatReadWatermarkService;
+
+	/** 발신자 프로필 (요청 단위 메모이제이션) */
+	private record SenderProfile(String email, String profileImageUrl, JobGrade jobGrade, String deptName) {}
+
+	/**
+	 * 채팅 메시지 목록을 viewer 기준 응답 DTO로 변환 (입력 순서 유지)
+	 */
+	public List<ChatMessageResponseDTO> assemble(List<Chat> chats, Integer viewerId) {
+		if (chats == null || chats.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		Set<Integer> readChatIds = findReadChatIds(chats, viewerId);
+		Map<Integer, SenderProfile> senderProfiles = findSenderProfiles(chats);
+
+		return chats.stream().map(chat -> {
+			ChatMessageResponseDTO dto = ChatMessageResponseDTO.fromEntity(chat, readChatIds.contains(chat.getId()), s3Service);
+
+			// ⭐ unreadCount 컬럼 값 사용 (메시지마다 COUNT 쿼리를 실행하지 않음)
+			dto.setUnreadCount(chat.getUnreadCount() != null ? chat.getUnreadCount() : 0);
+
+			SenderProfile profile = chat.getSender() != null ? senderProfiles.get(chat.getSender().getId()) : null;
+			if (profile != null) {
+				dto.setSenderEmail(profile.email());
+				// 프로필 이미지가 없어도 항상 빈 문자열로 설정 (프론트엔드에서 기본 이니셜 표시)
+				dto.setSenderProfileImageUrl(profile.profileImageUrl());
+				dto.setSenderJobGrade(profile.jobGrade());
+				dto.setSenderDeptName(profile.deptName());
+			}
+			return dto;
+		}).collect(Collectors.toList());
+	}
+
+	/** 내가 읽은 메시지 ID (row 모드: IN 쿼리 1번 / watermark 모드: 읽음 위치 (sendAt, id) 비교) */
+	private Set<Integer> findReadChatIds(List<Chat> chats, Integer viewerId) {
+		if (chatReadWatermarkService.isEnabled()) {
+			return chats.stream()
+					.filter(chat -> chatReadWatermarkService.isRead(chat.getChatRoom().getId(), viewerId, chat))
+					.map(Chat::getId)
+					.collect(Collectors.toSet());
+		}
+		List<Integer> chatIds = chats.stream().map(Chat::getId).collect(Collectors.toList());
+		return new HashSet<>(chatMessageReadStatusRepository.findReadChatIdsByUserIdAndChatIdIn(viewerId, chatIds));
+	}
+
+	/** 발신자 ID → 프로필 (IN 쿼리 1번, 프로필 URL은 발신자당 1번만 생성) */
+	private Map<Integer, SenderProfile> findSenderProfiles(List<Chat> chats) {
+		Set<Integer> senderIds = chats.stream()
+				.map(Chat::getSender)
+				.filter(Objects::nonNull)
+				.map(sender -> sender.getId())
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		if (senderIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		Map<Integer, SenderProfile> profiles = new HashMap<>();
+		for (Object[] row : userRepository.findSenderProfilesByIdIn(senderIds)) {
+			String profileImageKey = (String) row[2];
+			String profileImageUrl = profileImageKey != null && !profileImageKey.isBlank()
+					? s3Service.getFileUrl(profileImageKey)
+					: "";
+			String deptName = row[4] != null ? (String) row[4] : "";
+			profiles.put((Integer) row[0], new SenderProfile((String) row[1], profileImageUrl, (JobGrade) row[3], deptName));
+		}
+		log.debug("[ChatMessageHistoryAssembler] 메시지 수: {}, 발신자 수: {}", chats.size(), profiles.size());
+		return profiles;
+	}
+}
@@ -0,0 +1,120 @@
+package com.goodee.coreconnect.chat.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.goodee.coreconnect.chat.dto.response.ChatMessageCursorResponseDTO;
+import com.goodee.coreconnect.chat.dto.response.ChatMessageResponseDTO;
+import com.goodee.coreconnect.chat.entity.Chat;
+import com.goodee.coreconnect.chat.repository.ChatRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatMessageSearchService (채팅 메시지 전문 검색)
+ *
+ * - chat_message.message_content의 ngram FULLTEXT 인덱스(ft_chat_message_content) 사용
+ *   - 색인은 InnoDB가 INSERT 시 함께 갱신 (전송 경로에서 따로 색인하지 않음), 전체 재색인은 마이그레이션 SQL 주석 참고
+ * - 검색 범위는 요청자가 참여중인 채팅방 (chat_room_user 조인), roomId를 주면 그 채팅방만
+ * - 최신 메시지부터 커서(before = chatId) 페이징, 응답 형식은 채팅 내역 커서 조회와 같음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessageSearchService {
+
+	/** 검색 단어 최소 길이 (MySQL ngram_token_size 기본값, 이보다 짧은 단어는 인덱스에 없음) */
+	public static final int MIN_TERM_LENGTH = 2;
+	/** 검색어 최대 길이 / 단어 수 (긴 검색어로 인덱스를 과하게 읽지 않도록) */
+	public static final int MAX_QUERY_LENGTH = 100;
+	public static final int MAX_TERMS = 5;
+	public static final int MAX_LIMIT = 100;
+
+	private final ChatRepository chatRepository;
+	private final ChatMessageHistoryAssembler chatMessageHistoryAssembler;
+
+	/**
+	 * 내가 참여중인 채팅방 메시지 검색 (최신순)
+	 * @param before 이전 페이지의 nextCursor (첫 페이지면 null)
+	 */
+	@Transactional(readOnly = true)
+	public ChatMessageCursorResponseDTO search(Integer userId, String keyword, Integer roomId, Integer before, int limit) {
+		String booleanQuery = toBooleanQuery(keyword);
+		int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+		// 다음 페이지 여부 확인을 위해 1개 더 조회
+		List<Integer> chatIds = chatRepository.searchChatIds(userId, booleanQuery, roomId, before, PageRequest.of(0, pageSize + 1));
+		boolean last = chatIds.size() <= pageSize;
+		if (!last) {
+			chatIds = chatIds.subList(0, pageSize);
+		}
+
+		List<Chat> chats = new ArrayList<>();
+		if (!chatIds.isEmpty()) {
+			chats.addAll(chatRepository.findWithSenderByIdIn(chatIds));
+			// 검색 쿼리 순서 (sent_at, id 최신순) 유지
+			List<Integer> order = chatIds;
+			chats.sort(Comparator.comparingInt(chat -> order.indexOf(chat.getId())));
+			// 파일 메시지 결과도 있으므로 파일은 IN 쿼리 한 번으로 로딩
+			chatRepository.findWithFilesByIdIn(chatIds);
+		}
+
+		List<ChatMessageResponseDTO> content = chatMessageHistoryAssembler.assemble(chats, userId);
+		Integer nextCursor = last || chatIds.isEmpty() ? null : chatIds.get(chatIds.size() - 1);
+
+		log.debug("[ChatMessageSearchService.search] userId: {}, query: {}, roomId: {}, before: {}, size: {}, nextCursor: {}",
+				userId, booleanQuery, roomId, before, content.size(), nextCursor);
+
+		return ChatMessageCursorResponseDTO.builder()
+				.content(content)
+				.nextCursor(nextCursor)
+				.last(last)
+				.build();
+	}
+
+	/**
+	 * 사용자 검색어 → BOOLEAN MODE 검색식 (모든 단어 포함: +단어 +단어)
+	 * - 검색식 연산자(+ - < > ( ) ~ * " @)는 공백으로 바꿔 사용자가 검색식을 조작하지 못하게 함
+	 * - MIN_TERM_LENGTH보다 짧은 단어는 제외, 중복 단어는 한 번만
+	 * @throws IllegalArgumentException 검색할 단어가 없거나 검색어가 너무 긴 경우
+	 */
+	public static String toBooleanQuery(String keyword) {
+		if (keyword == null || keyword.isBlank()) {
+			throw new IllegalArgumentException("검색어를 입력해주세요.");
+		}
+		String trimmed = keyword.trim();
+		if (trimmed.length() > MAX_QUERY_LENGTH) {
+			throw new IllegalArgumentException("검색어는 " + MAX_QUERY_LENGTH + "자 이하로 입력해주세요.");
+		}
+
+		Set<String> terms = new LinkedHashSet<>();
+		for (String term : trimmed.replaceAll("[+\\-<>()~*\"@]", " ").split("\\s+")) {
+			if (term.codePointCount(0, term.length()) >= MIN_TERM_LENGTH) {
+				terms.add(term);
+			}
+			if (terms.size() == MAX_TERMS) {
+				break;
+			}
+		}
+		if (terms.isEmpty()) {
+			throw new IllegalArgumentException("검색어는 " + MIN_TERM_LENGTH + "자 이상 입력해주세요.");
+		}
+
+		StringBuilder query = new StringBuilder();
+		for (String term : terms) {
+			if (query.length() > 0) {
+				query.append(' ');
+			}
+			query.append('+').append(term);
+		}
+		return query.toString();
+	}
+}
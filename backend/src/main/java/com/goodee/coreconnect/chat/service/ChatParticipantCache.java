@@ -0,0 +1,109 @@
+package com.goodee.coreconnect.chat.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
+import com.goodee.coreconnect.common.bus.BusMessage;
+import com.goodee.coreconnect.common.bus.MessageBus;
+import com.goodee.coreconnect.common.cache.LruLoadingCache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ChatParticipantCache (채팅방 참여자 ID 캐시, roomId → 정렬된 int[])
+ *
+ * - 메시지마다 chat_room_user를 조회하지 않고 메모리 배열 사용 (참여 여부 = 이진 탐색)
+ * - 참여자가 바뀌는 곳(채팅방 생성 / 초대 / 나가기)에서 invalidate
+ *   - 다른 서버 인스턴스 캐시도 MessageBus "chat.participants" 채널로 제거
+ * - ttl / 상한(max-rooms) / 무효화 / 통계는 LruLoadingCache
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatParticipantCache {
+
+	/** 참여자 캐시 무효화 MessageBus 채널 */
+	public static final String PARTICIPANTS_CHANNEL = "chat.participants";
+
+	private static final int[] EMPTY = new int[0];
+
+	private final ChatRoomUserRepository chatRoomUserRepository;
+	private final MessageBus messageBus;
+
+	@Value("${chat.participant-cache.ttl-ms:300000}")
+	private long ttlMs;
+
+	@Value("${chat.participant-cache.max-rooms:10000}")
+	private int maxRooms;
+
+	private LruLoadingCache<Integer, int[]> rooms;
+
+	@PostConstruct
+	public void init() {
+		rooms = new LruLoadingCache<>("ChatParticipantCache", "채팅방", ttlMs, maxRooms);
+		messageBus.subscribe(PARTICIPANTS_CHANNEL, message -> {
+			if (message.roomId() != null) {
+				rooms.evict(message.roomId());
+			}
+		});
+	}
+
+	/** 참여자 ID 배열 (정렬됨, 호출자는 수정하지 말 것) */
+	public int[] get(Integer roomId) {
+		if (roomId == null) {
+			return EMPTY;
+		}
+		return rooms.get(roomId, this::load);
+	}
+
+	/** 참여자 ID 목록 (기존 List 기반 코드용 복사본) */
+	public List<Integer> getIds(Integer roomId) {
+		int[] userIds = get(roomId);
+		List<Integer> result = new ArrayList<>(userIds.length);
+		for (int userId : userIds) {
+			result.add(userId);
+		}
+		return result;
+	}
+
+	/** 참여 여부 (배열 이진 탐색) */
+	public boolean contains(Integer roomId, Integer userId) {
+		return userId != null && Arrays.binarySearch(get(roomId), userId) >= 0;
+	}
+
+	/** 참여자 수 */
+	public int count(Integer roomId) {
+		return get(roomId).length;
+	}
+
+	/** 참여자 변경 후 호출 (이 인스턴스 + 다른 인스턴스) */
+	public void invalidate(Integer roomId) {
+		if (roomId == null) {
+			return;
+		}
+		rooms.invalidate(List.of(roomId), () -> messageBus.publish(PARTICIPANTS_CHANNEL, BusMessage.roomChanged(roomId)));
+	}
+
+	private int[] load(Integer roomId) {
+		return chatRoomUserRepository.findUserIdsByChatRoomId(roomId).stream()
+				.mapToInt(Integer::intValue)
+				.sorted()
+				.distinct()
+				.toArray();
+	}
+
+	public LruLoadingCache.Stats snapshot() {
+		return rooms.snapshot();
+	}
+
+	@Scheduled(fixedDelayString = "${chat.participant-cache.metrics-log-interval-ms:60000}")
+	public void logMetrics() {
+		rooms.logMetrics();
+	}
+}
@@ -0,0 +1,298 @@
+package com.goodee.coreconnect.chat.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.goodee.coreconnect.chat.entity.Chat;
+import com.goodee.coreconnect.chat.repository.ChatRepository;
+import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatReadWatermarkService (watermark 읽음 처리 모드)
+ *
+ * - chat_message_read_status(메시지 × 참여자 row) 대신 ChatRoomUser의 읽음 위치(lastReadSentAt, lastReadChatId) 하나로 관리
+ *   → 저장량이 "메시지 수 × 참여자 수"에서 "참여자 수"로 줄어듦
+ * - 메시지 순서는 (보낸 시각, ID): write-behind 사용 시 ID는 구간 할당(ChatIdAllocator)이라 전송 순서와 다를 수 있음
+ * - 메시지별 unreadCount = 발신자를 제외하고 읽음 위치가 메시지보다 앞선 참여자 수
+ *   → 채팅방별 참여자 읽음 위치를 정렬된 배열로 메모리에 보관하고 이진 탐색으로 계산
+ * - chat.read-tracking.mode=watermark 일 때만 사용됨 (기본값 row: 기존 ChatMessageReadStatus 방식)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatReadWatermarkService {
+
+	public static final String MODE_ROW = "row";
+	public static final String MODE_WATERMARK = "watermark";
+
+	private final ChatRoomUserRepository chatRoomUserRepository;
+	private final ChatRepository chatRepository;
+
+	/** 읽음 처리 방식 (row | watermark) */
+	@Value("${chat.read-tracking.mode:row}")
+	private String mode;
+
+	/** roomId → 참여자 watermark (DB 값을 지연 로딩, 읽음 위치 변경 시 갱신) */
+	private final Map<Integer, RoomWatermarks> rooms = new ConcurrentHashMap<>();
+
+	/** watermark 모드 사용 여부 */
+	public boolean isEnabled() {
+		return MODE_WATERMARK.equalsIgnoreCase(mode);
+	}
+
+	/**
+	 * 메시지 전송 시: 발신자 + 접속 중인 사용자의 watermark를 새 메시지 위치까지 전진 (UPDATE 1번)
+	 * - 메모리 watermark는 커밋 후 반영 (롤백되면 채팅방 메모리 값 제거)
+	 */
+	@Transactional
+	public void advanceOnSend(Integer roomId, LocalDateTime sentAt, Integer chatId, Collection<Integer> readUserIds) {
+		if (readUserIds == null || readUserIds.isEmpty()) {
+			return;
+		}
+		chatRoomUserRepository.advanceLastReadPositions(roomId, readUserIds, sentAt, chatId);
+		List<Integer> userIds = List.copyOf(readUserIds);
+		ReadPosition position = new ReadPosition(sentAt, chatId);
+		afterCommit(roomId, () -> {
+			RoomWatermarks watermarks = rooms.get(roomId);
+			if (watermarks != null) {
+				watermarks.advance(userIds, position);
+			}
+		});
+	}
+
+	/**
+	 * 채팅방 읽음 처리: 내 watermark를 채팅방 최신 메시지까지 전진
+	 * - (기존 watermark, 최신 메시지] 구간의 다른 사람 메시지 unreadCount를 UPDATE 1번으로 감소
+	 * - compare-and-set으로 같은 구간을 두 번 처리하지 않음 (동시 처리 감지 시 채팅방 단위 재계산)
+	 *
+	 * @return 읽음 처리된 메시지별 최신 unreadCount (chatId → unreadCount, 전송 순서)
+	 */
+	@Transactional
+	public Map<Integer, Integer> markRoomAsRead(Integer roomId, Integer userId) {
+		ReadPosition latest = ReadPosition.of(chatRepository.findLatestPositionByRoomId(roomId));
+		if (latest == null) {
+			return Collections.emptyMap();
+		}
+		List<Object[]> stored = chatRoomUserRepository.findLastReadPosition(roomId, userId);
+		ReadPosition previous = stored.isEmpty() ? ReadPosition.START : ReadPosition.orStart(stored.get(0));
+		if (previous.compareTo(latest) >= 0) {
+			return Collections.emptyMap();
+		}
+
+		List<Object[]> range = chatRepository.findChatIdAndSenderIdsInRange(roomId,
+				previous.sentAt(), previous.chatId(), latest.sentAt(), latest.chatId());
+		int updated = chatRoomUserRepository.compareAndSetLastReadPosition(roomId, userId,
+				previous.sentAt(), previous.chatId(), latest.sentAt(), latest.chatId());
+
+		List<Integer> othersChatIds = range.stream()
+				.filter(row -> row[1] == null || !userId.equals(row[1]))
+				.map(row -> (Integer) row[0])
+				.toList();
+
+		// ⭐ 응답할 unreadCount 계산을 위해 메모리 값은 바로 반영하고, 롤백되면 채팅방 메모리 값 제거
+		afterCommit(roomId, null);
+		RoomWatermarks watermarks = load(roomId);
+		if (updated == 1) {
+			watermarks.advance(List.of(userId), latest);
+			if (!othersChatIds.isEmpty()) {
+				chatRepository.decrementUnreadCounts(othersChatIds);
+			}
+		} else {
+			// ⭐ 다른 탭에서 먼저 watermark를 옮긴 경우: 메모리 값을 다시 읽고 DB unreadCount는 재계산
+			log.info("[markRoomAsRead] watermark 동시 변경 감지 - roomId: {}, userId: {} → 재계산", roomId, userId);
+			rooms.remove(roomId);
+			watermarks = load(roomId);
+			chatRepository.reconcileUnreadCountsByWatermarkRoomId(roomId);
+		}
+
+		Map<Integer, Integer> unreadCounts = new LinkedHashMap<>();
+		for (Object[] row : range) {
+			Integer chatId = (Integer) row[0];
+			Integer senderId = (Integer) row[1];
+			unreadCounts.put(chatId, watermarks.unreadCount(new ReadPosition((LocalDateTime) row[2], chatId), senderId));
+		}
+		return unreadCounts;
+	}
+
+	/** 메시지를 해당 사용자가 읽었는지 여부 (내가 보낸 메시지 또는 watermark 이하) */
+	public boolean isRead(Integer roomId, Integer userId, Chat chat) {
+		if (chat.getSender() != null && userId.equals(chat.getSender().getId())) {
+			return true;
+		}
+		ReadPosition watermark = load(roomId).watermarkOf(userId);
+		return watermark != null && ReadPosition.of(chat).compareTo(watermark) <= 0;
+	}
+
+	/** 메모리의 정렬된 watermark로 계산한 메시지별 unreadCount */
+	public int unreadCountOf(Integer roomId, LocalDateTime sentAt, Integer chatId, Integer senderId) {
+		return load(roomId).unreadCount(new ReadPosition(sentAt, chatId), senderId);
+	}
+
+	/** 새 참여자(초대) watermark를 채팅방 최신 메시지로 설정 - 초대 이전 메시지는 미읽음으로 집계하지 않음 */
+	@Transactional
+	public void initializeForNewMember(Integer roomId, Integer userId) {
+		ReadPosition latest = ReadPosition.of(chatRepository.findLatestPositionByRoomId(roomId));
+		if (latest != null) {
+			chatRoomUserRepository.advanceLastReadPositions(roomId, List.of(userId), latest.sentAt(), latest.chatId());
+		}
+		evict(roomId);
+	}
+
+	/** 채팅방 최신 메시지 위치 (메시지가 없으면 null) */
+	public ReadPosition findLatestPosition(Integer roomId) {
+		return ReadPosition.of(chatRepository.findLatestPositionByRoomId(roomId));
+	}
+
+	/** 참여자 변경(초대/나가기) 시 메모리 watermark 제거 - 다음 조회 시 DB에서 다시 로딩 */
+	public void evict(Integer roomId) {
+		if (roomId != null) {
+			rooms.remove(roomId);
+		}
+	}
+
+	/** 트랜잭션 안이면 커밋 후 change 실행, 롤백되면 채팅방 메모리 watermark 제거 (트랜잭션 밖이면 바로 실행) */
+	private void afterCommit(Integer roomId, Runnable change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			if (change != null) {
+				change.run();
+			}
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					evict(roomId);
+				} else if (change != null) {
+					change.run();
+				}
+			}
+		});
+	}
+
+	private RoomWatermarks load(Integer roomId) {
+		return rooms.computeIfAbsent(roomId, rid -> {
+			Map<Integer, ReadPosition> byUser = new HashMap<>();
+			for (Object[] row : chatRoomUserRepository.findLastReadPositionsByChatRoomId(rid)) {
+				byUser.put((Integer) row[0], ReadPosition.orStart(Arrays.copyOfRange(row, 1, 3)));
+			}
+			return new RoomWatermarks(byUser);
+		});
+	}
+
+	/**
+	 * 메시지 위치 (보낸 시각, ID) - 보낸 시각이 같으면 ID 순서
+	 * - sentAt이 null이면 가장 앞 (아직 읽은 메시지가 없는 참여자)
+	 */
+	public record ReadPosition(LocalDateTime sentAt, int chatId) implements Comparable<ReadPosition> {
+
+		static final ReadPosition START = new ReadPosition(null, 0);
+
+		private static final Comparator<ReadPosition> ORDER = Comparator
+				.comparing(ReadPosition::sentAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparingInt(ReadPosition::chatId);
+
+		static ReadPosition of(Chat chat) {
+			return new ReadPosition(chat.getSendAt(), chat.getId());
+		}
+
+		/** 조회 결과 (sentAt, chatId) → 위치, 결과가 없으면 null */
+		static ReadPosition of(Object[] row) {
+			return row != null ? orStart(row) : null;
+		}
+
+		/** 저장된 읽음 위치 (sentAt, chatId) → 위치, 값이 없으면 처음부터 */
+		static ReadPosition orStart(Object[] row) {
+			return new ReadPosition((LocalDateTime) row[0], row[1] != null ? (Integer) row[1] : 0);
+		}
+
+		@Override
+		public int compareTo(ReadPosition other) {
+			return ORDER.compare(this, other);
+		}
+	}
+
+	/**
+	 * 채팅방 참여자 watermark (userId → 읽음 위치) + 정렬된 배열
+	 * - 참여자 수가 작으므로 변경 시 배열을 새로 만들고(copy-on-write), 조회는 잠금 없이 이진 탐색
+	 */
+	static final class RoomWatermarks {
+		private final Map<Integer, ReadPosition> byUser;
+		private volatile ReadPosition[] sorted;
+
+		RoomWatermarks(Map<Integer, ReadPosition> byUser) {
+			this.byUser = byUser;
+			this.sorted = toSorted(byUser);
+		}
+
+		synchronized void advance(Collection<Integer> userIds, ReadPosition position) {
+			boolean changed = false;
+			for (Integer userId : userIds) {
+				ReadPosition current = byUser.get(userId);
+				if (current != null && current.compareTo(position) < 0) {
+					byUser.put(userId, position);
+					changed = true;
+				}
+			}
+			if (changed) {
+				sorted = toSorted(byUser);
+			}
+		}
+
+		synchronized ReadPosition watermarkOf(Integer userId) {
+			return byUser.get(userId);
+		}
+
+		/** 발신자를 제외하고 watermark < 메시지 위치 인 참여자 수 */
+		int unreadCount(ReadPosition message, Integer senderId) {
+			ReadPosition[] snapshot = sorted;
+			int below = lowerBound(snapshot, message);
+			ReadPosition senderWatermark;
+			synchronized (this) {
+				senderWatermark = senderId != null ? byUser.get(senderId) : null;
+			}
+			if (senderWatermark != null && senderWatermark.compareTo(message) < 0) {
+				below--;
+			}
+			return Math.max(below, 0);
+		}
+
+		private static ReadPosition[] toSorted(Map<Integer, ReadPosition> byUser) {
+			ReadPosition[] values = byUser.values().toArray(new ReadPosition[0]);
+			Arrays.sort(values);
+			return values;
+		}
+
+		/** 정렬된 배열에서 key보다 앞선 위치의 개수 */
+		private static int lowerBound(ReadPosition[] values, ReadPosition key) {
+			int low = 0;
+			int high = values.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[mid].compareTo(key) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package com.goodee.coreconnect.chat.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.goodee.coreconnect.approval.entity.Document;
 import com.goodee.coreconnect.chat.dto.response.ChatResponseDTO;
@@ -63,8 +65,11 @@ public interface ChatRoomService {
     
     List<ChatRoomSummaryResponseDTO> getChatRoomSummariesByUserId(Integer userId);
 
-    // ⭐ 읽음 처리된 메시지 ID 리스트 반환 (WebSocket 알림용)
-    List<Integer> markMessagesAsRead(Integer roomId, Integer userId);
+    // ⭐ 읽음 처리된 메시지별 최신 unreadCount 반환 (chatId → unreadCount, WebSocket 알림용)
+    Map<Integer, Integer> markMessagesAsRead(Integer roomId, Integer userId);
+    
+    /** 읽음 처리 결과(chatId → unreadCount)를 UNREAD_COUNT_BATCH_UPDATE 프레임 1개로 채팅방에 브로드캐스트 */
+    void sendUnreadCountBatchUpdate(Integer roomId, Integer viewerId, Map<Integer, Integer> unreadCounts);
 
     /** 채팅방에서 현재 접속 중인 인원 id 리스트 반환 */
     List<Integer> getConnectedUserIdsInRoom(Integer roomId);
@@ -78,12 +83,18 @@ public interface ChatRoomService {
 
     String getUnreadToadMsgForUser(Integer offlineUserId);
 
+    // 여러 참여자의 토스트 문구를 한 번에 조회 (userId → 문구, 안읽은 메시지가 없으면 제외)
+    Map<Integer, String> getUnreadToastMsgsForUsers(Collection<Integer> userIds);
+
     // 채팅 메시지에 파일이 있는 경우 파일을 조회
     List<Chat> getChatsWithFilesByRoomId(Integer roomId);
     
     // 채팅 메시지를 페이징으로 조회 (파일 포함)
     org.springframework.data.domain.Page<Chat> getChatsWithFilesByRoomIdPaged(Integer roomId, org.springframework.data.domain.Pageable pageable);
     
+    // 채팅 메시지를 커서(beforeChatId 이전, 최신순)로 limit개 조회 (파일 포함, beforeChatId가 null이면 최신 메시지부터)
+    List<Chat> getChatsWithFilesBefore(Integer roomId, Integer beforeChatId, int limit);
+    
     boolean existsRoom(Integer roomId);
     
     // user 참여 chatRoom 목록 가져오기
@@ -2,11 +2,15 @@ package com.goodee.coreconnect.chat.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.context.ApplicationEventPublisher;
@@ -19,7 +23,9 @@ import com.goodee.coreconnect.chat.event.NotificationCreatedEvent;
 import com.goodee.coreconnect.common.dto.request.NotificationRequestDTO;
 import com.goodee.coreconnect.common.entity.Notification;
 import com.goodee.coreconnect.common.notification.dto.NotificationPayload; // DTO import 추가
+import com.goodee.coreconnect.common.notification.dto.NotificationSummary;
 import com.goodee.coreconnect.common.notification.enums.NotificationType;
+import com.goodee.coreconnect.common.notification.service.UnreadNotificationCache;
 import com.goodee.coreconnect.account.repository.AccountLogRepository;
 import com.goodee.coreconnect.approval.entity.Document;
 import com.goodee.coreconnect.approval.repository.DocumentRepository;
@@ -39,6 +45,7 @@ import com.goodee.coreconnect.chat.repository.ChatRepository;
 import com.goodee.coreconnect.chat.repository.ChatRoomRepository;
 import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
 import com.goodee.coreconnect.chat.repository.MessageFileRepository;
+import com.goodee.coreconnect.chat.presence.ChatPresenceService;
 import com.goodee.coreconnect.chat.handler.ChatWebSocketHandler;
 import com.goodee.coreconnect.user.entity.User;
 import com.goodee.coreconnect.user.repository.UserRepository;
@@ -64,14 +71,16 @@ public class ChatRoomServiceImpl implements ChatRoomService {
     private final ChatMessageReadStatusRepository chatMessageReadStatusRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ChatPresenceService chatPresenceService;
+    private final ChatReadWatermarkService chatReadWatermarkService;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final ChatParticipantCache chatParticipantCache;
+    private final UnreadNotificationCache unreadNotificationCache;
     
-	@Transactional(readOnly = true)
 	@Override
 	public List<Integer> getParticipantIds(Integer roomId) {
-		List<ChatRoomUser> users = chatRoomUserRepository.findByChatRoomId(roomId);
-		return users.stream()
-				.map(chatRoomUser -> chatRoomUser.getUser().getId())
-				.collect(Collectors.toList());
+		// ⭐ 메시지마다 호출되므로 참여자 캐시 사용 (초대/나가기/생성 시 무효화)
+		return chatParticipantCache.getIds(roomId);
 	}
 
 	@Override
@@ -100,6 +109,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 			chatRoom.getChatRoomUsers().add(chatRoomUser);
 			user.getChatRoomUsers().add(chatRoomUser);
 		}
+		chatParticipantCache.invalidate(chatRoom.getId());
 		return chatRoom;		
 	}
 
@@ -222,6 +232,8 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 	    	 notificationRepository.save(notification);
 	         notifications.add(notification);
 	    }
+	    // 미읽음 알림 캐시는 다음 조회 때 다시 로딩
+	    unreadNotificationCache.invalidate(recipients.stream().map(User::getId).toList());
 	    
 
 	    // [수정] Notification 엔티티 → NotificationPayload DTO 리스트로 변환
@@ -268,6 +280,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 		
 	}
 
+	@Transactional
 	@Override
 	public void deleteDocumentAndNotification(Integer documentId) {
 		Document document = documentRepository.findById(documentId)
@@ -275,11 +288,11 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 		document.markDeleted(true);
 		documentRepository.save(document);
 
-		List<Notification> notifications = notificationRepository.findByDocumentId(documentId);
-		for (Notification notification : notifications) {
-		    notification.markDeleted(); 
-		    notificationRepository.save(notification);
-		}
+		// ⭐ 알림은 UPDATE 1번으로 삭제 표시 (알림마다 엔티티 로딩 + save 하지 않음), 수신자는 캐시 무효화용으로만 조회
+		List<Integer> recipientIds = notificationRepository.findRecipientIdsByDocumentId(documentId);
+		int deleted = notificationRepository.markDeletedByDocumentId(documentId);
+		log.info("[deleteDocumentAndNotification] documentId: {}, 삭제 표시된 알림 수: {}", documentId, deleted);
+		unreadNotificationCache.invalidate(recipientIds);
 	}
 	
 	private User findUserByEmail(String email) {
@@ -296,31 +309,17 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
 	@Override
 	public List<ChatRoomLatestMessageResponseDTO> getChatRoomIdsByUserId(Integer userId) {
-		// 내가 참여중인 채팅방 엔티티 리스트 조회
-		List<ChatRoomUser> chatRoomUsers = chatRoomUserRepository.findByUserId(userId);
-		List<ChatRoom> chatRooms = chatRoomUsers.stream()
-	            .map(ChatRoomUser::getChatRoom)
-	            .distinct()
-	            .collect(Collectors.toList());
-
-	    // 2. 각 채팅방별 마지막 메시지 조회
-	    List<ChatRoomLatestMessageResponseDTO> result = new ArrayList<>();
-	    for (ChatRoom room : chatRooms) {
-	        Chat lastMessage = room.getChats().stream()
-	                .max(Comparator.comparing(Chat::getSendAt))
-	                .orElse(null);
-
-	        result.add(ChatRoomLatestMessageResponseDTO.builder()
-	                .roomId(room.getId())
-	                .roomName(room.getRoomName())
-	                .lastMessageId(lastMessage != null ? lastMessage.getId() : null)
-	                .lastMessageContent(lastMessage != null ? lastMessage.getMessageContent() : null)
-	                .lastSenderName(lastMessage != null && lastMessage.getSender() != null ? lastMessage.getSender().getName() : null)
-	                .lastMessageTime(lastMessage != null ? lastMessage.getSendAt() : null)
-	                .build());
-	    }
-		
-		return result;
+		// ⭐ chat_room_summary에서 방 정보 + 마지막 메시지를 한 번에 조회 (방마다 전체 메시지를 메모리에 올리지 않음)
+		return chatRoomSummaryService.findRoomListRows(userId).stream()
+				.map(row -> ChatRoomLatestMessageResponseDTO.builder()
+						.roomId((Integer) row[0])
+						.roomName((String) row[1])
+						.lastMessageId((Integer) row[2])
+						.lastMessageContent((String) row[3])
+						.lastSenderName((String) row[4])
+						.lastMessageTime((LocalDateTime) row[5])
+						.build())
+				.collect(Collectors.toList());
 	}
 
 	@Transactional
@@ -357,162 +356,55 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 		}
 		
 		chat = chatRepository.save(chat);
+		// ⭐ write-behind 사용 시 ID가 ChatIdAllocator로 미리 정해져 save만으로는 INSERT가 나가지 않음
+		// 아래 네이티브/JDBC 쓰기(요약 upsert, watermark 전진, 읽음 row 일괄 INSERT)가 chat_message 행을 참조하므로 여기서 바로 INSERT
+		chatRepository.flush();
 		
 		// 여기에서 ChatMessageReadStatus 저장
 		// 2. 참여자별 읽음 상태 생성 (알림용 Notification 테이블 사용하지 않음)
-	    List<ChatRoomUser> participants = chatRoomUserRepository.findByChatRoomId(roomId);
+	    List<Integer> participantIds = chatParticipantCache.getIds(roomId);
 	    
 	    // ⭐ 정책: "발신자 + 접속 중인 사용자는 모두 읽음 처리, 나머지는 unread"
 	    // 실시간 채팅방에 접속해 있는 사용자들은 메시지를 바로 볼 수 있으므로 읽음 처리
-	    
-	    // ⭐ 현재 채팅방에 접속 중인 사용자 목록 조회 (실시간 WebSocket 세션 기반)
 	    // ⭐ userId 기준 접속자 집계: 같은 userId의 여러 브라우저/탭은 1명으로 집계
-	    log.info("🔥 [sendChatMessage] ========== 접속자 조회 시작 ========== roomId: {}", roomId);
 	    List<Integer> connectedUserIds = getConnectedUserIdsInRoom(roomId);
 	    
-	    // ⭐ 디버깅: 접속 중인 사용자 상세 정보
-	    log.info("🔥 [sendChatMessage] ⭐ 실시간 접속자 조회 (userId 기준) - roomId: {}, 접속자수: {}, 접속자Ids: {}", 
-	            roomId, connectedUserIds.size(), connectedUserIds);
-	    
-	    // ⭐ 디버깅: 참여자 목록 확인
-	    log.info("[sendChatMessage] 참여자 목록 조회 - roomId: {}, 참여자수: {}, 발신자Id: {}", 
-	            roomId, participants.size(), sender.getId());
-	    
-	    int savedCount = 0;
-	    int senderReadCount = 0;
-	    int connectedReadCount = 0;
-	    int otherReadCount = 0;
-	    
-	    for (ChatRoomUser cru : participants) {
-	        User participant = cru.getUser();
-	        
-	        // ⭐ 참여자 정보 확인
-	        if (participant == null) {
-	            log.warn("[sendChatMessage] 참여자 정보가 null입니다 - cru.id: {}", cru.getId());
-	            continue;
-	        }
-	        
-	        // ⭐ 중복 체크: 이미 해당 chat과 user에 대한 row가 있는지 확인
-	        Optional<ChatMessageReadStatus> existingStatusOpt = chatMessageReadStatusRepository
-	                .findByChatIdAndUserId(chat.getId(), participant.getId());
-	        
-	        ChatMessageReadStatus readStatus;
-	        boolean isNew = false;
-	        
-	        if (existingStatusOpt.isPresent()) {
-	            // ⭐ 이미 존재하는 경우 기존 row 사용 (복합키로 인해 자동으로 update됨)
-	            readStatus = existingStatusOpt.get();
-	            log.debug("[sendChatMessage] 이미 존재하는 ChatMessageReadStatus 발견 - 기존 row 사용 - userId: {}, chatId: {}, readYn: {}", 
-	                    participant.getId(), chat.getId(), readStatus.getReadYn());
-	            // ⭐ 기존 row의 readYn 상태 초기화 (새 메시지이므로)
-	            readStatus.resetReadStatus();
-	        } else {
-	            // ⭐ 새로 생성
-	            readStatus = ChatMessageReadStatus.create(chat, participant);
-	            isNew = true;
-	        }
-	        
-	        // ⭐ 정책: 발신자 + 접속 중인 사용자는 모두 읽음 처리, 나머지는 unread
-	        boolean isSender = participant.getId().equals(sender.getId());
-	        boolean isConnected = connectedUserIds.contains(participant.getId());
-	        
-	        if (isSender) {
-	            // ⭐ 발신자는 읽음 처리
-	            readStatus.markRead();
-	            senderReadCount++;
-	            log.debug("[sendChatMessage] 발신자 읽음 처리 - userId: {}, chatId: {}", 
-	                    participant.getId(), chat.getId());
-	        } else if (isConnected) {
-	            // ⭐ 접속 중인 사용자는 자동으로 읽음 처리 (실시간으로 메시지를 볼 수 있으므로)
-	            readStatus.markRead();
-	            connectedReadCount++;
-	            log.debug("[sendChatMessage] 접속 중인 사용자 읽음 처리 - userId: {}, chatId: {}", 
-	                    participant.getId(), chat.getId());
-	        } else {
-	            // ⭐ 발신자가 아니고 접속 중이 아닌 경우 readYn=false
-	            otherReadCount++;
-	            log.debug("[sendChatMessage] 참여자 읽음 상태 생성 - userId: {}, chatId: {}, readYn: false", 
-	                    participant.getId(), chat.getId());
-	        }
-	        
-	        try {
-	            ChatMessageReadStatus saved = chatMessageReadStatusRepository.save(readStatus);
-	            savedCount++;
-	            log.debug("[sendChatMessage] ChatMessageReadStatus 저장 완료 - userId: {}, chatId: {}, readYn: {}, isNew: {}", 
-	                    participant.getId(), chat.getId(), saved.getReadYn(), isNew);
-	        } catch (Exception e) {
-	            log.error("[sendChatMessage] ChatMessageReadStatus 저장 실패 - userId: {}, chatId: {}, error: {}", 
-	                    participant.getId(), chat.getId(), e.getMessage(), e);
-	            throw e; // 예외를 다시 던져서 트랜잭션 롤백
-	        }
+	    Set<Integer> readUserIds = new HashSet<>(connectedUserIds);
+	    readUserIds.add(sender.getId());
+	    
+	    // ⭐ unreadCount는 발신자/접속자를 제외한 참여자 수로 바로 계산
+	    int unreadCount = (int) participantIds.stream()
+	            .filter(pid -> !readUserIds.contains(pid))
+	            .count();
+	    
+	    // ⭐ 채팅방 목록용 요약 갱신 (마지막 메시지 + 안읽은 참여자 unreadCount +1)
+	    chatRoomSummaryService.onMessageSaved(chat, readUserIds);
+	    
+	    if (chatReadWatermarkService.isEnabled()) {
+	        // ⭐ watermark 모드: 메시지별 읽음 row 없이 발신자/접속자의 읽음 위치만 전진 (UPDATE 1번)
+	        chatReadWatermarkService.advanceOnSend(roomId, chat.getSendAt(), chat.getId(), readUserIds);
+	        log.info("[sendChatMessage] watermark 전진 완료 - chatId: {}, 총참여자수: {}, 접속자Ids: {}, unreadCount: {}", 
+	                chat.getId(), participantIds.size(), connectedUserIds, unreadCount);
+	        chat.updateUnreadCount(unreadCount);
+	        chatRepository.flush();
+	        return chat;
 	    }
 	    
-	    // ⭐ 디버깅: 저장 결과 확인
-	    log.info("[sendChatMessage] ChatMessageReadStatus 저장 완료 - chatId: {}, 총참여자수: {}, 저장된row수: {}, 발신자(readYn=true): {}, 접속중(readYn=true): {}, 미접속(readYn=false): {}", 
-	            chat.getId(), participants.size(), savedCount, senderReadCount, connectedReadCount, otherReadCount);
+	    // ⭐ 새 chatId이므로 기존 row 조회/재확인 없이 다중 행 INSERT 한 번으로 저장
+	    // (참여자 N명 기준 조회+저장+재확인 3N번 → INSERT 1번)
+	    int savedCount = chatMessageReadStatusRepository.bulkInsertForNewChat(
+	            chat.getId(), participantIds, readUserIds, LocalDateTime.now());
 	    
-	    // ⭐ 저장된 row 수가 참여자 수와 일치하는지 확인
-	    if (savedCount != participants.size()) {
-	        log.error("[sendChatMessage] ⚠️ 경고: 저장된 row 수가 참여자 수와 일치하지 않습니다! - chatId: {}, 참여자수: {}, 저장된row수: {}", 
-	                chat.getId(), participants.size(), savedCount);
-	    }
-	    
-	    // ⭐ ChatMessageReadStatus 저장 후 즉시 DB에 반영 (flush)
-	    // 이렇게 하면 메시지 전송 후 바로 unreadCount를 계산할 수 있음
-	    chatMessageReadStatusRepository.flush();
+	    log.info("[sendChatMessage] ChatMessageReadStatus 일괄 저장 완료 - chatId: {}, 총참여자수: {}, 저장된row수: {}, 접속자Ids: {}, unreadCount: {}", 
+	            chat.getId(), participantIds.size(), savedCount, connectedUserIds, unreadCount);
 	    
-	    // ⭐ flush 후 실제 DB에 저장된 row 수 확인
-	    // 각 참여자에 대해 row가 생성되었는지 확인
-	    int actualRowCount = 0;
-	    for (ChatRoomUser cru : participants) {
-	        Optional<ChatMessageReadStatus> statusOpt = chatMessageReadStatusRepository
-	                .findByChatIdAndUserId(chat.getId(), cru.getUser().getId());
-	        if (statusOpt.isPresent()) {
-	            actualRowCount++;
-	            ChatMessageReadStatus status = statusOpt.get();
-	            log.debug("[sendChatMessage] DB 확인 - userId: {}, chatId: {}, readYn: {}", 
-	                    cru.getUser().getId(), chat.getId(), status.getReadYn());
-	        } else {
-	            log.error("[sendChatMessage] ⚠️ DB에 row가 없습니다! - userId: {}, chatId: {}", 
-	                    cru.getUser().getId(), chat.getId());
-	        }
-	    }
-	    
-	    log.info("[sendChatMessage] flush 후 실제 DB row 수 확인 - chatId: {}, 실제row수: {}, 예상row수: {}", 
-	            chat.getId(), actualRowCount, participants.size());
-	    
-	    if (actualRowCount != participants.size()) {
-	        log.error("[sendChatMessage] ⚠️ 심각한 문제: flush 후 실제 DB row 수가 참여자 수와 일치하지 않습니다! - chatId: {}, 참여자수: {}, 실제row수: {}", 
-	                chat.getId(), participants.size(), actualRowCount);
-	    }
-	    
-	    // ⭐ unreadCount 계산: 브로드캐스트 직전에 항상 DB에서 최신 값 조회
-	    // 정책: "발신자 + 접속 중인 사용자는 모두 읽음 처리, 나머지는 unread"
-	    // ⭐ 중요: flush 후 실제 DB에서 countUnreadByChatId로 최신 값을 가져와야 함
-	    // 이렇게 해야 race condition 없이 정확한 unreadCount를 브로드캐스트할 수 있음
-	    
-	    // ⭐ ChatMessageReadStatus 저장 및 flush 완료 후, 실제 DB에서 최신 unreadCount 조회
-	    int confirmedUnreadCount = chatMessageReadStatusRepository.countUnreadByChatId(chat.getId());
-	    
-	    // ⭐ 참여자 수 및 접속자 수 확인 (디버깅용)
-	    int totalParticipants = participants.size();
-	    int connectedUsersCount = connectedUserIds.size(); // 현재 접속 중인 사용자 수 (발신자 포함)
-	    
-	    // ⭐ unreadCount는 0 이상이어야 함
-	    if (confirmedUnreadCount < 0) {
-	        log.warn("[sendChatMessage] ⚠️ unreadCount가 음수입니다! - 총참여자수: {}, 접속중인사용자수: {}, unreadCount: {}", 
-	                totalParticipants, connectedUsersCount, confirmedUnreadCount);
-	        confirmedUnreadCount = 0;
+	    if (savedCount != participantIds.size()) {
+	        log.error("[sendChatMessage] ⚠️ 경고: 저장된 row 수가 참여자 수와 일치하지 않습니다! - chatId: {}, 참여자수: {}, 저장된row수: {}", 
+	                chat.getId(), participantIds.size(), savedCount);
 	    }
 	    
-	    log.info("[sendChatMessage] ⭐ unreadCount 최신 DB 조회 (flush 후) - chatId: {}, 총참여자수: {}, 접속중인사용자수: {}, 최신unreadCount: {}", 
-	            chat.getId(), totalParticipants, connectedUsersCount, confirmedUnreadCount);
-	    
-	    // ⭐ Chat 엔티티에 최신 DB 값 설정 - 도메인 메서드 사용
-	    chat.updateUnreadCount(confirmedUnreadCount);
-	    chatRepository.save(chat);
-	    
-	    // ⭐ Chat 엔티티 저장 후 flush (일관성 유지)
+	    // ⭐ Chat 엔티티에 unreadCount 설정 - 도메인 메서드 사용
+	    chat.updateUnreadCount(unreadCount);
 	    chatRepository.flush();
 		
 		return chat;
@@ -536,7 +428,9 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
 	@Override
 	public int countUnreadByChatId(Integer chatId) {
-		return chatMessageReadStatusRepository.countUnreadByChatId(chatId);
+		// ⭐ chat_message.unread_count 컬럼 값 사용 (읽음 처리 시 원자적으로 감소, 스케줄러가 주기적으로 보정)
+		Integer unreadCount = chatRepository.findUnreadCountById(chatId);
+		return unreadCount != null ? unreadCount : 0;
 
 	}
 
@@ -548,152 +442,111 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 	@Transactional(readOnly = true)
     @Override
     public List<ChatRoomSummaryResponseDTO> getChatRoomSummariesByUserId(Integer userId) {
-        // 1. 내가 참여중인 채팅방 ID 목록
-        List<Integer> roomIds = chatRoomUserRepository.findByUserId(userId)
-                .stream()
-                .map(cru -> cru.getChatRoom().getId())
-                .distinct()
+        // ⭐ 방 정보 + 마지막 메시지 + 내 안읽은 수를 chat_room_summary / chat_room_user에서 한 번에 조회
+        return chatRoomSummaryService.findRoomListRows(userId).stream()
+                .map(row -> ChatRoomSummaryResponseDTO.builder()
+                        .roomId((Integer) row[0])
+                        .roomName((String) row[1])
+                        .lastMessageId((Integer) row[2])
+                        .lastMessageContent((String) row[3])
+                        .lastSenderName((String) row[4])
+                        .lastMessageTime((LocalDateTime) row[5])
+                        .unreadCount(row[7] != null ? (Integer) row[7] : 0)
+                        .build())
                 .collect(Collectors.toList());
-
-        // 2. 각 채팅방별 내가 안읽은 메시지 개수 조회
-        List<Object[]> unreadCounts = chatMessageReadStatusRepository.countUnreadByRoomIdForUser(userId);
-        Map<Integer, Integer> unreadCountMap = new HashMap<>();
-        for (Object[] arr : unreadCounts) {
-            unreadCountMap.put((Integer) arr[0], ((Long) arr[1]).intValue());
-        }
-
-        // 3. 각 채팅방의 최신 메시지 조회
-        List<Chat> lastMessages = chatRepository.findLatestMessagesByRoomIds(roomIds);
-        Map<Integer, Chat> lastMessageMap = lastMessages.stream()
-                .collect(Collectors.toMap(
-                        chat -> chat.getChatRoom().getId(),
-                        chat -> chat
-                ));
-
-        // 4. 각 채팅방의 이름 조회
-        Map<Integer, String> roomNameMap = chatRoomRepository.findAllById(roomIds)
-                .stream()
-                .collect(Collectors.toMap(ChatRoom::getId, ChatRoom::getRoomName));
-
-        // 5. 결과 DTO 생성
-        List<ChatRoomSummaryResponseDTO> result = new ArrayList<>();
-        for (Integer roomId : roomIds) {
-            Chat lastMsg = lastMessageMap.get(roomId);
-            result.add(ChatRoomSummaryResponseDTO.builder()
-                    .roomId(roomId)
-                    .roomName(roomNameMap.get(roomId))
-                    .unreadCount(unreadCountMap.getOrDefault(roomId, 0))
-                    .lastMessageId(lastMsg != null ? lastMsg.getId() : null)
-                    .lastMessageContent(lastMsg != null ? lastMsg.getMessageContent() : null)
-                    .lastSenderName(lastMsg != null && lastMsg.getSender() != null ? lastMsg.getSender().getName() : null)
-                    .lastMessageTime(lastMsg != null ? lastMsg.getSendAt() : null)
-                    .build());
-        }
-        return result;
     }
 	
 	// 읽음 업데이트
 	// 채팅방에 참여자가 여러명일 떄, 누군가 메시지를 읽거나 메시지를 또 보내면 chat_message_read_status의 이전 메시지들도 읽음 처리와 읽은 시간 업데이트가 되어야 함
 	// ⭐ 각 메시지의 unreadCount를 -1 감소시키는 로직 추가
 	@Transactional
-	public List<Integer> markMessagesAsRead(Integer roomId, Integer userId) {
+	@Override
+	public Map<Integer, Integer> markMessagesAsRead(Integer roomId, Integer userId) {
 	    log.info("[markMessagesAsRead] 읽음 처리 시작 - roomId: {}, userId: {}", roomId, userId);
 	    
-	    // 1. 해당 채팅방에서 내가 안읽은 메시지 상태 전부 조회
-	    List<ChatMessageReadStatus> unreadStatuses =
-	        chatMessageReadStatusRepository.findUnreadMessagesByRoomIdAndUserId(roomId, userId);
-	    
-	    log.info("[markMessagesAsRead] 안읽은 메시지 수: {}", unreadStatuses.size());
-
-	    // ⭐ 읽음 처리된 메시지 ID 리스트 (unreadCount 업데이트용)
-	    List<Integer> readChatIds = new ArrayList<>();
-
-	    // 2. 상태를 모두 읽음 처리 및 시간 업데이트
-	    for (ChatMessageReadStatus status : unreadStatuses) {
-	    	// 확실히 안읽음 상태일 때만 markRead() 수행
-	    	if (Boolean.FALSE.equals(status.getReadYn()) && status.getReadAt() == null) {
-	    		status.markRead();// 내부적으로 readYn = true, readAt= now로 세팅
-	    		// ⭐ 배포 환경에서 즉시 DB 반영을 위해 saveAndFlush 사용
-	    		ChatMessageReadStatus saved = chatMessageReadStatusRepository.saveAndFlush(status);
-	    		
-	    		log.debug("[markMessagesAsRead] 읽음 처리 완료 - chatId: {}, userId: {}, readYn: {}, readAt: {}", 
-	    		        saved.getChat() != null ? saved.getChat().getId() : null, 
-	    		        saved.getUser() != null ? saved.getUser().getId() : null,
-	    		        saved.getReadYn(), saved.getReadAt());
-	    		
-	    		// ⭐ 읽음 처리된 메시지 ID 추가
-	    		if (status.getChat() != null && status.getChat().getId() != null) {
-	    			readChatIds.add(status.getChat().getId());
-	    		}
-	    	}
-	    	
-	    	// 불일치 row 강제 동기화 (optional)
-	        if (status.getReadAt() != null && Boolean.FALSE.equals(status.getReadYn())) {
-	            status.markRead();
-	            // ⭐ 배포 환경에서 즉시 DB 반영을 위해 saveAndFlush 사용
-	            ChatMessageReadStatus saved = chatMessageReadStatusRepository.saveAndFlush(status);
-	            
-	            log.debug("[markMessagesAsRead] 불일치 상태 동기화 완료 - chatId: {}, userId: {}, readYn: {}, readAt: {}", 
-	                    saved.getChat() != null ? saved.getChat().getId() : null, 
-	                    saved.getUser() != null ? saved.getUser().getId() : null,
-	                    saved.getReadYn(), saved.getReadAt());
-	            
-	            // ⭐ 읽음 처리된 메시지 ID 추가
-	            if (status.getChat() != null && status.getChat().getId() != null) {
-	            	readChatIds.add(status.getChat().getId());
-	            }
+	    // ⭐ watermark 모드: 내 읽음 위치를 채팅방 최신 메시지까지 전진 (메시지별 row 갱신 없음)
+	    if (chatReadWatermarkService.isEnabled()) {
+	        Map<Integer, Integer> unreadCounts = chatReadWatermarkService.markRoomAsRead(roomId, userId);
+	        if (!unreadCounts.isEmpty()) {
+	            chatRoomSummaryService.syncMemberUnreadCount(roomId, userId);
 	        }
+	        log.info("[markMessagesAsRead] watermark 읽음 처리 완료 - roomId: {}, userId: {}, 처리된 메시지 수: {}", 
+	                roomId, userId, unreadCounts.size());
+	        return unreadCounts;
 	    }
 	    
-	    // ⭐ ChatMessageReadStatus 읽음 처리 후 즉시 DB에 반영 (추가 flush로 확실히 반영)
-	    // 배포 환경에서 트랜잭션 커밋 보장
-	    chatMessageReadStatusRepository.flush();
+	    // 1. 해당 채팅방에서 내가 안읽은 메시지 ID만 조회 (엔티티 로딩 없음)
+	    List<Integer> readChatIds = chatMessageReadStatusRepository.findUnreadChatIdsByRoomIdAndUserId(roomId, userId);
+	    if (readChatIds.isEmpty()) {
+	        return Collections.emptyMap();
+	    }
 	    
-	    log.info("[markMessagesAsRead] 읽음 처리된 메시지 수: {}, chatIds: {}", readChatIds.size(), readChatIds);
+	    // 2. UPDATE 한 번으로 읽음 처리 (조회한 메시지만 - 그 사이 도착한 메시지는 제외)
+	    int flipped = chatMessageReadStatusRepository.markMessagesAsReadInRoomForUserIn(roomId, userId, readChatIds, LocalDateTime.now());
 	    
-	    // ⭐ 3. 각 메시지의 unreadCount를 -1 감소시키기 (DB 동기화용, 실제로는 실시간 계산값 사용)
+	    // 3. 각 메시지의 unreadCount를 -1 감소 (UPDATE 한 번으로 원자적 감소)
+	    // ⭐ 같은 사용자의 다른 탭이 동시에 읽음 처리해서 일부만 반영된 경우, 중복 감소 대신 채팅방 단위로 재계산
+	    if (flipped == readChatIds.size()) {
+	        chatRepository.decrementUnreadCounts(readChatIds);
+	    } else {
+	        log.info("[markMessagesAsRead] 동시 읽음 처리 감지 - 조회: {}, 반영: {} → unreadCount 재계산", readChatIds.size(), flipped);
+	        chatRepository.reconcileUnreadCountsByRoomId(roomId);
+	    }
+	    
+	    // 4. 최신 unreadCount를 한 번에 조회 (chatId 오름차순 유지)
+	    Map<Integer, Integer> unreadCounts = new LinkedHashMap<>();
 	    for (Integer chatId : readChatIds) {
-	        Optional<Chat> chatOpt = chatRepository.findById(chatId);
-	        if (chatOpt.isPresent()) {
-	            Chat chat = chatOpt.get();
-	            Integer currentUnreadCount = chat.getUnreadCount() != null ? chat.getUnreadCount() : 0;
-	            // unreadCount가 0보다 클 때만 -1 감소 - 도메인 메서드 사용
-	            if (currentUnreadCount > 0) {
-	                chat.updateUnreadCount(currentUnreadCount - 1);
-	                // ⭐ 배포 환경에서 즉시 DB 반영을 위해 saveAndFlush 사용
-	                chatRepository.saveAndFlush(chat);
-	            }
-	        }
+	        unreadCounts.put(chatId, 0);
+	    }
+	    for (Object[] row : chatRepository.findUnreadCountsByIds(readChatIds)) {
+	        unreadCounts.put((Integer) row[0], row[1] != null ? (Integer) row[1] : 0);
 	    }
 	    
-	    // ⭐ 최종 flush로 모든 변경사항 확실히 반영
-	    chatMessageReadStatusRepository.flush();
-	    chatRepository.flush();
+	    // 5. 채팅방 목록용 내 unreadCount 갱신
+	    chatRoomSummaryService.syncMemberUnreadCount(roomId, userId);
 	    
 	    log.info("[markMessagesAsRead] 읽음 처리 완료 - roomId: {}, userId: {}, 처리된 메시지 수: {}", 
-	            roomId, userId, readChatIds.size());
+	            roomId, userId, unreadCounts.size());
 	    
-	    // ⭐ 읽음 처리된 메시지 ID 리스트 반환 (WebSocket 알림용)
-	    return readChatIds;
+	    // ⭐ 읽음 처리된 메시지별 unreadCount 반환 (WebSocket 알림용)
+	    return unreadCounts;
+	}
+	
+	/**
+	 * 읽음 처리 결과를 채팅방 구독자에게 한 번에 전송
+	 * - 메시지마다 UNREAD_COUNT_UPDATE를 보내던 방식 대신 프레임 1개에 chatId → unreadCount 맵을 담아 전송
+	 */
+	@Override
+	public void sendUnreadCountBatchUpdate(Integer roomId, Integer viewerId, Map<Integer, Integer> unreadCounts) {
+	    if (unreadCounts == null || unreadCounts.isEmpty()) {
+	        return;
+	    }
+	    Map<String, Object> batchUpdate = new HashMap<>();
+	    batchUpdate.put("type", "UNREAD_COUNT_BATCH_UPDATE");
+	    batchUpdate.put("roomId", roomId);
+	    batchUpdate.put("viewerId", viewerId);
+	    batchUpdate.put("unreadCounts", unreadCounts);
+	    
+	    messagingTemplate.convertAndSend("/topic/chat.room." + roomId, batchUpdate);
+	    log.info("[sendUnreadCountBatchUpdate] unreadCount 일괄 업데이트 전송 - roomId: {}, viewerId: {}, 메시지 수: {}", 
+	            roomId, viewerId, unreadCounts.size());
 	}
 
 	/**
 	 * 채팅방에서 현재 접속 중인 인원 id 리스트 반환
-	 * ⭐ 실시간 WebSocket 세션 상태를 기반으로 정확한 접속자 수를 반환
+	 * ⭐ 모든 서버 인스턴스의 접속 상태(PresenceStore)를 기준으로 접속자 수를 반환
 	 * 
-	 * 핵심: afterConnectionClosed에서 userSessions.remove(userId)가 제대로 호출되어야
-	 *       이 메서드가 정확한 실시간 접속자 수를 반환할 수 있음!
+	 * 핵심: afterConnectionClosed에서 chatPresenceRegistry.unregister(session)가 호출되면 즉시 반영되고,
+	 *       해제가 누락된 세션/인스턴스도 heartbeat ttl이 지나면 빠짐
 	 * 
 	 * @param roomId 채팅방 ID
 	 * @return 접속 중인 사용자 ID 목록 (발신자 포함)
 	 */
     @Override
     public List<Integer> getConnectedUserIdsInRoom(Integer roomId) {
-        // ⭐ 순환 참조 방지: ChatWebSocketHandler의 static 메서드를 직접 호출
-        // ChatWebSocketHandler는 ChatRoomService를 주입받고,
-        // ChatRoomServiceImpl은 ChatWebSocketHandler를 주입받으려고 하면 순환 참조 발생
-        // 따라서 static 메서드를 통해 userSessions에 직접 접근
-        List<Integer> connectedUserIds = com.goodee.coreconnect.chat.handler.ChatWebSocketHandler.getConnectedUserIdsInRoomStatic(roomId);
+        // ⭐ 순환 참조 방지: ChatWebSocketHandler 대신 ChatPresenceService를 직접 조회
+        // (roomId 인덱스 기반이므로 전체 세션 순회 없이 O(방 접속자 수), 다른 인스턴스 접속자 포함)
+        List<Integer> connectedUserIds = chatPresenceService.getOnlineMembers(roomId);
         
         log.info("[ChatRoomService.getConnectedUserIdsInRoom] roomId: {}, 접속자수: {}, 접속자Ids: {}", 
                 roomId, connectedUserIds.size(), connectedUserIds);
@@ -709,30 +562,31 @@ public class ChatRoomServiceImpl implements ChatRoomService {
     	List<Integer> connectedUserIds = getConnectedUserIdsInRoom(roomId);
     	log.info("connectedUserIds: {}", connectedUserIds);
     	
+    	// ⭐ watermark 모드: 접속자 watermark를 최신 메시지까지 전진 후 watermark 기준으로 재계산
+    	if (chatReadWatermarkService.isEnabled()) {
+    		ChatReadWatermarkService.ReadPosition latest = chatReadWatermarkService.findLatestPosition(roomId);
+    		if (latest != null) {
+    			chatReadWatermarkService.advanceOnSend(roomId, latest.sentAt(), latest.chatId(), connectedUserIds);
+    		}
+    		int reconciled = chatRepository.reconcileUnreadCountsByWatermarkRoomId(roomId);
+    		for (Integer userId : connectedUserIds) {
+    			chatRoomSummaryService.syncMemberUnreadCount(roomId, userId);
+    		}
+    		log.debug("RoomId {}: watermark 기준 unreadCount 재계산 완료 - 보정된 메시지 수: {}", roomId, reconciled);
+    		return;
+    	}
+    	
     	// 각 접속중인 사용자에 대해 미읽은 메시지 읽음 처리
     	for (Integer userId : connectedUserIds) {
     		chatMessageReadStatusRepository.markMessagesAsReadInRoomForUser(roomId, userId, LocalDateTime.now());
+    		chatRoomSummaryService.syncMemberUnreadCount(roomId, userId);
     	}
     	
     	
-    	// 각 메시지별로 readYn=false인 인원 수 집계
-        List<Object[]> unreadCounts = chatMessageReadStatusRepository.countUnreadByRoomId(roomId);
-        Map<Integer, Integer> unreadCountMap = new HashMap<>();
-        for (Object[] arr : unreadCounts) {
-            Integer chatId = (Integer) arr[0];
-            Integer unreadCount = ((Long) arr[1]).intValue();
-            unreadCountMap.put(chatId, unreadCount);
-        }
-
-        // 모든 메시지를 가져와서 unreadCount 필드를 업데이트
-        List<Chat> allChats = chatRepository.findByChatRoomId(roomId);
-        for (Chat chat : allChats) {
-            Integer count = unreadCountMap.getOrDefault(chat.getId(), 0);
-            chat.updateUnreadCount(count); // 도메인 메서드 사용
-            chatRepository.save(chat);  // DB에 저장/업데이트
-        }
+    	// ⭐ 각 메시지별 unreadCount를 readYn=false 인원 수로 재계산 (값이 어긋난 메시지만 UPDATE 한 번으로 갱신)
+        int reconciled = chatRepository.reconcileUnreadCountsByRoomId(roomId);
 
-        log.debug("RoomId {}: 각 메시지별 unreadCount DB에 저장 완료", roomId);
+        log.debug("RoomId {}: 각 메시지별 unreadCount DB에 저장 완료 - 보정된 메시지 수: {}", roomId, reconciled);
     }
     
 
@@ -740,6 +594,17 @@ public class ChatRoomServiceImpl implements ChatRoomService {
     public List<UnreadNotificationListDTO> getUnreadNotificationsExceptLatest(
         Integer userId, List<NotificationType> allowedTypes) {
 
+        // ⭐ 배지 타입(EMAIL / NOTICE / APPROVAL / SCHEDULE)이면 미읽음 알림 캐시의 최근 알림 요약 사용 (캐시에 없을 때만 DB 조회)
+        if (allowedTypes != null && allowedTypes.size() == UnreadNotificationCache.BADGE_TYPES.size()
+                && allowedTypes.containsAll(UnreadNotificationCache.BADGE_TYPES)) {
+            List<NotificationSummary> recent = unreadNotificationCache.recent(userId);
+            if (recent.size() <= 1) return List.of();
+            return recent.subList(1, recent.size())
+                    .stream()
+                    .map(UnreadNotificationListDTO::from)
+                    .collect(Collectors.toList());
+        }
+
         List<Notification> unreadList = notificationRepository.findUnreadByUserIdAndTypesOrderBySentAtDesc(userId, allowedTypes);
 
         // 디버깅 로그 추가
@@ -757,9 +622,8 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
     @Override
     public ChatResponseDTO saveChatAndReturnDTO(Integer roomId, Integer senderId, String content, int unreadCount) {
+        // ⭐ unreadCount는 sendChatMessage에서 읽음 상태 row와 함께 확정됨 (파라미터 값으로 덮어쓰지 않음)
         Chat chat = sendChatMessage(roomId, senderId, content); // chat 저장
-        // unreadCount 반영 - 도메인 메서드 사용
-        chat.updateUnreadCount(unreadCount);
         // Lazy 필드 강제 초기화(필요시)
         chat.getSender().getName();
         chat.getChatRoom().getId();
@@ -789,6 +653,13 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 	@Transactional
 	@Override
 	public String getUnreadToadMsgForUser(Integer offlineUserId) {
+		if (chatReadWatermarkService.isEnabled()) {
+			List<Chat> unreadChats = chatRepository.fetchUnreadWithSenderByWatermark(offlineUserId);
+			if (unreadChats.isEmpty()) {
+				return null;
+			}
+			return unreadChats.get(0).getSender().getName() + "님으로부터 " + unreadChats.size() + "개의 채팅 메시지가 도착했습니다";
+		}
 		List<ChatMessageReadStatus> unreadMessages = chatMessageReadStatusRepository.fetchUnreadWithSender(offlineUserId);
 	    int unreadChatCount = unreadMessages.size();
 	    if (unreadChatCount > 0) {
@@ -800,6 +671,12 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 	    return null;
 	}
 
+	/** 참여자 전체의 토스트 문구를 한 번에 조회 (참여자마다 getUnreadToadMsgForUser를 호출하지 않음) */
+	@Override
+	public Map<Integer, String> getUnreadToastMsgsForUsers(Collection<Integer> userIds) {
+		return chatRoomSummaryService.buildUnreadToastMessages(userIds);
+	}
+
 	@Override
 	public List<Chat> getChatsWithFilesByRoomId(Integer roomId) {
 		List<Chat> chats = chatRepository.findAllChatsWithFilesByRoomId(roomId);
@@ -811,9 +688,42 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 		return chats;
 	}
 	
+	@Transactional(readOnly = true)
 	@Override
 	public org.springframework.data.domain.Page<Chat> getChatsWithFilesByRoomIdPaged(Integer roomId, org.springframework.data.domain.Pageable pageable) {
-		return chatRepository.findChatsWithFilesByRoomIdPaged(roomId, pageable);
+		org.springframework.data.domain.Page<Chat> chatPage = chatRepository.findChatsWithFilesByRoomIdPaged(roomId, pageable);
+		loadMessageFiles(chatPage.getContent());
+		return chatPage;
+	}
+	
+	@Transactional(readOnly = true)
+	@Override
+	public List<Chat> getChatsWithFilesBefore(Integer roomId, Integer beforeChatId, int limit) {
+		org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0, limit);
+		List<Chat> chats;
+		if (beforeChatId == null) {
+			chats = chatRepository.findLatestChatsByRoomId(roomId, pageable);
+		} else {
+			// ⭐ 커서 chatId의 (sendAt, id)를 기준으로 seek → OFFSET 없이 인덱스 범위만 읽음
+			LocalDateTime cursorSendAt = chatRepository.findSendAtByIdAndRoomId(beforeChatId, roomId);
+			if (cursorSendAt == null) {
+				throw new IllegalArgumentException("채팅방에 없는 메시지 커서: " + beforeChatId);
+			}
+			chats = chatRepository.findChatsBeforeCursor(roomId, cursorSendAt, beforeChatId, pageable);
+		}
+		loadMessageFiles(chats);
+		return chats;
+	}
+	
+	/** 페이지에 포함된 메시지의 파일을 IN 쿼리 한 번으로 로딩 (메시지마다 lazy 로딩하지 않음) */
+	private void loadMessageFiles(List<Chat> chats) {
+		// fileYn이 나중에 갱신되는 다중 파일 메시지도 있으므로 페이지 전체 ID로 조회
+		List<Integer> chatIds = chats.stream()
+				.map(Chat::getId)
+				.collect(Collectors.toList());
+		if (!chatIds.isEmpty()) {
+			chatRepository.findWithFilesByIdIn(chatIds);
+		}
 	}
 
 	@Override
@@ -826,40 +736,18 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
 	@Override
 	public List<ChatRoomListDTO> getChatRoomListWithUnreadCount(Integer userId) {
-	    // 1. 내가 참여하는 채팅방 목록 (ID만 추출)
-	    List<ChatRoomUser> chatRoomUsers = chatRoomUserRepository.findByUserId(userId);
-	    List<ChatRoom> chatRooms = chatRoomUsers.stream()
-	        .map(ChatRoomUser::getChatRoom)
-	        .distinct()
-	        .collect(Collectors.toList());
-	    List<Integer> roomIds = chatRooms.stream()
-	        .map(ChatRoom::getId)
-	        .collect(Collectors.toList());
-
-	    // 2. 각 채팅방별 unread 개수 매핑
-	    List<Object[]> unreadCounts = chatMessageReadStatusRepository.countUnreadMessagesByUserId(userId);
-	    Map<Integer, Long> roomIdToUnreadCount = unreadCounts.stream()
-	        .collect(Collectors.toMap(row -> (Integer)row[0], row -> (Long)row[1]));
-
-	    // 3. 각 채팅방별 마지막 메시지를 쿼리로 batch 조회
-	    List<Chat> lastMessages = chatRepository.findLatestMessageByChatRoomIds(roomIds);
-	    Map<Integer, Chat> roomIdToLastMessage = lastMessages.stream()
-	    		.collect(Collectors.toMap(chat -> chat.getChatRoom().getId(), chat -> chat));
-	    
-	    
-	    // 4. DTO 변환
+	    // ⭐ 페이지 진입마다 호출되는 목록 조회: chat_room_user(user_id) 기준 한 번의 조회
+	    // (마지막 메시지는 chat_room_summary, 안읽은 수는 chat_room_user.unread_count에 저장 시점에 유지됨)
 	    List<ChatRoomListDTO> dtos = new ArrayList<>();
-	    for (ChatRoom room : chatRooms) {
-	        Chat lastMessage = roomIdToLastMessage.get(room.getId());
-	        long unreadCount = roomIdToUnreadCount.getOrDefault(room.getId(), 0L);
+	    for (Object[] row : chatRoomSummaryService.findRoomListRows(userId)) {
 	        ChatRoomListDTO dto = new ChatRoomListDTO();
-	        dto.setRoomId(room.getId());
-	        dto.setRoomName(room.getRoomName());
-	        dto.setLastMessageContent(lastMessage != null ? lastMessage.getMessageContent() : null);
-	        dto.setLasMessageTime(lastMessage != null ? lastMessage.getSendAt() : null);
-	        dto.setLastSenderName(lastMessage != null && lastMessage.getSender() != null ? lastMessage.getSender().getName() : null);
-	        dto.setUnreadCount(unreadCount);
-	        dto.setLastMessageFileYn(lastMessage != null ? lastMessage.getFileYn() : null);
+	        dto.setRoomId((Integer) row[0]);
+	        dto.setRoomName((String) row[1]);
+	        dto.setLastMessageContent((String) row[3]);
+	        dto.setLasMessageTime((LocalDateTime) row[5]);
+	        dto.setLastSenderName((String) row[4]);
+	        dto.setUnreadCount(row[7] != null ? (Integer) row[7] : 0);
+	        dto.setLastMessageFileYn((Boolean) row[6]);
 	        dtos.add(dto);
 	    }
 	    return dtos;
@@ -904,6 +792,8 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 		
 		// 5. ChatRoomUser 삭제
 		chatRoomUserRepository.delete(chatRoomUser);
+		chatReadWatermarkService.evict(roomId);
+		chatParticipantCache.invalidate(roomId);
 		
 		// 6. WebSocket으로 나가기 메시지 브로드캐스트
 		if (leaveChat != null) {
@@ -0,0 +1,125 @@
+package com.goodee.coreconnect.chat.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.goodee.coreconnect.chat.entity.Chat;
+import com.goodee.coreconnect.chat.repository.ChatMessageReadStatusRepository;
+import com.goodee.coreconnect.chat.repository.ChatRepository;
+import com.goodee.coreconnect.chat.repository.ChatRoomSummaryRepository;
+import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChatRoomSummaryService (채팅방 목록용 요약 유지)
+ *
+ * - 메시지 저장 시: chat_room_summary의 마지막 메시지 갱신 + 안읽은 참여자의 chat_room_user.unread_count +1
+ * - 읽음 처리 시: 해당 참여자의 unread_count를 다시 세어 설정
+ * - 채팅방 목록은 chat_room_user ⋈ chat_room ⋈ chat_room_summary 한 번의 조회로 만들어짐
+ *   (방마다 MAX(sendAt) 서브쿼리 / chat_message_read_status GROUP BY 불필요)
+ * - 새 메시지 토스트 문구도 참여자 전체를 한 번에 조회해 만듦 (참여자마다 안읽은 메시지 전체를 읽지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomSummaryService {
+
+	private final ChatRoomSummaryRepository chatRoomSummaryRepository;
+	private final ChatRoomUserRepository chatRoomUserRepository;
+	private final ChatMessageReadStatusRepository chatMessageReadStatusRepository;
+	private final ChatRepository chatRepository;
+	private final ChatReadWatermarkService chatReadWatermarkService;
+
+	/**
+	 * 새 메시지 저장 후 호출 (sendChatMessage와 같은 트랜잭션)
+	 * @param readUserIds 메시지를 바로 읽은 것으로 처리된 사용자 (발신자 + 접속자)
+	 */
+	@Transactional
+	public void onMessageSaved(Chat chat, Collection<Integer> readUserIds) {
+		String senderName = chat.getSender() != null ? chat.getSender().getName() : null;
+		onMessageSaved(chat.getChatRoom().getId(), chat.getId(), chat.getMessageContent(), senderName,
+				chat.getSendAt(), chat.getFileYn(), readUserIds);
+	}
+
+	/** 엔티티 없이 저장된 메시지 (write-behind 일괄 저장) */
+	@Transactional
+	public void onMessageSaved(Integer roomId, Integer chatId, String content, String senderName, LocalDateTime sendAt,
+			Boolean fileYn, Collection<Integer> readUserIds) {
+		chatRoomSummaryRepository.upsertLastMessage(roomId, chatId, content, senderName, sendAt, fileYn);
+
+		int incremented = readUserIds.isEmpty() ? 0 : chatRoomUserRepository.incrementUnreadCounts(roomId, readUserIds);
+		log.debug("[ChatRoomSummaryService.onMessageSaved] roomId: {}, chatId: {}, unread +1 참여자 수: {}", roomId, chatId, incremented);
+	}
+
+	/** 마지막 메시지의 내용/파일 여부가 바뀐 경우 요약에도 반영 (마지막 메시지가 아니면 무시) */
+	@Transactional
+	public void onMessageUpdated(Chat chat) {
+		onMessageUpdated(chat.getChatRoom().getId(), chat.getId(), chat.getMessageContent(), chat.getFileYn());
+	}
+
+	/** 엔티티 없이 바뀐 값만 반영 (다중 파일 업로드 종료 등) */
+	@Transactional
+	public void onMessageUpdated(Integer roomId, Integer chatId, String content, Boolean fileYn) {
+		chatRoomSummaryRepository.updateLastMessageIfLatest(roomId, chatId, content, fileYn);
+	}
+
+	/** 읽음 처리 후 해당 참여자의 안읽은 메시지 수를 다시 세어 반영 (방 1개 × 사용자 1명 COUNT) */
+	@Transactional
+	public void syncMemberUnreadCount(Integer roomId, Integer userId) {
+		int unreadCount = chatReadWatermarkService.isEnabled()
+				? chatRepository.countUnreadByWatermark(userId, roomId)
+				: chatMessageReadStatusRepository.countByUserIdAndChatRoomIdAndReadYnFalse(userId, roomId);
+		chatRoomUserRepository.updateUnreadCount(roomId, userId, unreadCount);
+	}
+
+	/**
+	 * 내 채팅방 목록 행 조회
+	 * 결과: roomId, roomName, lastMessageId, lastMessageContent, lastSenderName, lastMessageTime, lastMessageFileYn, unreadCount
+	 */
+	@Transactional(readOnly = true)
+	public List<Object[]> findRoomListRows(Integer userId) {
+		return chatRoomSummaryRepository.findRoomListRowsByUserId(userId);
+	}
+
+	/**
+	 * 여러 사용자의 안읽은 메시지 토스트 문구를 한 번에 생성 (쿼리 1번)
+	 * - 안읽은 메시지 수: 참여 중인 채팅방 unread_count 합계
+	 * - 발신자: 안읽은 메시지가 있는 채팅방 중 가장 최근 메시지의 발신자
+	 * @return userId → "OO님으로부터 N개의 채팅 메시지가 도착했습니다" (안읽은 메시지가 없는 사용자는 제외)
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, String> buildUnreadToastMessages(Collection<Integer> userIds) {
+		Map<Integer, String> toastMessages = new HashMap<>();
+		if (userIds == null || userIds.isEmpty()) {
+			return toastMessages;
+		}
+
+		Map<Integer, Integer> unreadTotals = new HashMap<>();
+		Map<Integer, Object[]> latestRows = new HashMap<>();
+		for (Object[] row : chatRoomSummaryRepository.findUnreadRoomRowsByUserIdIn(userIds)) {
+			Integer userId = (Integer) row[0];
+			unreadTotals.merge(userId, row[1] != null ? (Integer) row[1] : 0, Integer::sum);
+			latestRows.merge(userId, row, (prev, cur) -> isAfter((LocalDateTime) cur[3], (LocalDateTime) prev[3]) ? cur : prev);
+		}
+
+		unreadTotals.forEach((userId, total) -> {
+			String senderName = (String) latestRows.get(userId)[2];
+			if (total > 0 && senderName != null) {
+				toastMessages.put(userId, senderName + "님으로부터 " + total + "개의 채팅 메시지가 도착했습니다");
+			}
+		});
+		return toastMessages;
+	}
+
+	private static boolean isAfter(LocalDateTime a, LocalDateTime b) {
+		return a != null && (b == null || a.isAfter(b));
+	}
+}
@@ -0,0 +1,179 @@
+package com.goodee.coreconnect.common.bus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MessageBus 공통 구현 (배치 전송 + 노드별 중복 제거)
+ *
+ * - publish는 outbox에 쌓기만 하고, 전송 스레드 1개가 flushIntervalMs마다(또는 maxBatchSize가 차면 즉시)
+ *   채널별로 묶어서 transmit 1번으로 전송 → 메시지마다 네트워크 왕복하지 않음, 채널 내 발행 순서 유지
+ * - 수신 시 자기 노드가 발행한 메시지는 건너뛰고(이미 로컬 전송 완료), 이미 받은 메시지 id도 건너뜀
+ */
+@Slf4j
+public abstract class AbstractMessageBus implements MessageBus {
+
+	/** 최근 수신한 메시지 id 보관 개수 (중복 제거용) */
+	private static final int DEDUP_CAPACITY = 10_000;
+
+	private final String nodeId;
+	private final int maxBatchSize;
+	private final long flushIntervalMs;
+
+	private final Map<String, List<Consumer<BusMessage>>> listeners = new ConcurrentHashMap<>();
+
+	private record Outbound(String channel, BusMessage message) {}
+
+	private final Queue<Outbound> outbox = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger outboxSize = new AtomicInteger();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	/** 최근 수신 메시지 id (접근 순서 LRU) */
+	private final Map<String, Boolean> seenIds = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > DEDUP_CAPACITY;
+		}
+	});
+
+	private final ScheduledExecutorService flusher;
+
+	private final AtomicLong publishedMessages = new AtomicLong();
+	private final AtomicLong transmittedBatches = new AtomicLong();
+	private final AtomicLong receivedMessages = new AtomicLong();
+	private final AtomicLong duplicateMessages = new AtomicLong();
+
+	/** 버스 지표 */
+	public record BusStats(long publishedMessages, long transmittedBatches, long receivedMessages, long duplicateMessages) {}
+
+	protected AbstractMessageBus(String nodeId, int maxBatchSize, long flushIntervalMs) {
+		this.nodeId = nodeId != null && !nodeId.isBlank() ? nodeId : UUID.randomUUID().toString();
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		this.flushIntervalMs = Math.max(0, flushIntervalMs);
+		this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "message-bus-" + this.nodeId.substring(0, Math.min(8, this.nodeId.length())));
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/** 채널로 배치 1개 전송 (flush 스레드에서만 호출됨) */
+	protected abstract void transmit(String channel, List<BusMessage> batch) throws Exception;
+
+	/** 채널을 처음 구독할 때 호출 (Redis 채널 구독 등) */
+	protected void onFirstSubscribe(String channel) {
+	}
+
+	@Override
+	public String nodeId() {
+		return nodeId;
+	}
+
+	@Override
+	public void publish(String channel, BusMessage message) {
+		if (channel == null || message == null) {
+			return;
+		}
+		outbox.add(new Outbound(channel, message.withOrigin(nodeId)));
+		publishedMessages.incrementAndGet();
+
+		if (outboxSize.incrementAndGet() >= maxBatchSize) {
+			flusher.execute(this::flush);
+		} else if (flushScheduled.compareAndSet(false, true)) {
+			flusher.schedule(this::flush, flushIntervalMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void subscribe(String channel, Consumer<BusMessage> listener) {
+		boolean[] first = { false };
+		listeners.computeIfAbsent(channel, c -> {
+			first[0] = true;
+			return new CopyOnWriteArrayList<>();
+		}).add(listener);
+		if (first[0]) {
+			onFirstSubscribe(channel);
+		}
+	}
+
+	/** outbox를 채널별 배치로 묶어서 전송 */
+	private void flush() {
+		flushScheduled.set(false);
+		Map<String, List<BusMessage>> byChannel = new LinkedHashMap<>();
+		Outbound outbound;
+		while ((outbound = outbox.poll()) != null) {
+			outboxSize.decrementAndGet();
+			byChannel.computeIfAbsent(outbound.channel(), c -> new ArrayList<>()).add(outbound.message());
+		}
+
+		byChannel.forEach((channel, messages) -> {
+			for (int from = 0; from < messages.size(); from += maxBatchSize) {
+				List<BusMessage> batch = messages.subList(from, Math.min(from + maxBatchSize, messages.size()));
+				try {
+					transmit(channel, new ArrayList<>(batch));
+					transmittedBatches.incrementAndGet();
+				} catch (Exception e) {
+					log.warn("[MessageBus] 배치 전송 실패 - channel: {}, 메시지 수: {}, error: {}", channel, batch.size(), e.getMessage());
+				}
+			}
+		});
+	}
+
+	/** 다른 노드에서 받은 배치 처리 (자기 메시지 / 중복 메시지 제외) */
+	protected void onReceive(String channel, List<BusMessage> batch) {
+		List<Consumer<BusMessage>> channelListeners = listeners.get(channel);
+		if (batch == null || channelListeners == null) {
+			return;
+		}
+		for (BusMessage message : batch) {
+			if (nodeId.equals(message.origin())) {
+				continue;
+			}
+			if (message.id() != null && seenIds.put(message.id(), Boolean.TRUE) != null) {
+				duplicateMessages.incrementAndGet();
+				continue;
+			}
+			receivedMessages.incrementAndGet();
+			for (Consumer<BusMessage> listener : channelListeners) {
+				try {
+					listener.accept(message);
+				} catch (Exception e) {
+					log.warn("[MessageBus] 메시지 처리 실패 - channel: {}, id: {}, error: {}", channel, message.id(), e.getMessage());
+				}
+			}
+		}
+	}
+
+	/** 남은 메시지를 전송하고 종료 */
+	public void shutdown() {
+		try {
+			flusher.submit(this::flush).get(1, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			log.warn("[MessageBus] 종료 전 flush 실패: {}", e.getMessage());
+		}
+		flusher.shutdown();
+	}
+
+	public BusStats stats() {
+		return new BusStats(publishedMessages.get(), transmittedBatches.get(), receivedMessages.get(), duplicateMessages.get());
+	}
+}
@@ -0,0 +1,51 @@
+package com.goodee.coreconnect.common.bus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * MessageBus로 전달되는 메시지 (불변)
+ * - id: 중복 수신 제거용 (노드별 dedup)
+ * - origin: 발행한 노드 ID (자기 메시지는 수신하지 않음)
+ * - destination: STOMP destination (예: /topic/chat.room.1)
+ * - roomId / userId / userIds: 채팅방, 대상 사용자
+ * - online: 접속 상태 변경 메시지에서 접속(true)/해제(false)
+ * - contentType / payload: 이미 직렬화된 본문 (수신 노드에서 다시 직렬화하지 않음)
+ */
+public record BusMessage(String id, String origin, String destination, Integer roomId, Integer userId,
+		List<Integer> userIds, Boolean online, String contentType, String payload) {
+
+	/** STOMP 브로커 destination으로 보낼 메시지 */
+	public static BusMessage stomp(String destination, String contentType, String payload) {
+		return new BusMessage(newId(), null, destination, null, null, null, null, contentType, payload);
+	}
+
+	/** 특정 사용자들의 세션으로 보낼 메시지 (roomId는 선택) */
+	public static BusMessage toUsers(Integer roomId, List<Integer> userIds, String payload) {
+		return new BusMessage(newId(), null, null, roomId, null, List.copyOf(userIds), null, null, payload);
+	}
+
+	/** 채팅방 접속 상태 변경 */
+	public static BusMessage presence(Integer roomId, Integer userId, boolean online) {
+		return new BusMessage(newId(), null, null, roomId, userId, null, online, null, null);
+	}
+
+	/** 채팅방 접속자 heartbeat (발행 노드에서 접속 중인 사용자 목록) */
+	public static BusMessage heartbeat(Integer roomId, List<Integer> userIds) {
+		return new BusMessage(newId(), null, null, roomId, null, List.copyOf(userIds), Boolean.TRUE, null, null);
+	}
+
+	/** 채팅방 단위 캐시 무효화 (참여자 변경 등) */
+	public static BusMessage roomChanged(Integer roomId) {
+		return new BusMessage(newId(), null, null, roomId, null, null, null, null, null);
+	}
+
+	/** 발행 노드 ID를 채운 복사본 */
+	public BusMessage withOrigin(String nodeId) {
+		return new BusMessage(id, nodeId, destination, roomId, userId, userIds, online, contentType, payload);
+	}
+
+	private static String newId() {
+		return UUID.randomUUID().toString();
+	}
+}
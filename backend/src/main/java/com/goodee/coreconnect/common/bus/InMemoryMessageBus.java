@@ -0,0 +1,64 @@
+package com.goodee.coreconnect.common.bus;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * InMemoryMessageBus (기본 구현, chat.bus.type=memory)
+ *
+ * - 같은 Hub에 연결된 버스끼리만 메시지를 주고받음 (단일 인스턴스 운영 / 테스트용)
+ * - 기본 Hub는 JVM 전역이므로 한 JVM에 애플리케이션 컨텍스트를 2개 띄우면 서로 다른 노드처럼 동작
+ */
+@Component
+@ConditionalOnProperty(name = "chat.bus.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryMessageBus extends AbstractMessageBus {
+
+	/** 버스 간 전달 허브 (Redis 채널 역할) */
+	public static final class Hub {
+		/** JVM 전역 기본 허브 */
+		public static final Hub SHARED = new Hub();
+
+		private final Set<InMemoryMessageBus> members = new CopyOnWriteArraySet<>();
+
+		private void dispatch(String channel, List<BusMessage> batch) {
+			for (InMemoryMessageBus member : members) {
+				member.onReceive(channel, batch);
+			}
+		}
+	}
+
+	private final Hub hub;
+
+	@Autowired
+	public InMemoryMessageBus(@Value("${chat.bus.node-id:}") String nodeId,
+	                          @Value("${chat.bus.max-batch-size:100}") int maxBatchSize,
+	                          @Value("${chat.bus.flush-interval-ms:5}") long flushIntervalMs) {
+		this(Hub.SHARED, nodeId, maxBatchSize, flushIntervalMs);
+	}
+
+	public InMemoryMessageBus(Hub hub, String nodeId, int maxBatchSize, long flushIntervalMs) {
+		super(nodeId, maxBatchSize, flushIntervalMs);
+		this.hub = hub;
+		hub.members.add(this);
+	}
+
+	@Override
+	protected void transmit(String channel, List<BusMessage> batch) {
+		hub.dispatch(channel, List.copyOf(batch));
+	}
+
+	@PreDestroy
+	@Override
+	public void shutdown() {
+		super.shutdown();
+		hub.members.remove(this);
+	}
+}
@@ -0,0 +1,22 @@
+package com.goodee.coreconnect.common.bus;
+
+import java.util.function.Consumer;
+
+/**
+ * MessageBus (서버 인스턴스 간 pub/sub)
+ *
+ * - 여러 백엔드 인스턴스가 채팅방 브로드캐스트 / 사용자별 전송 / 접속 상태 변경을 서로 전달하기 위한 추상화
+ * - 구현: InMemoryMessageBus (기본, 같은 JVM 안에서만 전달) / RedisMessageBus (chat.bus.type=redis)
+ * - 발행한 노드는 이미 로컬 전송을 마친 상태이므로, 자기 자신이 발행한 메시지는 다시 받지 않음
+ */
+public interface MessageBus {
+
+	/** 채널에 메시지 발행 (비동기, 배치로 모아서 전송될 수 있음) */
+	void publish(String channel, BusMessage message);
+
+	/** 채널 구독 (다른 노드가 발행한 메시지만 전달됨) */
+	void subscribe(String channel, Consumer<BusMessage> listener);
+
+	/** 현재 노드 ID */
+	String nodeId();
+}
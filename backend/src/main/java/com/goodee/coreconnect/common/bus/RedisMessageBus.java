@@ -0,0 +1,85 @@
+package com.goodee.coreconnect.common.bus;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RedisMessageBus (chat.bus.type=redis)
+ *
+ * - 배치(JSON 배열) 1개를 Redis 채널 메시지 1개로 PUBLISH → 여러 백엔드 인스턴스가 같은 채널을 구독
+ * - 연결 정보는 spring.data.redis.* (Spring Boot 자동 설정 RedisConnectionFactory / StringRedisTemplate 사용)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.bus.type", havingValue = "redis")
+public class RedisMessageBus extends AbstractMessageBus {
+
+	private static final TypeReference<List<BusMessage>> BATCH_TYPE = new TypeReference<>() {};
+
+	private final StringRedisTemplate redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+	private final String channelPrefix;
+
+	public RedisMessageBus(StringRedisTemplate redisTemplate,
+	                       RedisConnectionFactory connectionFactory,
+	                       ObjectMapper objectMapper,
+	                       @Value("${chat.bus.node-id:}") String nodeId,
+	                       @Value("${chat.bus.max-batch-size:100}") int maxBatchSize,
+	                       @Value("${chat.bus.flush-interval-ms:5}") long flushIntervalMs,
+	                       @Value("${chat.bus.redis.channel-prefix:coreconnect:bus:}") String channelPrefix) {
+		super(nodeId, maxBatchSize, flushIntervalMs);
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.channelPrefix = channelPrefix;
+		this.listenerContainer.setConnectionFactory(connectionFactory);
+	}
+
+	@PostConstruct
+	public void start() {
+		listenerContainer.afterPropertiesSet();
+		listenerContainer.start();
+		log.info("[RedisMessageBus] 시작 - nodeId: {}, channelPrefix: {}", nodeId(), channelPrefix);
+	}
+
+	@PreDestroy
+	@Override
+	public void shutdown() {
+		super.shutdown();
+		try {
+			listenerContainer.destroy();
+		} catch (Exception e) {
+			log.warn("[RedisMessageBus] 리스너 컨테이너 종료 실패: {}", e.getMessage());
+		}
+	}
+
+	@Override
+	protected void transmit(String channel, List<BusMessage> batch) throws Exception {
+		redisTemplate.convertAndSend(channelPrefix + channel, objectMapper.writeValueAsString(batch));
+	}
+
+	@Override
+	protected void onFirstSubscribe(String channel) {
+		listenerContainer.addMessageListener((message, pattern) -> {
+			try {
+				onReceive(channel, objectMapper.readValue(message.getBody(), BATCH_TYPE));
+			} catch (Exception e) {
+				log.warn("[RedisMessageBus] 메시지 역직렬화 실패 - channel: {}, error: {}", channel, e.getMessage());
+			}
+		}, new ChannelTopic(channelPrefix + channel));
+	}
+}
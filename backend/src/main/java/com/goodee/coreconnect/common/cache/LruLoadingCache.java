@@ -0,0 +1,161 @@
+package com.goodee.coreconnect.common.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LruLoadingCache (조회 시 로딩하는 메모리 캐시, ChatParticipantCache / UnreadNotificationCache 공통)
+ *
+ * - 접근 순서 LinkedHashMap: 상한(maxSize) 초과 시 가장 오래 조회되지 않은 항목 1개 제거 (O(1))
+ * - ttl이 지났거나 usable 조건을 만족하지 않으면 다시 로딩
+ * - 세대(generation): 무효화 / 변경마다 증가, 로딩 시작 후 바뀌었으면 로딩 결과를 캐시하지 않음 (오래된 값 방지)
+ * - invalidate: 트랜잭션 안이면 커밋/롤백 후에도 한 번 더 제거하고 그때 다른 인스턴스에 알림
+ *   (커밋 전 상태를 다른 스레드가 다시 캐시하지 않도록)
+ * - hit / miss / 무효화 수 집계, logMetrics로 주기 로그
+ */
+@Slf4j
+public class LruLoadingCache<K, V> {
+
+	/** 캐시 통계 (hit / miss / 무효화 / 캐시된 항목 수) */
+	public record Stats(long hits, long misses, long invalidations, int size) {
+		public double hitRate() {
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+
+	private record Entry<V>(V value, long loadedAt) {}
+
+	private final String name;
+	private final String sizeLabel;
+	private final long ttlMs;
+	private final Map<K, Entry<V>> entries;
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+	private long lastLoggedHits;
+	private long lastLoggedMisses;
+
+	/**
+	 * @param name 로그에 쓰는 캐시 이름
+	 * @param sizeLabel 로그에 쓰는 항목 이름 (채팅방 / 사용자 등)
+	 */
+	public LruLoadingCache(String name, String sizeLabel, long ttlMs, int maxSize) {
+		this.name = name;
+		this.sizeLabel = sizeLabel;
+		this.ttlMs = ttlMs;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/** ttl 안에 있고 usable을 만족하면 캐시 값, 아니면 loader로 로딩 (loader는 lock 밖에서 실행) */
+	public V get(K key, Predicate<V> usable, Function<K, V> loader) {
+		Entry<V> entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		if (entry != null && System.currentTimeMillis() - entry.loadedAt() < ttlMs && usable.test(entry.value())) {
+			hits.increment();
+			return entry.value();
+		}
+		misses.increment();
+		long loadingGeneration = generation.get();
+		V value = loader.apply(key);
+		synchronized (entries) {
+			if (generation.get() == loadingGeneration) {
+				entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+			}
+		}
+		return value;
+	}
+
+	public V get(K key, Function<K, V> loader) {
+		return get(key, value -> true, loader);
+	}
+
+	/** 캐시된 값 (ttl 무관, 없으면 null, 로딩 / 통계 없음) - 캐시된 항목만 직접 갱신할 때 사용 */
+	public V getIfPresent(K key) {
+		synchronized (entries) {
+			Entry<V> entry = entries.get(key);
+			return entry != null ? entry.value() : null;
+		}
+	}
+
+	/** 진행 중인 로딩 결과를 버리게 함 (캐시된 항목을 직접 갱신하는 변경 전후에 호출) */
+	public void bumpGeneration() {
+		generation.incrementAndGet();
+	}
+
+	/** 이 인스턴스에서만 제거 (다른 인스턴스의 무효화 메시지를 받았을 때) */
+	public void evict(K key) {
+		generation.incrementAndGet();
+		synchronized (entries) {
+			entries.remove(key);
+		}
+		invalidations.increment();
+	}
+
+	/**
+	 * 원본 변경 후 호출: 지금 제거 + 트랜잭션 안이면 종료 후 한 번 더 제거
+	 * @param publish 다른 인스턴스에 무효화 알림 (트랜잭션 안이면 종료 후, 아니면 바로)
+	 */
+	public void invalidate(Collection<K> keys, Runnable publish) {
+		List<K> ids = List.copyOf(keys);
+		ids.forEach(this::evict);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					ids.forEach(LruLoadingCache.this::evict);
+					publish.run();
+				}
+			});
+		} else {
+			publish.run();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public Stats snapshot() {
+		return new Stats(hits.sum(), misses.sum(), invalidations.sum(), size());
+	}
+
+	/** 직전 로그 이후 조회가 있었으면 hit률 로그 (@Scheduled 메서드에서 호출) */
+	public synchronized void logMetrics() {
+		Stats stats = snapshot();
+		long hitDelta = stats.hits() - lastLoggedHits;
+		long missDelta = stats.misses() - lastLoggedMisses;
+		lastLoggedHits = stats.hits();
+		lastLoggedMisses = stats.misses();
+		if (hitDelta + missDelta == 0) {
+			return;
+		}
+		log.info("[{}] 최근 조회: {}, hit률: {}%, 누적 hit률: {}%, 무효화: {}, 캐시된 {}: {}",
+				name, hitDelta + missDelta, Math.round(hitDelta * 1000.0 / (hitDelta + missDelta)) / 10.0,
+				Math.round(stats.hitRate() * 1000) / 10.0, stats.invalidations(), sizeLabel, stats.size());
+	}
+}
@@ -58,6 +58,7 @@ public class NotificationController {
         String senderName = sender.getName();
 
         notificationService.sendNotification(
+	         NotificationService.manualEventKey(senderId, dto.getRequestId()),
 	         dto.getRecipientId(),
 	         dto.getType(),
 	         dto.getMessage(),
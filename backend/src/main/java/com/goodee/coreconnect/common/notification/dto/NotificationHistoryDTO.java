@@ -0,0 +1,12 @@
+package com.goodee.coreconnect.common.notification.dto;
+
+import java.time.LocalDateTime;
+
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+
+/**
+ * 알림 내역 1건 (GET /notifications/history 커서 페이징 항목)
+ * - 읽음 여부 포함, 연관 엔티티는 ID만 (Notification 엔티티를 로딩하지 않고 projection으로 조회)
+ */
+public record NotificationHistoryDTO(Integer id, String message, NotificationType notificationType, String senderName,
+		LocalDateTime sentAt, Boolean readYn, Integer documentId, Integer boardId, Integer scheduleId) {}
@@ -23,6 +23,8 @@ public class NotificationPayload {
     private String message;
     private String notificationType;
     private LocalDateTime createdAt;
+    private Integer boardId;    // NOTICE 알림의 게시글 ID
+    private Integer scheduleId; // SCHEDULE 알림의 일정 ID
   
 	
 	
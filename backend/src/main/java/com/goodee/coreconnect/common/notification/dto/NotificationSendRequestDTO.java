@@ -17,4 +17,6 @@ public class NotificationSendRequestDTO {
     private String message;
     private Integer chatId;
     private Integer roomId;
+    /** 클라이언트 요청 ID (재전송 시 같은 값이면 알림 1번만 전달) */
+    private String requestId;
 }
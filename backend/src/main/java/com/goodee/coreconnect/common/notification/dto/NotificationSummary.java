@@ -0,0 +1,21 @@
+package com.goodee.coreconnect.common.notification.dto;
+
+import java.time.LocalDateTime;
+
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+
+/**
+ * 미읽음 알림 요약 1건 (UnreadNotificationCache의 최근 알림 목록 항목)
+ * - 배지 / 팝오버 / 미읽음 목록에 필요한 값만 보관 (Notification 엔티티 연관관계를 로딩하지 않음)
+ */
+public record NotificationSummary(Integer notificationId, String message, String senderName, String receiverName,
+		LocalDateTime sentAt, NotificationType type, Integer documentId, Integer boardId, Integer scheduleId) {
+
+	/** 방금 저장 / 전송한 알림 payload → 요약 */
+	public static NotificationSummary from(NotificationPayload payload) {
+		return new NotificationSummary(payload.getNotificationId(), payload.getMessage(), payload.getSenderName(),
+				payload.getReceiverName(), payload.getCreatedAt(),
+				payload.getNotificationType() != null ? NotificationType.valueOf(payload.getNotificationType()) : null,
+				null, payload.getBoardId(), payload.getScheduleId());
+	}
+}
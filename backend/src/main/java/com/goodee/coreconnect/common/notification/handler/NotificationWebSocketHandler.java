@@ -1,7 +1,5 @@
 package com.goodee.coreconnect.common.notification.handler;
 
-import java.util.List;
-
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
@@ -13,9 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.goodee.coreconnect.common.notification.enums.NotificationType;
 import com.goodee.coreconnect.common.notification.service.NotificationService;
 import com.goodee.coreconnect.common.notification.service.WebSocketDeliveryService;
-import com.goodee.coreconnect.security.jwt.JwtProvider;
-import com.goodee.coreconnect.user.entity.User;
-import com.goodee.coreconnect.user.repository.UserRepository;
+import com.goodee.coreconnect.config.WebSocketSessionUser;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,43 +22,24 @@ import lombok.extern.slf4j.Slf4j;
 public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
     private final NotificationService notificationService;
-    private final JwtProvider jwtProvider;
-    private final UserRepository userRepository;
     private final WebSocketDeliveryService webSocketDeliveryService;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * 클라이언트(WebSocket) 연결 시 호출
+     * - WebSocketAuthInterceptor가 핸드셰이크 시 인증/사용자 조회를 마치고 WebSocketSessionUser를 저장해 둠
      */
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        String token = (String) session.getAttributes().get("access_token");
-        if (token == null || token.trim().isEmpty()) {
-            log.warn("[NotificationWebSocketHandler] access_token 없음! 소켓 종료");
+        WebSocketSessionUser user = WebSocketSessionUser.from(session);
+        if (user == null) {
+            log.warn("[NotificationWebSocketHandler] 세션에 인증 사용자 없음! 소켓 종료");
             session.close();
             return;
         }
-        try {
-            String email = jwtProvider.getSubject(token);
-            if (email == null || email.trim().isEmpty()) {
-                log.warn("[NotificationWebSocketHandler] JWT에서 이메일(subject) 추출 실패, 소켓 종료");
-                session.close();
-                return;
-            }
-            User user = userRepository.findByEmail(email).orElse(null);
-            if (user != null) {
-                webSocketDeliveryService.registerSession(user.getId(), session);
-                session.getAttributes().put("userId", user.getId());
-                log.info("[NotificationWebSocketHandler] 세션 등록 성공: userId={}, sessionId={}", user.getId(), session.getId());
-            } else {
-                log.warn("[NotificationWebSocketHandler] email '{}'에 해당하는 사용자가 없음. 세션 종료.", email);
-                session.close();
-            }
-        } catch (Exception e) {
-            log.warn("[NotificationWebSocketHandler] JWT 파싱 실패: {}. 세션 종료.", e.getMessage());
-            session.close();
-        }
+        webSocketDeliveryService.registerSession(user.userId(), session);
+        log.info("[NotificationWebSocketHandler] 세션 등록 성공: userId={}, sessionId={}", user.userId(), session.getId());
     }
 
     /**
@@ -70,12 +47,9 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
      */
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        // 보다 정확하게: 세션 attribute에서 userId 추출
-        Integer userId = (Integer) session.getAttributes().get("userId");
-        if (userId == null) {
-            // 백업: JWT에서 추출(cf. 아래 헬퍼 참고)
-            userId = getUserIdFromSession(session);
-        }
+        // 세션 attribute의 인증 사용자에서 userId 추출
+        WebSocketSessionUser user = WebSocketSessionUser.from(session);
+        Integer userId = user != null ? user.userId() : null;
         // 정확하게 해당 세션만 해제!
         if (userId != null) {
             webSocketDeliveryService.unregisterSession(userId, session);
@@ -94,11 +68,9 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
     	 // 메시지(JSON) 파싱
         JsonNode node = objectMapper.readTree(message.getPayload());
 
-        // 송신자 ID 추출 (attribute → fallback)
-        Integer senderId = (Integer) session.getAttributes().get("userId");
-        if (senderId == null) {
-            senderId = getUserIdFromSession(session);
-        }
+        // 송신자 (핸드셰이크 시 저장된 인증 사용자)
+        WebSocketSessionUser sender = WebSocketSessionUser.from(session);
+        Integer senderId = sender != null ? sender.userId() : null;
 
         // 수신자, 알림 타입, 메시지 내용 추출
         Integer recipientId = node.has("recipientId") ? node.get("recipientId").asInt() : null;
@@ -121,61 +93,12 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
-        // 송신자 이름 조회
-        String senderName = null;
-        if (senderId != null) {
-            User user = userRepository.findById(senderId).orElse(null);
-            senderName = user != null ? user.getName() : null;
-        }
+        // 송신자 이름 (DB 조회 없음)
+        String senderName = sender.name();
 
         // 알림 저장 + 실시간 푸시는 NotificationService에서 일원화
-        notificationService.sendNotification(recipientId, type, msg, null, null, senderId, senderName, null);
-    }
-
-    /**
-     * WebSocketSession에서 JWT 토큰을 파싱하여 사용자 ID 추출 (백업용)
-     */
-    private Integer getUserIdFromSession(WebSocketSession session) {
-        // 1. Attribute에 userId가 우선 저장돼 있으면 사용
-        Object attr = session.getAttributes().get("userId");
-        if (attr instanceof Integer) {
-            return (Integer) attr;
-        }
-
-        // 2. Authorization 헤더에서 Bearer 토큰 추출
-        List<String> authHeaders = session.getHandshakeHeaders().get("Authorization");
-        String token = null;
-        if (authHeaders != null && !authHeaders.isEmpty()) {
-            String bearer = authHeaders.get(0);
-            if (bearer.startsWith("Bearer ")) {
-                token = bearer.substring(7);
-            }
-        }
-
-        // 3. 쿼리 파라미터 accessToken=xxx 지원 (프론트가 넣을 때)
-        if (token == null) {
-            String query = session.getUri().getQuery();
-            if (query != null && query.startsWith("accessToken=")) {
-                token = query.substring("accessToken=".length());
-            }
-        }
-
-        // 4. attribute에 access_token 있는 경우
-        if (token == null) {
-            token = (String) session.getAttributes().get("access_token");
-        }
-
-        // 토큰 없으면 null 반환
-        if (token == null) {
-            return null;
-        }
-
-        try {
-            String email = jwtProvider.getSubject(token);
-            User user = userRepository.findByEmail(email).orElse(null);
-            return user != null ? user.getId() : null;
-        } catch (Exception e) {
-            return null;
-        }
+        String requestId = node.hasNonNull("requestId") ? node.get("requestId").asText() : null;
+        notificationService.sendNotification(NotificationService.manualEventKey(senderId, requestId),
+                recipientId, type, msg, null, null, senderId, senderName, null);
     }
-}
\ No newline at end of file
+}
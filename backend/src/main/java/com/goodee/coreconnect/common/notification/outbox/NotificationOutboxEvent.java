@@ -0,0 +1,13 @@
+package com.goodee.coreconnect.common.notification.outbox;
+
+import java.util.List;
+
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+
+/**
+ * notification_outbox.payload에 JSON으로 저장되는 알림 1건 (수신자 여러 명에게 같은 알림)
+ * - boardId / scheduleId는 전달 시점에 존재를 다시 확인 (없으면 연결 없이 전송)
+ */
+public record NotificationOutboxEvent(List<Integer> recipientIds, NotificationType type, String message,
+		Integer senderId, Integer boardId, Integer scheduleId) {
+}
@@ -0,0 +1,96 @@
+package com.goodee.coreconnect.common.notification.outbox;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * notification_outbox 테이블 접근 (JdbcTemplate, 현재 트랜잭션이 있으면 참여)
+ * - 행 상태: PENDING → PROCESSING(claimed_by 디스패처가 가져감) → DONE / FAILED
+ * - 상태 변경은 모두 "현재 상태 + claimed_by" 조건부 UPDATE (다른 인스턴스가 이미 처리한 행은 0건 반환)
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationOutboxRepository {
+
+	/** 디스패처가 가져간 행 */
+	public record OutboxRow(long id, String deliveryKey, String payload, int attempts, LocalDateTime createdAt) {}
+
+	/** 대기 중(PENDING + PROCESSING) 행 수 / 가장 오래된 행 생성 시각 / FAILED 행 수 */
+	public record OutboxBacklog(long pending, LocalDateTime oldestCreatedAt, long failed) {}
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/** 1: 새로 기록, 0: 같은 delivery_key가 이미 있음 */
+	public int insert(String deliveryKey, String type, String payload, LocalDateTime now) {
+		return jdbcTemplate.update(
+				"INSERT IGNORE INTO notification_outbox " +
+				"(delivery_key, notification_type, payload, status, attempts, next_attempt_at, created_at) " +
+				"VALUES (?, ?, ?, 'PENDING', 0, ?, ?)",
+				deliveryKey, type, payload, Timestamp.valueOf(now), Timestamp.valueOf(now));
+	}
+
+	/** 전달할 차례가 된 PENDING 행을 id 순으로 limit개까지 owner 소유로 표시 (UPDATE 1번이라 인스턴스끼리 겹치지 않음) */
+	public int claim(String owner, LocalDateTime now, int limit) {
+		return jdbcTemplate.update(
+				"UPDATE notification_outbox SET status = 'PROCESSING', claimed_by = ?, claimed_at = ? " +
+				"WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ?",
+				owner, Timestamp.valueOf(now), Timestamp.valueOf(now), limit);
+	}
+
+	public List<OutboxRow> findClaimed(String owner) {
+		return jdbcTemplate.query(
+				"SELECT id, delivery_key, payload, attempts, created_at FROM notification_outbox " +
+				"WHERE status = 'PROCESSING' AND claimed_by = ? ORDER BY id",
+				(rs, rowNum) -> new OutboxRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+						rs.getTimestamp(5).toLocalDateTime()),
+				owner);
+	}
+
+	public int markDone(long id, String owner, LocalDateTime now) {
+		return jdbcTemplate.update(
+				"UPDATE notification_outbox SET status = 'DONE', attempts = attempts + 1, processed_at = ?, last_error = NULL " +
+				"WHERE id = ? AND status = 'PROCESSING' AND claimed_by = ?",
+				Timestamp.valueOf(now), id, owner);
+	}
+
+	public int markRetry(long id, String owner, int attempts, LocalDateTime nextAttemptAt, String error) {
+		return jdbcTemplate.update(
+				"UPDATE notification_outbox SET status = 'PENDING', attempts = ?, next_attempt_at = ?, last_error = ?, " +
+				"claimed_by = NULL, claimed_at = NULL WHERE id = ? AND status = 'PROCESSING' AND claimed_by = ?",
+				attempts, Timestamp.valueOf(nextAttemptAt), error, id, owner);
+	}
+
+	public int markFailed(long id, String owner, int attempts, LocalDateTime now, String error) {
+		return jdbcTemplate.update(
+				"UPDATE notification_outbox SET status = 'FAILED', attempts = ?, processed_at = ?, last_error = ? " +
+				"WHERE id = ? AND status = 'PROCESSING' AND claimed_by = ?",
+				attempts, Timestamp.valueOf(now), error, id, owner);
+	}
+
+	/** 가져간 뒤 claimedBefore까지 끝나지 않은 행(디스패처가 죽은 경우)을 다시 PENDING으로 */
+	public int releaseStale(LocalDateTime claimedBefore) {
+		return jdbcTemplate.update(
+				"UPDATE notification_outbox SET status = 'PENDING', claimed_by = NULL, claimed_at = NULL " +
+				"WHERE status = 'PROCESSING' AND claimed_at < ?",
+				Timestamp.valueOf(claimedBefore));
+	}
+
+	public OutboxBacklog backlog() {
+		return jdbcTemplate.queryForObject(
+				"SELECT " +
+				"SUM(CASE WHEN status IN ('PENDING', 'PROCESSING') THEN 1 ELSE 0 END), " +
+				"MIN(CASE WHEN status IN ('PENDING', 'PROCESSING') THEN created_at END), " +
+				"SUM(CASE WHEN status = 'FAILED' THEN 1 ELSE 0 END) " +
+				"FROM notification_outbox WHERE status IN ('PENDING', 'PROCESSING', 'FAILED')",
+				(rs, rowNum) -> {
+					Timestamp oldest = rs.getTimestamp(2);
+					return new OutboxBacklog(rs.getLong(1), oldest != null ? oldest.toLocalDateTime() : null, rs.getLong(3));
+				});
+	}
+}
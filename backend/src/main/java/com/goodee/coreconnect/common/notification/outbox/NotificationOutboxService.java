@@ -0,0 +1,362 @@
+package com.goodee.coreconnect.common.notification.outbox;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goodee.coreconnect.board.repository.BoardRepository;
+import com.goodee.coreconnect.common.notification.dto.NotificationPayload;
+import com.goodee.coreconnect.common.notification.outbox.NotificationOutboxRepository.OutboxBacklog;
+import com.goodee.coreconnect.common.notification.outbox.NotificationOutboxRepository.OutboxRow;
+import com.goodee.coreconnect.common.notification.service.NotificationFanoutService;
+import com.goodee.coreconnect.schedule.repository.ScheduleRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationOutboxService (transactional outbox 기반 알림 전달)
+ *
+ * - enqueue: 업무 변경과 같은 트랜잭션에서 notification_outbox에 1행 기록 (afterCommit 콜백에서 바로 보내지 않음)
+ *   - 업무 트랜잭션이 롤백되면 알림도 남지 않고, 커밋되면 프로세스가 바로 죽어도 재시작 후 전달됨
+ *   - delivery_key UNIQUE: 같은 이벤트를 두 번 기록해도 1번만 전달
+ * - 디스패처 스레드 1개가 poll-interval-ms마다 (또는 enqueue 트랜잭션 커밋 직후) batch-size개씩 가져가 전달
+ *   1. notification INSERT + outbox 행 DONE 표시를 한 트랜잭션으로 커밋 (재전달돼도 알림 row가 중복 저장되지 않음)
+ *   2. 커밋 후 WebSocket 전송 (NotificationFanoutService.pushAll)
+ * - 실패 시 base-backoff-ms부터 2배씩(최대 max-backoff-ms) 늦춰 재시도, max-attempts 초과 시 FAILED
+ * - 가져간 뒤 processing-timeout-ms 동안 끝나지 않은 행(디스패처 종료 등)은 다시 PENDING으로
+ * - 지표: 대기 행 수 / 가장 오래된 대기 행 나이(lag) / 처리량(건/초) / 마지막 전달 지연 (snapshot, 1분마다 로그)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+	private static final int MAX_ERROR_LENGTH = 500;
+
+	/** outbox 지표 (누적 기록 / 중복 키로 무시 / 전달 / 재시도 / 최종 실패, 대기 행 수, 가장 오래된 대기 행 나이, 최근 처리량, 마지막 전달 지연) */
+	public record OutboxStats(long enqueued, long duplicates, long dispatched, long retries, long failed,
+			long pending, long lagMillis, double dispatchedPerSecond, long lastDeliveryLagMillis) {}
+
+	private final NotificationOutboxRepository outboxRepository;
+	private final NotificationFanoutService notificationFanoutService;
+	private final BoardRepository boardRepository;
+	private final ScheduleRepository scheduleRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final ObjectMapper objectMapper;
+
+	/** false면 기록만 하고 이 인스턴스에서는 전달하지 않음 */
+	@Value("${notification.outbox.dispatcher-enabled:true}")
+	private boolean dispatcherEnabled;
+
+	@Value("${notification.outbox.batch-size:100}")
+	private int batchSize;
+
+	@Value("${notification.outbox.poll-interval-ms:1000}")
+	private long pollIntervalMs;
+
+	@Value("${notification.outbox.max-attempts:8}")
+	private int maxAttempts;
+
+	@Value("${notification.outbox.base-backoff-ms:1000}")
+	private long baseBackoffMs;
+
+	@Value("${notification.outbox.max-backoff-ms:300000}")
+	private long maxBackoffMs;
+
+	@Value("${notification.outbox.processing-timeout-ms:300000}")
+	private long processingTimeoutMs;
+
+	/** claimed_by 값 (인스턴스 구분) */
+	private final String owner = ownerId();
+
+	private final AtomicLong enqueued = new AtomicLong();
+	private final AtomicLong duplicates = new AtomicLong();
+	private final AtomicLong dispatched = new AtomicLong();
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+
+	private ScheduledExecutorService dispatcher;
+	private volatile long lastDeliveryLagMillis;
+	private volatile double recentThroughput;
+	private long lastLoggedDispatched;
+	private long lastLoggedAt = System.nanoTime();
+
+	@PostConstruct
+	public void init() {
+		if (!dispatcherEnabled) {
+			log.info("[NotificationOutboxService] 디스패처 비활성화 - 기록만 함");
+			return;
+		}
+		dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "notification-outbox");
+			t.setDaemon(true);
+			return t;
+		});
+		dispatcher.scheduleWithFixedDelay(this::dispatchPending, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+		log.info("[NotificationOutboxService] 시작 - owner: {}, batchSize: {}, pollInterval: {}ms, maxAttempts: {}",
+				owner, batchSize, pollIntervalMs, maxAttempts);
+	}
+
+	/**
+	 * 알림을 outbox에 기록 (호출자의 트랜잭션에 참여, 트랜잭션이 없으면 바로 기록)
+	 * @param deliveryKey 이벤트를 식별하는 멱등 키 (같은 키는 1번만 전달)
+	 * @return true: 새로 기록, false: 같은 키가 이미 있거나 보낼 대상이 없음
+	 */
+	public boolean enqueue(String deliveryKey, NotificationOutboxEvent event) {
+		if (deliveryKey == null || deliveryKey.isBlank()) {
+			throw new IllegalArgumentException("알림 outbox deliveryKey는 필수입니다.");
+		}
+		if (event == null || event.type() == null || event.senderId() == null
+				|| event.recipientIds() == null || event.recipientIds().isEmpty()) {
+			log.warn("[NotificationOutboxService.enqueue] 보낼 대상이 없어 기록하지 않음 - deliveryKey: {}", deliveryKey);
+			return false;
+		}
+		String payload;
+		try {
+			payload = objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("알림 outbox payload 직렬화 실패: " + deliveryKey, e);
+		}
+
+		if (outboxRepository.insert(deliveryKey, event.type().name(), payload, LocalDateTime.now()) == 0) {
+			duplicates.incrementAndGet();
+			log.info("[NotificationOutboxService.enqueue] 이미 기록된 알림 - deliveryKey: {}", deliveryKey);
+			return false;
+		}
+		enqueued.incrementAndGet();
+
+		// ⭐ 커밋되면 다음 poll을 기다리지 않고 바로 전달 (지연 단축용, 놓쳐도 poll이 가져감)
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					wakeUp();
+				}
+			});
+		} else {
+			wakeUp();
+		}
+		return true;
+	}
+
+	private void wakeUp() {
+		if (dispatcher == null || !wakeUpRequested.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			dispatcher.execute(this::dispatchPending);
+		} catch (RejectedExecutionException e) {
+			wakeUpRequested.set(false);
+		}
+	}
+
+	/** 전달할 행이 없을 때까지 batch 단위로 전달 (디스패처 스레드에서 실행) @return 처리한 행 수 */
+	public int dispatchPending() {
+		wakeUpRequested.set(false);
+		int total = 0;
+		try {
+			int released = outboxRepository.releaseStale(LocalDateTime.now().minus(Duration.ofMillis(processingTimeoutMs)));
+			if (released > 0) {
+				log.warn("[NotificationOutboxService] 처리 시간 초과 행 재대기 - {}건", released);
+			}
+			int processed;
+			do {
+				processed = dispatchBatch();
+				total += processed;
+			} while (processed >= batchSize && !Thread.currentThread().isInterrupted());
+		} catch (Exception e) {
+			log.warn("[NotificationOutboxService] 디스패치 실패 - {}", e.getMessage());
+		}
+		return total;
+	}
+
+	private int dispatchBatch() {
+		if (outboxRepository.claim(owner, LocalDateTime.now(), batchSize) == 0) {
+			return 0;
+		}
+		List<OutboxRow> rows = outboxRepository.findClaimed(owner);
+		for (OutboxRow row : rows) {
+			deliver(row);
+		}
+		return rows.size();
+	}
+
+	private void deliver(OutboxRow row) {
+		NotificationOutboxEvent event;
+		try {
+			event = objectMapper.readValue(row.payload(), NotificationOutboxEvent.class);
+		} catch (Exception e) {
+			// 재시도해도 같은 결과이므로 바로 FAILED
+			markFailed(row, row.attempts() + 1, "payload 파싱 실패: " + e.getMessage());
+			return;
+		}
+
+		try {
+			DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+			def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+			def.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+			List<NotificationFanoutService.BatchTiming> timings = new ArrayList<>();
+			List<NotificationPayload> payloads = new TransactionTemplate(transactionManager, def).execute(status -> {
+				List<NotificationPayload> saved = notificationFanoutService.insertAll(event.recipientIds(), event.type(),
+						event.message(), event.senderId(), existingBoardId(event.boardId()),
+						existingScheduleId(event.scheduleId()), timings);
+				if (outboxRepository.markDone(row.id(), owner, LocalDateTime.now()) == 0) {
+					// 처리 시간 초과로 다시 대기열에 돌아간 행 → 다른 디스패처가 전달하므로 저장 취소 (중복 알림 방지)
+					status.setRollbackOnly();
+					return null;
+				}
+				return saved;
+			});
+			if (payloads == null) {
+				log.warn("[NotificationOutboxService] 다른 디스패처로 넘어간 알림 - id: {}, deliveryKey: {}", row.id(), row.deliveryKey());
+				return;
+			}
+
+			// 커밋 후 전송 (WebSocket 전송은 1번만 시도 - 놓친 알림은 알림 목록 조회로 확인)
+			int pushed = notificationFanoutService.pushAll(payloads, timings);
+			dispatched.incrementAndGet();
+			lastDeliveryLagMillis = Duration.between(row.createdAt(), LocalDateTime.now()).toMillis();
+			log.info("[NotificationOutboxService] 알림 전달 - deliveryKey: {}, type: {}, 저장: {}, 전송: {}, 지연: {}ms",
+					row.deliveryKey(), event.type(), payloads.size(), pushed, lastDeliveryLagMillis);
+		} catch (Exception e) {
+			int attempts = row.attempts() + 1;
+			if (attempts >= maxAttempts) {
+				markFailed(row, attempts, e.getMessage());
+				return;
+			}
+			long backoffMs = backoffMillis(attempts);
+			try {
+				outboxRepository.markRetry(row.id(), owner, attempts, LocalDateTime.now().plus(Duration.ofMillis(backoffMs)),
+						truncate(e.getMessage()));
+				retries.incrementAndGet();
+				log.warn("[NotificationOutboxService] 알림 전달 실패 - deliveryKey: {}, 시도: {}/{}, {}ms 후 재시도, error: {}",
+						row.deliveryKey(), attempts, maxAttempts, backoffMs, e.getMessage());
+			} catch (DataAccessException ex) {
+				// 상태를 못 바꾼 행은 processing-timeout-ms 후 다시 대기열로
+				log.warn("[NotificationOutboxService] 재시도 예약 실패 - deliveryKey: {}, error: {}", row.deliveryKey(), ex.getMessage());
+			}
+		}
+	}
+
+	/** attempts번째 실패 후 대기 시간 (base-backoff-ms × 2^(attempts-1), 최대 max-backoff-ms) */
+	long backoffMillis(int attempts) {
+		int shift = Math.min(Math.max(attempts - 1, 0), 30);
+		return Math.min(baseBackoffMs << shift, maxBackoffMs);
+	}
+
+	private void markFailed(OutboxRow row, int attempts, String error) {
+		try {
+			outboxRepository.markFailed(row.id(), owner, attempts, LocalDateTime.now(), truncate(error));
+			failed.incrementAndGet();
+			log.error("[NotificationOutboxService] 알림 전달 최종 실패 - deliveryKey: {}, 시도: {}, error: {}",
+					row.deliveryKey(), attempts, error);
+		} catch (DataAccessException e) {
+			log.warn("[NotificationOutboxService] 실패 기록 실패 - deliveryKey: {}, error: {}", row.deliveryKey(), e.getMessage());
+		}
+	}
+
+	/** 알림에 연결할 게시글 ID (전달 전에 삭제됐으면 연결 없이 전송) */
+	private Integer existingBoardId(Integer boardId) {
+		return boardId != null && boardRepository.existsById(boardId) ? boardId : null;
+	}
+
+	private Integer existingScheduleId(Integer scheduleId) {
+		return scheduleId != null && scheduleRepository.existsById(scheduleId) ? scheduleId : null;
+	}
+
+	public OutboxStats snapshot() {
+		long pending = -1;
+		long lagMillis = -1;
+		try {
+			OutboxBacklog backlog = outboxRepository.backlog();
+			pending = backlog.pending();
+			lagMillis = backlog.oldestCreatedAt() != null
+					? Math.max(0, Duration.between(backlog.oldestCreatedAt(), LocalDateTime.now()).toMillis())
+					: 0;
+		} catch (DataAccessException e) {
+			log.warn("[NotificationOutboxService] 대기 행 조회 실패 - {}", e.getMessage());
+		}
+		return new OutboxStats(enqueued.get(), duplicates.get(), dispatched.get(), retries.get(), failed.get(),
+				pending, lagMillis, recentThroughput, lastDeliveryLagMillis);
+	}
+
+	@Scheduled(fixedDelayString = "${notification.outbox.metrics-log-interval-ms:60000}")
+	public void logMetrics() {
+		long now = System.nanoTime();
+		long dispatchedTotal = dispatched.get();
+		long delta = dispatchedTotal - lastLoggedDispatched;
+		double seconds = Math.max(1e-3, (now - lastLoggedAt) / 1e9);
+		recentThroughput = Math.round(delta * 10 / seconds) / 10.0;
+		lastLoggedDispatched = dispatchedTotal;
+		lastLoggedAt = now;
+
+		OutboxStats stats = snapshot();
+		if (delta == 0 && stats.pending() <= 0) {
+			return;
+		}
+		log.info("[NotificationOutboxService] 최근 전달: {}건 ({}건/초), 대기: {}건, lag: {}ms, 마지막 전달 지연: {}ms, 누적 재시도: {}, 누적 실패: {}",
+				delta, stats.dispatchedPerSecond(), stats.pending(), stats.lagMillis(), stats.lastDeliveryLagMillis(),
+				stats.retries(), stats.failed());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (dispatcher == null) {
+			return;
+		}
+		dispatcher.shutdown();
+		try {
+			if (!dispatcher.awaitTermination(5, TimeUnit.SECONDS)) {
+				dispatcher.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			dispatcher.shutdownNow();
+		}
+		log.info("[NotificationOutboxService] 종료 - {}", snapshot());
+	}
+
+	private static String truncate(String error) {
+		if (error == null) {
+			return null;
+		}
+		return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+	}
+
+	private static String ownerId() {
+		String host;
+		try {
+			host = InetAddress.getLocalHost().getHostName();
+		} catch (Exception e) {
+			host = "unknown";
+		}
+		String id = host + ":" + UUID.randomUUID().toString().substring(0, 8);
+		return id.length() <= 64 ? id : id.substring(id.length() - 64);
+	}
+}
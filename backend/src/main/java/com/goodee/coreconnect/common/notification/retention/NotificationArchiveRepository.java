@@ -0,0 +1,67 @@
+package com.goodee.coreconnect.common.notification.retention;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * notification → notification_archive 이동 (JdbcTemplate, 현재 트랜잭션에 참여)
+ * - 대상 조회는 FOR UPDATE (보관 도중 읽지 않음으로 바뀌거나 다른 인스턴스가 같은 행을 옮기지 않도록)
+ * - 보관 / 삭제는 chunk의 id 목록으로 INSERT ... SELECT 1번 + DELETE 1번
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationArchiveRepository {
+
+	private static final String COLUMNS =
+			"id, user_id, sender_id, notification_type, notification_message, chat_message_id, doc_id, board_id, schedule_id, " +
+			"notification_read_yn, notification_read_at, notification_sent_yn, notification_sent_at, notification_deleted_yn";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * sentBefore 이전에 보낸 읽은 알림 id를 오래된 순으로 limit개 (행 잠금)
+	 * - ORDER BY가 idx_notification_read_sent_at (notification_read_yn, notification_sent_at, id) 순서와 같아
+	 *   정렬 없이 인덱스 앞에서 limit개만 읽고 잠금 (id 순 정렬이면 보관 대상 전체를 읽고 잠근 뒤 정렬)
+	 */
+	public List<Integer> lockArchivableIds(LocalDateTime sentBefore, int limit) {
+		return jdbcTemplate.queryForList(
+				"SELECT id FROM notification WHERE notification_read_yn = TRUE AND notification_sent_at < ? " +
+				"ORDER BY notification_sent_at, id LIMIT ? FOR UPDATE",
+				Integer.class, Timestamp.valueOf(sentBefore), limit);
+	}
+
+	/** 보관 테이블로 복사 (이미 보관된 id는 무시), 복사된 행 수 반환 */
+	public int copyToArchive(List<Integer> ids, LocalDateTime archivedAt) {
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		List<Object> args = new ArrayList<>(ids.size() + 1);
+		args.add(Timestamp.valueOf(archivedAt));
+		args.addAll(ids);
+		return jdbcTemplate.update(
+				"INSERT IGNORE INTO notification_archive (" + COLUMNS + ", archived_at) " +
+				"SELECT " + COLUMNS + ", ? FROM notification WHERE id IN (" + placeholders(ids.size()) + ")",
+				args.toArray());
+	}
+
+	public int delete(List<Integer> ids) {
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		return jdbcTemplate.update(
+				"DELETE FROM notification WHERE id IN (" + placeholders(ids.size()) + ")",
+				ids.toArray());
+	}
+
+	private static String placeholders(int count) {
+		return String.join(", ", Collections.nCopies(count, "?"));
+	}
+}
@@ -0,0 +1,107 @@
+package com.goodee.coreconnect.common.notification.retention;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationRetentionService (오래된 읽은 알림 보관)
+ *
+ * - 매일 cron 시각에 retention-days보다 오래 전에 보낸 읽은 알림을 notification_archive로 옮기고 notification에서 삭제
+ * - chunk-size개씩 chunk마다 별도 트랜잭션 (한 번에 수만 행을 잠그거나 긴 트랜잭션을 만들지 않음)
+ *   - chunk 사이 pause-ms 쉬고, 한 번 실행에 최대 max-chunks-per-run개 chunk (남은 행은 다음 실행에서)
+ * - 안읽은 알림은 옮기지 않으므로 UnreadNotificationCache에는 영향 없음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionService {
+
+	/** 한 번 실행 결과 (보관한 알림 수 / chunk 수 / 소요 시간) */
+	public record RetentionResult(int archived, int chunks, long millis) {}
+
+	private final NotificationArchiveRepository archiveRepository;
+	private final PlatformTransactionManager transactionManager;
+
+	@Value("${notification.retention.enabled:true}")
+	private boolean enabled;
+
+	@Value("${notification.retention.retention-days:90}")
+	private int retentionDays;
+
+	@Value("${notification.retention.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${notification.retention.max-chunks-per-run:200}")
+	private int maxChunksPerRun;
+
+	@Value("${notification.retention.pause-ms:50}")
+	private long pauseMs;
+
+	@Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+	public void archiveOldReadNotifications() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			RetentionResult result = archiveReadBefore(LocalDateTime.now().minusDays(retentionDays));
+			log.info("[NotificationRetentionService] 읽은 알림 보관 완료 - {}일 이전, 보관: {}건, chunk: {}개, {}ms",
+					retentionDays, result.archived(), result.chunks(), result.millis());
+		} catch (Exception e) {
+			log.error("[NotificationRetentionService] 읽은 알림 보관 실패 - {}", e.getMessage(), e);
+		}
+	}
+
+	/** sentBefore 이전에 보낸 읽은 알림을 chunk 단위로 보관 */
+	public RetentionResult archiveReadBefore(LocalDateTime sentBefore) {
+		long start = System.currentTimeMillis();
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		int archived = 0;
+		int chunks = 0;
+		while (chunks < maxChunksPerRun) {
+			Integer moved = tx.execute(status -> archiveChunk(sentBefore));
+			if (moved == null || moved == 0) {
+				break;
+			}
+			archived += moved;
+			chunks++;
+			if (moved < chunkSize) {
+				break;
+			}
+			if (!pause()) {
+				break;
+			}
+		}
+		return new RetentionResult(archived, chunks, System.currentTimeMillis() - start);
+	}
+
+	private int archiveChunk(LocalDateTime sentBefore) {
+		List<Integer> ids = archiveRepository.lockArchivableIds(sentBefore, chunkSize);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		archiveRepository.copyToArchive(ids, LocalDateTime.now());
+		return archiveRepository.delete(ids);
+	}
+
+	private boolean pause() {
+		if (pauseMs <= 0) {
+			return true;
+		}
+		try {
+			Thread.sleep(pauseMs);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package com.goodee.coreconnect.common.notification.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationCoalescer (알림 묶음 전송: (사용자, 종류, 출처)별 window 동안 반복 알림을 1건으로 합침)
+ *
+ * - 첫 알림은 바로 보내고(offer가 true 반환) window-ms 동안 같은 키로 들어온 알림은 보내지 않고 개수 + 마지막 값만 기록
+ * - window가 끝나면 묶인 알림이 있는 키만 모아 종류별 flush 핸들러에 한 번에 넘김 (예: "X님으로부터 새로운 채팅 메시지 N건")
+ *   - 메시지 50건 burst → 사용자·종류당 프레임 2개 (첫 알림 + 묶음 1건, 알림 + 토스트면 사용자당 4개)
+ * - 만료된 window는 flush-interval-ms마다 스레드 1개가 정리 (키마다 타이머를 만들지 않음)
+ * - 지표: 요청 / 바로 전송 / 묶임 / 묶음 전송 / 절약한 프레임 수 (snapshot, 1분마다 로그)
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+
+	/** 묶음 지표 (요청 / 바로 전송 / 묶임 / 묶음 전송 건수, 절약한 프레임 = 묶임 - 묶음 전송, 열린 window 수) */
+	public record CoalescerStats(long offered, long immediate, long absorbed, long merged, long framesSaved, int openWindows) {}
+
+	/** window-ms 동안 같은 키로 묶인 알림 (첫 알림 이후 들어온 알림 수 + 마지막 값) */
+	public static final class Window {
+		private final Integer userId;
+		private final String type;
+		private final String source;
+		private final long closesAt;
+		private int suppressed;
+		private Object latest;
+
+		private Window(Integer userId, String type, String source, long closesAt, Object latest) {
+			this.userId = userId;
+			this.type = type;
+			this.source = source;
+			this.closesAt = closesAt;
+			this.latest = latest;
+		}
+
+		public Integer userId() {
+			return userId;
+		}
+
+		public String type() {
+			return type;
+		}
+
+		public String source() {
+			return source;
+		}
+
+		/** 첫 알림 이후 묶인(보내지 않은) 알림 수 */
+		public int suppressed() {
+			return suppressed;
+		}
+
+		/** 마지막으로 묶인 알림의 값 (offer에 넘긴 payload) */
+		public Object latest() {
+			return latest;
+		}
+	}
+
+	private record Key(Integer userId, String type, String source) {}
+
+	@Value("${notification.coalesce.enabled:true}")
+	private boolean enabled;
+
+	/** 같은 키의 알림을 묶는 시간 (0 이하면 묶지 않음) */
+	@Value("${notification.coalesce.window-ms:1000}")
+	private long windowMs;
+
+	@Value("${notification.coalesce.flush-interval-ms:100}")
+	private long flushIntervalMs;
+
+	private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+	private final Map<String, Consumer<List<Window>>> flushers = new ConcurrentHashMap<>();
+
+	private final LongAdder offered = new LongAdder();
+	private final LongAdder immediate = new LongAdder();
+	private final LongAdder absorbed = new LongAdder();
+	private final LongAdder merged = new LongAdder();
+
+	private ScheduledExecutorService sweeper;
+	private long lastLoggedOffered;
+
+	@PostConstruct
+	public void init() {
+		if (!isActive()) {
+			log.info("[NotificationCoalescer] 비활성화 - 모든 알림을 바로 전송");
+			return;
+		}
+		sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "notification-coalescer");
+			t.setDaemon(true);
+			return t;
+		});
+		sweeper.scheduleWithFixedDelay(this::flushExpiredSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+		log.info("[NotificationCoalescer] 시작 - window: {}ms, flushInterval: {}ms", windowMs, flushIntervalMs);
+	}
+
+	public boolean isActive() {
+		return enabled && windowMs > 0;
+	}
+
+	/** 종류별 묶음 전송 핸들러 등록 (window가 끝난 키 중 묶인 알림이 있는 것만 한 번에 전달) */
+	public void register(String type, Consumer<List<Window>> flusher) {
+		flushers.put(type, flusher);
+	}
+
+	/**
+	 * 알림 1건 요청
+	 * @return true: 지금 보내야 함 (window 시작), false: window에 묶임 (나중에 flush 핸들러가 합쳐서 전송)
+	 */
+	public boolean offer(Integer userId, String type, String source, Object payload) {
+		offered.increment();
+		if (!isActive() || userId == null) {
+			immediate.increment();
+			return true;
+		}
+		boolean[] opened = new boolean[1];
+		long now = System.currentTimeMillis();
+		windows.compute(new Key(userId, type, source), (k, w) -> {
+			if (w == null) {
+				opened[0] = true;
+				return new Window(userId, type, source, now + windowMs, payload);
+			}
+			w.suppressed++;
+			w.latest = payload;
+			return w;
+		});
+		if (opened[0]) {
+			immediate.increment();
+		} else {
+			absorbed.increment();
+		}
+		return opened[0];
+	}
+
+	/** 여러 사용자에게 같은 알림 요청 - 지금 보내야 하는 사용자만 반환 (순서 유지) */
+	public List<Integer> offerAll(Collection<Integer> userIds, String type, String source, Object payload) {
+		List<Integer> sendNow = new ArrayList<>(userIds.size());
+		for (Integer userId : userIds) {
+			if (offer(userId, type, source, payload)) {
+				sendNow.add(userId);
+			}
+		}
+		return sendNow;
+	}
+
+	/** 끝난 window를 닫고 묶인 알림을 종류별 핸들러로 전달 (반환: 전달한 묶음 수) */
+	public int flushExpired() {
+		return flush(System.currentTimeMillis());
+	}
+
+	private int flush(long now) {
+		Map<String, List<Window>> byType = new LinkedHashMap<>();
+		for (Key key : windows.keySet()) {
+			Window[] closed = new Window[1];
+			windows.computeIfPresent(key, (k, w) -> {
+				if (w.closesAt > now) {
+					return w;
+				}
+				closed[0] = w;
+				return null;
+			});
+			if (closed[0] != null && closed[0].suppressed > 0) {
+				byType.computeIfAbsent(key.type(), t -> new ArrayList<>()).add(closed[0]);
+			}
+		}
+		int count = 0;
+		for (Map.Entry<String, List<Window>> entry : byType.entrySet()) {
+			Consumer<List<Window>> flusher = flushers.get(entry.getKey());
+			if (flusher == null) {
+				log.warn("[NotificationCoalescer] flush 핸들러 없음 - type: {}, 버려진 묶음: {}", entry.getKey(), entry.getValue().size());
+				continue;
+			}
+			try {
+				flusher.accept(entry.getValue());
+				merged.add(entry.getValue().size());
+				count += entry.getValue().size();
+			} catch (Exception e) {
+				log.error("[NotificationCoalescer] 묶음 전송 실패 - type: {}, 묶음: {}, error: {}",
+						entry.getKey(), entry.getValue().size(), e.getMessage(), e);
+			}
+		}
+		return count;
+	}
+
+	private void flushExpiredSafely() {
+		try {
+			flushExpired();
+		} catch (Exception e) {
+			log.error("[NotificationCoalescer] window 정리 실패 - {}", e.getMessage(), e);
+		}
+	}
+
+	public CoalescerStats snapshot() {
+		long absorbedCount = absorbed.sum();
+		long mergedCount = merged.sum();
+		return new CoalescerStats(offered.sum(), immediate.sum(), absorbedCount, mergedCount,
+				absorbedCount - mergedCount, windows.size());
+	}
+
+	@Scheduled(fixedDelayString = "${notification.coalesce.metrics-log-interval-ms:60000}")
+	public void logMetrics() {
+		CoalescerStats stats = snapshot();
+		long delta = stats.offered() - lastLoggedOffered;
+		lastLoggedOffered = stats.offered();
+		if (delta == 0) {
+			return;
+		}
+		log.info("[NotificationCoalescer] 최근 요청: {}건, 누적 바로 전송: {}, 묶임: {}, 묶음 전송: {}, 절약한 프레임: {}, 열린 window: {}",
+				delta, stats.immediate(), stats.absorbed(), stats.merged(), stats.framesSaved(), stats.openWindows());
+	}
+
+	/** 종료 시 열린 window를 모두 닫아 묶인 알림을 전송 */
+	@PreDestroy
+	public void shutdown() {
+		if (sweeper != null) {
+			sweeper.shutdown();
+		}
+		flush(Long.MAX_VALUE);
+		log.info("[NotificationCoalescer] 종료 - {}", snapshot());
+	}
+}
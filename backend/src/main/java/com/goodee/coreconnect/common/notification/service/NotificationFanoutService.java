@@ -0,0 +1,270 @@
+package com.goodee.coreconnect.common.notification.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.goodee.coreconnect.common.notification.dto.NotificationPayload;
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+import com.goodee.coreconnect.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationFanoutService (여러 사용자 알림 일괄 저장 + 후커밋 분할 전송)
+ *
+ * - 수신자/발신자 이름: IN 쿼리 1번 (수신자마다 findById 하지 않음)
+ * - notification INSERT: batch-size개씩 multi-row INSERT 1번 (JdbcTemplate, 생성된 ID는 generated keys로 받음)
+ *   - 수신자마다 saveAndFlush / flush / 재조회하지 않음
+ * - WebSocket 전송: 트랜잭션 커밋 후 push-chunk-size개씩 전송하고, 전송한 알림은 UPDATE 1번으로 sentYn 갱신
+ *   (전송 전에 UnreadNotificationCache에 반영)
+ * - 단계(insert / push)별 batch 소요 시간을 결과로 반환하고 로그로 남김
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationFanoutService {
+
+	private static final String INSERT_PREFIX =
+			"INSERT INTO notification " +
+			"(user_id, sender_id, notification_type, notification_message, board_id, schedule_id, " +
+			"notification_read_yn, notification_sent_yn, notification_deleted_yn, notification_sent_at) VALUES ";
+
+	private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, FALSE, FALSE, FALSE, ?)";
+
+	/** row당 파라미터 SQL 타입 (null 값 바인딩 시 드라이버에 파라미터 메타데이터를 묻지 않도록 명시) */
+	private static final int[] ROW_TYPES = {
+			Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.TIMESTAMP };
+
+	/** batch 단위 소요 시간 (phase = insert / push) */
+	public record BatchTiming(String phase, int batch, int size, long millis) {}
+
+	/** fan-out 결과 (요청 수신자 / 저장된 알림 / 전송한 알림 / batch별 시간 / 전체 시간) */
+	public record FanoutResult(int requested, int inserted, int pushed, List<BatchTiming> timings, long totalMillis) {
+
+		static FanoutResult empty(int requested) {
+			return new FanoutResult(requested, 0, 0, List.of(), 0);
+		}
+	}
+
+	private final UserRepository userRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+	private final WebSocketDeliveryService webSocketDeliveryService;
+	private final UnreadNotificationCache unreadNotificationCache;
+
+	/** multi-row INSERT 1번에 담을 알림 수 */
+	@Value("${notification.fanout.batch-size:500}")
+	private int batchSize;
+
+	/** 커밋 후 WebSocket 전송 + sentYn 갱신 단위 */
+	@Value("${notification.fanout.push-chunk-size:200}")
+	private int pushChunkSize;
+
+	/**
+	 * 여러 수신자에게 같은 알림 저장 (새 트랜잭션) 후 커밋되면 WebSocket 전송
+	 * - null / 중복 수신자, 존재하지 않는 수신자는 제외
+	 * - boardId / scheduleId는 존재가 확인된 값만 넘길 것 (FK)
+	 */
+	public FanoutResult fanOut(List<Integer> recipientIds, NotificationType type, String message,
+			Integer senderId, Integer boardId, Integer scheduleId) {
+		int requested = recipientIds != null ? recipientIds.size() : 0;
+		if (senderId == null || requested == 0 || type == null) {
+			log.warn("[NotificationFanoutService.fanOut] 전송 중단 - type: {}, senderId: {}, recipientCount: {}", type, senderId, requested);
+			return FanoutResult.empty(requested);
+		}
+		long start = System.nanoTime();
+		List<BatchTiming> timings = new ArrayList<>();
+
+		DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+		def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		def.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+		List<NotificationPayload> payloads = new TransactionTemplate(transactionManager, def)
+				.execute(status -> insertAll(recipientIds, type, message, senderId, boardId, scheduleId, timings));
+		if (payloads == null || payloads.isEmpty()) {
+			return new FanoutResult(requested, 0, 0, timings, elapsedMillis(start));
+		}
+
+		// ⭐ 커밋 후 전송 (수신자가 알림을 받고 조회했을 때 DB에 row가 있어야 함)
+		int pushed = pushAll(payloads, timings);
+
+		FanoutResult result = new FanoutResult(requested, payloads.size(), pushed, timings, elapsedMillis(start));
+		log.info("[NotificationFanoutService.fanOut] 완료 - type: {}, 요청: {}, 저장: {}, 전송: {}, insert batch: {}, push batch: {}, {}ms",
+				type, requested, result.inserted(), pushed, countPhase(timings, "insert"), countPhase(timings, "push"), result.totalMillis());
+		return result;
+	}
+
+	/**
+	 * 알림 row 일괄 저장 (호출자의 현재 트랜잭션에 참여, 전송하지 않음)
+	 * - outbox 디스패처처럼 저장과 다른 상태 변경을 한 트랜잭션으로 묶어야 할 때 사용하고, 커밋 후 pushAll로 전송
+	 */
+	public List<NotificationPayload> insertAll(List<Integer> recipientIds, NotificationType type, String message,
+			Integer senderId, Integer boardId, Integer scheduleId, List<BatchTiming> timings) {
+		Set<Integer> distinctIds = new LinkedHashSet<>();
+		for (Integer rid : recipientIds) {
+			if (rid != null) {
+				distinctIds.add(rid);
+			}
+		}
+		Set<Integer> lookupIds = new LinkedHashSet<>(distinctIds);
+		lookupIds.add(senderId);
+		Map<Integer, String> names = new HashMap<>();
+		for (Object[] row : userRepository.findNamesByIdIn(lookupIds)) {
+			names.put((Integer) row[0], (String) row[1]);
+		}
+		if (!names.containsKey(senderId)) {
+			log.error("[NotificationFanoutService.insertAll] 발신자를 찾을 수 없습니다 - senderId: {}, type: {}", senderId, type);
+			return Collections.emptyList();
+		}
+		List<Integer> receivers = distinctIds.stream().filter(names::containsKey).toList();
+		if (receivers.size() < distinctIds.size()) {
+			log.warn("[NotificationFanoutService.insertAll] 존재하지 않는 수신자 제외 - 요청: {}, 제외: {}", distinctIds.size(), distinctIds.size() - receivers.size());
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		Timestamp sentAt = Timestamp.valueOf(now);
+		String senderName = names.get(senderId);
+		List<NotificationPayload> payloads = new ArrayList<>(receivers.size());
+		int size = Math.max(1, batchSize);
+		for (int from = 0, batch = 1; from < receivers.size(); from += size, batch++) {
+			long batchStart = System.nanoTime();
+			List<Integer> chunk = receivers.subList(from, Math.min(from + size, receivers.size()));
+
+			StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+			List<Object> args = new ArrayList<>(chunk.size() * 7);
+			for (int i = 0; i < chunk.size(); i++) {
+				sql.append(i == 0 ? ROW_PLACEHOLDER : ", " + ROW_PLACEHOLDER);
+				args.add(chunk.get(i));
+				args.add(senderId);
+				args.add(type.name());
+				args.add(message);
+				args.add(boardId);
+				args.add(scheduleId);
+				args.add(sentAt);
+			}
+			List<Integer> ids = insertChunk(sql.toString(), args.toArray(), chunk.size());
+
+			for (int i = 0; i < chunk.size(); i++) {
+				Integer rid = chunk.get(i);
+				NotificationPayload payload = new NotificationPayload();
+				payload.setNotificationId(ids.get(i));
+				payload.setSenderId(senderId);
+				payload.setSenderName(senderName);
+				payload.setRecipientId(rid);
+				payload.setReceiverName(names.get(rid));
+				payload.setMessage(message);
+				payload.setNotificationType(type.name());
+				payload.setCreatedAt(now);
+				payload.setBoardId(boardId);
+				payload.setScheduleId(scheduleId);
+				payloads.add(payload);
+			}
+			addTiming(timings, new BatchTiming("insert", batch, chunk.size(), elapsedMillis(batchStart)));
+		}
+		return payloads;
+	}
+
+	/** multi-row INSERT 1번 + 생성된 ID (row 순서와 같음, 드라이버가 키를 다 돌려주지 않으면 null) */
+	private List<Integer> insertChunk(String sql, Object[] args, int rows) {
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.update(con -> {
+			PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			for (int i = 0; i < args.length; i++) {
+				StatementCreatorUtils.setParameterValue(ps, i + 1, ROW_TYPES[i % ROW_TYPES.length], args[i]);
+			}
+			return ps;
+		}, keyHolder);
+
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		List<Integer> ids = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			Object key = i < keys.size() && !keys.get(i).isEmpty() ? keys.get(i).values().iterator().next() : null;
+			ids.add(key instanceof Number number ? number.intValue() : null);
+		}
+		if (keys.size() != rows) {
+			log.warn("[NotificationFanoutService.insertChunk] 생성된 ID 수가 다릅니다 - rows: {}, keys: {}", rows, keys.size());
+		}
+		return ids;
+	}
+
+	/** push-chunk-size개씩 WebSocket 전송 후 전송한 알림 sentYn 갱신 (chunk당 UPDATE 1번, 자동 커밋) */
+	public int pushAll(List<NotificationPayload> payloads, List<BatchTiming> timings) {
+		// 커밋된 알림을 미읽음 캐시에 먼저 반영 (알림을 받은 사용자가 바로 배지를 조회해도 맞도록)
+		unreadNotificationCache.onCreated(payloads);
+		int pushed = 0;
+		int size = Math.max(1, pushChunkSize);
+		for (int from = 0, batch = 1; from < payloads.size(); from += size, batch++) {
+			long batchStart = System.nanoTime();
+			List<NotificationPayload> chunk = payloads.subList(from, Math.min(from + size, payloads.size()));
+			List<Integer> sentIds = new ArrayList<>(chunk.size());
+			for (NotificationPayload payload : chunk) {
+				try {
+					webSocketDeliveryService.sendToUser(payload.getRecipientId(), payload);
+					if (payload.getNotificationId() != null) {
+						sentIds.add(payload.getNotificationId());
+					}
+					pushed++;
+				} catch (Exception e) {
+					log.warn("[NotificationFanoutService.pushAll] WebSocket 전송 실패 recipientId={}: {}", payload.getRecipientId(), e.getMessage());
+				}
+			}
+			if (!sentIds.isEmpty()) {
+				try {
+					markSent(sentIds);
+				} catch (Exception e) {
+					log.warn("[NotificationFanoutService.pushAll] sentYn 갱신 실패 - batch: {}, error: {}", batch, e.getMessage());
+				}
+			}
+			addTiming(timings, new BatchTiming("push", batch, chunk.size(), elapsedMillis(batchStart)));
+		}
+		return pushed;
+	}
+
+	private void markSent(List<Integer> ids) {
+		StringBuilder sql = new StringBuilder(
+				"UPDATE notification SET notification_sent_yn = TRUE, notification_sent_at = ? WHERE id IN (");
+		List<Object> args = new ArrayList<>(ids.size() + 1);
+		args.add(Timestamp.valueOf(LocalDateTime.now()));
+		for (int i = 0; i < ids.size(); i++) {
+			sql.append(i == 0 ? "?" : ", ?");
+			args.add(ids.get(i));
+		}
+		sql.append(')');
+		jdbcTemplate.update(sql.toString(), args.toArray());
+	}
+
+	private static void addTiming(List<BatchTiming> timings, BatchTiming timing) {
+		timings.add(timing);
+		log.debug("[NotificationFanoutService] {} batch {} - size: {}, {}ms", timing.phase(), timing.batch(), timing.size(), timing.millis());
+	}
+
+	private static long countPhase(List<BatchTiming> timings, String phase) {
+		return timings.stream().filter(t -> t.phase().equals(phase)).count();
+	}
+
+	private static long elapsedMillis(long startNanos) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+}
@@ -0,0 +1,266 @@
+package com.goodee.coreconnect.common.notification.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.goodee.coreconnect.chat.repository.NotificationRepository;
+import com.goodee.coreconnect.common.bus.BusMessage;
+import com.goodee.coreconnect.common.bus.MessageBus;
+import com.goodee.coreconnect.common.cache.LruLoadingCache;
+import com.goodee.coreconnect.common.notification.dto.NotificationPayload;
+import com.goodee.coreconnect.common.notification.dto.NotificationSummary;
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * UnreadNotificationCache (사용자별 미읽음 알림 수 + 최근 미읽음 알림 요약, 메모리)
+ *
+ * - 배지(미읽음 수) / 팝오버(최신 알림) / 미읽음 목록을 DB 조회 없이 응답
+ *   - 사용자당 미읽음 수 1개 + 최신순 최근 recent-size개 요약 (ring, 넘치면 가장 오래된 항목 제거)
+ * - 캐시에 없거나(ttl 만료 포함) 목록이 모자라면 DB에서 다시 로딩 (COUNT 1번 + 요약 projection 1번)
+ * - 갱신
+ *   - 알림 저장 커밋 후: NotificationFanoutService.pushAll → onCreated (캐시된 사용자만 증가)
+ *   - 읽음 / 모두 읽음: markRead / markAllRead (트랜잭션 안이면 커밋 후 반영)
+ *   - 그 밖에 알림을 직접 저장 / 삭제하는 곳: invalidate (다음 조회 때 다시 로딩)
+ *   - 다른 서버 인스턴스 캐시는 MessageBus "notification.unread" 채널로 제거 (Redis bus면 인스턴스 간 전달)
+ * - ttl / 상한(max-users) / 무효화 / 통계는 LruLoadingCache
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCache {
+
+	/** 미읽음 캐시 무효화 MessageBus 채널 */
+	public static final String UNREAD_CHANNEL = "notification.unread";
+
+	/** 배지 / 미읽음 목록에 나오는 알림 타입 */
+	public static final List<NotificationType> BADGE_TYPES = List.of(
+			NotificationType.EMAIL, NotificationType.NOTICE, NotificationType.APPROVAL, NotificationType.SCHEDULE);
+
+	/** 사용자 1명의 미읽음 상태 (entry 단위로 synchronized) */
+	private static final class Entry {
+		private int unreadCount;
+		/** 최신순 */
+		private final ArrayDeque<NotificationSummary> recent;
+
+		private Entry(int unreadCount, List<NotificationSummary> recent) {
+			this.unreadCount = unreadCount;
+			this.recent = new ArrayDeque<>(recent);
+		}
+
+		/** 최신 미읽음 알림이 need개까지 빠짐없이 들어 있는지 (읽음 처리로 ring이 줄어 모자라면 다시 로딩) */
+		private boolean covers(int need) {
+			return recent.size() >= Math.min(unreadCount, need);
+		}
+	}
+
+	private final NotificationRepository notificationRepository;
+	private final MessageBus messageBus;
+
+	@Value("${notification.unread-cache.recent-size:50}")
+	private int recentSize;
+
+	@Value("${notification.unread-cache.ttl-ms:600000}")
+	private long ttlMs;
+
+	@Value("${notification.unread-cache.max-users:50000}")
+	private int maxUsers;
+
+	private LruLoadingCache<Integer, Entry> users;
+
+	@PostConstruct
+	public void init() {
+		users = new LruLoadingCache<>("UnreadNotificationCache", "사용자", ttlMs, maxUsers);
+		messageBus.subscribe(UNREAD_CHANNEL, message -> {
+			if (message.userIds() != null) {
+				message.userIds().forEach(users::evict);
+			}
+		});
+	}
+
+	/** 배지용 미읽음 알림 수 */
+	public int unreadCount(Integer userId) {
+		if (userId == null) {
+			return 0;
+		}
+		Entry entry = entry(userId, 0);
+		synchronized (entry) {
+			return entry.unreadCount;
+		}
+	}
+
+	/** 가장 최근 미읽음 알림 (없으면 null) */
+	public NotificationSummary latest(Integer userId) {
+		if (userId == null) {
+			return null;
+		}
+		Entry entry = entry(userId, 1);
+		synchronized (entry) {
+			return entry.recent.peekFirst();
+		}
+	}
+
+	/** 최근 미읽음 알림 요약 (최신순, 최대 recent-size개) */
+	public List<NotificationSummary> recent(Integer userId) {
+		if (userId == null) {
+			return List.of();
+		}
+		Entry entry = entry(userId, recentSize);
+		synchronized (entry) {
+			return List.copyOf(entry.recent);
+		}
+	}
+
+	/** 알림 저장이 커밋된 뒤 호출 (배지 타입 알림만 반영, 캐시에 없는 사용자는 다음 조회 때 로딩) */
+	public void onCreated(List<NotificationPayload> payloads) {
+		if (payloads == null || payloads.isEmpty()) {
+			return;
+		}
+		users.bumpGeneration();
+		Map<Integer, Boolean> recipients = new LinkedHashMap<>();
+		for (NotificationPayload payload : payloads) {
+			Integer recipientId = payload.getRecipientId();
+			if (recipientId == null || !isBadgeType(payload.getNotificationType())) {
+				continue;
+			}
+			recipients.put(recipientId, Boolean.TRUE);
+			Entry entry = users.getIfPresent(recipientId);
+			if (entry == null) {
+				continue;
+			}
+			synchronized (entry) {
+				// 커밋 직후 다시 로딩된 항목이면 이미 들어 있음
+				if (payload.getNotificationId() != null
+						&& entry.recent.stream().anyMatch(s -> payload.getNotificationId().equals(s.notificationId()))) {
+					continue;
+				}
+				entry.recent.addFirst(NotificationSummary.from(payload));
+				while (entry.recent.size() > recentSize) {
+					entry.recent.pollLast();
+				}
+				entry.unreadCount++;
+			}
+		}
+		if (!recipients.isEmpty()) {
+			messageBus.publish(UNREAD_CHANNEL, BusMessage.toUsers(null, new ArrayList<>(recipients.keySet()), null));
+		}
+	}
+
+	/** 알림 1건 읽음 처리 후 호출 (읽기 전 미읽음이었던 알림만) */
+	public void markRead(Integer userId, Integer notificationId, NotificationType type) {
+		if (userId == null || type == null || !BADGE_TYPES.contains(type)) {
+			return;
+		}
+		afterCommit(userId, () -> {
+			Entry entry = users.getIfPresent(userId);
+			if (entry == null) {
+				return;
+			}
+			synchronized (entry) {
+				entry.recent.removeIf(s -> s.notificationId() != null && s.notificationId().equals(notificationId));
+				entry.unreadCount = Math.max(0, entry.unreadCount - 1);
+			}
+		});
+	}
+
+	/** 모두 읽음 처리 후 호출 */
+	public void markAllRead(Integer userId) {
+		if (userId == null) {
+			return;
+		}
+		afterCommit(userId, () -> {
+			Entry entry = users.getIfPresent(userId);
+			if (entry == null) {
+				return;
+			}
+			synchronized (entry) {
+				entry.recent.clear();
+				entry.unreadCount = 0;
+			}
+		});
+	}
+
+	/** 알림을 직접 저장 / 삭제한 뒤 호출 (이 인스턴스 + 다른 인스턴스) */
+	public void invalidate(Collection<Integer> userIds) {
+		if (userIds == null || userIds.isEmpty()) {
+			return;
+		}
+		List<Integer> ids = userIds.stream().filter(id -> id != null).distinct().toList();
+		users.invalidate(ids, () -> messageBus.publish(UNREAD_CHANNEL, BusMessage.toUsers(null, ids, null)));
+	}
+
+	public void invalidate(Integer userId) {
+		if (userId != null) {
+			invalidate(List.of(userId));
+		}
+	}
+
+	/** 변경을 커밋 후 반영하고 다른 인스턴스 캐시 제거 (롤백되면 캐시만 제거) */
+	private void afterCommit(Integer userId, Runnable change) {
+		users.bumpGeneration();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					users.bumpGeneration();
+					if (status == STATUS_COMMITTED) {
+						change.run();
+					} else {
+						users.evict(userId);
+					}
+					messageBus.publish(UNREAD_CHANNEL, BusMessage.toUsers(null, List.of(userId), null));
+				}
+			});
+		} else {
+			change.run();
+			messageBus.publish(UNREAD_CHANNEL, BusMessage.toUsers(null, List.of(userId), null));
+		}
+	}
+
+	private static boolean isBadgeType(String type) {
+		for (NotificationType badgeType : BADGE_TYPES) {
+			if (badgeType.name().equals(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** need: ring에 있어야 하는 최신 알림 수 (0 = 미읽음 수만 필요) */
+	private Entry entry(Integer userId, int need) {
+		return users.get(userId, entry -> {
+			synchronized (entry) {
+				return entry.covers(need);
+			}
+		}, this::load);
+	}
+
+	private Entry load(Integer userId) {
+		long count = notificationRepository.countUnreadByUserIdAndTypes(userId, BADGE_TYPES);
+		List<NotificationSummary> recent = count == 0
+				? List.of()
+				: notificationRepository.findUnreadSummaries(userId, BADGE_TYPES, PageRequest.of(0, recentSize));
+		return new Entry((int) count, recent);
+	}
+
+	public LruLoadingCache.Stats snapshot() {
+		return users.snapshot();
+	}
+
+	@Scheduled(fixedDelayString = "${notification.unread-cache.metrics-log-interval-ms:60000}")
+	public void logMetrics() {
+		users.logMetrics();
+	}
+}
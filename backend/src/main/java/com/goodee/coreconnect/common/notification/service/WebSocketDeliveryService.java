@@ -1,6 +1,7 @@
 package com.goodee.coreconnect.common.notification.service;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -8,57 +9,67 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-//import jakarta.annotation.PostConstruct;
 
-//import org.springframework.data.redis.connection.Message;
-//import org.springframework.data.redis.connection.MessageListener;
-//import org.springframework.data.redis.core.StringRedisTemplate;
-//import org.springframework.data.redis.listener.PatternTopic;
-//import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.goodee.coreconnect.common.notification.dto.NotificationPayload;
+import com.goodee.coreconnect.common.bus.BusMessage;
+import com.goodee.coreconnect.common.bus.MessageBus;
+import com.goodee.coreconnect.config.VirtualThreads;
+
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * WebSocketDeliveryService (단일 인스턴스/로컬 세션용, Redis pub/sub 주석처리)
+ * WebSocketDeliveryService (사용자별 실시간 전송, 여러 서버 인스턴스 지원)
  * 
  * - userId별로 여러 WebSocketSession을 관리(동시 다중 접속 지원)
- * - Redis pub/sub 연동/구독/메시지 리스너 기능은 현재 주석처리됨
- * - sendToUser는 local 세션에 비동기로 메시지를 전송
+ * - sendToUser/sendToUsers는 local 세션에 비동기로 메시지를 전송하고, 같은 메시지를 MessageBus("user" 채널)로 발행
+ * - 다른 인스턴스가 발행한 메시지는 이 인스턴스의 local 세션에만 전송 (다시 발행하지 않음)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-//public class WebSocketDeliveryService implements MessageListener {
 public class WebSocketDeliveryService {
 
+    /** 사용자별 전송 MessageBus 채널 */
+    public static final String USER_CHANNEL = "user";
+
     /** userId별로 여러 세션 동시 관리 */
     private final Map<Integer, CopyOnWriteArraySet<WebSocketSession>> sessions = new ConcurrentHashMap<>();
 
     /** Jackson ObjectMapper (JSR310 모듈등록, 직렬화 오류 방지) */
     private final ObjectMapper objectMapper;
 
-    // Redis 관련 의존성 주석처리
-    //private final StringRedisTemplate redisTemplate;
-    //private final RedisMessageListenerContainer redisListenerContainer;
-    //private final String CHANNEL = "notifications";
+    /** 서버 인스턴스 간 전달 (기본: 같은 JVM 안에서만 전달, chat.bus.type=redis 시 Redis pub/sub) */
+    private final MessageBus messageBus;
+
+    /** 가상 스레드 모드 (virtual-threads 프로필 + Java 21) */
+    @Value("${" + VirtualThreads.ENABLED_PROPERTY + ":false}")
+    private boolean virtualThreadsEnabled;
 
-    /** 비동기 전송용 작업 스레드풀 (I/O blocking 방지) */
-    private final ExecutorService sendExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    /** 비동기 전송용 executor (I/O blocking 방지) - 기본: CPU × 2 스레드풀 / 가상 스레드 모드: 전송마다 가상 스레드 */
+    private ExecutorService sendExecutor;
 
-    /*
+    /** 다른 인스턴스에서 발행한 사용자별 메시지 구독 (local 세션에만 전송) */
     @PostConstruct
     public void init() {
-        if (redisListenerContainer != null) {
-            redisListenerContainer.addMessageListener(this, new PatternTopic(CHANNEL));
-            log.info("[WebSocketDeliveryService] Redis pub/sub '{}' 구독 등록 완료", CHANNEL);
-        }
+        sendExecutor = VirtualThreads.isActive(virtualThreadsEnabled)
+                ? VirtualThreads.newPerTaskExecutor("notification-send-")
+                : Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        messageBus.subscribe(USER_CHANNEL, message -> {
+            if (message.userIds() == null || message.payload() == null) return;
+            TextMessage msg = new TextMessage(message.payload());
+            for (Integer uid : message.userIds()) {
+                deliverLocal(uid, msg);
+            }
+        });
+        log.info("[WebSocketDeliveryService] MessageBus '{}' 채널 구독 등록 완료 - nodeId: {}, 가상 스레드: {}",
+                USER_CHANNEL, messageBus.nodeId(), VirtualThreads.isActive(virtualThreadsEnabled));
     }
-    */
 
     /** 특정 사용자(userId)의 세션을 등록. (탭/장치 추가 지원) */
     public void registerSession(Integer userId, WebSocketSession session) {
@@ -82,89 +93,67 @@ public class WebSocketDeliveryService {
         }
     }
 
-    /** 단일 사용자(userId)의 모든 세션에 실시간 메시지 비동기 전송 */
+    /**
+     * 단일 사용자(userId)의 모든 세션에 실시간 메시지 비동기 전송
+     * @return 이 인스턴스에 열린 세션이 하나라도 있었는지 여부 (다른 인스턴스로는 항상 발행됨)
+     */
     public boolean sendToUser(Integer userId, Object payload) {
-        Set<WebSocketSession> set = sessions.get(userId);
-        boolean atLeastOne = false;
-        if (set != null && !set.isEmpty()) {
-            final String text;
-            try {
-                text = objectMapper.writeValueAsString(payload);
-            } catch (IOException e) {
-                log.warn("[WebSocketDeliveryService] 메시지 직렬화 오류: userId={}, error={}", userId, e.getMessage());
-                return false;
-            }
-            TextMessage msg = new TextMessage(text);
-            for (WebSocketSession s : set) {
-                sendExecutor.execute(() -> {
-                    if (s.isOpen()) {
-                        try {
-                            s.sendMessage(msg);
-                            log.info("[WebSocketDeliveryService] 메시지 전송 성공: userId={}, sessionId={}", userId, s.getId());
-                        } catch (IOException e) {
-                            log.warn("[WebSocketDeliveryService] 메시지 전송 실패: userId={}, sessionId={}, err={}", userId, s.getId(), e.getMessage());
-                            unregisterSession(userId, s);
-                        }
-                    }
-                });
-                atLeastOne = true;
-            }
-            if (!atLeastOne) {
-                log.warn("[WebSocketDeliveryService] 모든 세션이 닫혀 있음: userId={}", userId);
-            }
-            return atLeastOne;
-        } else {
-            log.warn("[WebSocketDeliveryService] 세션 미등록 or 닫힘: userId={}", userId);
+        if (userId == null || payload == null) return false;
+        final byte[] encoded;
+        try {
+            // 직렬화 + UTF-8 인코딩 1번, 사용자의 모든 세션이 같은 프레임 공유
+            encoded = objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            log.warn("[WebSocketDeliveryService] 메시지 직렬화 오류: userId={}, error={}", userId, e.getMessage());
+            return false;
         }
-        return false;
+        boolean atLeastOne = deliverLocal(userId, new TextMessage(encoded));
+        messageBus.publish(USER_CHANNEL, BusMessage.toUsers(null, List.of(userId), new String(encoded, StandardCharsets.UTF_8)));
+        if (!atLeastOne) {
+            log.debug("[WebSocketDeliveryService] local 세션 없음 (다른 인스턴스로만 발행): userId={}", userId);
+        }
+        return atLeastOne;
     }
 
     /** 여러 사용자(userId 리스트)의 모든 세션에 동일 payload 실시간 전송 */
     public void sendToUsers(List<Integer> userIds, Object payload) {
         if (userIds == null || userIds.isEmpty() || payload == null) return;
-        final String text;
+        final byte[] encoded;
         try {
-            text = objectMapper.writeValueAsString(payload);
+            // 직렬화 + UTF-8 인코딩 1번, 모든 사용자/세션이 같은 프레임 공유
+            encoded = objectMapper.writeValueAsBytes(payload);
         } catch (Exception e) {
             log.warn("[WebSocketDeliveryService] 메시지 직렬화 실패: {}", e.getMessage());
             return;
         }
-        TextMessage msg = new TextMessage(text);
+        TextMessage msg = new TextMessage(encoded);
         for (Integer uid : userIds) {
-            Set<WebSocketSession> set = sessions.get(uid);
-            if (set != null && !set.isEmpty()) {
-                for (WebSocketSession s : set) {
-                    sendExecutor.execute(() -> {
-                        if (s.isOpen()) {
-                            try {
-                                s.sendMessage(msg);
-                                log.info("[WebSocketDeliveryService] (sendToUsers) 메시지 전송: userId={}, sessionId={}", uid, s.getId());
-                            } catch (IOException ignore) {
-                                log.warn("[WebSocketDeliveryService] sendToUsers 전송실패: userId={}, sessionId={}", uid, s.getId());
-                                unregisterSession(uid, s);
-                            }
-                        }
-                    });
-                }
-            }
+            deliverLocal(uid, msg);
         }
+        messageBus.publish(USER_CHANNEL, BusMessage.toUsers(null, userIds, new String(encoded, StandardCharsets.UTF_8)));
     }
 
-    /*
-    @Override
-    public void onMessage(Message message, byte[] pattern) {
-        try {
-            String body = new String(message.getBody());
-            NotificationPayload payload = objectMapper.readValue(body, NotificationPayload.class);
-            if (payload.getRecipientId() != null) {
-                sendToUser(payload.getRecipientId(), payload);
-                log.info("[WebSocketDeliveryService] Redis 수신 후 세션 알림: recipientId={}", payload.getRecipientId());
-            }
-        } catch (Exception e) {
-            log.warn("[WebSocketDeliveryService] Redis 메시지 처리 오류: {}", e.getMessage());
+    /** 이 인스턴스에 등록된 사용자의 모든 세션에 비동기 전송 (열린 세션이 있었는지 반환) */
+    private boolean deliverLocal(Integer userId, TextMessage msg) {
+        Set<WebSocketSession> set = sessions.get(userId);
+        if (set == null || set.isEmpty()) {
+            return false;
+        }
+        for (WebSocketSession s : set) {
+            sendExecutor.execute(() -> {
+                if (s.isOpen()) {
+                    try {
+                        s.sendMessage(msg);
+                        log.info("[WebSocketDeliveryService] 메시지 전송 성공: userId={}, sessionId={}", userId, s.getId());
+                    } catch (IOException e) {
+                        log.warn("[WebSocketDeliveryService] 메시지 전송 실패: userId={}, sessionId={}, err={}", userId, s.getId(), e.getMessage());
+                        unregisterSession(userId, s);
+                    }
+                }
+            });
         }
+        return true;
     }
-    */
 
     /** 모든 세션 강제 종료 (테스트/서버 다운시) */
     public void closeAll() {
@@ -1,7 +1,14 @@
 package com.goodee.coreconnect.common.service;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -12,8 +19,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.GetUrlRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 /*
  * S3 업로드용 Service 파일
@@ -26,9 +39,16 @@ public class S3Service {
 
     private final S3Client s3Client;
 
+    /** S3 multipart 업로드 최소 part 크기 (마지막 part 제외) */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
+    /** 이 크기보다 큰 파일은 multipart 업로드, part 크기도 같은 값 (최소 5MB) */
+    @Value("${cloud.aws.s3.multipart-part-size:8388608}")
+    private long multipartPartSize;
+
     /** 프로필 이미지 업로드 */
     public String uploadProfileImage(MultipartFile file, String username) throws IOException {
         String key = "profile/" + username + "/" + file.getOriginalFilename();
@@ -116,17 +136,10 @@ public class S3Service {
         if (originalFileName == null || originalFileName.isBlank()) {
             originalFileName = "unnamed_file";
         }
-        
-        // 파일명에 특수문자가 포함될 수 있으므로 안전하게 처리
-        String safeFileName = originalFileName.replaceAll("[^a-zA-Z0-9._-]", "_");
-        String uniqueFileName = UUID.randomUUID().toString() + "_" + safeFileName;
-        String key = "chat/" + userId + "/" + uniqueFileName;
+        String key = newChatFileKey(originalFileName, userId);
 
         // 2. Content-Type 설정 (파일 타입이 null이면 application/octet-stream 사용)
-        String contentType = file.getContentType();
-        if (contentType == null || contentType.isBlank()) {
-            contentType = "application/octet-stream";
-        }
+        String contentType = chatFileContentType(file.getContentType());
 
         // 3. S3 업로드 요청 생성
         PutObjectRequest request = PutObjectRequest.builder()
@@ -144,4 +157,117 @@ public class S3Service {
         // 5. S3 키 반환 (URL이 아닌 키)
         return key;
     }
+
+    /** 채팅 파일 S3 키 생성 (경로: chat/userId/UUID_파일명, 업로드 전에 키를 먼저 정할 때 사용) */
+    public String newChatFileKey(String originalFileName, Integer userId) {
+        if (originalFileName == null || originalFileName.isBlank()) {
+            originalFileName = "unnamed_file";
+        }
+        // 파일명에 특수문자가 포함될 수 있으므로 안전하게 처리
+        String safeFileName = originalFileName.replaceAll("[^a-zA-Z0-9._-]", "_");
+        return "chat/" + userId + "/" + UUID.randomUUID().toString() + "_" + safeFileName;
+    }
+
+    /** 채팅 파일 Content-Type (null이면 application/octet-stream) */
+    public String chatFileContentType(String contentType) {
+        return contentType == null || contentType.isBlank() ? "application/octet-stream" : contentType;
+    }
+
+    /**
+     * 로컬 파일을 지정한 키로 업로드 (메모리에 파일 전체를 올리지 않고 디스크에서 바로 전송)
+     * - multipart-part-size 이하: putObject 1번
+     * - 그보다 크면 S3 multipart 업로드 (part마다 파일 구간만 읽어서 전송, 실패 시 abort)
+     */
+    public void uploadFile(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        long partSize = Math.max(MIN_PART_SIZE, multipartPartSize);
+        if (size <= partSize) {
+            PutObjectRequest request = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .build();
+            s3Client.putObject(request, RequestBody.fromFile(source));
+            return;
+        }
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                UploadPartRequest request = UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(length)
+                        .build();
+                final long partOffset = offset;
+                String eTag = s3Client.uploadPart(request, RequestBody.fromContentProvider(
+                        () -> openRange(source, partOffset, length), length, contentType)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            log.info("[S3Service] multipart 업로드 완료 - key: {}, size: {} bytes, parts: {}", key, size, parts.size());
+        } catch (RuntimeException e) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (RuntimeException abortError) {
+                log.warn("[S3Service] multipart 업로드 abort 실패 - key: {}, uploadId: {}, error: {}", key, uploadId, abortError.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /** 파일의 [offset, offset + length) 구간만 읽는 스트림 (SDK 재시도 시 새로 열림) */
+    private static InputStream openRange(Path source, long offset, long length) {
+        try {
+            InputStream in = Files.newInputStream(source);
+            in.skipNBytes(offset);
+            return new FilterInputStream(in) {
+                private long remaining = length;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int b = super.read();
+                    if (b >= 0) {
+                        remaining--;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buf, int off, int len) throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int n = super.read(buf, off, (int) Math.min(len, remaining));
+                    if (n > 0) {
+                        remaining -= n;
+                    }
+                    return n;
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,10 +1,51 @@
 package com.goodee.coreconnect.config;
 
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * @Async 실행 executor
+ * - STOMP 채널 executor 빈이 여러 개 있어 Spring Boot 기본 applicationTaskExecutor가 생성되지 않으므로
+ *   (이 경우 @Async는 작업마다 새 스레드를 만드는 SimpleAsyncTaskExecutor 사용) 여기서 명시적으로 지정
+ * - 가상 스레드 모드: 작업마다 가상 스레드 / 기본: 크기 제한이 있는 플랫폼 스레드풀
+ */
+@Slf4j
 @Configuration
 @EnableAsync   // 비동기 기능 활성화
-public class AsyncConfig {
+public class AsyncConfig implements AsyncConfigurer {
+
+	@Value("${" + VirtualThreads.ENABLED_PROPERTY + ":false}")
+	private boolean virtualThreadsEnabled;
+
+	@Value("${app.async.core-pool-size:8}")
+	private int corePoolSize;
+
+	@Value("${app.async.max-pool-size:32}")
+	private int maxPoolSize;
+
+	@Value("${app.async.queue-capacity:1000}")
+	private int queueCapacity;
 
+	@Override
+	public Executor getAsyncExecutor() {
+		if (VirtualThreads.isActive(virtualThreadsEnabled)) {
+			log.info("[AsyncConfig] @Async 실행: 가상 스레드");
+			return VirtualThreads.newTaskExecutor("async-");
+		}
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(corePoolSize);
+		executor.setMaxPoolSize(Math.max(corePoolSize, maxPoolSize));
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("async-");
+		executor.initialize();
+		log.info("[AsyncConfig] @Async 실행: 스레드풀 core: {}, max: {}, queue: {}", corePoolSize, maxPoolSize, queueCapacity);
+		return executor;
+	}
 }
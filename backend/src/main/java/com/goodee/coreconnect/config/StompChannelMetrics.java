@@ -0,0 +1,239 @@
+package com.goodee.coreconnect.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * StompChannelMetrics (STOMP 채널 지표)
+ *
+ * - 채널(inbound / outbound / broker)별 인터셉터를 만들어 WebSocketConfig에서 등록
+ * - destination별 메시지 수 (숫자는 *로 치환: /topic/chat.room.12 → /topic/chat.room.*, 최대 256개)
+ * - 핸들러 처리 시간 히스토그램 (고정 구간, 메시지마다 카운터 증가만 함)
+ * - 스레드풀 포화로 거절된 메시지 수 (거절된 메시지는 ExecutorSubscribableChannel이 보낸 스레드에서 직접 처리 → 유실 없음)
+ * - 헤더/본문 문자열을 만들지 않으므로 프레임당 비용은 카운터 몇 개 증가 수준
+ */
+@Slf4j
+@Component
+public class StompChannelMetrics {
+
+	/** 처리 시간 히스토그램 구간 상한 (마이크로초), 마지막 구간은 그 이상 */
+	private static final long[] LATENCY_BOUNDS_MICROS = { 100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000 };
+
+	/** destination 키 최대 개수 (초과분은 "other"로 집계) */
+	private static final int MAX_DESTINATIONS = 256;
+
+	private final Map<String, ChannelStats> channels = new ConcurrentHashMap<>();
+
+	/** 채널 지표 스냅샷 */
+	public record ChannelSnapshot(String channel, long messages, long rejected, long[] latencyBuckets,
+			Map<String, Long> destinations) {
+
+		/** 히스토그램 기준 백분위 (구간 상한, 마이크로초) */
+		public long percentileMicros(int p) {
+			long total = 0;
+			for (long count : latencyBuckets) {
+				total += count;
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long rank = (long) Math.ceil(p / 100.0 * total);
+			long seen = 0;
+			for (int i = 0; i < latencyBuckets.length; i++) {
+				seen += latencyBuckets[i];
+				if (seen >= rank) {
+					return i < LATENCY_BOUNDS_MICROS.length ? LATENCY_BOUNDS_MICROS[i] : Long.MAX_VALUE;
+				}
+			}
+			return Long.MAX_VALUE;
+		}
+	}
+
+	/** 채널 1개의 카운터 */
+	private static final class ChannelStats {
+		private final String name;
+		private final LongAdder messages = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+		private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BOUNDS_MICROS.length + 1];
+		private final Map<String, LongAdder> destinations = new ConcurrentHashMap<>();
+
+		/** 직전 로그 시점 값 (초당 처리량 계산용) */
+		private long lastLoggedMessages;
+		private long lastLoggedAt = System.nanoTime();
+
+		private ChannelStats(String name) {
+			this.name = name;
+			for (int i = 0; i < latencyBuckets.length; i++) {
+				latencyBuckets[i] = new LongAdder();
+			}
+		}
+
+		private void recordMessage(String destination) {
+			messages.increment();
+			String key = destinationKey(destination);
+			LongAdder counter = destinations.get(key);
+			if (counter == null) {
+				counter = destinations.size() < MAX_DESTINATIONS
+						? destinations.computeIfAbsent(key, k -> new LongAdder())
+						: destinations.computeIfAbsent("other", k -> new LongAdder());
+			}
+			counter.increment();
+		}
+
+		private void recordLatency(long nanos) {
+			long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+			int idx = 0;
+			while (idx < LATENCY_BOUNDS_MICROS.length && micros > LATENCY_BOUNDS_MICROS[idx]) {
+				idx++;
+			}
+			latencyBuckets[idx].increment();
+		}
+
+		private ChannelSnapshot snapshot() {
+			long[] buckets = new long[latencyBuckets.length];
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = latencyBuckets[i].sum();
+			}
+			Map<String, Long> perDestination = new LinkedHashMap<>();
+			destinations.entrySet().stream()
+					.sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+					.forEach(e -> perDestination.put(e.getKey(), e.getValue().sum()));
+			return new ChannelSnapshot(name, messages.sum(), rejected.sum(), buckets, perDestination);
+		}
+	}
+
+	/** destination 집계 키 (숫자 구간을 *로 치환, 숫자가 없으면 그대로 반환 → 할당 없음) */
+	private static String destinationKey(String destination) {
+		if (destination == null) {
+			return "(none)";
+		}
+		int firstDigit = -1;
+		for (int i = 0; i < destination.length(); i++) {
+			if (Character.isDigit(destination.charAt(i))) {
+				firstDigit = i;
+				break;
+			}
+		}
+		if (firstDigit < 0) {
+			return destination;
+		}
+		StringBuilder sb = new StringBuilder(destination.length());
+		sb.append(destination, 0, firstDigit);
+		boolean inNumber = false;
+		for (int i = firstDigit; i < destination.length(); i++) {
+			char c = destination.charAt(i);
+			if (Character.isDigit(c)) {
+				if (!inNumber) {
+					sb.append('*');
+					inNumber = true;
+				}
+			} else {
+				sb.append(c);
+				inNumber = false;
+			}
+		}
+		return sb.toString();
+	}
+
+	/** 채널용 지표 인터셉터 생성 (같은 이름이면 같은 카운터 공유) */
+	public ExecutorChannelInterceptor interceptor(String channelName) {
+		return new MetricsInterceptor(channels.computeIfAbsent(channelName, ChannelStats::new));
+	}
+
+	/**
+	 * 채널 스레드풀 거절 핸들러 (거절 수 집계 후 예외를 다시 던짐)
+	 * - ExecutorSubscribableChannel은 RejectedExecutionException을 받으면 보낸 스레드에서 직접 처리함
+	 */
+	public RejectedExecutionHandler rejectedExecutionHandler(String channelName) {
+		ChannelStats stats = channels.computeIfAbsent(channelName, ChannelStats::new);
+		return (task, executor) -> {
+			stats.rejected.increment();
+			throw new RejectedExecutionException("STOMP " + channelName + " 채널 스레드풀 포화");
+		};
+	}
+
+	/** 채널별 현재 지표 */
+	public List<ChannelSnapshot> snapshot() {
+		List<ChannelSnapshot> result = new ArrayList<>();
+		for (ChannelStats stats : channels.values()) {
+			result.add(stats.snapshot());
+		}
+		return result;
+	}
+
+	// 기본 1분마다 채널 지표 로그 (메시지가 없으면 생략)
+	@Scheduled(fixedDelayString = "${app.websocket.stomp.metrics-log-interval-ms:60000}")
+	public void logMetrics() {
+		long now = System.nanoTime();
+		for (ChannelStats stats : channels.values()) {
+			ChannelSnapshot snapshot = stats.snapshot();
+			long delta = snapshot.messages() - stats.lastLoggedMessages;
+			double seconds = Math.max(1e-3, (now - stats.lastLoggedAt) / 1e9);
+			stats.lastLoggedMessages = snapshot.messages();
+			stats.lastLoggedAt = now;
+			if (delta == 0 && snapshot.rejected() == 0) {
+				continue;
+			}
+			Map<String, Long> top = new LinkedHashMap<>();
+			snapshot.destinations().entrySet().stream().limit(10).forEach(e -> top.put(e.getKey(), e.getValue()));
+			log.info("[StompChannelMetrics] channel: {}, 메시지: {} ({}/s), 거절: {}, 처리시간 p50/p95/p99(µs 이하): {}/{}/{}, destination 상위: {}",
+					snapshot.channel(), snapshot.messages(), String.format("%.1f", delta / seconds), snapshot.rejected(),
+					snapshot.percentileMicros(50), snapshot.percentileMicros(95), snapshot.percentileMicros(99), top);
+		}
+	}
+
+	/** 채널 인터셉터 (헤더 조회 + 카운터 증가만 수행) */
+	private static final class MetricsInterceptor implements ExecutorChannelInterceptor {
+
+		private final ChannelStats stats;
+
+		/** 핸들러 처리 시작 시각 (스레드별, 박싱 방지용 배열) */
+		private final ThreadLocal<long[]> handleStartedAt = ThreadLocal.withInitial(() -> new long[1]);
+
+		private MetricsInterceptor(ChannelStats stats) {
+			this.stats = stats;
+		}
+
+		@Override
+		public Message<?> preSend(Message<?> message, MessageChannel channel) {
+			SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+			if (type != SimpMessageType.HEARTBEAT) {
+				String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+				stats.recordMessage(destination != null ? destination : (type != null ? type.name() : null));
+			}
+			return message;
+		}
+
+		@Override
+		public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+			handleStartedAt.get()[0] = System.nanoTime();
+			return message;
+		}
+
+		@Override
+		public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+			long startedAt = handleStartedAt.get()[0];
+			if (startedAt != 0) {
+				stats.recordLatency(System.nanoTime() - startedAt);
+			}
+		}
+	}
+}
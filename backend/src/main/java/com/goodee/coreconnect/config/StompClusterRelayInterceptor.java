@@ -0,0 +1,88 @@
+package com.goodee.coreconnect.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import com.goodee.coreconnect.common.bus.BusMessage;
+import com.goodee.coreconnect.common.bus.MessageBus;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * StompClusterRelayInterceptor (STOMP 브로커 채널 → 다른 서버 인스턴스 전달)
+ *
+ * - SimpleBroker는 인스턴스 로컬 구독자에게만 전달하므로, brokerChannel로 들어오는 /topic, /user 메시지를
+ *   MessageBus "stomp" 채널로 발행 (convertAndSend 호출부는 수정 불필요)
+ * - 다른 인스턴스에서 받은 메시지는 clusterRelayed 헤더를 붙여 로컬 brokerChannel로 보내고, 다시 발행하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompClusterRelayInterceptor implements ChannelInterceptor {
+
+	/** STOMP 메시지 MessageBus 채널 */
+	public static final String STOMP_CHANNEL = "stomp";
+
+	/** 다른 인스턴스에서 전달된 메시지 표시 헤더 */
+	private static final String RELAYED_HEADER = "clusterRelayed";
+
+	private final MessageBus messageBus;
+
+	/** WebSocketConfig → brokerChannel → SimpMessagingTemplate 순환 참조 방지 (수신 시점에 조회) */
+	private final ObjectProvider<SimpMessagingTemplate> messagingTemplateProvider;
+
+	@PostConstruct
+	public void init() {
+		messageBus.subscribe(STOMP_CHANNEL, this::deliverLocal);
+	}
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		MessageHeaders headers = message.getHeaders();
+		if (headers.containsKey(RELAYED_HEADER)
+				|| SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+			return message;
+		}
+		String destination = SimpMessageHeaderAccessor.getDestination(headers);
+		if (destination == null || !(destination.startsWith("/topic/") || destination.startsWith("/user/"))) {
+			return message;
+		}
+		if (message.getPayload() instanceof byte[] payload) {
+			Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+			messageBus.publish(STOMP_CHANNEL, BusMessage.stomp(destination,
+					contentType != null ? contentType.toString() : null, new String(payload, StandardCharsets.UTF_8)));
+		}
+		return message;
+	}
+
+	private void deliverLocal(BusMessage busMessage) {
+		if (busMessage.destination() == null || busMessage.payload() == null) {
+			return;
+		}
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		accessor.setDestination(busMessage.destination());
+		if (busMessage.contentType() != null) {
+			accessor.setContentType(MimeType.valueOf(busMessage.contentType()));
+		}
+		accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+		accessor.setLeaveMutable(true);
+		Message<byte[]> message = MessageBuilder.createMessage(
+				busMessage.payload().getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+		messagingTemplateProvider.getObject().send(busMessage.destination(), message);
+		log.debug("[StompClusterRelayInterceptor] 다른 인스턴스 메시지 로컬 전달 - destination: {}, origin: {}",
+				busMessage.destination(), busMessage.origin());
+	}
+}
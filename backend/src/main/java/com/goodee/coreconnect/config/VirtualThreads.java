@@ -0,0 +1,45 @@
+package com.goodee.coreconnect.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * 가상 스레드 실행 모드 판단 / executor 생성
+ *
+ * - virtual-threads 프로필(spring.threads.virtual.enabled=true) + Java 21 이상 JVM에서만 활성
+ * - Java 17로 실행하면 설정이 켜져 있어도 기존 플랫폼 스레드풀을 그대로 사용
+ * - 기본 빌드(Java 17)에서도 컴파일되도록 Java 21 API는 Spring VirtualThreadTaskExecutor / 리플렉션으로만 사용
+ */
+public final class VirtualThreads {
+
+	/** Spring Boot 가상 스레드 설정 (Tomcat 요청 처리 / @Scheduled 등에도 적용됨) */
+	public static final String ENABLED_PROPERTY = "spring.threads.virtual.enabled";
+
+	private VirtualThreads() {
+	}
+
+	/** 설정값 + 실행 중인 JVM 버전으로 가상 스레드 사용 여부 판단 */
+	public static boolean isActive(boolean enabled) {
+		return enabled && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+	}
+
+	/** 작업마다 가상 스레드를 만드는 Spring TaskExecutor (스레드 이름: prefix + 번호) */
+	public static VirtualThreadTaskExecutor newTaskExecutor(String threadNamePrefix) {
+		return new VirtualThreadTaskExecutor(threadNamePrefix);
+	}
+
+	/** 작업마다 가상 스레드를 만드는 ExecutorService (Executors.newThreadPerTaskExecutor, Java 21) */
+	public static ExecutorService newPerTaskExecutor(String threadNamePrefix) {
+		ThreadFactory factory = newTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+		try {
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, factory);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("가상 스레드 executor 생성 실패 (Java 21 이상 필요)", e);
+		}
+	}
+}
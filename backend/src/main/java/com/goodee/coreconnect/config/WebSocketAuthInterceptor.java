@@ -7,7 +7,10 @@ import org.springframework.web.socket.server.HandshakeInterceptor;
 import org.springframework.web.socket.WebSocketHandler;
 
 import com.goodee.coreconnect.security.jwt.JwtProvider;
+import com.goodee.coreconnect.user.entity.User;
+import com.goodee.coreconnect.user.repository.UserRepository;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +21,8 @@ import org.springframework.stereotype.Component;
  * WebSocket handshake 시 토큰을 검사해서 session attributes 에 사용자 정보 저장
  * - 우선순위: cookie(access_token) -> query param(accessToken)
  * - 토큰 검증 실패 시 핸드쉐이크 거부
+ * - JWT 파싱 + 사용자 조회는 여기서 1번만 하고, 결과를 WebSocketSessionUser(불변)로 저장
+ *   → 핸들러/컨트롤러는 연결·메시지마다 JWT를 다시 파싱하거나 사용자를 다시 조회하지 않음
  *
  * NOTE: token in query is only fallback for tests/clients that can't use cookies.
  */
@@ -27,6 +32,7 @@ import org.springframework.stereotype.Component;
 public class WebSocketAuthInterceptor implements HandshakeInterceptor {
 
     private final JwtProvider jwtProvider;
+    private final UserRepository userRepository;
 
     @Override
     public boolean beforeHandshake(org.springframework.http.server.ServerHttpRequest request,
@@ -76,24 +82,33 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
             return false;
         }
 
+        String email;
         try {
-            if (!jwtProvider.isValid(token)) {
-                log.warn("[WebSocketAuthInterceptor] invalid token during websocket handshake");
-                return false;
-            }
-            String email = jwtProvider.getSubject(token);
-            if (email == null || email.isBlank()) {
-                log.warn("[WebSocketAuthInterceptor] token has no subject - reject");
-                return false;
-            }
-            // 저장: NotificationWebSocketHandler will read "wsUserEmail" (or userId if you prefer)
-            attributes.put("wsUserEmail", email);
-            attributes.put("access_token", token);
-            return true;
+            // ⭐ 검증 + subject 추출을 한 번의 파싱으로 처리
+            Claims claims = jwtProvider.parseClaims(token);
+            email = claims.getSubject();
         } catch (Exception e) {
-            log.warn("[WebSocketAuthInterceptor] token parsing error: {}", e.getMessage());
+            log.warn("[WebSocketAuthInterceptor] invalid token during websocket handshake: {}", e.getMessage());
+            return false;
+        }
+        if (email == null || email.isBlank()) {
+            log.warn("[WebSocketAuthInterceptor] token has no subject - reject");
             return false;
         }
+
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            log.warn("[WebSocketAuthInterceptor] email '{}'에 해당하는 사용자가 없음 - reject", email);
+            return false;
+        }
+
+        // 저장: 핸들러들은 WebSocketSessionUser를 사용 (wsUserEmail/userId는 기존 코드 호환용)
+        attributes.put(WebSocketSessionUser.ATTRIBUTE,
+                new WebSocketSessionUser(user.getId(), user.getEmail(), user.getName(), user.getRole()));
+        attributes.put("wsUserEmail", email);
+        attributes.put("userId", user.getId());
+        log.info("[WebSocketAuthInterceptor] 핸드셰이크 인증 완료 - userId: {}, email: {}", user.getId(), email);
+        return true;
     }
 
     @Override
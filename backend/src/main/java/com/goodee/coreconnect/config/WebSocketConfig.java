@@ -1,11 +1,13 @@
 package com.goodee.coreconnect.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageChannel;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.config.ChannelRegistration;
-import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.*;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.RequiredArgsConstructor;
@@ -19,9 +21,66 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
     
+    // ⭐ brokerChannel 메시지를 다른 서버 인스턴스로 전달 (SimpleBroker는 인스턴스 로컬)
+    private final StompClusterRelayInterceptor stompClusterRelayInterceptor;
+    
+    // ⭐ 채널별 메시지 수 / 처리 시간 / 거절 수 (프레임마다 로그 문자열을 만들지 않음)
+    private final StompChannelMetrics stompChannelMetrics;
+    
+    // SimpleBroker heartbeat 전송용 (브로커 설정 시점에는 아직 생성 전이므로 @Lazy)
+    private TaskScheduler messageBrokerTaskScheduler;
+    
     @Value("${app.websocket.allowed-origins:http://localhost:5173}")
     private String allowedOrigins;
     
+    // ⭐ 채널 스레드풀 (0 이하이면 기본값: core = CPU × 2, max = CPU × 4, queue = 10000)
+    @Value("${app.websocket.stomp.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+    @Value("${app.websocket.stomp.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+    @Value("${app.websocket.stomp.inbound.queue-capacity:0}")
+    private int inboundQueueCapacity;
+    
+    @Value("${app.websocket.stomp.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+    @Value("${app.websocket.stomp.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+    @Value("${app.websocket.stomp.outbound.queue-capacity:0}")
+    private int outboundQueueCapacity;
+    
+    // 브로커 채널은 기본 동기 처리 (convertAndSend 호출 순서 = 브로커 처리 순서), core-pool-size > 0 이면 스레드풀 사용
+    @Value("${app.websocket.stomp.broker.core-pool-size:0}")
+    private int brokerCorePoolSize;
+    @Value("${app.websocket.stomp.broker.max-pool-size:0}")
+    private int brokerMaxPoolSize;
+    @Value("${app.websocket.stomp.broker.queue-capacity:0}")
+    private int brokerQueueCapacity;
+    
+    // 세션 1개에 대한 전송 제한 (초과 시 세션 종료) / 수신 메시지 최대 크기
+    @Value("${app.websocket.stomp.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    @Value("${app.websocket.stomp.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    @Value("${app.websocket.stomp.message-size-limit:65536}")
+    private int messageSizeLimit;
+    
+    // SimpleBroker heartbeat 주기 (서버 → 클라이언트 / 클라이언트 → 서버, 0이면 사용 안 함)
+    @Value("${app.websocket.stomp.heartbeat-ms:10000}")
+    private long heartbeatMs;
+    
+    // 같은 세션으로 가는 메시지의 발행 순서 유지 (outbound 스레드풀에서 순서가 바뀌지 않도록)
+    @Value("${app.websocket.stomp.preserve-publish-order:true}")
+    private boolean preservePublishOrder;
+    
+    // ⭐ 가상 스레드 모드 (virtual-threads 프로필 + Java 21): 채널 메시지마다 가상 스레드에서 처리
+    @Value("${" + VirtualThreads.ENABLED_PROPERTY + ":false}")
+    private boolean virtualThreadsEnabled;
+    
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+    
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         log.info("🔥 [WebSocketConfig] STOMP 엔드포인트 등록 시작");
@@ -49,8 +108,21 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         log.info("🔥 [WebSocketConfig] 메시지 브로커 설정 시작");
         // /topic/* 으로 publish 될 메시지는 내부 메시지 브로커에서 관리 (방송)
-        registry.enableSimpleBroker("/topic", "/queue");
-        log.info("🔥 [WebSocketConfig] SimpleBroker 활성화: /topic, /queue");
+        if (heartbeatMs > 0) {
+            registry.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[] { heartbeatMs, heartbeatMs })
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
+        log.info("🔥 [WebSocketConfig] SimpleBroker 활성화: /topic, /queue, heartbeatMs: {}", heartbeatMs);
+        registry.setPreservePublishOrder(preservePublishOrder);
+        // 브로커로 가는 /topic, /user 메시지를 MessageBus로도 발행 (여러 인스턴스 운영)
+        ChannelRegistration brokerChannel = registry.configureBrokerChannel();
+        if (brokerCorePoolSize > 0) {
+            configureExecutor(brokerChannel, "broker", brokerCorePoolSize, brokerMaxPoolSize, brokerQueueCapacity);
+        }
+        brokerChannel.interceptors(stompClusterRelayInterceptor, stompChannelMetrics.interceptor("broker"));
         // 클라이언트가 /app으로 시작하는 주소로 send한 메시지는 @MessageMapping 대상으로 전달
         registry.setApplicationDestinationPrefixes("/app");
         log.info("🔥 [WebSocketConfig] ApplicationDestinationPrefixes 설정: /app");
@@ -59,31 +131,57 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        log.info("🔥 [WebSocketConfig] 클라이언트 인바운드 채널 설정 시작");
-        // STOMP 메시지가 서버로 들어올 때 인터셉터 추가 가능
-        registration.interceptors(new ChannelInterceptor() {
-            @Override
-            public Message<?> preSend(Message<?> message, MessageChannel channel) {
-                Object destination = message.getHeaders().get("simpDestination");
-                String messageType = message.getHeaders().get("simpMessageType") != null ? 
-                        message.getHeaders().get("simpMessageType").toString() : "UNKNOWN";
-                
-                // ⭐ SEND 메시지 (메시지 전송)에 대한 특별 로그
-                if (destination != null && destination.toString().startsWith("/app/")) {
-                    log.info("🔥🔥🔥 [WebSocketConfig] ⭐⭐⭐ SEND 메시지 수신 (메시지 전송) ⭐⭐⭐ - destination: {}, messageType: {}, headers: {}", 
-                            destination, messageType, message.getHeaders());
-                    // ⭐ 메시지 본문도 로그 출력 (디버깅용)
-                    Object payload = message.getPayload();
-                    if (payload != null) {
-                        log.info("🔥🔥🔥 [WebSocketConfig] SEND 메시지 본문: {}", payload);
-                    }
-                } else {
-                    log.info("🔥 [WebSocketConfig] ========== STOMP 메시지 수신 ========== - destination: {}, messageType: {}, headers: {}", 
-                            destination, messageType, message.getHeaders());
-                }
-                return message;
-            }
-        });
+        configureExecutor(registration, "inbound", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity);
+        registration.interceptors(stompChannelMetrics.interceptor("inbound"));
         log.info("🔥 [WebSocketConfig] 클라이언트 인바운드 채널 설정 완료");
     }
-}
\ No newline at end of file
+    
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "outbound", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity);
+        registration.interceptors(stompChannelMetrics.interceptor("outbound"));
+        log.info("🔥 [WebSocketConfig] 클라이언트 아웃바운드 채널 설정 완료");
+    }
+    
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+        log.info("🔥 [WebSocketConfig] 전송 제한 설정 - sendTimeLimitMs: {}, sendBufferSizeLimit: {}, messageSizeLimit: {}",
+                sendTimeLimitMs, sendBufferSizeLimit, messageSizeLimit);
+    }
+    
+    /**
+     * 채널 executor 설정
+     * - 가상 스레드 모드: 메시지마다 가상 스레드 (블로킹 JPA 호출이 플랫폼 스레드를 점유하지 않음, 거절 없음)
+     * - 기본: 크기 제한이 있는 스레드풀
+     */
+    private void configureExecutor(ChannelRegistration registration, String channelName, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        if (VirtualThreads.isActive(virtualThreadsEnabled)) {
+            registration.executor(VirtualThreads.newTaskExecutor("stomp-" + channelName + "-"));
+            log.info("🔥 [WebSocketConfig] {} 채널: 가상 스레드", channelName);
+        } else {
+            registration.taskExecutor(channelExecutor(channelName, corePoolSize, maxPoolSize, queueCapacity));
+        }
+    }
+    
+    /**
+     * 채널 스레드풀 생성 (0 이하 값은 기본값 사용, 초기화는 Spring이 채널 executor 빈으로 등록하면서 수행)
+     * - queue가 가득 차고 max에 도달하면 거절 → StompChannelMetrics에 집계되고 보낸 스레드에서 직접 처리됨
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String channelName, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int core = corePoolSize > 0 ? corePoolSize : cpus * 2;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(Math.max(core, maxPoolSize > 0 ? maxPoolSize : cpus * 4));
+        executor.setQueueCapacity(queueCapacity > 0 ? queueCapacity : 10_000);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("stomp-" + channelName + "-");
+        executor.setRejectedExecutionHandler(stompChannelMetrics.rejectedExecutionHandler(channelName));
+        log.info("🔥 [WebSocketConfig] {} 채널 스레드풀 - core: {}, max: {}, queue: {}", channelName,
+                executor.getCorePoolSize(), executor.getMaxPoolSize(), executor.getQueueCapacity());
+        return executor;
+    }
+}
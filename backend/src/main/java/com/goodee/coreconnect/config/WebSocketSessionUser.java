@@ -0,0 +1,32 @@
+package com.goodee.coreconnect.config;
+
+import java.util.Map;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import com.goodee.coreconnect.user.enums.Role;
+
+/**
+ * WebSocket 핸드셰이크에서 인증된 사용자 (세션 attributes에 불변 객체로 저장)
+ * - WebSocketAuthInterceptor가 핸드셰이크 시 1번만 JWT 파싱 + 사용자 조회 후 저장
+ * - 핸들러는 연결/메시지마다 JWT를 다시 파싱하거나 사용자를 다시 조회하지 않고 이 값을 사용
+ */
+public record WebSocketSessionUser(Integer userId, String email, String name, Role role) {
+
+	/** session attributes 키 */
+	public static final String ATTRIBUTE = "wsUser";
+
+	/** 세션에 저장된 인증 사용자 (없으면 null) */
+	public static WebSocketSessionUser from(WebSocketSession session) {
+		return session != null ? from(session.getAttributes()) : null;
+	}
+
+	/** session attributes에 저장된 인증 사용자 (없으면 null) - STOMP 헤더의 sessionAttributes에도 사용 */
+	public static WebSocketSessionUser from(Map<String, Object> attributes) {
+		if (attributes == null) {
+			return null;
+		}
+		Object user = attributes.get(ATTRIBUTE);
+		return user instanceof WebSocketSessionUser sessionUser ? sessionUser : null;
+	}
+}
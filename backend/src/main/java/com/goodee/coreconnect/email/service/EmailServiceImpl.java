@@ -634,6 +634,7 @@ public class EmailServiceImpl implements EmailService {
                             message = message.substring(0, 252) + "...";
                         }
                         notificationService.sendNotification(
+                                "email:" + savedEmail.getEmailId() + ":received:" + savedEmail.getEmailSentTime(),
                                 rec.getUserId(),
                                 NotificationType.EMAIL,
                                 message,
@@ -670,6 +671,7 @@ public class EmailServiceImpl implements EmailService {
                         senderMsg = senderMsg.substring(0, 252) + "...";
                     }
                     notificationService.sendNotification(
+                            "email:" + savedEmail.getEmailId() + ":sent:" + savedEmail.getEmailSentTime(),
                             savedEmail.getSenderId(),
                             NotificationType.EMAIL,
                             senderMsg,
@@ -142,6 +142,7 @@ public class ScheduleServiceImpl implements ScheduleService {
         
         // 알림 발송 (참여자)
         notificationService.sendNotification(
+                "schedule:" + savedSchedule.getId() + ":invited:" + savedSchedule.getCreatedAt(),
                 participantUser.getId(),
                 NotificationType.SCHEDULE,
                 "[일정 등록] '" + savedSchedule.getTitle() + "' 일정에 초대되었습니다.",
@@ -156,6 +157,7 @@ public class ScheduleServiceImpl implements ScheduleService {
     // 본인(OWNER)에게도 알림 (휴가 일정은 제외)
     if (leaveRequest == null) {  
       notificationService.sendNotification(
+              "schedule:" + savedSchedule.getId() + ":created:" + savedSchedule.getCreatedAt(),
               user.getId(),
               NotificationType.SCHEDULE,
               "[일정 등록 완료] '" + savedSchedule.getTitle() + "' 일정이 생성되었습니다.",
@@ -300,6 +302,7 @@ public class ScheduleServiceImpl implements ScheduleService {
           
           // 새로 추가된 참여자에게 알림
           notificationService.sendNotification(
+                  "schedule:" + schedule.getId() + ":participant-added:" + schedule.getUpdatedAt(),
                   newUser.getId(),
                   NotificationType.SCHEDULE,
                   "[일정 수정] '" + schedule.getTitle() + "' 일정에 새로 추가되었습니다.",
@@ -317,6 +320,7 @@ public class ScheduleServiceImpl implements ScheduleService {
     
     for (ScheduleParticipant p : allParticipants) {  
       notificationService.sendNotification(
+              "schedule:" + schedule.getId() + ":updated:" + schedule.getUpdatedAt(),
               p.getUser().getId(),
               NotificationType.SCHEDULE,
               "[일정 수정] '" + schedule.getTitle() + "' 일정이 변경되었습니다.",
@@ -101,6 +101,14 @@ public class JwtProvider {
         return getAllClaims(token).get("role", String.class);
     }
 
+    /**
+     * 토큰을 한 번만 파싱해서 본문(Claims)을 반환
+     * 만료되었거나 서명이 잘못된 경우 예외 발생 (isValid + getSubject + getRole을 따로 호출하면 3번 파싱됨)
+     */
+    public Claims parseClaims(String token) {
+        return getAllClaims(token);
+    }
+
     /** 토큰을 복호화해서 본문(Claims)을 반환 */
     private Claims getAllClaims(String token) {
     	if (token == null || token.trim().isEmpty()) {
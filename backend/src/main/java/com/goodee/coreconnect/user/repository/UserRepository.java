@@ -11,6 +11,7 @@ import com.goodee.coreconnect.user.enums.Status;
 
 import jakarta.persistence.LockModeType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,6 +54,27 @@ public interface UserRepository extends JpaRepository<User, Integer> {
         """)
     Optional<User> findByIdWithDepartment(@Param("id") Integer id);
     
+    /**
+     * ⭐ 채팅 내역의 발신자 프로필을 한 번에 조회 (메시지마다 findByIdWithDepartment를 호출하지 않음)
+     * @param ids 발신자 ID 목록
+     * @return (id, email, profileImageKey, jobGrade, deptName) 행 목록
+     */
+    @Query("""
+        SELECT u.id, u.email, u.profileImageKey, u.jobGrade, d.deptName FROM User u
+        LEFT JOIN u.department d
+        WHERE u.id IN :ids
+        """)
+    List<Object[]> findSenderProfilesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * ⭐ 알림 fan-out 수신자 / 발신자 이름을 한 번에 조회
+     * findAllById는 User 엔티티마다 userDetailProfile(OneToOne mappedBy, 즉시 로딩)을 따로 조회하므로 필요한 컬럼만 projection
+     * @param ids 사용자 ID 목록
+     * @return (id, name) 행 목록
+     */
+    @Query("SELECT u.id, u.name FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Integer> ids);
+
     /**
      * ⭐ 모든 사용자를 Department와 함께 로드하여 LazyInitializationException 방지
      * 채팅방 초대용 사용자 목록 조회에 사용
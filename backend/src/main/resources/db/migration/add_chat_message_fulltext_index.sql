@@ -0,0 +1,15 @@
+-- ⭐ 채팅 메시지 전문 검색용 FULLTEXT 인덱스 (ngram 파서, 한글처럼 띄어쓰기만으로 단어가 나뉘지 않는 문장도 검색)
+-- GET /api/v1/chat/messages/search?q={검색어}&roomId={선택}&before={chatId}&limit=20
+-- WHERE MATCH(message_content) AGAINST('+검색어' IN BOOLEAN MODE) AND (sent_at, id) < (before 메시지의 sent_at, id) ORDER BY sent_at DESC, id DESC LIMIT ?
+-- (write-behind 사용 시 ID는 구간 할당이라 전송 순서와 다를 수 있어 ID만으로 정렬하지 않음)
+-- MySQL 5.7.6+ / 8.x (InnoDB) 버전, ngram_token_size 기본값 2 (서버 설정, 변경 시 인덱스 재생성 필요)
+--
+-- 증분 색인: INSERT/UPDATE/DELETE 시 InnoDB가 인덱스를 함께 갱신 (JPA 저장 / write-behind 저장 모두 별도 처리 없음)
+-- 전체 재색인(삭제가 많이 쌓였거나 ngram_token_size 변경 후):
+--   SET GLOBAL innodb_optimize_fulltext_only = ON;
+--   OPTIMIZE TABLE chat_message;   -- 반복 실행 (innodb_ft_num_word_optimize 단위로 정리)
+--   SET GLOBAL innodb_optimize_fulltext_only = OFF;
+--   또는 아래 인덱스를 DROP 후 다시 생성
+
+ALTER TABLE chat_message
+ADD FULLTEXT INDEX ft_chat_message_content (message_content) WITH PARSER ngram;
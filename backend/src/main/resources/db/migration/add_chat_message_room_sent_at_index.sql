@@ -0,0 +1,8 @@
+-- ⭐ 채팅 내역 커서(keyset) 페이징용 인덱스
+-- GET /api/v1/chat/{roomId}/messages?before={chatId}&limit=50
+-- WHERE chat_room_id = ? AND sent_at <= ? AND (sent_at < ? OR id < ?) ORDER BY sent_at DESC, id DESC LIMIT ?
+-- → OFFSET 없이 인덱스 범위만 읽으므로 스크롤 깊이와 관계없이 같은 비용
+-- MySQL/MariaDB 버전
+
+CREATE INDEX idx_chat_message_room_sent_at_id
+ON chat_message (chat_room_id, sent_at, id);
@@ -0,0 +1,27 @@
+-- ⭐ watermark 읽음 처리 모드(chat.read-tracking.mode=watermark)용 컬럼
+-- chat_room_user.last_read_chat_id: 참여자가 마지막으로 읽은 메시지 ID
+-- (chat_message_read_status의 "메시지 × 참여자" row 대신 참여자당 값 1개로 읽음 위치를 관리)
+-- 읽음 위치 비교는 (sent_at, id) → 적용 후 add_chat_room_user_last_read_sent_at.sql로 last_read_sent_at까지 채움
+-- (아래 ID 기준 변환은 ID가 AUTO_INCREMENT 순서일 때만 정확하므로 write-behind를 켜기 전에 실행)
+-- MySQL/MariaDB 버전
+
+-- 1. 컬럼 추가
+ALTER TABLE chat_room_user
+ADD COLUMN last_read_chat_id INT NULL;
+
+-- 2. 기존 chat_message_read_status → watermark 변환
+-- 안읽은 메시지가 있으면 (가장 오래된 안읽은 메시지 ID - 1), 없으면 채팅방 최신 메시지 ID
+-- (chat.read-tracking.migrate-on-startup=true 로 애플리케이션 시작 시 실행해도 동일)
+UPDATE chat_room_user cru
+SET cru.last_read_chat_id = COALESCE(
+    (SELECT MIN(r.chat_message_id) - 1
+       FROM chat_message_read_status r
+       JOIN chat_message c ON c.id = r.chat_message_id
+      WHERE r.user_id = cru.user_id
+        AND c.chat_room_id = cru.chat_room_id
+        AND (r.chat_message_read_status_read_yn = 0 OR r.chat_message_read_status_read_yn IS NULL)),
+    (SELECT MAX(c2.id) FROM chat_message c2 WHERE c2.chat_room_id = cru.chat_room_id),
+    0);
+
+-- 3. (선택사항) watermark 모드로 전환 후 저장 공간 회수
+-- TRUNCATE TABLE chat_message_read_status;
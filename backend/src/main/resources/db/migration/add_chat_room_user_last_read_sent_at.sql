@@ -0,0 +1,22 @@
+-- ⭐ watermark 읽음 위치를 (보낸 시각, 메시지 ID)로 비교하기 위한 컬럼
+-- write-behind(chat.write-behind.enabled=true)는 chat_message.id를 구간 단위로 예약하므로 ID가 전송 순서와 다를 수 있음
+-- → "이 위치 이하의 메시지는 읽음" 비교를 (sent_at, id) 순서로 변경, last_read_chat_id는 같은 시각 안에서의 순서로만 사용
+-- chat_message.sent_at과 같은 DATETIME(6) (메시지 저장 시 마이크로초로 맞춤)
+-- write-behind를 켜기 전(ID가 AUTO_INCREMENT 순서일 때) 실행
+-- MySQL/MariaDB 버전
+
+-- 1. 컬럼 추가
+ALTER TABLE chat_room_user
+ADD COLUMN last_read_sent_at DATETIME(6) NULL;
+
+-- 2. 기존 watermark(last_read_chat_id) → 그 ID 이하 마지막 메시지의 보낸 시각
+-- (last_read_chat_id가 "가장 오래된 안읽은 메시지 ID - 1"처럼 없는 ID여도 같은 위치가 됨)
+UPDATE chat_room_user cru
+SET cru.last_read_sent_at = (
+    SELECT c.sent_at
+      FROM chat_message c
+     WHERE c.chat_room_id = cru.chat_room_id
+       AND c.id <= cru.last_read_chat_id
+     ORDER BY c.sent_at DESC, c.id DESC
+     LIMIT 1)
+WHERE cru.last_read_chat_id > 0;
@@ -0,0 +1,17 @@
+-- ⭐ chat_message.id 블록 할당용 시퀀스 테이블 (chat.write-behind.enabled=true 일 때만 필요)
+-- write-behind를 쓰지 않으면 chat_message.id는 그대로 AUTO_INCREMENT (이 테이블을 읽지 않음)
+-- write-behind 사용 시 JPA 저장(ChatMessageIdGenerator)과 write-behind 저장이 모두 ChatIdAllocator를 거쳐 이 행에서 ID 구간을 예약
+-- next_val = 다음에 나눠줄 ID (예약 시 next_val을 구간 크기만큼 증가, [next_val, next_val + 구간 크기) 사용)
+-- 구간이 노드별로 따로라서 ID는 전송 순서와 다를 수 있음 → 메시지 순서 비교는 (sent_at, id) (add_chat_room_user_last_read_sent_at.sql 먼저 적용)
+-- 예약 시 chat_message의 현재 최대 ID 이후부터 예약하므로 write-behind를 나중에 켜도 기존 ID와 겹치지 않음 (단, 모든 노드가 같은 설정이어야 함)
+-- MySQL/MariaDB 버전
+
+CREATE TABLE IF NOT EXISTS chat_message_id_sequence (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- 기존 메시지 최대 ID 다음 값부터 시작
+INSERT INTO chat_message_id_sequence (sequence_name, next_val)
+SELECT 'chat_message', COALESCE(MAX(id), 0) + 1 FROM chat_message
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
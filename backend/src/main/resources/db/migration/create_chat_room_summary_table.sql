@@ -0,0 +1,46 @@
+-- ⭐ 채팅방 목록용 요약 테이블 + 참여자별 안읽은 메시지 수
+-- 목록 조회(GET /api/v1/chat/rooms/messages/latest)를 chat_room_user ⋈ chat_room ⋈ chat_room_summary 한 번의 조회로 처리
+-- (방마다 MAX(sent_at) 서브쿼리 / chat_message_read_status GROUP BY 제거)
+-- MySQL/MariaDB 버전
+
+-- 1. 채팅방당 1행: 마지막 메시지 정보 (메시지 저장 시 INSERT ... ON DUPLICATE KEY UPDATE로 갱신)
+CREATE TABLE IF NOT EXISTS chat_room_summary (
+    chat_room_id INT NOT NULL PRIMARY KEY,
+    last_message_id INT NULL,
+    last_message_content TEXT NULL,
+    last_sender_name VARCHAR(255) NULL,
+    last_message_time DATETIME(6) NULL,
+    last_message_file_yn BIT(1) NULL,
+    CONSTRAINT fk_chat_room_summary_room FOREIGN KEY (chat_room_id) REFERENCES chat_room (id) ON DELETE CASCADE
+);
+
+-- 2. 참여자별 안읽은 메시지 수
+ALTER TABLE chat_room_user
+ADD COLUMN unread_count INT NOT NULL DEFAULT 0;
+
+-- 목록 조회는 user_id 기준
+CREATE INDEX idx_chat_room_user_user ON chat_room_user (user_id);
+
+-- 3. 기존 데이터 채우기: 방별 마지막 메시지 ((sent_at, id) 기준 - 메시지 저장 시 갱신 조건과 같은 순서)
+INSERT INTO chat_room_summary
+    (chat_room_id, last_message_id, last_message_content, last_sender_name, last_message_time, last_message_file_yn)
+SELECT c.chat_room_id, c.id, c.message_content, u.user_name, c.sent_at, c.file_yn
+FROM chat_message c
+LEFT JOIN users u ON u.user_id = c.sender_id
+WHERE c.id = (
+    SELECT c2.id
+      FROM chat_message c2
+     WHERE c2.chat_room_id = c.chat_room_id
+     ORDER BY c2.sent_at DESC, c2.id DESC
+     LIMIT 1)
+ON DUPLICATE KEY UPDATE last_message_id = VALUES(last_message_id);
+
+-- 4. 기존 데이터 채우기: 참여자별 안읽은 메시지 수 (chat_message_read_status 기준)
+UPDATE chat_room_user cru
+SET cru.unread_count = (
+    SELECT COUNT(1)
+      FROM chat_message_read_status r
+      JOIN chat_message c ON c.id = r.chat_message_id
+     WHERE r.user_id = cru.user_id
+       AND c.chat_room_id = cru.chat_room_id
+       AND r.chat_message_read_status_read_yn = 0);
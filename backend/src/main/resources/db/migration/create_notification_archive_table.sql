@@ -0,0 +1,33 @@
+-- ⭐ 알림 보관(archive) 테이블 + 알림 조회/보관용 인덱스
+-- NotificationRetentionService가 매일 retention-days보다 오래된 읽은 알림을 chunk 단위로
+-- notification_archive로 옮기고 notification에서 삭제 (notification 테이블을 사용자당 최근 알림 위주로 유지)
+-- MySQL/MariaDB 버전
+
+-- 1. 보관 테이블 (notification과 같은 컬럼 + 보관 시각, 원래 id 유지)
+CREATE TABLE IF NOT EXISTS notification_archive (
+    id INT NOT NULL PRIMARY KEY,
+    user_id INT NULL,
+    sender_id INT NULL,
+    notification_type VARCHAR(20) NOT NULL,
+    notification_message VARCHAR(255) NULL,
+    chat_message_id INT NULL,
+    doc_id INT NULL,
+    board_id INT NULL,
+    schedule_id INT NULL,
+    notification_read_yn BIT(1) NOT NULL,
+    notification_read_at DATETIME(6) NULL,
+    notification_sent_yn BIT(1) NULL,
+    notification_sent_at DATETIME(6) NULL,
+    notification_deleted_yn BIT(1) NULL,
+    archived_at DATETIME(6) NOT NULL
+);
+
+-- 보관된 알림 조회는 사용자 기준
+CREATE INDEX idx_notification_archive_user_id ON notification_archive (user_id, id);
+
+-- 2. 알림 내역 커서 페이징 / 모두 읽음 / 종류별 삭제 (WHERE user_id = ? ... ORDER BY id DESC)
+CREATE INDEX idx_notification_user_id ON notification (user_id, id);
+
+-- 3. 보관 대상 조회 (WHERE notification_read_yn = TRUE AND notification_sent_at < ? ORDER BY notification_sent_at, id LIMIT ?)
+-- ORDER BY가 인덱스 순서와 같아 filesort 없이 chunk 크기만큼만 읽고 잠금
+CREATE INDEX idx_notification_read_sent_at ON notification (notification_read_yn, notification_sent_at, id);
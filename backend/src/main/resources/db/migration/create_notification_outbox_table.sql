@@ -0,0 +1,30 @@
+-- ⭐ 알림 outbox 테이블 (transactional outbox)
+-- 게시글/결재/일정 등 업무 변경과 같은 트랜잭션에서 전달할 알림을 1행으로 기록하고,
+-- 커밋 후 NotificationOutboxService 디스패처가 batch로 가져가 notification INSERT + WebSocket 전송
+-- (afterCommit 콜백에서 바로 보내다가 프로세스가 죽거나 전송이 실패하면 알림이 유실되던 문제 제거)
+-- MySQL/MariaDB 버전
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    -- 멱등 키: 같은 업무 이벤트를 두 번 기록해도 1행만 남음 (예: board:12:notice:2025-01-01T09:00)
+    delivery_key VARCHAR(191) NOT NULL,
+    notification_type VARCHAR(30) NOT NULL,
+    -- NotificationOutboxEvent JSON (수신자 목록, 메시지, 발신자, boardId/scheduleId)
+    payload MEDIUMTEXT NOT NULL,
+    -- PENDING → PROCESSING(디스패처가 가져감) → DONE, 최대 재시도 초과 시 FAILED
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(3) NOT NULL,
+    claimed_by VARCHAR(64) NULL,
+    claimed_at DATETIME(3) NULL,
+    created_at DATETIME(3) NOT NULL,
+    processed_at DATETIME(3) NULL,
+    last_error VARCHAR(500) NULL,
+    CONSTRAINT uk_notification_outbox_delivery_key UNIQUE (delivery_key)
+);
+
+-- 디스패처 조회: status = 'PENDING' AND next_attempt_at <= now ORDER BY id
+CREATE INDEX idx_notification_outbox_status_next ON notification_outbox (status, next_attempt_at, id);
+
+-- 처리 완료 행 정리 (필요 시 주기적으로 실행)
+-- DELETE FROM notification_outbox WHERE status = 'DONE' AND processed_at < NOW() - INTERVAL 7 DAY;
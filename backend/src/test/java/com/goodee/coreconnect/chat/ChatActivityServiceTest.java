@@ -0,0 +1,108 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.goodee.coreconnect.chat.presence.ChatActivityService;
+import com.goodee.coreconnect.chat.presence.ChatActivityService.ActivityType;
+import com.goodee.coreconnect.chat.presence.ChatPresenceService;
+import com.goodee.coreconnect.chat.service.ChatParticipantCache;
+
+@DisplayName("ChatActivityService 단위 테스트 (입력 중 / 보는 중 이벤트 throttle + 묶음 전송)")
+class ChatActivityServiceTest {
+
+    private static final int ROOM_ID = 1;
+
+    private ChatPresenceService chatPresenceService;
+    private ChatParticipantCache chatParticipantCache;
+    private ChatActivityService activityService;
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        chatPresenceService = mock(ChatPresenceService.class);
+        when(chatPresenceService.getOnlineMembers(ROOM_ID)).thenReturn(List.of(10, 20, 30));
+        chatParticipantCache = mock(ChatParticipantCache.class);
+        for (int userId : new int[] { 10, 20, 30, 40 }) {
+            when(chatParticipantCache.contains(ROOM_ID, userId)).thenReturn(true);
+        }
+        activityService = new ChatActivityService(chatPresenceService, chatParticipantCache);
+        ReflectionTestUtils.setField(activityService, "throttleMs", 500L);
+        activityService.addSink((roomId, recipientIds, payload) -> {
+            assertThat(recipientIds).containsExactly(10, 20, 30);
+            frames.add(payload);
+        });
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("같은 사용자의 입력 중 이벤트는 500ms에 1번만, 마지막 상태로 전송된다")
+    void testTypingThrottledAndCoalesced() {
+        long t0 = System.currentTimeMillis();
+        for (int i = 0; i < 50; i++) {
+            activityService.submit(ROOM_ID, 10, ActivityType.TYPING, true);
+        }
+        activityService.flush(t0);
+        assertThat(frames).hasSize(1);
+        assertThat(frames.get(0)).contains("\"userId\":10", "\"activity\":\"TYPING\"", "\"active\":true");
+
+        // throttle 안: 대기만 하고 전송하지 않음, 마지막 상태(입력 종료)로 덮어씀
+        activityService.submit(ROOM_ID, 10, ActivityType.TYPING, true);
+        activityService.submit(ROOM_ID, 10, ActivityType.TYPING, false);
+        activityService.flush(t0 + 100);
+        assertThat(frames).hasSize(1);
+
+        activityService.flush(t0 + 500);
+        assertThat(frames).hasSize(2);
+        assertThat(frames.get(1)).contains("\"active\":false");
+
+        ChatActivityService.ActivityStats stats = activityService.snapshot();
+        System.out.printf("[ChatActivityServiceTest] submitted=%d -> frames=%d, stats=%s%n", 52, frames.size(), stats);
+        assertThat(stats.submitted()).isEqualTo(52);
+        assertThat(stats.events()).isEqualTo(2);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("여러 사용자의 이벤트는 채팅방당 프레임 1개로 묶이고, 참여자가 아니면 무시되며 DB는 사용하지 않는다")
+    void testBatchedPerRoomAndMembersOnly() {
+        activityService.submit(ROOM_ID, 10, ActivityType.TYPING, true);
+        activityService.submit(ROOM_ID, 20, ActivityType.VIEWING, true);
+        activityService.submit(ROOM_ID, 30, ActivityType.PRESENCE_PING, true);
+        assertThat(activityService.submit(ROOM_ID, 99, ActivityType.TYPING, true)).isFalse();
+
+        activityService.flush(System.currentTimeMillis());
+
+        assertThat(frames).hasSize(1);
+        assertThat(frames.get(0)).startsWith("{\"type\":\"ROOM_ACTIVITY\",\"roomId\":1")
+                .contains("\"userId\":10", "\"userId\":20", "\"userId\":30", "VIEWING", "PRESENCE_PING")
+                .doesNotContain("\"userId\":99");
+        assertThat(activityService.snapshot().rejected()).isEqualTo(1);
+        // 참여자 캐시 + 접속 상태 인덱스 외에는 의존성이 없음 (JPA 리포지토리 미사용)
+        verify(chatPresenceService, atLeastOnce()).getOnlineMembers(ROOM_ID);
+        verifyNoMoreInteractions(chatPresenceService);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("접속 상태 인덱스에 없는 STOMP 사용자도 참여자면 전송되고, 등록된 모든 sink로 전달된다")
+    void testStompParticipantDeliveredToAllSinks() {
+        List<String> stompFrames = new CopyOnWriteArrayList<>();
+        activityService.addSink((roomId, recipientIds, payload) -> stompFrames.add(payload));
+
+        assertThat(activityService.submit(ROOM_ID, 40, ActivityType.TYPING, true)).isTrue();
+        activityService.flush(System.currentTimeMillis());
+
+        assertThat(frames).hasSize(1);
+        assertThat(stompFrames).containsExactlyElementsOf(frames);
+        assertThat(stompFrames.get(0)).contains("\"userId\":40", "\"activity\":\"TYPING\"");
+    }
+}
@@ -0,0 +1,187 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.goodee.coreconnect.chat.service.ChatAttachmentUploadService;
+import com.goodee.coreconnect.common.service.S3Service;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+@DisplayName("ChatAttachmentUploadService 단위 테스트 (spool + 병렬 업로드, 로컬 파일시스템을 S3 대신 사용)")
+class ChatAttachmentUploadServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ChatAttachmentUploadService service;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    /** uploadFile을 로컬 디렉터리 복사로 대신하는 S3Service (업로드마다 sleepMs만큼 걸림) */
+    private S3Service localStorage(Path bucketDir, long sleepMs, AtomicInteger concurrent, AtomicInteger maxConcurrent) throws IOException {
+        S3Service s3Service = mock(S3Service.class);
+        AtomicInteger keySeq = new AtomicInteger();
+        when(s3Service.newChatFileKey(anyString(), any())).thenAnswer(inv -> "chat/" + inv.getArgument(1) + "/" + keySeq.incrementAndGet() + "_" + inv.getArgument(0));
+        when(s3Service.chatFileContentType(any())).thenAnswer(inv -> inv.getArgument(0) == null ? "application/octet-stream" : inv.getArgument(0));
+        doAnswer(inv -> {
+            String key = inv.getArgument(0);
+            Path source = inv.getArgument(1);
+            int now = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(sleepMs);
+                if (key.endsWith("broken.txt")) {
+                    throw new IOException("simulated S3 failure");
+                }
+                Path target = bucketDir.resolve(key);
+                Files.createDirectories(target.getParent());
+                Files.copy(source, target);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            return null;
+        }).when(s3Service).uploadFile(anyString(), any(Path.class), anyString());
+        return s3Service;
+    }
+
+    private ChatAttachmentUploadService service(S3Service s3Service, int concurrency) throws IOException {
+        ChatAttachmentUploadService service = new ChatAttachmentUploadService(s3Service);
+        ReflectionTestUtils.setField(service, "uploadConcurrency", concurrency);
+        ReflectionTestUtils.setField(service, "spoolDir", tempDir.resolve("spool").toString());
+        ReflectionTestUtils.setField(service, "shutdownTimeoutMs", 5_000L);
+        service.init();
+        return service;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("파일별 업로드가 동시 업로드 상한 안에서 병렬로 진행되고 파일마다 완료가 통지된다")
+    void testParallelBoundedUpload() throws Exception {
+        Path bucketDir = tempDir.resolve("bucket");
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        int uploadMs = 100;
+        int concurrency = 4;
+        service = service(localStorage(bucketDir, uploadMs, concurrent, maxConcurrent), concurrency);
+
+        MultipartFile[] files = new MultipartFile[9];
+        for (int i = 0; i < 8; i++) {
+            files[i] = new MockMultipartFile("files", "file" + i + ".txt", "text/plain", ("content-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        files[8] = new MockMultipartFile("files", "empty.txt", "text/plain", new byte[0]);
+
+        List<ChatAttachmentUploadService.StagedFile> staged = service.stage(files, 7);
+        assertThat(staged).hasSize(8);
+        assertThat(staged).allSatisfy(file -> assertThat(file.path()).exists());
+
+        Map<Integer, Boolean> results = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        service.uploadAll(staged, (file, success, error) -> results.put(file.index(), success)).get(10, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("[ChatAttachmentUploadServiceTest] 8 files x %dms, concurrency %d: %dms (sequential %dms), max concurrent %d%n",
+                uploadMs, concurrency, elapsedMs, 8 * uploadMs, maxConcurrent.get());
+
+        assertThat(results).hasSize(8).doesNotContainValue(false);
+        assertThat(maxConcurrent.get()).isLessThanOrEqualTo(concurrency).isGreaterThan(1);
+        assertThat(elapsedMs).isLessThan(8L * uploadMs);
+        for (ChatAttachmentUploadService.StagedFile file : staged) {
+            assertThat(Files.readString(bucketDir.resolve(file.s3Key()))).isEqualTo("content-" + file.index());
+            assertThat(file.path()).doesNotExist();
+        }
+        assertThat(service.snapshot().uploaded()).isEqualTo(8);
+        assertThat(service.snapshot().inFlight()).isZero();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("업로드에 실패한 파일은 실패로 통지되고 나머지 파일은 그대로 업로드된다")
+    void testFailedUploadIsReported() throws Exception {
+        Path bucketDir = tempDir.resolve("bucket");
+        service = service(localStorage(bucketDir, 0, new AtomicInteger(), new AtomicInteger()), 2);
+
+        List<ChatAttachmentUploadService.StagedFile> staged = service.stage(new MultipartFile[] {
+                new MockMultipartFile("files", "ok.txt", "text/plain", "ok".getBytes(StandardCharsets.UTF_8)),
+                new MockMultipartFile("files", "broken.txt", "text/plain", "broken".getBytes(StandardCharsets.UTF_8))
+        }, 7);
+
+        Map<String, Boolean> results = new ConcurrentHashMap<>();
+        service.uploadAll(staged, (file, success, error) -> results.put(file.fileName(), success)).get(10, TimeUnit.SECONDS);
+
+        assertThat(results).containsEntry("ok.txt", true).containsEntry("broken.txt", false);
+        assertThat(staged).allSatisfy(file -> assertThat(file.path()).doesNotExist());
+        assertThat(service.snapshot().failed()).isEqualTo(1);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("part 크기보다 큰 파일은 multipart로 나누어 업로드하고 합치면 원본과 같다")
+    void testLargeFileUsesMultipartUpload() throws Exception {
+        S3Client s3Client = mock(S3Client.class);
+        S3Service s3Service = new S3Service(s3Client);
+        ReflectionTestUtils.setField(s3Service, "bucket", "test-bucket");
+        ReflectionTestUtils.setField(s3Service, "multipartPartSize", S3Service.MIN_PART_SIZE);
+
+        byte[] content = new byte[(int) (S3Service.MIN_PART_SIZE * 2 + 1234)];
+        new Random(1).nextBytes(content);
+        Path source = tempDir.resolve("large.bin");
+        Files.write(source, content);
+
+        ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(inv -> {
+            UploadPartRequest request = inv.getArgument(0);
+            RequestBody body = inv.getArgument(1);
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                byte[] part = in.readAllBytes();
+                assertThat((long) part.length).isEqualTo(request.contentLength());
+                uploaded.write(part);
+            }
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+
+        s3Service.uploadFile("chat/7/large.bin", source, "application/octet-stream");
+
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        assertThat(uploaded.toByteArray()).isEqualTo(content);
+    }
+}
@@ -0,0 +1,128 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.goodee.coreconnect.chat.dto.response.ChatMessageResponseDTO;
+import com.goodee.coreconnect.chat.entity.Chat;
+import com.goodee.coreconnect.chat.entity.ChatRoom;
+import com.goodee.coreconnect.chat.repository.ChatMessageReadStatusRepository;
+import com.goodee.coreconnect.chat.service.ChatMessageHistoryAssembler;
+import com.goodee.coreconnect.chat.service.ChatReadWatermarkService;
+import com.goodee.coreconnect.common.service.S3Service;
+import com.goodee.coreconnect.user.entity.User;
+import com.goodee.coreconnect.user.enums.JobGrade;
+import com.goodee.coreconnect.user.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatMessageHistoryAssembler 단위 테스트")
+class ChatMessageHistoryAssemblerTest {
+
+    @Mock
+    private ChatMessageReadStatusRepository chatMessageReadStatusRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private ChatReadWatermarkService chatReadWatermarkService;
+
+    @InjectMocks
+    private ChatMessageHistoryAssembler assembler;
+
+    private static final int PAGE_SIZE = 50;
+    private static final int SENDER_COUNT = 5;
+    private static final Integer VIEWER_ID = 1;
+
+    private List<Chat> chats;
+
+    @BeforeEach
+    void setup() {
+        ChatRoom room = mock(ChatRoom.class);
+        lenient().when(room.getId()).thenReturn(10);
+
+        List<User> senders = new ArrayList<>();
+        for (int i = 1; i <= SENDER_COUNT; i++) {
+            User sender = mock(User.class);
+            lenient().when(sender.getId()).thenReturn(i);
+            senders.add(sender);
+        }
+
+        chats = new ArrayList<>();
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            chats.add(Chat.builder()
+                    .id(i)
+                    .chatRoom(room)
+                    .sender(senders.get(i % SENDER_COUNT))
+                    .messageContent("메시지 " + i)
+                    .unreadCount(i % 3)
+                    .messageFiles(new ArrayList<>())
+                    .build());
+        }
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("페이지 50건 변환 시 읽음 여부/발신자 프로필을 각각 IN 쿼리 1번으로 조회한다")
+    void testAssemble_SetQueriesPerPage() {
+        // 짝수 ID 메시지만 읽음
+        when(chatMessageReadStatusRepository.findReadChatIdsByUserIdAndChatIdIn(eq(VIEWER_ID), anyCollection()))
+                .thenReturn(List.of(2, 4, 6));
+        List<Object[]> profiles = new ArrayList<>();
+        for (int i = 1; i <= SENDER_COUNT; i++) {
+            profiles.add(new Object[] { i, "user" + i + "@test.com", "profile/" + i + ".png", JobGrade.values()[0], i == 1 ? null : "개발팀" });
+        }
+        when(userRepository.findSenderProfilesByIdIn(anyCollection())).thenReturn(profiles);
+        when(s3Service.getFileUrl(anyString())).thenAnswer(inv -> "https://s3/" + inv.getArgument(0));
+
+        List<ChatMessageResponseDTO> result = assembler.assemble(chats, VIEWER_ID);
+
+        // 메시지마다 findByChatIdAndUserId / findByIdWithDepartment를 호출하지 않고, 프로필 URL은 발신자당 1번
+        verify(chatMessageReadStatusRepository, times(1)).findReadChatIdsByUserIdAndChatIdIn(eq(VIEWER_ID), anyCollection());
+        verify(chatMessageReadStatusRepository, never()).findByChatIdAndUserId(anyInt(), anyInt());
+        verify(userRepository, times(1)).findSenderProfilesByIdIn(anyCollection());
+        verify(userRepository, never()).findByIdWithDepartment(anyInt());
+        verify(s3Service, times(SENDER_COUNT)).getFileUrl(anyString());
+
+        assertThat(result).hasSize(PAGE_SIZE);
+        assertThat(result.get(1).getReadYn()).isTrue();   // id 2
+        assertThat(result.get(2).getReadYn()).isFalse();  // id 3
+        assertThat(result.get(2).getUnreadCount()).isEqualTo(0);
+        // id 5 → 발신자 1 (부서 없음), id 1 → 발신자 2
+        assertThat(result.get(4).getSenderEmail()).isEqualTo("user1@test.com");
+        assertThat(result.get(4).getSenderProfileImageUrl()).isEqualTo("https://s3/profile/1.png");
+        assertThat(result.get(4).getSenderDeptName()).isEmpty();
+        assertThat(result.get(0).getSenderDeptName()).isEqualTo("개발팀");
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("watermark 모드에서는 읽음 여부를 쿼리 없이 lastReadChatId로 판단한다")
+    void testAssemble_WatermarkMode() {
+        when(chatReadWatermarkService.isEnabled()).thenReturn(true);
+        when(chatReadWatermarkService.isRead(eq(10), eq(VIEWER_ID), any(Chat.class)))
+                .thenAnswer(inv -> ((Chat) inv.getArgument(2)).getId() <= 25);
+        when(userRepository.findSenderProfilesByIdIn(anyCollection())).thenReturn(List.of());
+
+        List<ChatMessageResponseDTO> result = assembler.assemble(chats, VIEWER_ID);
+
+        verifyNoInteractions(chatMessageReadStatusRepository);
+        assertThat(result.get(24).getReadYn()).isTrue();
+        assertThat(result.get(25).getReadYn()).isFalse();
+    }
+}
@@ -0,0 +1,74 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.goodee.coreconnect.chat.dto.response.ChatMessageCursorResponseDTO;
+import com.goodee.coreconnect.chat.dto.response.ChatMessageResponseDTO;
+import com.goodee.coreconnect.chat.entity.Chat;
+import com.goodee.coreconnect.chat.repository.ChatRepository;
+import com.goodee.coreconnect.chat.service.ChatMessageHistoryAssembler;
+import com.goodee.coreconnect.chat.service.ChatMessageSearchService;
+
+@DisplayName("ChatMessageSearchService 단위 테스트 (검색식 변환 + 커서 페이징)")
+class ChatMessageSearchServiceTest {
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("검색어는 연산자를 제거하고 2자 이상 단어만 +단어 검색식으로 바뀐다")
+    void testToBooleanQuery() {
+        assertThat(ChatMessageSearchService.toBooleanQuery("회의실 예약")).isEqualTo("+회의실 +예약");
+        assertThat(ChatMessageSearchService.toBooleanQuery("  보고서  보고서 ")).isEqualTo("+보고서");
+        // 사용자가 넣은 연산자는 검색식이 되지 않음
+        assertThat(ChatMessageSearchService.toBooleanQuery("-배포 \"일정\" (확인)*")).isEqualTo("+배포 +일정 +확인");
+        // 1자 단어는 ngram 인덱스에 없으므로 제외
+        assertThat(ChatMessageSearchService.toBooleanQuery("내 일정 공유")).isEqualTo("+일정 +공유");
+
+        assertThatThrownBy(() -> ChatMessageSearchService.toBooleanQuery(" ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChatMessageSearchService.toBooleanQuery("가 + 나")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChatMessageSearchService.toBooleanQuery("가".repeat(ChatMessageSearchService.MAX_QUERY_LENGTH + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("검색 결과는 최신순으로 반환되고 limit보다 많으면 마지막 ID가 다음 커서가 된다")
+    @SuppressWarnings("unchecked")
+    void testSearchPaging() {
+        ChatRepository chatRepository = mock(ChatRepository.class);
+        ChatMessageHistoryAssembler assembler = mock(ChatMessageHistoryAssembler.class);
+        ChatMessageSearchService service = new ChatMessageSearchService(chatRepository, assembler);
+
+        when(chatRepository.searchChatIds(eq(7), eq("+회의"), eq(null), eq(null), any(Pageable.class)))
+                .thenReturn(new ArrayList<>(List.of(50, 40, 30)));
+        // IN 조회는 순서를 보장하지 않음
+        when(chatRepository.findWithSenderByIdIn(anyList()))
+                .thenReturn(List.of(Chat.builder().id(40).build(), Chat.builder().id(50).build()));
+        when(assembler.assemble(anyList(), eq(7))).thenAnswer(inv -> {
+            List<Chat> chats = inv.getArgument(0);
+            return chats.stream().map(c -> ChatMessageResponseDTO.builder().id(c.getId()).build()).toList();
+        });
+
+        ChatMessageCursorResponseDTO page = service.search(7, "회의", null, null, 2);
+
+        assertThat(page.getContent()).extracting(ChatMessageResponseDTO::getId).containsExactly(50, 40);
+        assertThat(page.getNextCursor()).isEqualTo(40);
+        assertThat(page.isLast()).isFalse();
+
+        // limit + 1개를 조회해서 다음 페이지 여부 판단
+        verify(chatRepository).searchChatIds(eq(7), eq("+회의"), eq(null), eq(null),
+                argThat((Pageable p) -> p.getPageSize() == 3));
+        verify(chatRepository).findWithSenderByIdIn(List.of(50, 40));
+    }
+}
@@ -0,0 +1,143 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static com.goodee.coreconnect.support.AwaitUtil.await;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
+import com.goodee.coreconnect.chat.service.ChatParticipantCache;
+import com.goodee.coreconnect.common.bus.InMemoryMessageBus;
+import com.goodee.coreconnect.common.cache.LruLoadingCache;
+
+@DisplayName("ChatParticipantCache 단위 테스트 (참여자 int[] 캐시 + 무효화)")
+class ChatParticipantCacheTest {
+
+    private static final int ROOM_ID = 1;
+
+    private InMemoryMessageBus.Hub hub;
+    private final List<InMemoryMessageBus> buses = new ArrayList<>();
+    private ChatRoomUserRepository repository;
+    private List<Integer> members;
+
+    @BeforeEach
+    void setup() {
+        hub = new InMemoryMessageBus.Hub();
+        repository = mock(ChatRoomUserRepository.class);
+        members = new ArrayList<>(List.of(30, 10, 20));
+        when(repository.findUserIdsByChatRoomId(ROOM_ID)).thenAnswer(inv -> new ArrayList<>(members));
+    }
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(InMemoryMessageBus::shutdown);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ChatParticipantCache cache(String nodeId) {
+        return cache(nodeId, 100);
+    }
+
+    private ChatParticipantCache cache(String nodeId, int maxRooms) {
+        InMemoryMessageBus bus = new InMemoryMessageBus(hub, nodeId, 100, 5);
+        buses.add(bus);
+        ChatParticipantCache cache = new ChatParticipantCache(repository, bus);
+        ReflectionTestUtils.setField(cache, "ttlMs", 300_000L);
+        ReflectionTestUtils.setField(cache, "maxRooms", maxRooms);
+        cache.init();
+        return cache;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("메시지마다 참여 여부를 확인해도 DB는 한 번만 조회하고 hit률이 집계된다")
+    void testMembershipLookupsHitCache() {
+        ChatParticipantCache cache = cache("node-a");
+
+        int messages = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            assertThat(cache.contains(ROOM_ID, 20)).isTrue();
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        assertThat(cache.contains(ROOM_ID, 99)).isFalse();
+        assertThat(cache.get(ROOM_ID)).containsExactly(10, 20, 30);
+
+        LruLoadingCache.Stats stats = cache.snapshot();
+        System.out.printf("[ChatParticipantCacheTest] lookups=%d, %dus, stats=%s, hitRate=%.4f%n",
+                messages, elapsedMicros, stats, stats.hitRate());
+        verify(repository, times(1)).findUserIdsByChatRoomId(ROOM_ID);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isGreaterThan(0.999);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("채팅방 수 상한을 넘으면 가장 오래 조회되지 않은 채팅방만 제거된다")
+    void testEvictsLeastRecentlyUsedRoom() {
+        when(repository.findUserIdsByChatRoomId(anyInt())).thenAnswer(inv -> List.of(10));
+        ChatParticipantCache cache = cache("node-a", 2);
+
+        cache.get(1);
+        cache.get(2);
+        cache.get(1); // 1번 방을 최근 조회로
+        cache.get(3); // 상한 초과 → 2번 방 제거
+
+        assertThat(cache.snapshot().size()).isEqualTo(2);
+        cache.get(1);
+        cache.get(3);
+        verify(repository, times(1)).findUserIdsByChatRoomId(1);
+        verify(repository, times(1)).findUserIdsByChatRoomId(3);
+        cache.get(2);
+        verify(repository, times(2)).findUserIdsByChatRoomId(2);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("초대 트랜잭션 안에서 invalidate하면 커밋 후에도 다시 제거되어 커밋 전 조회 결과가 남지 않는다")
+    void testInvalidateAfterCommit() {
+        ChatParticipantCache cache = cache("node-a");
+        assertThat(cache.contains(ROOM_ID, 40)).isFalse();
+
+        TransactionSynchronizationManager.initSynchronization();
+        members.add(40); // 초대 (아직 커밋 전)
+        cache.invalidate(ROOM_ID);
+        members.remove(Integer.valueOf(40)); // 다른 스레드는 커밋 전 상태를 봄
+        assertThat(cache.contains(ROOM_ID, 40)).isFalse();
+
+        members.add(40); // 커밋
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(cache.contains(ROOM_ID, 40)).isTrue();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("나가기 시 다른 서버 인스턴스의 캐시도 MessageBus로 무효화된다")
+    void testInvalidateAcrossNodes() throws Exception {
+        ChatParticipantCache nodeA = cache("node-a");
+        ChatParticipantCache nodeB = cache("node-b");
+        assertThat(nodeB.contains(ROOM_ID, 10)).isTrue();
+
+        members.remove(Integer.valueOf(10)); // 나가기
+        nodeA.invalidate(ROOM_ID);
+
+        await(() -> !nodeB.contains(ROOM_ID, 10));
+        assertThat(nodeB.contains(ROOM_ID, 10)).isFalse();
+        assertThat(nodeB.snapshot().invalidations()).isEqualTo(1);
+    }
+}
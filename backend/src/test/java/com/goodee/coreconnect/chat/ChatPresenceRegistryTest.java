@@ -0,0 +1,143 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.goodee.coreconnect.chat.handler.ChatPresenceRegistry;
+
+@DisplayName("ChatPresenceRegistry 단위 테스트")
+class ChatPresenceRegistryTest {
+
+    private ChatPresenceRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        registry = new ChatPresenceRegistry();
+    }
+
+    private WebSocketSession session(String id, Integer roomId, boolean open) {
+        // stubOnly: 호출 기록을 남기지 않아 대량(10k) 세션 비교에서도 메모리 부담 없음
+        WebSocketSession s = mock(WebSocketSession.class, withSettings().stubOnly());
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("roomId", roomId);
+        lenient().when(s.getId()).thenReturn(id);
+        lenient().when(s.isOpen()).thenReturn(open);
+        lenient().when(s.getAttributes()).thenReturn(attributes);
+        return s;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("같은 사용자의 여러 탭은 1명으로 집계되고, 모든 세션 해제 시 방에서 제거된다")
+    void testRegisterAndUnregister_MultiTab() {
+        WebSocketSession tab1 = session("s1", 10, true);
+        WebSocketSession tab2 = session("s2", 10, true);
+        WebSocketSession other = session("s3", 10, true);
+
+        registry.register(10, 1, tab1);
+        registry.register(10, 1, tab2);
+        registry.register(10, 2, other);
+
+        assertThat(registry.getConnectedUserIds(10)).containsExactlyInAnyOrder(1, 2);
+        assertThat(registry.getRoomCount()).isEqualTo(1);
+        assertThat(registry.getSessionCount()).isEqualTo(3);
+        assertThat(registry.getUserCount()).isEqualTo(2);
+
+        registry.unregister(tab1);
+        assertThat(registry.getConnectedUserIds(10)).containsExactlyInAnyOrder(1, 2);
+
+        registry.unregister(tab2);
+        registry.unregister(other);
+        assertThat(registry.getConnectedUserIds(10)).isEmpty();
+        assertThat(registry.getRoomCount()).isZero();
+        assertThat(registry.getSessionCount()).isZero();
+        assertThat(registry.getUserCount()).isZero();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("닫힌 세션만 남은 사용자와 다른 방 사용자는 접속자에서 제외된다")
+    void testGetConnectedUserIds_ExcludesClosedAndOtherRooms() {
+        registry.register(10, 1, session("s1", 10, false));
+        registry.register(20, 2, session("s2", 20, true));
+        registry.register(null, 3, session("s3", null, true));
+
+        assertThat(registry.getConnectedUserIds(10)).isEmpty();
+        assertThat(registry.getConnectedUserIds(20)).containsExactly(2);
+        assertThat(registry.getConnectedUserIds(30)).isEmpty();
+        assertThat(registry.getSessionCount()).isEqualTo(2);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("1k/10k 세션에서 기존 userSessions 전체 스캔과 결과가 같다 (소요 시간 출력)")
+    void testCompareWithFullScan() {
+        for (int sessionCount : new int[] { 1_000, 10_000 }) {
+            ChatPresenceRegistry indexed = new ChatPresenceRegistry();
+            Map<Integer, List<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
+
+            // 사용자당 2탭, 방 100개에 고르게 분산
+            for (int i = 0; i < sessionCount; i++) {
+                int userId = i / 2;
+                int roomId = userId % 100;
+                WebSocketSession s = session("s" + i, roomId, true);
+                userSessions.computeIfAbsent(userId, k -> Collections.synchronizedList(new ArrayList<>())).add(s);
+                indexed.register(roomId, userId, s);
+            }
+
+            int rounds = 50;
+            long scanStart = System.nanoTime();
+            List<Integer> scanned = null;
+            for (int r = 0; r < rounds; r++) {
+                scanned = fullScan(userSessions, r % 100);
+            }
+            long scanNanos = System.nanoTime() - scanStart;
+
+            long indexStart = System.nanoTime();
+            List<Integer> looked = null;
+            for (int r = 0; r < rounds; r++) {
+                looked = indexed.getConnectedUserIds(r % 100);
+            }
+            long indexNanos = System.nanoTime() - indexStart;
+
+            System.out.printf("[ChatPresenceRegistryTest] sessions=%d, fullScan=%dµs/op, registry=%dµs/op%n",
+                    sessionCount, scanNanos / rounds / 1_000, indexNanos / rounds / 1_000);
+
+            assertThat(looked).containsExactlyInAnyOrderElementsOf(scanned);
+            assertThat(indexed.getSessionCount()).isEqualTo(sessionCount);
+            assertThat(indexed.getUserCount()).isEqualTo(sessionCount / 2);
+        }
+    }
+
+    /** 기존 ChatWebSocketHandler.getConnectedUserIdsInRoomStatic 의 스캔 방식 (비교 기준) */
+    private List<Integer> fullScan(Map<Integer, List<WebSocketSession>> userSessions, Integer roomId) {
+        List<Integer> connectedUserIds = new ArrayList<>();
+        for (Map.Entry<Integer, List<WebSocketSession>> entry : userSessions.entrySet()) {
+            for (WebSocketSession s : new ArrayList<>(entry.getValue())) {
+                if (s == null || !s.isOpen()) {
+                    continue;
+                }
+                Object sessionRoomId = s.getAttributes().get("roomId");
+                if (sessionRoomId != null && Integer.parseInt(sessionRoomId.toString()) == roomId) {
+                    if (!connectedUserIds.contains(entry.getKey())) {
+                        connectedUserIds.add(entry.getKey());
+                    }
+                    break;
+                }
+            }
+        }
+        return connectedUserIds;
+    }
+}
@@ -0,0 +1,145 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static com.goodee.coreconnect.support.AwaitUtil.await;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.goodee.coreconnect.chat.event.ChatPresenceChangedEvent;
+import com.goodee.coreconnect.chat.handler.ChatPresenceRegistry;
+import com.goodee.coreconnect.chat.presence.ChatPresenceService;
+import com.goodee.coreconnect.chat.presence.InMemoryPresenceStore;
+import com.goodee.coreconnect.common.bus.InMemoryMessageBus;
+
+/**
+ * 같은 JVM 안의 두 노드(InMemoryMessageBus + InMemoryPresenceStore)로 클러스터 접속 상태 검증
+ */
+@DisplayName("ChatPresenceService 2노드 테스트")
+class ChatPresenceServiceTest {
+
+    private static final long TTL_MS = 200;
+
+    private InMemoryMessageBus.Hub hub;
+    private Node nodeA;
+    private Node nodeB;
+
+    /** 노드 1개 (로컬 세션 인덱스 + 저장소 사본 + 버스) */
+    private static final class Node {
+        final InMemoryMessageBus bus;
+        final ChatPresenceRegistry registry = new ChatPresenceRegistry();
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final ChatPresenceService service;
+
+        Node(InMemoryMessageBus.Hub hub, String nodeId) {
+            bus = new InMemoryMessageBus(hub, nodeId, 100, 1);
+            service = new ChatPresenceService(registry, new InMemoryPresenceStore(), bus, event -> {
+                ChatPresenceChangedEvent e = (ChatPresenceChangedEvent) event;
+                events.add(e.getRoomId() + ":" + e.getUserId() + ":" + (e.isOnline() ? "on" : "off"));
+            });
+            ReflectionTestUtils.setField(service, "ttlMs", TTL_MS);
+            service.init();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        hub = new InMemoryMessageBus.Hub();
+        nodeA = new Node(hub, "node-a");
+        nodeB = new Node(hub, "node-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.bus.shutdown();
+        nodeB.bus.shutdown();
+    }
+
+    private static WebSocketSession session(String id, boolean open) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(open);
+        return session;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("A 노드 접속자가 B 노드 조회에 포함되고, 탭을 모두 닫아야 offline 이벤트가 발행된다")
+    void testPresenceVisibleAcrossNodes() throws Exception {
+        WebSocketSession tab1 = session("a-1", true);
+        WebSocketSession tab2 = session("a-2", true);
+        nodeA.registry.register(1, 10, tab1);
+        nodeA.registry.register(1, 10, tab2);
+        nodeB.registry.register(1, 20, session("b-1", true));
+
+        await(() -> nodeB.service.getOnlineMembers(1).contains(10) && nodeA.service.getOnlineMembers(1).contains(20));
+        assertThat(nodeB.service.getOnlineMembers(1)).containsExactlyInAnyOrder(10, 20);
+        assertThat(nodeA.service.getOnlineMembers(1)).containsExactlyInAnyOrder(10, 20);
+        assertThat(nodeB.service.isOnline(10)).isTrue();
+        assertThat(nodeB.events).contains("1:10:on", "1:20:on");
+
+        // 탭 1개만 닫으면 여전히 접속 중
+        nodeA.registry.unregister(tab1);
+        Thread.sleep(30);
+        assertThat(nodeB.service.getOnlineMembers(1)).contains(10);
+
+        nodeA.registry.unregister(tab2);
+        await(() -> !nodeB.service.getOnlineMembers(1).contains(10));
+        assertThat(nodeB.service.getOnlineMembers(1)).containsExactly(20);
+        assertThat(nodeB.service.isOnline(10)).isFalse();
+        assertThat(nodeB.events).containsExactlyInAnyOrder("1:10:on", "1:20:on", "1:10:off");
+        assertThat(nodeB.events).endsWith("1:10:off");
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("heartbeat가 이어지면 ttl이 지나도 유지되고, heartbeat가 끊긴 노드의 접속자는 ttl 후 만료된다")
+    void testHeartbeatAndTtl() throws Exception {
+        nodeA.registry.register(1, 10, session("a-1", true));
+        await(() -> nodeB.service.isOnline(10));
+
+        // A가 heartbeat를 계속 보내는 동안은 유지
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(TTL_MS / 2);
+            nodeA.service.heartbeat();
+            Thread.sleep(10);
+            nodeB.service.heartbeat();
+        }
+        assertThat(nodeB.service.isOnline(10)).isTrue();
+
+        // A 노드 비정상 종료 (해제 메시지 없이 heartbeat 중단)
+        nodeA.bus.shutdown();
+        Thread.sleep(TTL_MS + 50);
+        nodeB.service.heartbeat();
+
+        System.out.printf("[ChatPresenceServiceTest] ttl=%dms, node B events=%s%n", TTL_MS, nodeB.events);
+        assertThat(nodeB.service.isOnline(10)).isFalse();
+        assertThat(nodeB.service.getOnlineMembers(1)).isEmpty();
+        assertThat(nodeB.events).containsExactly("1:10:on", "1:10:off");
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("afterConnectionClosed 없이 닫힌 세션은 heartbeat에서 정리되어 다른 노드에서도 offline이 된다")
+    void testHeartbeatPrunesClosedSessions() throws Exception {
+        WebSocketSession stale = session("a-1", true);
+        nodeA.registry.register(1, 10, stale);
+        await(() -> nodeB.service.isOnline(10));
+
+        when(stale.isOpen()).thenReturn(false);
+        nodeA.service.heartbeat();
+
+        await(() -> !nodeB.service.isOnline(10));
+        assertThat(nodeA.registry.getSessionCount()).isZero();
+        assertThat(nodeB.service.isOnline(10)).isFalse();
+        assertThat(nodeA.events).containsExactly("1:10:on", "1:10:off");
+    }
+}
@@ -0,0 +1,98 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.goodee.coreconnect.chat.entity.Chat;
+import com.goodee.coreconnect.chat.repository.ChatRepository;
+import com.goodee.coreconnect.chat.repository.ChatRoomUserRepository;
+import com.goodee.coreconnect.chat.service.ChatReadWatermarkService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatReadWatermarkService 단위 테스트")
+class ChatReadWatermarkServiceTest {
+
+    @Mock
+    private ChatRoomUserRepository chatRoomUserRepository;
+
+    @Mock
+    private ChatRepository chatRepository;
+
+    @InjectMocks
+    private ChatReadWatermarkService chatReadWatermarkService;
+
+    private static final Integer ROOM_ID = 10;
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    /** 메시지 n번의 보낸 시각 (T0 + n초) */
+    private static LocalDateTime at(int second) {
+        return T0.plusSeconds(second);
+    }
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(chatReadWatermarkService, "mode", ChatReadWatermarkService.MODE_WATERMARK);
+        // 참여자 1(100번까지 읽음), 2(103번까지 읽음), 3(아직 안읽음) - 메시지 n번은 T0 + n초에 보냄
+        lenient().when(chatRoomUserRepository.findLastReadPositionsByChatRoomId(ROOM_ID)).thenReturn(List.of(
+                new Object[] { 1, at(100), 100 }, new Object[] { 2, at(103), 103 }, new Object[] { 3, null, null }));
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("메시지별 unreadCount는 발신자를 제외하고 읽음 위치가 메시지보다 앞선 참여자 수다")
+    void testUnreadCountOf() {
+        assertThat(chatReadWatermarkService.isEnabled()).isTrue();
+        // 101번(발신자 2): 1, 3 미읽음
+        assertThat(chatReadWatermarkService.unreadCountOf(ROOM_ID, at(101), 101, 2)).isEqualTo(2);
+        // 104번(발신자 1): 2, 3 미읽음 (발신자 1 제외)
+        assertThat(chatReadWatermarkService.unreadCountOf(ROOM_ID, at(104), 104, 1)).isEqualTo(2);
+        // 100번(발신자 2): 3만 미읽음
+        assertThat(chatReadWatermarkService.unreadCountOf(ROOM_ID, at(100), 100, 2)).isEqualTo(1);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("ID가 전송 순서와 달라도 (보낸 시각, ID) 순서로 읽음 여부를 판단한다")
+    void testOrdersByPositionNotId() {
+        // 다른 노드 구간에서 받은 작은 ID(50)가 100번보다 늦게 보내진 경우 → 참여자 1은 아직 안읽음
+        assertThat(chatReadWatermarkService.unreadCountOf(ROOM_ID, at(101), 50, 2)).isEqualTo(2);
+        assertThat(chatReadWatermarkService.isRead(ROOM_ID, 1, Chat.builder().id(50).sendAt(at(101)).build())).isFalse();
+        // 큰 ID(900)라도 참여자 2의 위치보다 먼저 보낸 메시지는 읽음
+        assertThat(chatReadWatermarkService.isRead(ROOM_ID, 2, Chat.builder().id(900).sendAt(at(102)).build())).isTrue();
+        // 보낸 시각이 같으면 ID 순서
+        assertThat(chatReadWatermarkService.isRead(ROOM_ID, 1, Chat.builder().id(99).sendAt(at(100)).build())).isTrue();
+        assertThat(chatReadWatermarkService.isRead(ROOM_ID, 1, Chat.builder().id(101).sendAt(at(100)).build())).isFalse();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("읽음 처리 시 watermark를 최신 메시지까지 옮기고 다른 사람 메시지만 unreadCount를 감소시킨다")
+    void testMarkRoomAsRead() {
+        when(chatRepository.findLatestPositionByRoomId(ROOM_ID)).thenReturn(new Object[] { at(103), 103 });
+        when(chatRoomUserRepository.findLastReadPosition(ROOM_ID, 1)).thenReturn(List.<Object[]>of(new Object[] { at(100), 100 }));
+        when(chatRepository.findChatIdAndSenderIdsInRange(ROOM_ID, at(100), 100, at(103), 103)).thenReturn(List.of(
+                new Object[] { 101, 2, at(101) }, new Object[] { 102, 1, at(102) }, new Object[] { 103, 2, at(103) }));
+        when(chatRoomUserRepository.compareAndSetLastReadPosition(ROOM_ID, 1, at(100), 100, at(103), 103)).thenReturn(1);
+
+        Map<Integer, Integer> result = chatReadWatermarkService.markRoomAsRead(ROOM_ID, 1);
+
+        verify(chatRepository).decrementUnreadCounts(List.of(101, 103));
+        verify(chatRepository, never()).reconcileUnreadCountsByWatermarkRoomId(anyInt());
+        // 남은 미읽음: 참여자 3만 (2는 103번까지 읽음)
+        assertThat(result).containsExactly(Map.entry(101, 1), Map.entry(102, 1), Map.entry(103, 1));
+    }
+}
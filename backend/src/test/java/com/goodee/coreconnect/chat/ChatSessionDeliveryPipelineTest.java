@@ -0,0 +1,215 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.goodee.coreconnect.chat.handler.ChatSessionDeliveryPipeline;
+
+@DisplayName("ChatSessionDeliveryPipeline 단위 테스트")
+class ChatSessionDeliveryPipelineTest {
+
+    private static final int ROOM_ID = 1;
+    private static final int MESSAGE_COUNT = 30;
+
+    private ChatSessionDeliveryPipeline pipeline;
+    private final CountDownLatch slowClientRelease = new CountDownLatch(1);
+
+    @BeforeEach
+    void setup() {
+        pipeline = new ChatSessionDeliveryPipeline();
+        ReflectionTestUtils.setField(pipeline, "sendTimeLimitMs", 60_000);
+        ReflectionTestUtils.setField(pipeline, "bufferSizeLimit", 100);
+        ReflectionTestUtils.setField(pipeline, "slowConsumerPolicy", "drop");
+        ReflectionTestUtils.setField(pipeline, "threads", 4);
+        ReflectionTestUtils.setField(pipeline, "latencySampleSize", 128);
+        pipeline.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowClientRelease.countDown();
+        pipeline.shutdown();
+    }
+
+    private WebSocketSession session(String id, List<String> received, CountDownLatch blockUntil) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(inv -> {
+            if (blockUntil != null) {
+                blockUntil.await(10, TimeUnit.SECONDS);
+            }
+            received.add(((WebSocketMessage<?>) inv.getArgument(0)).getPayload().toString());
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("느린 클라이언트가 있어도 다른 세션은 순서대로 모두 받고, 느린 세션은 버퍼 초과분이 드롭된다")
+    void testSlowConsumerDoesNotBlockOthers() throws Exception {
+        List<String> fastA = new CopyOnWriteArrayList<>();
+        List<String> fastB = new CopyOnWriteArrayList<>();
+        List<String> slow = new CopyOnWriteArrayList<>();
+
+        WebSocketSession slowSession = pipeline.register(session("slow", slow, slowClientRelease));
+        WebSocketSession a = pipeline.register(session("a", fastA, null));
+        WebSocketSession b = pipeline.register(session("b", fastB, null));
+        List<WebSocketSession> targets = List.of(slowSession, a, b);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            pipeline.broadcast(ROOM_ID, targets, new TextMessage(String.format("msg-%02d", i)));
+        }
+        long broadcastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((fastA.size() < MESSAGE_COUNT || fastB.size() < MESSAGE_COUNT) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        ChatSessionDeliveryPipeline.DeliveryMetrics metrics = pipeline.snapshot();
+        System.out.printf("[ChatSessionDeliveryPipelineTest] broadcast %dms, metrics=%s%n", broadcastMillis, metrics);
+
+        // 수신 스레드는 느린 클라이언트 전송을 기다리지 않음
+        assertThat(broadcastMillis).isLessThan(1_000);
+        // 빠른 세션은 방 메시지를 전송 순서 그대로 모두 받음
+        assertThat(fastA).hasSize(MESSAGE_COUNT).isSorted();
+        assertThat(fastB).isEqualTo(fastA);
+        // 느린 세션은 버퍼(100 bytes) 초과분이 드롭되고 느린 소비자로 표시됨
+        assertThat(metrics.droppedFrames()).isPositive();
+        assertThat(metrics.slowSessions()).isEqualTo(1);
+        assertThat(metrics.queuedBytes()).isLessThanOrEqualTo(100);
+
+        slowClientRelease.countDown();
+        deadline = System.currentTimeMillis() + 5_000;
+        while (pipeline.snapshot().queuedFrames() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        // 느린 세션도 받은 메시지끼리는 순서가 유지됨
+        assertThat(slow).isNotEmpty().isSorted();
+        assertThat(slow.size() + metrics.droppedFrames()).isEqualTo(MESSAGE_COUNT);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("close 정책에서는 버퍼를 넘긴 느린 세션을 종료한다")
+    void testClosePolicy() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "slowConsumerPolicy", "close");
+        WebSocketSession raw = session("slow", new CopyOnWriteArrayList<>(), slowClientRelease);
+        WebSocketSession slowSession = pipeline.register(raw);
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            pipeline.broadcast(ROOM_ID, Collections.singletonList(slowSession), new TextMessage(String.format("msg-%02d", i)));
+        }
+
+        verify(raw, timeout(1_000).atLeastOnce()).close(any());
+        assertThat(pipeline.snapshot().closedSlowConsumers()).isGreaterThanOrEqualTo(1);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("byte[] 프레임을 공유하면 세션마다 UTF-8 재인코딩이 없어 브로드캐스트당 할당량이 줄어든다 (할당량 출력)")
+    void testSharedEncodedFrameAllocation() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "bufferSizeLimit", 64 * 1024 * 1024);
+        int sessionCount = 100;
+        int rounds = 200;
+        List<WebSocketSession> targets = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            targets.add(pipeline.register(new NoopSession("s" + i)));
+        }
+        String payload = "{\"type\":\"CHAT\",\"messageContent\":\"" + "채팅 메시지 ".repeat(300) + "\"}";
+        byte[] encoded = payload.getBytes(StandardCharsets.UTF_8);
+
+        // 워밍업 (전송 스레드 생성 포함)
+        broadcastRounds(targets, rounds, () -> new TextMessage(encoded));
+
+        long stringFrameBytes = broadcastRounds(targets, rounds, () -> new TextMessage(payload)) / rounds;
+        long sharedFrameBytes = broadcastRounds(targets, rounds, () -> new TextMessage(encoded)) / rounds;
+
+        System.out.printf("[ChatSessionDeliveryPipelineTest] sessions=%d, payload=%dB, allocated/broadcast: String frame=%dB, shared byte[] frame=%dB%n",
+                sessionCount, encoded.length, stringFrameBytes, sharedFrameBytes);
+
+        // String 프레임은 세션마다 getPayloadLength()에서 UTF-8 인코딩이 발생 (payload × 세션 수)
+        assertThat(stringFrameBytes).isGreaterThan((long) encoded.length * sessionCount / 2);
+        assertThat(sharedFrameBytes).isLessThan(stringFrameBytes / 5);
+    }
+
+    private long broadcastRounds(List<WebSocketSession> targets, int rounds, java.util.function.Supplier<TextMessage> frames)
+            throws InterruptedException {
+        long expected = pipeline.snapshot().deliveredFrames() + (long) rounds * targets.size();
+        long before = totalAllocatedBytes();
+        for (int i = 0; i < rounds; i++) {
+            pipeline.broadcast(ROOM_ID, targets, frames.get());
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pipeline.snapshot().deliveredFrames() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        return totalAllocatedBytes() - before;
+    }
+
+    private static long totalAllocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+
+    /** 전송 비용 없는 세션 (할당량 측정용, Mockito 호출 기록 할당 제외) */
+    private static final class NoopSession implements WebSocketSession {
+        private final String id;
+
+        private NoopSession(String id) {
+            this.id = id;
+        }
+
+        @Override public String getId() { return id; }
+        @Override public URI getUri() { return null; }
+        @Override public HttpHeaders getHandshakeHeaders() { return HttpHeaders.EMPTY; }
+        @Override public Map<String, Object> getAttributes() { return Collections.emptyMap(); }
+        @Override public Principal getPrincipal() { return null; }
+        @Override public InetSocketAddress getLocalAddress() { return null; }
+        @Override public InetSocketAddress getRemoteAddress() { return null; }
+        @Override public String getAcceptedProtocol() { return null; }
+        @Override public void setTextMessageSizeLimit(int messageSizeLimit) {}
+        @Override public int getTextMessageSizeLimit() { return Integer.MAX_VALUE; }
+        @Override public void setBinaryMessageSizeLimit(int messageSizeLimit) {}
+        @Override public int getBinaryMessageSizeLimit() { return Integer.MAX_VALUE; }
+        @Override public List<WebSocketExtension> getExtensions() { return Collections.emptyList(); }
+        @Override public void sendMessage(WebSocketMessage<?> message) {}
+        @Override public boolean isOpen() { return true; }
+        @Override public void close() {}
+        @Override public void close(CloseStatus status) {}
+    }
+}
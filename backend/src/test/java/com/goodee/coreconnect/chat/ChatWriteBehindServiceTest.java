@@ -0,0 +1,261 @@
+package com.goodee.coreconnect.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static com.goodee.coreconnect.support.AwaitUtil.await;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.goodee.coreconnect.chat.dto.response.ChatResponseDTO;
+import com.goodee.coreconnect.chat.journal.ChatIdAllocator;
+import com.goodee.coreconnect.chat.journal.ChatJournalEntry;
+import com.goodee.coreconnect.chat.journal.ChatJournalPersister;
+import com.goodee.coreconnect.chat.journal.ChatWriteBehindService;
+import com.goodee.coreconnect.config.WebSocketSessionUser;
+import com.goodee.coreconnect.user.enums.Role;
+
+@DisplayName("ChatWriteBehindService 단위 테스트 (즉시 브로드캐스트 + 배치 저장)")
+class ChatWriteBehindServiceTest {
+
+    private static final int ROOM_ID = 1;
+    private static final WebSocketSessionUser SENDER = new WebSocketSessionUser(10, "a@test.com", "홍길동", Role.USER);
+    private static final List<Integer> PARTICIPANTS = List.of(10, 20, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger ids = new AtomicInteger(1000);
+    private ChatIdAllocator allocator;
+    private ChatJournalPersister persister;
+    private final List<ChatWriteBehindService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        // 예약 구간에서 메모리 할당만 하는 것과 같음 (Mockito 호출 기록 비용 제외)
+        allocator = new ChatIdAllocator(null, null) {
+            @Override public Integer nextId() { return ids.incrementAndGet(); }
+            @Override public void warmUp() {}
+        };
+        persister = mock(ChatJournalPersister.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ChatWriteBehindService::shutdown);
+    }
+
+    private ChatWriteBehindService service(String durability, int capacity) {
+        return configure(new ChatWriteBehindService(allocator, persister), durability, capacity);
+    }
+
+    private ChatWriteBehindService configure(ChatWriteBehindService service, String durability, int capacity) {
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "durability", durability);
+        ReflectionTestUtils.setField(service, "journalFile", tempDir.resolve("chat-journal.log").toString());
+        ReflectionTestUtils.setField(service, "fileFsync", false);
+        ReflectionTestUtils.setField(service, "journalCapacity", capacity);
+        ReflectionTestUtils.setField(service, "batchSize", 200);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(service, "backpressureTimeoutMs", 100L);
+        ReflectionTestUtils.setField(service, "shutdownTimeoutMs", 500L);
+        service.init();
+        services.add(service);
+        return service;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("DB 저장이 느려도(배치당 50ms) 접수 p99는 10ms 미만이고, 모든 메시지가 배치로 저장된다")
+    void testAcceptLatencyIndependentOfDb() throws Exception {
+        List<Integer> persistedIds = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(inv -> {
+            Thread.sleep(50); // 느린 DB
+            List<ChatJournalEntry> batch = inv.getArgument(0);
+            batch.forEach(e -> persistedIds.add(e.chatId()));
+            return null;
+        }).when(persister).persistBatch(anyList());
+        ChatWriteBehindService service = service("batch", 10_000);
+        // 워밍업 (클래스 로딩 / JIT)
+        for (int i = 0; i < 500; i++) {
+            service.accept(ROOM_ID, SENDER, "warmup", PARTICIPANTS, Set.of(10, 20));
+        }
+        await(() -> service.snapshot().persisted() == 500, 5_000);
+        persistedIds.clear();
+
+        // 전송 스레드 수는 코어 수 이하 (코어보다 많으면 OS 스케줄링 지연이 측정에 섞임)
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        int perThread = 2_000 / threads;
+        long[] latencies = new long[threads * perThread];
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService senders = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            senders.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    long start = System.nanoTime();
+                    ChatResponseDTO dto = service.accept(ROOM_ID, SENDER, "메시지", PARTICIPANTS, Set.of(10, 20));
+                    latencies[index.getAndIncrement()] = System.nanoTime() - start;
+                    assertThat(dto.getId()).isNotNull();
+                    assertThat(dto.getUnreadCount()).isEqualTo(1);
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        senders.shutdown();
+
+        await(() -> service.snapshot().persisted() == 500 + latencies.length, 5_000);
+        Arrays.sort(latencies);
+        long p99Micros = TimeUnit.NANOSECONDS.toMicros(latencies[(int) (latencies.length * 0.99) - 1]);
+        ChatWriteBehindService.WriteBehindStats stats = service.snapshot();
+        System.out.printf("[ChatWriteBehindServiceTest] messages=%d, accept p99=%dus, stats=%s%n", latencies.length, p99Micros, stats);
+
+        assertThat(p99Micros).isLessThan(10_000);
+        assertThat(persistedIds).hasSize(latencies.length).doesNotHaveDuplicates();
+        // 메시지마다 트랜잭션이 아니라 배치로 저장됨
+        assertThat(stats.batches()).isLessThan((500 + latencies.length) / 10);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("writer가 밀리면 저장 대기열 크기에서 전송이 대기 후 거절되고, 저장이 재개되면 다시 접수된다")
+    void testBackpressure() throws Exception {
+        CountDownLatch dbRelease = new CountDownLatch(1);
+        doAnswer(inv -> dbRelease.await(5, TimeUnit.SECONDS)).when(persister).persistBatch(anyList());
+        ChatWriteBehindService service = service("batch", 10);
+
+        for (int i = 0; i < 10; i++) {
+            service.accept(ROOM_ID, SENDER, "m" + i, PARTICIPANTS, Set.of(10));
+        }
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> service.accept(ROOM_ID, SENDER, "overflow", PARTICIPANTS, Set.of(10)))
+                .isInstanceOf(IllegalStateException.class);
+        // backpressure-timeout-ms(100ms) 동안 대기 후 거절
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(90);
+        assertThat(service.snapshot().rejected()).isEqualTo(1);
+
+        dbRelease.countDown();
+        await(() -> service.snapshot().persisted() == 10, 5_000);
+        assertThat(service.accept(ROOM_ID, SENDER, "resumed", PARTICIPANTS, Set.of(10)).getId()).isNotNull();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("file 모드: DB 장애 중 종료되어도 재시작 시 저널 파일에서 커밋 안 된 메시지를 다시 저장한다")
+    void testFileJournalRecovery() throws Exception {
+        doThrow(new RuntimeException("DB down")).when(persister).persistBatch(anyList());
+        ChatWriteBehindService first = service("file", 100);
+        List<Integer> sentIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sentIds.add(first.accept(ROOM_ID, SENDER, "m" + i, PARTICIPANTS, Set.of(10)).getId());
+        }
+        first.shutdown();
+        services.remove(first);
+        assertThat(Files.readAllLines(tempDir.resolve("chat-journal.log"))).hasSize(5);
+
+        List<Integer> recoveredIds = Collections.synchronizedList(new ArrayList<>());
+        reset(persister);
+        doAnswer(inv -> {
+            List<ChatJournalEntry> batch = inv.getArgument(0);
+            batch.forEach(e -> recoveredIds.add(e.chatId()));
+            return null;
+        }).when(persister).persistBatch(anyList());
+
+        ChatWriteBehindService restarted = service("file", 100);
+        await(() -> restarted.snapshot().persisted() == 5, 5_000);
+        assertThat(recoveredIds).containsExactlyElementsOf(sentIds);
+
+        // 커밋 표시 이후에는 다시 재시작해도 재저장하지 않음
+        restarted.accept(ROOM_ID, SENDER, "after", PARTICIPANTS, Set.of(10));
+        await(() -> restarted.snapshot().persisted() == 6, 5_000);
+        restarted.shutdown();
+        services.remove(restarted);
+        ChatWriteBehindService again = service("file", 100);
+        Thread.sleep(100);
+        assertThat(again.snapshot().persisted()).isZero();
+        verify(persister, times(2)).persistBatch(anyList());
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("file 모드: 커밋 후 커밋 표시 전에 종료됐던 항목은 재시작 시 다시 INSERT하지 않는다")
+    void testFileJournalRecoverySkipsPersisted() throws Exception {
+        doThrow(new RuntimeException("DB down")).when(persister).persistBatch(anyList());
+        ChatWriteBehindService first = service("file", 100);
+        List<Integer> sentIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sentIds.add(first.accept(ROOM_ID, SENDER, "m" + i, PARTICIPANTS, Set.of(10)).getId());
+        }
+        first.shutdown();
+        services.remove(first);
+
+        // 앞의 3건은 DB에 이미 저장된 상태
+        List<Integer> recoveredIds = Collections.synchronizedList(new ArrayList<>());
+        reset(persister);
+        when(persister.findPersistedIds(anyList())).thenReturn(Set.copyOf(sentIds.subList(0, 3)));
+        doAnswer(inv -> {
+            List<ChatJournalEntry> batch = inv.getArgument(0);
+            batch.forEach(e -> recoveredIds.add(e.chatId()));
+            return null;
+        }).when(persister).persistBatch(anyList());
+
+        ChatWriteBehindService restarted = new ChatWriteBehindService(allocator, persister);
+        List<Integer> notifiedIds = Collections.synchronizedList(new ArrayList<>());
+        restarted.addPersistListener(entries -> entries.forEach(e -> notifiedIds.add(e.chatId())));
+        configure(restarted, "file", 100);
+        await(() -> recoveredIds.size() == 2, 5_000);
+        await(() -> restarted.snapshot().batches() == 1, 5_000);
+        assertThat(recoveredIds).containsExactlyElementsOf(sentIds.subList(3, 5));
+        // 건너뛴 3건은 저장 건수/저장 후 처리에서 제외
+        assertThat(restarted.snapshot().persisted()).isEqualTo(2);
+        assertThat(notifiedIds).containsExactlyElementsOf(sentIds.subList(3, 5));
+        assertThat(restarted.snapshot().dropped()).isZero();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("데이터 오류로 제외된 메시지는 저장 건수와 저장 후 처리에서 빠진다")
+    void testDroppedEntriesAreNotCountedAsPersisted() throws Exception {
+        doAnswer(inv -> {
+            List<ChatJournalEntry> batch = inv.getArgument(0);
+            if (batch.stream().anyMatch(e -> e.content().equals("bad"))) {
+                throw new DataIntegrityViolationException("Data too long for column 'message_content'");
+            }
+            return null;
+        }).when(persister).persistBatch(anyList());
+        ChatWriteBehindService service = new ChatWriteBehindService(allocator, persister);
+        List<Integer> notifiedIds = Collections.synchronizedList(new ArrayList<>());
+        service.addPersistListener(entries -> entries.forEach(e -> notifiedIds.add(e.chatId())));
+
+        configure(service, "batch", 100);
+        Integer ok1 = service.accept(ROOM_ID, SENDER, "ok1", PARTICIPANTS, Set.of(10)).getId();
+        Integer bad = service.accept(ROOM_ID, SENDER, "bad", PARTICIPANTS, Set.of(10)).getId();
+        Integer ok2 = service.accept(ROOM_ID, SENDER, "ok2", PARTICIPANTS, Set.of(10)).getId();
+        await(() -> service.snapshot().dropped() == 1 && service.snapshot().persisted() == 2, 5_000);
+
+        assertThat(service.snapshot().persisted()).isEqualTo(2);
+        assertThat(service.snapshot().dropped()).isEqualTo(1);
+        assertThat(notifiedIds).containsExactlyInAnyOrder(ok1, ok2).doesNotContain(bad);
+    }
+}
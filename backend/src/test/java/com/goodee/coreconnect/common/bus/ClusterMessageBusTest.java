@@ -0,0 +1,137 @@
+package com.goodee.coreconnect.common.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static com.goodee.coreconnect.support.AwaitUtil.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goodee.coreconnect.common.notification.service.WebSocketDeliveryService;
+
+/**
+ * 같은 JVM 안의 두 노드(InMemoryMessageBus 2개가 같은 Hub 공유)로 클러스터 전달 검증
+ */
+@DisplayName("MessageBus 2노드 전달 테스트")
+class ClusterMessageBusTest {
+
+    private InMemoryMessageBus.Hub hub;
+    private InMemoryMessageBus busA;
+    private InMemoryMessageBus busB;
+
+    @BeforeEach
+    void setup() {
+        hub = new InMemoryMessageBus.Hub();
+        busA = new InMemoryMessageBus(hub, "node-a", 100, 5);
+        busB = new InMemoryMessageBus(hub, "node-b", 100, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        busA.shutdown();
+        busB.shutdown();
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("A 노드의 sendToUsers가 B 노드에만 접속한 사용자 세션에 전달된다")
+    void testUserDeliveryAcrossNodes() throws Exception {
+        WebSocketDeliveryService deliveryA = new WebSocketDeliveryService(new ObjectMapper(), busA);
+        WebSocketDeliveryService deliveryB = new WebSocketDeliveryService(new ObjectMapper(), busB);
+        deliveryA.init();
+        deliveryB.init();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        WebSocketSession remote = session("b-1");
+        doAnswer(inv -> received.add(((WebSocketMessage<?>) inv.getArgument(0)).getPayload().toString()))
+                .when(remote).sendMessage(any());
+        deliveryB.registerSession(7, remote);
+
+        assertThat(deliveryA.sendToUser(7, "알림 1")).isFalse(); // A 노드에는 세션 없음
+        deliveryA.sendToUsers(List.of(7, 8), "알림 2");
+
+        await(() -> received.size() >= 2);
+        Thread.sleep(30);
+        // 사용자 세션 전송은 전송 스레드풀에서 병렬 실행되므로 순서는 보장하지 않음
+        assertThat(received).containsExactlyInAnyOrder("\"알림 1\"", "\"알림 2\"");
+        // B 노드는 받은 메시지를 다시 발행하지 않음
+        assertThat(busB.stats().publishedMessages()).isZero();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("발행은 배치로 묶여 전송되고, 같은 메시지를 두 번 받아도 한 번만 처리된다 (배치 수 출력)")
+    void testBatchingAndDedup() throws Exception {
+        RecordingBus sender = new RecordingBus("sender");
+        RecordingBus receiver = new RecordingBus("receiver");
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        receiver.subscribe("user", m -> handled.add(m.userIds().get(0)));
+
+        int messageCount = 250;
+        for (int i = 0; i < messageCount; i++) {
+            sender.publish("user", BusMessage.toUsers(null, List.of(i), "p" + i));
+        }
+        await(() -> sender.transmitted.stream().mapToInt(List::size).sum() >= messageCount);
+
+        System.out.printf("[ClusterMessageBusTest] messages=%d, transmit calls=%d%n", messageCount, sender.transmitted.size());
+        assertThat(sender.transmitted.size()).isLessThan(messageCount / 10);
+        assertThat(sender.transmitted).allSatisfy(batch -> assertThat(batch.size()).isLessThanOrEqualTo(100));
+
+        for (List<BusMessage> batch : sender.transmitted) {
+            receiver.receive("user", batch);
+            receiver.receive("user", batch); // 중복 수신
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < messageCount; i++) {
+            expected.add(i);
+        }
+        // 순서 유지 + 중복 제거
+        assertThat(handled).isEqualTo(expected);
+        assertThat(receiver.stats().duplicateMessages()).isEqualTo(messageCount);
+
+        // 자기 노드가 발행한 메시지는 처리하지 않음
+        List<BusMessage> own = sender.transmitted.get(0);
+        List<Integer> selfHandled = new CopyOnWriteArrayList<>();
+        sender.subscribe("user", m -> selfHandled.add(1));
+        sender.receive("user", own);
+        assertThat(selfHandled).isEmpty();
+
+        sender.shutdown();
+        receiver.shutdown();
+    }
+
+    /** transmit된 배치를 기록만 하는 버스 */
+    private static final class RecordingBus extends AbstractMessageBus {
+        private final List<List<BusMessage>> transmitted = new CopyOnWriteArrayList<>();
+
+        private RecordingBus(String nodeId) {
+            super(nodeId, 100, 20);
+        }
+
+        @Override
+        protected void transmit(String channel, List<BusMessage> batch) {
+            transmitted.add(batch);
+        }
+
+        void receive(String channel, List<BusMessage> batch) {
+            onReceive(channel, batch);
+        }
+    }
+}
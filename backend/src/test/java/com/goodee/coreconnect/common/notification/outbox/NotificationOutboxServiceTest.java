@@ -0,0 +1,315 @@
+package com.goodee.coreconnect.common.notification.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.goodee.coreconnect.board.repository.BoardRepository;
+import com.goodee.coreconnect.common.notification.dto.NotificationPayload;
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+import com.goodee.coreconnect.common.notification.service.NotificationFanoutService;
+import com.goodee.coreconnect.schedule.repository.ScheduleRepository;
+
+@DisplayName("NotificationOutboxService 단위 테스트 (메모리 outbox 테이블)")
+class NotificationOutboxServiceTest {
+
+    /** notification_outbox 테이블을 메모리로 흉내 내는 저장소 (조건부 UPDATE 의미는 그대로) */
+    static class InMemoryOutboxRepository extends NotificationOutboxRepository {
+
+        static class Row {
+            final long id;
+            final String deliveryKey;
+            final String payload;
+            final LocalDateTime createdAt;
+            String status = "PENDING";
+            int attempts;
+            LocalDateTime nextAttemptAt;
+            String claimedBy;
+            LocalDateTime claimedAt;
+            String lastError;
+
+            Row(long id, String deliveryKey, String payload, LocalDateTime createdAt) {
+                this.id = id;
+                this.deliveryKey = deliveryKey;
+                this.payload = payload;
+                this.createdAt = createdAt;
+                this.nextAttemptAt = createdAt;
+            }
+        }
+
+        final Map<String, Row> rows = new LinkedHashMap<>();
+        long nextId = 1;
+
+        InMemoryOutboxRepository() {
+            super(null);
+        }
+
+        Row row(String deliveryKey) {
+            return rows.get(deliveryKey);
+        }
+
+        @Override
+        public synchronized int insert(String deliveryKey, String type, String payload, LocalDateTime now) {
+            if (rows.containsKey(deliveryKey)) {
+                return 0;
+            }
+            rows.put(deliveryKey, new Row(nextId++, deliveryKey, payload, now));
+            return 1;
+        }
+
+        @Override
+        public synchronized int claim(String owner, LocalDateTime now, int limit) {
+            int claimed = 0;
+            for (Row row : rows.values()) {
+                if (claimed < limit && row.status.equals("PENDING") && !row.nextAttemptAt.isAfter(now)) {
+                    row.status = "PROCESSING";
+                    row.claimedBy = owner;
+                    row.claimedAt = now;
+                    claimed++;
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized List<OutboxRow> findClaimed(String owner) {
+            List<OutboxRow> claimed = new ArrayList<>();
+            for (Row row : rows.values()) {
+                if (row.status.equals("PROCESSING") && owner.equals(row.claimedBy)) {
+                    claimed.add(new OutboxRow(row.id, row.deliveryKey, row.payload, row.attempts, row.createdAt));
+                }
+            }
+            return claimed;
+        }
+
+        private Row claimedRow(long id, String owner) {
+            return rows.values().stream()
+                    .filter(r -> r.id == id && r.status.equals("PROCESSING") && owner.equals(r.claimedBy))
+                    .findFirst().orElse(null);
+        }
+
+        @Override
+        public synchronized int markDone(long id, String owner, LocalDateTime now) {
+            Row row = claimedRow(id, owner);
+            if (row == null) {
+                return 0;
+            }
+            row.status = "DONE";
+            row.attempts++;
+            return 1;
+        }
+
+        @Override
+        public synchronized int markRetry(long id, String owner, int attempts, LocalDateTime nextAttemptAt, String error) {
+            Row row = claimedRow(id, owner);
+            if (row == null) {
+                return 0;
+            }
+            row.status = "PENDING";
+            row.attempts = attempts;
+            row.nextAttemptAt = nextAttemptAt;
+            row.lastError = error;
+            row.claimedBy = null;
+            return 1;
+        }
+
+        @Override
+        public synchronized int markFailed(long id, String owner, int attempts, LocalDateTime now, String error) {
+            Row row = claimedRow(id, owner);
+            if (row == null) {
+                return 0;
+            }
+            row.status = "FAILED";
+            row.attempts = attempts;
+            row.lastError = error;
+            return 1;
+        }
+
+        @Override
+        public synchronized int releaseStale(LocalDateTime claimedBefore) {
+            return 0;
+        }
+
+        @Override
+        public synchronized OutboxBacklog backlog() {
+            long pending = rows.values().stream().filter(r -> r.status.equals("PENDING") || r.status.equals("PROCESSING")).count();
+            long failed = rows.values().stream().filter(r -> r.status.equals("FAILED")).count();
+            LocalDateTime oldest = rows.values().stream()
+                    .filter(r -> r.status.equals("PENDING") || r.status.equals("PROCESSING"))
+                    .map(r -> r.createdAt).min(LocalDateTime::compareTo).orElse(null);
+            return new OutboxBacklog(pending, oldest, failed);
+        }
+    }
+
+    /** 아무 자원도 쓰지 않는 트랜잭션 매니저 (TransactionTemplate 콜백만 실행) */
+    static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private InMemoryOutboxRepository outboxRepository;
+    private NotificationFanoutService fanoutService;
+    private NotificationOutboxService service;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = new InMemoryOutboxRepository();
+        fanoutService = mock(NotificationFanoutService.class);
+        BoardRepository boardRepository = mock(BoardRepository.class);
+        when(boardRepository.existsById(10)).thenReturn(true);
+        service = new NotificationOutboxService(outboxRepository, fanoutService, boardRepository,
+                mock(ScheduleRepository.class), new NoOpTransactionManager(), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "baseBackoffMs", 0L);
+        ReflectionTestUtils.setField(service, "maxBackoffMs", 0L);
+        ReflectionTestUtils.setField(service, "processingTimeoutMs", 60_000L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void savesOnePayloadPerRecipient() {
+        when(fanoutService.insertAll(anyList(), any(), anyString(), anyInt(), any(), any(), anyList())).thenAnswer(inv -> {
+            List<NotificationPayload> payloads = new ArrayList<>();
+            for (Integer rid : (List<Integer>) inv.getArgument(0)) {
+                NotificationPayload payload = new NotificationPayload();
+                payload.setRecipientId(rid);
+                payloads.add(payload);
+            }
+            return payloads;
+        });
+        when(fanoutService.pushAll(anyList(), anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("같은 deliveryKey는 한 번만 기록되고, 디스패처가 저장 + 전송 후 DONE으로 표시한다")
+    void testIdempotentEnqueueAndDispatch() {
+        savesOnePayloadPerRecipient();
+        NotificationOutboxEvent event = new NotificationOutboxEvent(List.of(2, 3, 4), NotificationType.NOTICE,
+                "공지사항입니다: 점검 안내", 1, 10, null);
+
+        assertThat(service.enqueue("board:10:notice:2025-01-01T09:00", event)).isTrue();
+        assertThat(service.enqueue("board:10:notice:2025-01-01T09:00", event)).isFalse();
+        assertThat(service.snapshot().pending()).isEqualTo(1);
+
+        assertThat(service.dispatchPending()).isEqualTo(1);
+        assertThat(service.dispatchPending()).isZero();
+
+        verify(fanoutService, times(1)).insertAll(eq(List.of(2, 3, 4)), eq(NotificationType.NOTICE),
+                eq("공지사항입니다: 점검 안내"), eq(1), eq(10), isNull(), anyList());
+        verify(fanoutService, times(1)).pushAll(anyList(), anyList());
+        assertThat(outboxRepository.row("board:10:notice:2025-01-01T09:00").status).isEqualTo("DONE");
+
+        NotificationOutboxService.OutboxStats stats = service.snapshot();
+        assertThat(stats.enqueued()).isEqualTo(1);
+        assertThat(stats.duplicates()).isEqualTo(1);
+        assertThat(stats.dispatched()).isEqualTo(1);
+        assertThat(stats.pending()).isZero();
+        assertThat(stats.lagMillis()).isZero();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("저장에 실패하면 backoff 후 재시도하고, max-attempts를 넘으면 FAILED로 남긴다")
+    void testRetryThenFail() {
+        AtomicInteger calls = new AtomicInteger();
+        when(fanoutService.insertAll(anyList(), any(), anyString(), anyInt(), any(), any(), anyList())).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            throw new DataAccessResourceFailureException("simulated DB outage");
+        });
+        service.enqueue("direct:SCHEDULE:2:a", new NotificationOutboxEvent(List.of(2), NotificationType.SCHEDULE, "일정 알림", 1, null, null));
+
+        // 실패 → backoff 시간이 지나야 다시 가져감
+        ReflectionTestUtils.setField(service, "baseBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxBackoffMs", 60_000L);
+        service.dispatchPending();
+        service.dispatchPending();
+        assertThat(calls.get()).isEqualTo(1);
+        InMemoryOutboxRepository.Row row = outboxRepository.row("direct:SCHEDULE:2:a");
+        assertThat(row.status).isEqualTo("PENDING");
+        assertThat(row.attempts).isEqualTo(1);
+        assertThat(row.nextAttemptAt).isAfter(LocalDateTime.now().plusSeconds(50));
+        assertThat(row.lastError).contains("simulated DB outage");
+
+        // backoff가 지나면 다시 시도, 3번째 실패에서 FAILED
+        row.nextAttemptAt = LocalDateTime.now();
+        ReflectionTestUtils.setField(service, "baseBackoffMs", 0L);
+        ReflectionTestUtils.setField(service, "maxBackoffMs", 0L);
+        service.dispatchPending();
+        service.dispatchPending();
+        service.dispatchPending();
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(row.status).isEqualTo("FAILED");
+        assertThat(row.attempts).isEqualTo(3);
+        verify(fanoutService, never()).pushAll(anyList(), anyList());
+
+        NotificationOutboxService.OutboxStats stats = service.snapshot();
+        assertThat(stats.retries()).isEqualTo(2);
+        assertThat(stats.failed()).isEqualTo(1);
+        assertThat(stats.pending()).isZero();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("쌓인 outbox 행을 batch 단위로 모두 전달하고 처리량 / 지연을 측정한다")
+    void testDrainBacklog() {
+        savesOnePayloadPerRecipient();
+        int events = 1_000;
+        for (int i = 0; i < events; i++) {
+            service.enqueue("direct:NOTICE:" + i, new NotificationOutboxEvent(List.of(100 + i), NotificationType.NOTICE, "알림 " + i, 1, null, null));
+        }
+        assertThat(service.snapshot().pending()).isEqualTo(events);
+
+        long start = System.nanoTime();
+        int processed = service.dispatchPending();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        service.logMetrics();
+        NotificationOutboxService.OutboxStats stats = service.snapshot();
+
+        System.out.printf("[NotificationOutboxServiceTest] %d events drained in %dms (batch 100), last delivery lag %dms, throughput %.1f/s%n",
+                processed, elapsedMs, stats.lastDeliveryLagMillis(), stats.dispatchedPerSecond());
+
+        assertThat(processed).isEqualTo(events);
+        assertThat(stats.dispatched()).isEqualTo(events);
+        assertThat(stats.pending()).isZero();
+        assertThat(stats.dispatchedPerSecond()).isPositive();
+        verify(fanoutService, times(events)).pushAll(anyList(), anyList());
+    }
+}
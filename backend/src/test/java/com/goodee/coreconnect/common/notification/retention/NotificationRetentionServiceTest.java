@@ -0,0 +1,155 @@
+package com.goodee.coreconnect.common.notification.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+@DisplayName("NotificationRetentionService 단위 테스트 (메모리 notification / notification_archive 테이블)")
+class NotificationRetentionServiceTest {
+
+    /** notification / notification_archive 테이블을 메모리로 흉내 내는 저장소 */
+    static class InMemoryArchiveRepository extends NotificationArchiveRepository {
+
+        record Row(int id, boolean read, LocalDateTime sentAt) {}
+
+        final Map<Integer, Row> notifications = new TreeMap<>();
+        final Map<Integer, Row> archive = new TreeMap<>();
+        int statements;
+
+        InMemoryArchiveRepository() {
+            super(null);
+        }
+
+        @Override
+        public List<Integer> lockArchivableIds(LocalDateTime sentBefore, int limit) {
+            statements++;
+            // 보낸 시각, id 순 (idx_notification_read_sent_at 순서)
+            return notifications.values().stream()
+                    .filter(row -> row.read() && row.sentAt().isBefore(sentBefore))
+                    .sorted(Comparator.comparing(Row::sentAt).thenComparingInt(Row::id))
+                    .limit(limit)
+                    .map(Row::id)
+                    .toList();
+        }
+
+        @Override
+        public int copyToArchive(List<Integer> ids, LocalDateTime archivedAt) {
+            statements++;
+            int copied = 0;
+            for (Integer id : ids) {
+                Row row = notifications.get(id);
+                if (row != null && archive.putIfAbsent(id, row) == null) {
+                    copied++;
+                }
+            }
+            return copied;
+        }
+
+        @Override
+        public int delete(List<Integer> ids) {
+            statements++;
+            int deleted = 0;
+            for (Integer id : ids) {
+                if (notifications.remove(id) != null) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+    }
+
+    static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private final LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+
+    private InMemoryArchiveRepository repository;
+    private NotificationRetentionService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryArchiveRepository();
+        service = new NotificationRetentionService(repository, new NoOpTransactionManager());
+        ReflectionTestUtils.setField(service, "chunkSize", 1000);
+        ReflectionTestUtils.setField(service, "maxChunksPerRun", 100);
+        ReflectionTestUtils.setField(service, "pauseMs", 0L);
+
+        int id = 1;
+        // 오래된 읽은 알림 2500건 (보관 대상) + 오래된 안읽은 알림 300건 + 최근 읽은 알림 200건
+        for (int i = 0; i < 2500; i++, id++) {
+            repository.notifications.put(id, new InMemoryArchiveRepository.Row(id, true, cutoff.minusDays(1 + i % 30)));
+        }
+        for (int i = 0; i < 300; i++, id++) {
+            repository.notifications.put(id, new InMemoryArchiveRepository.Row(id, false, cutoff.minusDays(10)));
+        }
+        for (int i = 0; i < 200; i++, id++) {
+            repository.notifications.put(id, new InMemoryArchiveRepository.Row(id, true, cutoff.plusDays(1)));
+        }
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("오래된 읽은 알림만 chunk 단위로 보관하고 notification에서 삭제한다")
+    void testArchivesOldReadNotificationsInChunks() {
+        NotificationRetentionService.RetentionResult result = service.archiveReadBefore(cutoff);
+
+        System.out.printf("[NotificationRetentionServiceTest] archived %d rows in %d chunks, statements: %d, %dms%n",
+                result.archived(), result.chunks(), repository.statements, result.millis());
+
+        assertThat(result.archived()).isEqualTo(2500);
+        assertThat(result.chunks()).isEqualTo(3);
+        assertThat(repository.archive).hasSize(2500);
+        assertThat(repository.notifications).hasSize(500);
+        assertThat(repository.notifications.values())
+                .allSatisfy(row -> assertThat(!row.read() || !row.sentAt().isBefore(cutoff)).isTrue());
+        // chunk마다 조회 + 복사 + 삭제 3문장, 마지막 chunk(500건)에서 종료
+        assertThat(repository.statements).isEqualTo(3 * 3);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("한 번 실행에 max-chunks-per-run개까지만 옮기고, 남은 행은 다음 실행에서 옮긴다")
+    void testStopsAtMaxChunksPerRun() {
+        ReflectionTestUtils.setField(service, "maxChunksPerRun", 2);
+
+        NotificationRetentionService.RetentionResult first = service.archiveReadBefore(cutoff);
+        assertThat(first.archived()).isEqualTo(2000);
+        assertThat(first.chunks()).isEqualTo(2);
+
+        NotificationRetentionService.RetentionResult second = service.archiveReadBefore(cutoff);
+        assertThat(second.archived()).isEqualTo(500);
+
+        NotificationRetentionService.RetentionResult third = service.archiveReadBefore(cutoff);
+        assertThat(third.archived()).isZero();
+        assertThat(third.chunks()).isZero();
+        assertThat(repository.archive).hasSize(2500);
+    }
+}
@@ -0,0 +1,104 @@
+package com.goodee.coreconnect.common.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("NotificationCoalescer 단위 테스트 ((사용자, 종류, 출처)별 window 동안 알림 묶음)")
+class NotificationCoalescerTest {
+
+    private static final long WINDOW_MS = 50;
+
+    private NotificationCoalescer coalescer;
+    private List<NotificationCoalescer.Window> flushed;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new NotificationCoalescer();
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "windowMs", WINDOW_MS);
+        flushed = new ArrayList<>();
+        coalescer.register("CHAT_ALERT", flushed::addAll);
+        coalescer.register("CHAT_TOAST", flushed::addAll);
+    }
+
+    private static void waitWindow() throws InterruptedException {
+        Thread.sleep(WINDOW_MS + 20);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("30명 방에 메시지 50건 burst (메시지마다 알림 + 토스트) → 사용자·종류별 첫 알림 1건 + 묶음 1건만 전송된다")
+    void testBurstIsCoalesced() throws InterruptedException {
+        List<Integer> participants = IntStream.rangeClosed(1, 30).boxed().collect(Collectors.toList());
+        int messages = 50;
+        List<String> types = List.of("CHAT_ALERT", "CHAT_TOAST");
+        // 묶지 않으면 메시지 × 참여자 × 종류 = 3000 프레임
+        long withoutCoalescing = (long) messages * participants.size() * types.size();
+
+        int framesSent = 0;
+        for (int i = 0; i < messages; i++) {
+            for (String type : types) {
+                framesSent += coalescer.offerAll(participants, type, "10:1", "보낸이").size();
+            }
+        }
+        assertThat(framesSent).isEqualTo(participants.size() * types.size());
+
+        waitWindow();
+        int merged = coalescer.flushExpired();
+        framesSent += merged;
+
+        NotificationCoalescer.CoalescerStats stats = coalescer.snapshot();
+        assertThat(merged).isEqualTo(participants.size() * types.size());
+        assertThat(framesSent).isEqualTo(120);
+        assertThat(flushed).hasSize(60).allSatisfy(window -> {
+            assertThat(window.suppressed()).isEqualTo(messages - 1);
+            assertThat(window.latest()).isEqualTo("보낸이");
+        });
+        assertThat(stats.offered()).isEqualTo(withoutCoalescing).isEqualTo(3000);
+        assertThat(stats.framesSaved()).isEqualTo(withoutCoalescing - framesSent).isEqualTo(2880);
+        assertThat(stats.openWindows()).isZero();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("키(사용자, 종류, 출처)가 다르면 따로 묶고, 묶인 알림이 없던 window는 flush하지 않는다")
+    void testKeysAreIndependent() throws InterruptedException {
+        assertThat(coalescer.offer(1, "CHAT_ALERT", "10:1", "A")).isTrue();
+        assertThat(coalescer.offer(1, "CHAT_ALERT", "10:2", "B")).isTrue();
+        assertThat(coalescer.offer(2, "CHAT_ALERT", "10:1", "A")).isTrue();
+        assertThat(coalescer.offer(1, "CHAT_ALERT", "10:1", "A2")).isFalse();
+
+        waitWindow();
+        assertThat(coalescer.flushExpired()).isEqualTo(1);
+        assertThat(flushed).singleElement().satisfies(window -> {
+            assertThat(window.userId()).isEqualTo(1);
+            assertThat(window.source()).isEqualTo("10:1");
+            assertThat(window.suppressed()).isEqualTo(1);
+            assertThat(window.latest()).isEqualTo("A2");
+        });
+
+        // window가 닫힌 뒤 첫 알림은 다시 바로 전송
+        assertThat(coalescer.offer(1, "CHAT_ALERT", "10:1", "A3")).isTrue();
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("비활성화하면 모든 알림을 바로 전송한다")
+    void testDisabledPassesThrough() {
+        ReflectionTestUtils.setField(coalescer, "enabled", false);
+
+        assertThat(coalescer.offerAll(List.of(1, 2, 3), "CHAT_ALERT", "10:1", "A")).containsExactly(1, 2, 3);
+        assertThat(coalescer.offerAll(List.of(1, 2, 3), "CHAT_ALERT", "10:1", "A")).containsExactly(1, 2, 3);
+        assertThat(coalescer.flushExpired()).isZero();
+        assertThat(coalescer.snapshot().framesSaved()).isZero();
+    }
+}
@@ -0,0 +1,164 @@
+package com.goodee.coreconnect.common.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+import com.goodee.coreconnect.user.repository.UserRepository;
+
+@DisplayName("NotificationFanoutService 벤치마크 (5,000명 공지 알림 fan-out)")
+class NotificationFanoutBenchmarkTest {
+
+    private static final int RECIPIENTS = 5_000;
+    private static final int SENDER_ID = 1;
+    /** DB 왕복 1번에 걸리는 시간 (로컬 DB 수준) */
+    private static final long ROUND_TRIP_MS = 2;
+
+    /** 문장마다 ROUND_TRIP_MS만큼 걸리고 INSERT row 수만큼 ID를 돌려주는 JdbcTemplate */
+    static class RoundTripJdbcTemplate extends JdbcTemplate {
+        final AtomicInteger inserts = new AtomicInteger();
+        final AtomicInteger insertedRows = new AtomicInteger();
+        final AtomicInteger updates = new AtomicInteger();
+        final AtomicInteger nextId = new AtomicInteger(1);
+
+        @Override
+        public int update(PreparedStatementCreator psc, KeyHolder generatedKeyHolder) {
+            roundTrip();
+            int rows = countRows(psc);
+            inserts.incrementAndGet();
+            insertedRows.addAndGet(rows);
+            for (int i = 0; i < rows; i++) {
+                generatedKeyHolder.getKeyList().add(Map.of("GENERATED_KEY", (long) nextId.getAndIncrement()));
+            }
+            return rows;
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            roundTrip();
+            updates.incrementAndGet();
+            return args.length - 1;
+        }
+
+        /** PreparedStatementCreator가 만든 INSERT 문의 VALUES row 수 (Connection / PreparedStatement는 아무 일도 안 하는 프록시) */
+        private static int countRows(PreparedStatementCreator psc) {
+            String[] sql = new String[1];
+            PreparedStatement ps = noOp(PreparedStatement.class);
+            Connection con = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement")) {
+                            sql[0] = (String) args[0];
+                            return ps;
+                        }
+                        return null;
+                    });
+            try {
+                psc.createPreparedStatement(con);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return sql[0].split("\\), \\(").length;
+        }
+
+        private static <T> T noOp(Class<T> type) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+                    method.getReturnType() == boolean.class ? false
+                            : method.getReturnType() == int.class ? 0
+                            : null));
+        }
+
+        private static void roundTrip() {
+            try {
+                Thread.sleep(ROUND_TRIP_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("5,000명 알림을 batch INSERT + 분할 전송으로 1초 안에 처리한다")
+    @SuppressWarnings("unchecked")
+    void testFanOutFiveThousandRecipients() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findNamesByIdIn(anyCollection())).thenAnswer(inv -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Integer id : (Collection<Integer>) inv.getArgument(0)) {
+                rows.add(new Object[] {id, "user" + id});
+            }
+            return rows;
+        });
+        // 전송 횟수만 세는 구현 (mock 호출 기록 비용이 측정에 섞이지 않도록)
+        AtomicInteger delivered = new AtomicInteger();
+        WebSocketDeliveryService delivery = new WebSocketDeliveryService(null, null) {
+            @Override
+            public boolean sendToUser(Integer userId, Object payload) {
+                delivered.incrementAndGet();
+                return true;
+            }
+        };
+        RoundTripJdbcTemplate jdbcTemplate = new RoundTripJdbcTemplate();
+
+        NotificationFanoutService service = new NotificationFanoutService(
+                userRepository, jdbcTemplate, mock(PlatformTransactionManager.class), delivery, mock(UnreadNotificationCache.class));
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        ReflectionTestUtils.setField(service, "pushChunkSize", 200);
+
+        List<Integer> recipients = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            recipients.add(100 + i);
+        }
+        recipients.add(null);
+        recipients.add(100);
+
+        // warm-up
+        service.fanOut(recipients.subList(0, 600), NotificationType.NOTICE, "warm-up", SENDER_ID, null, null);
+        jdbcTemplate.inserts.set(0);
+        jdbcTemplate.insertedRows.set(0);
+        jdbcTemplate.updates.set(0);
+        clearInvocations(userRepository);
+        delivered.set(0);
+
+        NotificationFanoutService.FanoutResult result =
+                service.fanOut(recipients, NotificationType.NOTICE, "새 공지사항이 등록되었습니다.", SENDER_ID, 10, null);
+
+        long insertMs = result.timings().stream().filter(t -> t.phase().equals("insert")).mapToLong(NotificationFanoutService.BatchTiming::millis).sum();
+        long pushMs = result.timings().stream().filter(t -> t.phase().equals("push")).mapToLong(NotificationFanoutService.BatchTiming::millis).sum();
+        // 기존 방식: 수신자마다 findById + INSERT + flush + 재조회 + (전송 후) findById + UPDATE
+        long perRecipientEstimateMs = RECIPIENTS * 5L * ROUND_TRIP_MS;
+        System.out.printf("[NotificationFanoutBenchmarkTest] %d recipients: %dms (insert %d batches %dms, push %d batches %dms), statements: %d, per-recipient path estimate: %dms%n",
+                RECIPIENTS, result.totalMillis(), jdbcTemplate.inserts.get(), insertMs,
+                jdbcTemplate.updates.get(), pushMs, 1 + jdbcTemplate.inserts.get() + jdbcTemplate.updates.get(), perRecipientEstimateMs);
+
+        assertThat(result.inserted()).isEqualTo(RECIPIENTS);
+        assertThat(result.pushed()).isEqualTo(RECIPIENTS);
+        assertThat(result.totalMillis()).isLessThan(1_000);
+        // 수신자 조회 1번, INSERT 500개씩, 전송 후 sentYn UPDATE 200개씩
+        verify(userRepository, times(1)).findNamesByIdIn(anyCollection());
+        assertThat(jdbcTemplate.inserts.get()).isEqualTo(RECIPIENTS / 500);
+        assertThat(jdbcTemplate.insertedRows.get()).isEqualTo(RECIPIENTS);
+        assertThat(jdbcTemplate.updates.get()).isEqualTo(RECIPIENTS / 200);
+        assertThat(result.timings()).hasSize(RECIPIENTS / 500 + RECIPIENTS / 200);
+        assertThat(delivered.get()).isEqualTo(RECIPIENTS);
+    }
+}
@@ -0,0 +1,153 @@
+package com.goodee.coreconnect.common.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.goodee.coreconnect.chat.repository.NotificationRepository;
+import com.goodee.coreconnect.common.bus.BusMessage;
+import com.goodee.coreconnect.common.bus.MessageBus;
+import com.goodee.coreconnect.common.notification.dto.NotificationPayload;
+import com.goodee.coreconnect.common.notification.dto.NotificationSummary;
+import com.goodee.coreconnect.common.notification.enums.NotificationType;
+
+@DisplayName("UnreadNotificationCache 단위 테스트 (사용자별 미읽음 수 + 최근 알림 ring)")
+class UnreadNotificationCacheTest {
+
+    private static final int USER_ID = 7;
+
+    private NotificationRepository notificationRepository;
+    private MessageBus messageBus;
+    private AtomicReference<Consumer<BusMessage>> busListener;
+    private UnreadNotificationCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        messageBus = mock(MessageBus.class);
+        busListener = new AtomicReference<>();
+        doAnswer(inv -> {
+            busListener.set(inv.getArgument(1));
+            return null;
+        }).when(messageBus).subscribe(eq(UnreadNotificationCache.UNREAD_CHANNEL), any(Consumer.class));
+
+        cache = new UnreadNotificationCache(notificationRepository, messageBus);
+        ReflectionTestUtils.setField(cache, "recentSize", 3);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxUsers", 100);
+        cache.init();
+    }
+
+    private static NotificationSummary summary(int id) {
+        return new NotificationSummary(id, "알림 " + id, "보낸이", "받는이", LocalDateTime.now().minusMinutes(id),
+                NotificationType.NOTICE, null, 100 + id, null);
+    }
+
+    private static NotificationPayload payload(int id, int recipientId, NotificationType type) {
+        NotificationPayload payload = new NotificationPayload();
+        payload.setNotificationId(id);
+        payload.setRecipientId(recipientId);
+        payload.setMessage("새 알림 " + id);
+        payload.setNotificationType(type.name());
+        payload.setCreatedAt(LocalDateTime.now());
+        return payload;
+    }
+
+    private void givenDb(long count, List<NotificationSummary> recent) {
+        when(notificationRepository.countUnreadByUserIdAndTypes(eq(USER_ID), anyList())).thenReturn(count);
+        when(notificationRepository.findUnreadSummaries(eq(USER_ID), anyList(), any(Pageable.class))).thenReturn(recent);
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("처음 조회할 때만 DB에서 로딩하고, 이후 배지 / 최신 알림 / 목록 조회는 DB를 거치지 않는다")
+    void testLoadOnceThenServeFromMemory() {
+        givenDb(5, List.of(summary(1), summary(2), summary(3)));
+
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(5);
+        assertThat(cache.latest(USER_ID).notificationId()).isEqualTo(1);
+        assertThat(cache.recent(USER_ID)).extracting(NotificationSummary::notificationId).containsExactly(1, 2, 3);
+
+        int lookups = 1_000_000;
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < lookups; i++) {
+            sum += cache.unreadCount(USER_ID);
+        }
+        long nanosPerLookup = (System.nanoTime() - start) / lookups;
+        System.out.printf("[UnreadNotificationCacheTest] %d badge lookups: %dns/lookup, DB count queries: 1, hit rate: %.4f%n",
+                lookups, nanosPerLookup, cache.snapshot().hitRate());
+
+        assertThat(sum).isEqualTo(5L * lookups);
+        verify(notificationRepository, times(1)).countUnreadByUserIdAndTypes(eq(USER_ID), anyList());
+        verify(notificationRepository, times(1)).findUnreadSummaries(eq(USER_ID), anyList(), any(Pageable.class));
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("새 알림 / 읽음 / 모두 읽음이 캐시에 반영되고, 목록이 모자라면 다시 로딩한다")
+    void testSendAndReadUpdateCache() {
+        givenDb(2, List.of(summary(1), summary(2)));
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(2);
+
+        // 새 알림 2건 (배지 타입) + CHAT 1건 (제외) → ring은 최신 3개만
+        cache.onCreated(List.of(payload(10, USER_ID, NotificationType.NOTICE), payload(11, USER_ID, NotificationType.APPROVAL),
+                payload(12, USER_ID, NotificationType.CHAT)));
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(4);
+        assertThat(cache.recent(USER_ID)).extracting(NotificationSummary::notificationId).containsExactly(11, 10, 1);
+        // 같은 알림이 다시 반영돼도 한 번만 센다
+        cache.onCreated(List.of(payload(11, USER_ID, NotificationType.APPROVAL)));
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(4);
+
+        cache.markRead(USER_ID, 11, NotificationType.APPROVAL);
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(3);
+        assertThat(cache.latest(USER_ID).notificationId()).isEqualTo(10);
+        verify(notificationRepository, times(1)).countUnreadByUserIdAndTypes(eq(USER_ID), anyList());
+
+        // ring이 남은 미읽음 알림을 모두 담고 있으면 다시 로딩하지 않고, 캐시를 버리면 DB에서 다시 로딩
+        cache.markRead(USER_ID, 10, NotificationType.NOTICE);
+        cache.markRead(USER_ID, 999, NotificationType.NOTICE);
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(1);
+        givenDb(1, List.of(summary(2)));
+        assertThat(cache.recent(USER_ID)).extracting(NotificationSummary::notificationId).containsExactly(1);
+        cache.markRead(USER_ID, 1, NotificationType.NOTICE);
+        cache.onCreated(List.of());
+        givenDb(3, List.of(summary(2), summary(3), summary(4)));
+        cache.invalidate(USER_ID);
+        assertThat(cache.recent(USER_ID)).extracting(NotificationSummary::notificationId).containsExactly(2, 3, 4);
+
+        cache.markAllRead(USER_ID);
+        assertThat(cache.unreadCount(USER_ID)).isZero();
+        assertThat(cache.latest(USER_ID)).isNull();
+        verify(messageBus, atLeastOnce()).publish(eq(UnreadNotificationCache.UNREAD_CHANNEL), any(BusMessage.class));
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("다른 서버 인스턴스의 변경 메시지를 받으면 해당 사용자 캐시를 버린다")
+    void testRemoteInvalidation() {
+        givenDb(1, new ArrayList<>(List.of(summary(1))));
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(1);
+
+        givenDb(4, List.of(summary(1), summary(2), summary(3)));
+        busListener.get().accept(BusMessage.toUsers(null, List.of(USER_ID), null));
+
+        assertThat(cache.unreadCount(USER_ID)).isEqualTo(4);
+        verify(notificationRepository, times(2)).countUnreadByUserIdAndTypes(eq(USER_ID), anyList());
+    }
+}
@@ -0,0 +1,112 @@
+package com.goodee.coreconnect.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@DisplayName("StompChannelMetrics 단위 테스트")
+class StompChannelMetricsTest {
+
+    private StompChannelMetrics metrics;
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        metrics = new StompChannelMetrics();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(metrics.rejectedExecutionHandler("outbound"));
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("destination은 숫자를 *로 묶어 집계하고, heartbeat는 제외하며, 처리 시간이 히스토그램에 기록된다")
+    void testDestinationCountsAndLatency() {
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel(); // 동기 채널
+        channel.addInterceptor(metrics.interceptor("inbound"));
+        channel.subscribe(m -> {});
+
+        for (int roomId = 1; roomId <= 50; roomId++) {
+            channel.send(message(SimpMessageType.MESSAGE, "/app/chat.room." + roomId + ".send"));
+        }
+        channel.send(message(SimpMessageType.CONNECT, null));
+        channel.send(message(SimpMessageType.HEARTBEAT, null));
+
+        StompChannelMetrics.ChannelSnapshot snapshot = metrics.snapshot().get(0);
+        System.out.printf("[StompChannelMetricsTest] destinations=%s, p99<=%dµs%n", snapshot.destinations(), snapshot.percentileMicros(99));
+
+        assertThat(snapshot.messages()).isEqualTo(51);
+        assertThat(snapshot.destinations()).containsEntry("/app/chat.room.*.send", 50L).containsEntry("CONNECT", 1L);
+        assertThat(snapshot.destinations()).hasSize(2);
+        long handled = 0;
+        for (long count : snapshot.latencyBuckets()) {
+            handled += count;
+        }
+        assertThat(handled).isEqualTo(52); // heartbeat도 처리 시간은 기록
+
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("스레드풀과 큐가 가득 차서 거절된 메시지를 집계하고, 거절된 메시지는 보낸 스레드에서 처리된다")
+    void testRejectedCount() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handledBy = new CopyOnWriteArrayList<>();
+        Thread caller = Thread.currentThread();
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel(executor);
+        channel.addInterceptor(metrics.interceptor("outbound"));
+        channel.subscribe(m -> {
+            if (Thread.currentThread() == caller) {
+                handledBy.add("caller");
+                return;
+            }
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handledBy.add("pool");
+        });
+
+        channel.send(message(SimpMessageType.MESSAGE, "/topic/a")); // 실행 중
+        channel.send(message(SimpMessageType.MESSAGE, "/topic/a")); // 큐 대기
+        channel.send(message(SimpMessageType.MESSAGE, "/topic/a")); // 거절 → 보낸 스레드에서 처리
+        assertThat(handledBy).containsExactly("caller");
+        release.countDown();
+
+        StompChannelMetrics.ChannelSnapshot snapshot = metrics.snapshot().get(0);
+        assertThat(snapshot.channel()).isEqualTo("outbound");
+        assertThat(snapshot.messages()).isEqualTo(3);
+        assertThat(snapshot.rejected()).isEqualTo(1);
+    }
+}
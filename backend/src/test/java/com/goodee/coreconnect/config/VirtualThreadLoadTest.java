@@ -0,0 +1,78 @@
+package com.goodee.coreconnect.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 동시 채팅 사용자 5천 명 부하 비교 (플랫폼 스레드풀 vs 가상 스레드)
+ *
+ * - 메시지 1건 처리 = 블로킹 I/O(JPA 저장 + 조회) 대기를 sleep으로 모사
+ * - 플랫폼: Tomcat 기본 max-threads(200)와 같은 크기의 스레드풀
+ * - 가상 스레드: 메시지마다 가상 스레드 (Java 21 JVM에서만 실행, -PvirtualThreads 빌드)
+ */
+@DisplayName("가상 스레드 부하 비교 테스트 (동시 사용자 5천 명)")
+class VirtualThreadLoadTest {
+
+    private static final int USERS = 5_000;
+    private static final int MESSAGES_PER_USER = 2;
+    private static final long BLOCKING_IO_MS = 15;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    private record Result(String mode, double messagesPerSecond, long p50Millis, long p99Millis) {}
+
+    private Result run(String mode, ExecutorService executor) throws InterruptedException {
+        int total = USERS * MESSAGES_PER_USER;
+        long[] latencies = new long[total];
+        AtomicInteger index = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long submittedAt = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(BLOCKING_IO_MS); // DB 저장 + 참여자 조회 대기
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latencies[index.getAndIncrement()] = System.nanoTime() - submittedAt;
+                done.countDown();
+            });
+        }
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        Result result = new Result(mode, total / (elapsed / 1e9),
+                TimeUnit.NANOSECONDS.toMillis(latencies[total / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) (total * 0.99) - 1]));
+        System.out.printf("[VirtualThreadLoadTest] %s: users=%d, messages=%d, %.0f msg/s, p50=%dms, p99=%dms%n",
+                mode, USERS, total, result.messagesPerSecond(), result.p50Millis(), result.p99Millis());
+        return result;
+    }
+
+    // ───────────────────────────────────────────────
+    @Test
+    @DisplayName("5천 명이 동시에 보낼 때 가상 스레드가 200 스레드풀보다 처리량이 높다 (Java 21 미만이면 플랫폼 결과만 출력)")
+    void testThroughputWithFiveThousandUsers() throws Exception {
+        Result platform = run("platform(" + TOMCAT_MAX_THREADS + ")", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+        // 블로킹 I/O 동안 스레드를 점유하므로 처리량 상한 = 스레드 수 / I/O 시간
+        assertThat(platform.messagesPerSecond()).isLessThan(TOMCAT_MAX_THREADS * 1000.0 / BLOCKING_IO_MS * 1.1);
+
+        assumeTrue(VirtualThreads.isActive(true), "가상 스레드 비교는 Java 21 이상 JVM에서만 실행 (./gradlew test -PvirtualThreads)");
+        Result virtual = run("virtual", VirtualThreads.newPerTaskExecutor("load-test-"));
+        assertThat(virtual.messagesPerSecond()).isGreaterThan(platform.messagesPerSecond() * 2);
+        assertThat(virtual.p99Millis()).isLessThan(platform.p99Millis());
+    }
+}
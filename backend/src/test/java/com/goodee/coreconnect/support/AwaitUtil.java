@@ -0,0 +1,26 @@
+package com.goodee.coreconnect.support;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 비동기 처리(MessageBus 전달, write-behind flush 등) 테스트용 대기 도우미
+ * - 조건이 참이 되거나 제한 시간이 지날 때까지 5ms 간격으로 확인 (결과 검증은 호출한 테스트에서)
+ */
+public final class AwaitUtil {
+
+    private static final long DEFAULT_TIMEOUT_MS = 3_000;
+
+    private AwaitUtil() {
+    }
+
+    public static void await(BooleanSupplier condition) throws InterruptedException {
+        await(condition, DEFAULT_TIMEOUT_MS);
+    }
+
+    public static void await(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -8,11 +8,14 @@ export async function fetchChatRoomsLatest() {
   return res.data;
 }
 
-// 채팅방별 전체 메시지 (roomId 기준) - 페이징 지원
-export async function fetchChatRoomMessages(roomId, page = 0, size = 20) {
-  const res = await http.get(`/chat/${roomId}/messages`, {
-    params: { page, size }
-  });
+// 채팅방별 메시지 (roomId 기준) - 커서 페이징
+// before: 이 chatId 이전 메시지를 조회 (없으면 최신 메시지부터), 응답 data: { content(최신순), nextCursor, last }
+export async function fetchChatRoomMessages(roomId, before = null, limit = 20) {
+  const params = { limit };
+  if (before != null) {
+    params.before = before;
+  }
+  const res = await http.get(`/chat/${roomId}/messages`, { params });
   return res.data;
 }
 
@@ -415,4 +415,30 @@ export function sendStompMessage({ roomId, content, fileYn = false, fileUrl = nu
   
   // ⭐ 비동기 함수 호출 (프론트엔드에서 await 사용 가능하도록)
   return sendMessageInternal();
-}
\ No newline at end of file
+}
+
+/**
+ * 채팅방 활동 이벤트 전송 (입력 중 / 접속 ping / 보는 중)
+ * - 서버가 throttle 후 ROOM_ACTIVITY 프레임으로 묶어 /topic/chat.room.{roomId}로 전송
+ * - 일시적 신호라 연결이 없으면 재연결하지 않고 버림
+ * @param {object} param0
+ * @param {number|string} param0.roomId - 방 ID
+ * @param {"TYPING"|"PRESENCE_PING"|"VIEWING"} param0.type - 활동 종류
+ * @param {boolean} param0.active - 시작(true) / 종료(false)
+ * @returns {boolean} 전송 여부
+ */
+export function sendRoomActivity({ roomId, type, active = true }) {
+  if (!stompClient || !stompClient.connected || !roomId) {
+    return false;
+  }
+  try {
+    stompClient.publish({
+      destination: "/app/chat.activity",           // 서버 @MessageMapping 대상
+      body: JSON.stringify({ roomId, type, active }),
+    });
+    return true;
+  } catch (error) {
+    console.warn('🔥 [ChatSocket] 활동 이벤트 전송 실패 (무시):', error);
+    return false;
+  }
+}
@@ -18,7 +18,8 @@ function ChatDetailPane({
   onScrollTop, isLoadingMore, hasMoreAbove,
   scrollToUnread = false, onScrollToUnreadComplete,
   onMarkAllAsRead, // 모두 읽음 처리 함수
-  onLeaveRoom // 채팅방 나가기 콜백
+  onLeaveRoom, // 채팅방 나가기 콜백
+  onTyping, typingText // 입력 중 이벤트 전송 / 다른 참여자 입력 중 표시
 }) {
   const messagesEndRef = useRef(null);
   const [participantsDialogOpen, setParticipantsDialogOpen] = useState(false);
@@ -168,6 +169,8 @@ function ChatDetailPane({
         onSend={onSend}
         onFileUpload={onFileUpload}
         socketConnected={socketConnected}
+        onTyping={onTyping}
+        typingText={typingText}
       />
       
       {/* 채팅방 참여자 목록 다이얼로그 */}
@@ -1,11 +1,11 @@
 import React, { useState } from "react";
-import { Box, TextField, IconButton, Button } from "@mui/material";
+import { Box, TextField, IconButton, Button, Typography } from "@mui/material";
 import AttachFileIcon from "@mui/icons-material/AttachFile";
 import SendIcon from "@mui/icons-material/Send";
 import FilePreviewBox from "./FilePreviewBox";
 
 // 채팅 입력창 + 파일업로드
-function ChatMessageInputBox({ inputRef, onSend, onFileUpload, socketConnected }) {
+function ChatMessageInputBox({ inputRef, onSend, onFileUpload, socketConnected, onTyping, typingText }) {
   const [selectedFiles, setSelectedFiles] = useState([]);
 
   const handleFileSelect = (e) => {
@@ -52,6 +52,13 @@ function ChatMessageInputBox({ inputRef, onSend, onFileUpload, socketConnected }
       flexDirection: "column",
       background: "#f8fbfd"
     }}>
+      {/* 입력 중 표시 (ROOM_ACTIVITY) */}
+      {typingText && (
+        <Typography sx={{ px: 4, pt: 0.5, fontSize: 12, color: "#8a94a6" }}>
+          {typingText}
+        </Typography>
+      )}
+
       {/* 파일 미리보기 */}
       {selectedFiles.length > 0 && (
         <FilePreviewBox files={selectedFiles} onRemove={handleRemoveFile} />
@@ -71,6 +78,7 @@ function ChatMessageInputBox({ inputRef, onSend, onFileUpload, socketConnected }
           size="small"
           placeholder="메시지 입력"
           sx={{ flex: 1, background: "#fff", borderRadius: 2 }}
+          onChange={e => onTyping && onTyping(e.target.value)}
           onKeyDown={e => {
             if (e.key === "Enter") onSend();
           }}
@@ -1,5 +1,5 @@
 import React, { useRef, useEffect, useContext, useState } from "react";
-import { Box, Typography, Link, Avatar } from "@mui/material";
+import { Box, Typography, Link, Avatar, CircularProgress } from "@mui/material";
 import { UserProfileContext } from "../../../App";
 import ImageCarouselDialog from "./ImageCarouselDialog";
 
@@ -10,6 +10,27 @@ const isImageFile = (url = "") => {
   return /\.(png|jpe?g|gif|bmp|webp|svg)$/i.test(cleanUrl);
 };
 
+// 업로드 중인 첨부파일 자리 (fileStatuses가 UPLOADING인 파일, FILE_UPLOAD_STATUS 수신 시 실제 파일로 교체)
+const UploadingFilePlaceholder = ({ count }) => (
+  <Box
+    sx={{
+      width: count === 1 ? 200 : 150,
+      height: count === 1 ? 200 : 150,
+      borderRadius: 1.5,
+      border: "1px dashed rgba(0, 0, 0, 0.2)",
+      bgcolor: "rgba(0, 0, 0, 0.03)",
+      display: "flex",
+      flexDirection: "column",
+      alignItems: "center",
+      justifyContent: "center",
+      gap: 1,
+    }}
+  >
+    <CircularProgress size={24} />
+    <Typography sx={{ fontSize: 12, color: "text.secondary" }}>업로드 중...</Typography>
+  </Box>
+);
+
 // 시간 포맷 변환 (예: "오후 02:26")
 const formatTime = (time) => {
   if (!time) return "";
@@ -616,7 +637,11 @@ function ChatMessageList({ messages, roomType = "group", onLoadMore, hasMoreAbov
                           }}
                         >
                           {msg.fileUrls.map((fileUrl, idx) => {
-                            if (!fileUrl) return null;
+                            if (!fileUrl) {
+                              return msg.fileStatuses?.[idx] === "UPLOADING"
+                                ? <UploadingFilePlaceholder key={idx} count={msg.fileUrls.length} />
+                                : null;
+                            }
                             const isImage = isImageFile(fileUrl);
                             return isImage ? (
                               <Box
@@ -998,7 +1023,11 @@ function ChatMessageList({ messages, roomType = "group", onLoadMore, hasMoreAbov
                           }}
                         >
                           {msg.fileUrls.map((fileUrl, idx) => {
-                            if (!fileUrl) return null;
+                            if (!fileUrl) {
+                              return msg.fileStatuses?.[idx] === "UPLOADING"
+                                ? <UploadingFilePlaceholder key={idx} count={msg.fileUrls.length} />
+                                : null;
+                            }
                             const isImage = isImageFile(fileUrl);
                             return isImage ? (
                               <Box
@@ -19,11 +19,17 @@ import {
 import {
   connectStomp,
   disconnectStomp,
-  sendStompMessage
+  sendStompMessage,
+  sendRoomActivity
 } from "../api/chatSocket";
 
 import http from "../../../api/http";
 
+// 입력 중 이벤트 전송 간격 / 입력 중 표시 유지 시간 / 접속 ping 간격 (ms)
+const TYPING_SEND_INTERVAL_MS = 2000;
+const TYPING_INDICATOR_MS = 5000;
+const PRESENCE_PING_INTERVAL_MS = 30000;
+
 // ===================== 시간 및 유저명 유틸 함수 =====================
 // 시간 포맷팅 유틸 (한국 시간 기준)
 function formatTime(sendAt) {
@@ -110,6 +116,7 @@ export default function ChatLayout() {
   const [toastRooms, setToastRooms] = useState([]); // 토스트 알림 Rooms
   const [createOpen, setCreateOpen] = useState(false); // 방 생성 다이얼로그 열림 여부
   const [highlightedRoomId, setHighlightedRoomId] = useState(null); // 하이라이팅된 채팅방 ID
+  const [typingUsers, setTypingUsers] = useState({}); // 입력 중인 참여자 (userId -> 표시 만료 시각)
 
   const userName = getUserName(); // 유저명
   const accessToken = localStorage.getItem("accessToken"); // 엑세스토큰
@@ -117,11 +124,10 @@ export default function ChatLayout() {
 
   const [socketConnected, setSocketConnected] = useState(false); // 소켓 연결 상태
 
-  // 페이징 관련 상태
-  const [currentPage, setCurrentPage] = useState(0); // 현재 페이지 (0부터 시작)
+  // 페이징 관련 상태 (커서 방식)
+  const [nextCursor, setNextCursor] = useState(null); // 이전 메시지 조회 시 before로 넘길 chatId
   const [hasMore, setHasMore] = useState(true); // 더 불러올 메시지가 있는지
   const [isLoadingMore, setIsLoadingMore] = useState(false); // 이전 메시지 로딩 중인지
-  const [totalPages, setTotalPages] = useState(0); // 전체 페이지 수
   
   // 안읽은 메시지 위치로 스크롤할지 여부
   const [scrollToUnread, setScrollToUnread] = useState(false);
@@ -134,6 +140,16 @@ export default function ChatLayout() {
   // ⭐ UNREAD_COUNT_UPDATE 대기 큐: 메시지가 아직 로드되지 않은 경우 unreadCount 업데이트 저장
   const pendingUnreadCountUpdatesRef = useRef(new Map()); // chatId -> unreadCount
 
+  // ⭐ 마지막으로 입력 중(TYPING) 이벤트를 보낸 시각 (0이면 입력 중 아님)
+  const lastTypingSentRef = useRef(0);
+
+  // ⭐ 최신 메시지 목록 (setMessages updater 밖에서 메시지 로드 여부를 확인하기 위함)
+  // updater는 StrictMode에서 두 번 실행될 수 있으므로 updater 안에서 ref를 변경하지 않음
+  const messagesRef = useRef(messages);
+  useEffect(() => {
+    messagesRef.current = messages;
+  }, [messages]);
+
 
   const location = useLocation();
   const [presetUser, setPresetUser] = useState(null);
@@ -359,6 +375,14 @@ export default function ChatLayout() {
         };
         console.log("📊 [ChatLayout] setMessages 호출 전 상태:", beforeSetMessagesState);
 
+        // ⭐ 메시지가 아직 로드되지 않았으면 대기 큐에 저장 (메시지가 로드되면 적용됨) - updater 밖에서 처리
+        const isLoaded = messagesRef.current.some(
+          (m) => m?.id != null && Number(m.id) === Number(chatId)
+        );
+        if (!isLoaded) {
+          pendingUnreadCountUpdatesRef.current.set(Number(chatId), Number(unreadCount));
+        }
+
         setMessages((prev) => {
           // ⭐ setMessages 내부 진입 시점 로그 (race condition 감지)
           const setMessagesTimestamp = new Date().toISOString();
@@ -391,8 +415,7 @@ export default function ChatLayout() {
               현재메시지수: prev.length,
               현재메시지Ids: prev.map(m => ({ id: m?.id, type: typeof m?.id, unreadCount: m?.unreadCount }))
             });
-            // ⭐ 대기 큐에 저장 (메시지가 로드되면 적용됨)
-            pendingUnreadCountUpdatesRef.current.set(Number(chatId), Number(unreadCount));
+            // 대기 큐 저장은 setMessages 호출 전에 처리됨
             return prev;
           }
 
@@ -482,6 +505,44 @@ export default function ChatLayout() {
       return;
     }
 
+    // ⭐ UNREAD_COUNT_BATCH_UPDATE 메시지 처리 (누군가 채팅방에 입장/읽음 처리했을 때 한 번에 전송되는 unreadCount 목록)
+    // ⭐ unreadCounts: { chatId: unreadCount, ... }
+    if (msg && msg.type === "UNREAD_COUNT_BATCH_UPDATE") {
+      const { roomId, unreadCounts } = msg;
+      if (Number(roomId) !== Number(selectedRoomId) || !unreadCounts) {
+        return;
+      }
+      const countMap = new Map(
+        Object.entries(unreadCounts).map(([chatId, count]) => [Number(chatId), Number(count)])
+      );
+
+      // ⭐ 아직 로드되지 않은 메시지는 대기 큐에 저장 (메시지가 로드되면 적용됨) - updater 밖에서 처리
+      const loadedIds = new Set(
+        messagesRef.current.filter((m) => m?.id != null).map((m) => Number(m.id))
+      );
+      countMap.forEach((count, chatId) => {
+        if (!loadedIds.has(chatId)) {
+          pendingUnreadCountUpdatesRef.current.set(chatId, count);
+        }
+      });
+
+      setMessages((prev) =>
+        prev.map((m) => {
+          const mId = m?.id != null ? Number(m.id) : null;
+          if (mId == null || !countMap.has(mId)) return m;
+          return { ...m, unreadCount: countMap.get(mId) };
+        })
+      );
+
+      // ⭐ 현재 선택된 방은 접속 중이므로 채팅방 목록 unreadCount를 0으로 설정
+      setRoomList((prevRoomList) =>
+        prevRoomList.map((room) =>
+          Number(room.roomId) === Number(roomId) ? { ...room, unreadCount: 0 } : room
+        )
+      );
+      return;
+    }
+
     // ⭐ ROOM_UNREAD_COUNT_UPDATE 메시지 처리 (채팅방 목록의 unreadCount 업데이트용)
     // ⭐ 백엔드에서 새로운 메시지가 왔을 때 채팅방 목록의 unreadCount를 업데이트하기 위해 브로드캐스트
     // ⭐ 자신이 해당 채팅방에 접속 중이 아닌 경우, 채팅방 목록의 unreadCount를 증가시켜야 함
@@ -572,6 +633,62 @@ export default function ChatLayout() {
       return;
     }
 
+    // ⭐ FILE_UPLOAD_STATUS 처리 (다중 파일 메시지의 파일 하나가 업로드 완료/실패)
+    // 메시지는 fileUrls를 비운 채 fileStatuses=UPLOADING으로 먼저 도착 → 파일별로 URL/상태 반영, 실패한 파일은 표시하지 않음
+    if (msg && msg.type === "FILE_UPLOAD_STATUS") {
+      const { chatId, fileIndex, status, fileUrl } = msg;
+      setMessages((prev) =>
+        prev.map((m) => {
+          if (Number(m.id) !== Number(chatId)) return m;
+          const fileUrls = [...(m.fileUrls || [])];
+          const fileStatuses = [...(m.fileStatuses || [])];
+          fileUrls[fileIndex] = status === "UPLOADED" ? fileUrl : null;
+          fileStatuses[fileIndex] = status;
+          const allFailed = fileStatuses.length > 0 && fileStatuses.every((s) => s === "FAILED");
+          return {
+            ...m,
+            fileUrls,
+            fileStatuses,
+            fileUrl: fileUrls.find((url) => url) || null,
+            fileYn: !allFailed,
+          };
+        })
+      );
+      return;
+    }
+
+    // ⭐ ROOM_ACTIVITY 처리 (입력 중 / 보는 중 / 접속 ping 묶음 - 메시지 목록에는 추가하지 않음)
+    if (msg && msg.type === "ROOM_ACTIVITY") {
+      if (Number(msg.roomId) !== Number(selectedRoomId)) return;
+      const myUserId = userProfile?.id || userProfile?.userId;
+      const now = Date.now();
+      setTypingUsers((prev) => {
+        const next = { ...prev };
+        (msg.events || []).forEach((event) => {
+          if (event.activity !== "TYPING" || Number(event.userId) === Number(myUserId)) return;
+          if (event.active) {
+            next[event.userId] = now + TYPING_INDICATOR_MS;
+          } else {
+            delete next[event.userId];
+          }
+        });
+        return next;
+      });
+      return;
+    }
+
+    // ⭐ SEND_FAILED 처리 (서버 저장 대기열이 가득 차 메시지를 접수하지 못함 - 보낸 사람에게만 안내)
+    if (msg && msg.type === "SEND_FAILED") {
+      const isMyFailure =
+        msg.senderEmail &&
+        userProfile?.email &&
+        msg.senderEmail.trim().toLowerCase() === userProfile.email.trim().toLowerCase();
+      if (isMyFailure) {
+        alert("메시지를 전송하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+      }
+      return;
+    }
+
     // ⭐ MESSAGE_UPDATE 메시지 처리 (초대 메시지가 입장 메시지로 변경될 때)
     if (msg && msg.type === "MESSAGE_UPDATE") {
       const { chatId, messageContent, roomId } = msg;
@@ -1164,6 +1281,7 @@ export default function ChatLayout() {
       
       if (success) {
         inputRef.current.value = "";
+        handleTyping("");
       } else {
         // ⭐ 재연결 시도 후에도 실패한 경우
         console.warn('🔥 [ChatLayout] 메시지 전송 실패 - 재연결 시도 후에도 실패');
@@ -1293,14 +1411,14 @@ export default function ChatLayout() {
     async function loadMessages() {
       if (selectedRoomId) {
         // 채팅방이 변경되면 페이징 상태 초기화
-        setCurrentPage(0);
+        setNextCursor(null);
         setHasMore(true);
         setIsLoadingMore(false);
 
-        const res = await fetchChatRoomMessages(selectedRoomId, 0, 20);
+        const res = await fetchChatRoomMessages(selectedRoomId, null, 20);
         if (res && res.data) {
-          // ResponseDTO 구조: { status, message, data: Page<ChatMessageResponseDTO> }
-          const pageData = res.data.data || res.data; // res.data.data가 Page 객체
+          // ResponseDTO 구조: { status, message, data: { content, nextCursor, last } }
+          const pageData = res.data.data || res.data; // res.data.data가 커서 페이지 객체
           if (pageData && Array.isArray(pageData.content)) {
             // 최신 메시지부터 내림차순으로 받아오므로 역순으로 정렬하여 오름차순으로 표시
             const sortedMessages = [...pageData.content].reverse();
@@ -1436,9 +1554,8 @@ export default function ChatLayout() {
               마지막메시지unreadCount: messagesWithPendingUpdates[messagesWithPendingUpdates.length - 1]?.unreadCount,
               모든메시지unreadCount: messagesWithPendingUpdates.map(m => ({ id: m?.id, unreadCount: m?.unreadCount }))
             });
-            setTotalPages(pageData.totalPages || 0);
             setHasMore(!pageData.last); // last가 false면 더 있음
-            setCurrentPage(0);
+            setNextCursor(pageData.nextCursor ?? null);
 
             // ⭐ 채팅방 선택 시 메시지 로드 후 스크롤 처리
             // scrollToUnread가 true이면 ChatMessageList에서 처리하므로 여기서는 스크롤하지 않음
@@ -1548,12 +1665,11 @@ export default function ChatLayout() {
     }
 
     try {
-      const nextPage = currentPage + 1;
-      const res = await fetchChatRoomMessages(selectedRoomId, nextPage, 20);
+      const res = await fetchChatRoomMessages(selectedRoomId, nextCursor, 20);
 
       if (res && res.data) {
-        // ResponseDTO 구조: { status, message, data: Page<ChatMessageResponseDTO> }
-        const pageData = res.data.data || res.data; // res.data.data가 Page 객체
+        // ResponseDTO 구조: { status, message, data: { content, nextCursor, last } }
+        const pageData = res.data.data || res.data; // res.data.data가 커서 페이지 객체
         if (pageData && Array.isArray(pageData.content)) {
           // 이전 메시지를 앞에 추가 (오름차순 유지)
           // pageData.content는 내림차순이므로 역순으로 정렬
@@ -1735,9 +1851,8 @@ export default function ChatLayout() {
 
             return [...trulyNewMessages, ...merged];
           });
-          setTotalPages(pageData.totalPages || 0);
           setHasMore(!pageData.last);
-          setCurrentPage(nextPage);
+          setNextCursor(pageData.nextCursor ?? null);
         }
       }
     } catch (error) {
@@ -1747,6 +1862,45 @@ export default function ChatLayout() {
     }
   };
 
+  // ---------- 입력 중 이벤트 전송 (서버도 throttle하지만 클라이언트에서도 2초에 1번만) ----------
+  const handleTyping = (value) => {
+    if (!selectedRoomId) return;
+    if (!value) {
+      if (lastTypingSentRef.current) {
+        lastTypingSentRef.current = 0;
+        sendRoomActivity({ roomId: selectedRoomId, type: "TYPING", active: false });
+      }
+      return;
+    }
+    const now = Date.now();
+    if (now - lastTypingSentRef.current >= TYPING_SEND_INTERVAL_MS) {
+      lastTypingSentRef.current = now;
+      sendRoomActivity({ roomId: selectedRoomId, type: "TYPING", active: true });
+    }
+  };
+
+  // ---------- 입력 중 표시 만료 (입력 종료 이벤트가 유실돼도 사라지도록) ----------
+  useEffect(() => {
+    if (Object.keys(typingUsers).length === 0) return;
+    const timer = setInterval(() => {
+      const now = Date.now();
+      setTypingUsers((prev) => {
+        const next = Object.fromEntries(Object.entries(prev).filter(([, expiresAt]) => expiresAt > now));
+        return Object.keys(next).length === Object.keys(prev).length ? prev : next;
+      });
+    }, 1000);
+    return () => clearInterval(timer);
+  }, [typingUsers]);
+
+  // ---------- 채팅방 접속 ping (연결되어 있는 동안 주기적으로) ----------
+  useEffect(() => {
+    if (!selectedRoomId || !socketConnected) return;
+    const timer = setInterval(() => {
+      sendRoomActivity({ roomId: selectedRoomId, type: "PRESENCE_PING" });
+    }, PRESENCE_PING_INTERVAL_MS);
+    return () => clearInterval(timer);
+  }, [selectedRoomId, socketConnected]);
+
   // ---------- STOMP 기반 채팅방 소켓 연결관리 ----------
   useEffect(() => {
     const useEffectTimestamp = new Date().toISOString();
@@ -1813,6 +1967,8 @@ export default function ChatLayout() {
           console.log('🔥 [ChatLayout] socketConnected를 true로 설정 완료:', {
             timestamp: connectTimestamp
           });
+          // ⭐ 채팅방 보는 중 (재연결 시에도 다시 전송)
+          sendRoomActivity({ roomId: selectedRoomId, type: "VIEWING", active: true });
         },
         () => {
           const errorTimestamp = new Date().toISOString();
@@ -1836,6 +1992,13 @@ export default function ChatLayout() {
         selectedRoomId: selectedRoomId,
         socketConnected변경전: socketConnected
       });
+      // ⭐ 연결 해제 전에 입력 중 / 보는 중 종료 전송, 이전 방의 입력 중 표시 초기화
+      if (lastTypingSentRef.current) {
+        sendRoomActivity({ roomId: selectedRoomId, type: "TYPING", active: false });
+        lastTypingSentRef.current = 0;
+      }
+      sendRoomActivity({ roomId: selectedRoomId, type: "VIEWING", active: false });
+      setTypingUsers({});
       setSocketConnected(false);
       // ⭐ cleanup에서는 Promise를 기다리지 않음 (컴포넌트 언마운트 시)
       disconnectStomp().catch(err => {
@@ -1870,6 +2033,15 @@ export default function ChatLayout() {
   const unreadCount = messages.reduce((cnt, msg) => cnt + (msg.readYn === false ? 1 : 0), 0);
   const firstUnreadIdx = unreadCount > 0 ? messages.findIndex(msg => msg.readYn === false) : -1;
 
+  // ---------- 입력 중인 참여자 표시 문구 (이름은 현재 방 메시지의 보낸 사람에서 찾음) ----------
+  const typingNames = Object.keys(typingUsers).map((userId) => {
+    const sent = messages.find((m) => Number(m.senderId) === Number(userId));
+    return sent?.senderName || "참여자";
+  });
+  const typingText = typingNames.length === 0 ? ""
+    : typingNames.length === 1 ? `${typingNames[0]}님이 입력 중...`
+    : `${typingNames[0]}님 외 ${typingNames.length - 1}명이 입력 중...`;
+
   // ---------- 렌더링 ----------
   return (
     <Box className="chat-layout" sx={{
@@ -1948,13 +2120,13 @@ export default function ChatLayout() {
                   loadRooms();
                   // 메시지 목록도 새로고침하여 읽음 상태 업데이트
                   if (selectedRoomId) {
-                    const res = await fetchChatRoomMessages(selectedRoomId, 0, 20);
+                    const res = await fetchChatRoomMessages(selectedRoomId, null, 20);
                     if (res && res.data) {
-                      const messageList = Array.isArray(res.data.content) ? res.data.content : [];
+                      const pageData = res.data.data || res.data;
+                      const messageList = Array.isArray(pageData.content) ? [...pageData.content].reverse() : [];
                       setMessages(messageList);
-                      setCurrentPage(0);
-                      setTotalPages(res.data.totalPages || 0);
-                      setHasMore(res.data.totalPages > 1);
+                      setNextCursor(pageData.nextCursor ?? null);
+                      setHasMore(!pageData.last);
                     }
                   }
                 } catch (error) {
@@ -1963,6 +2135,8 @@ export default function ChatLayout() {
               }
             }}
             onLeaveRoom={handleLeaveRoom}
+            onTyping={handleTyping}
+            typingText={typingText}
           />
         </Box>
       </Box>
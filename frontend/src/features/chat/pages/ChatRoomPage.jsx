@@ -49,6 +49,8 @@ export default function ChatRoomPage() {
     };
     ws.onmessage = (event) => {
       const msg = JSON.parse(event.data);
+      // ⭐ ROOM_ACTIVITY 등 type이 있는 제어 프레임은 메시지 목록에 추가하지 않음
+      if (msg.type) return;
       setMessages((prev) => [...prev, msg]);
     };
     ws.onclose = () => {